@@ -0,0 +1,132 @@
+package com.github.saleco.interview.calendar.api.agenda.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of availability search pages, evicted by size and time to live.
+ * Creating an Agenda invalidates only the pages of the searches involving its owner,
+ * hit / miss / eviction counts are published as the cache.* metrics tagged with cache=availability.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityCache {
+
+    public static final String CACHE_NAME = "availability";
+
+    private final InterviewCalendarAPIProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong invalidations = new AtomicLong();
+    private Cache<Key, Page<AgendaDto>> cache;
+
+    @PostConstruct
+    public void start() {
+        InterviewCalendarAPIProperties.Cache settings = properties.getSearch().getCache();
+
+        cache = Caffeine.newBuilder()
+          .maximumSize(settings.getMaximumSize())
+          .expireAfterWrite(settings.getTimeToLive())
+          .recordStats()
+          .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @return true when availability searches are configured to be cached
+     */
+    public boolean isEnabled() {
+        return properties.getSearch().getCache().isEnabled();
+    }
+
+    /**
+     * Returns the cached page of the given search, running and caching the search on a miss.
+     * A page searched while an Agenda was created is returned but not kept, it may miss the new Agenda
+     *
+     * @param  pageable Page to be returned
+     * @param  searchInterviewsAvailabilityDto Search criterias
+     * @param  search runs the search on a miss
+     * @return the Page of Interviewers Agendas
+     */
+    public Page<AgendaDto> get(Pageable pageable, SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto,
+                               Supplier<Page<AgendaDto>> search) {
+        if (!isEnabled()) return search.get();
+
+        Key key = Key.of(pageable, searchInterviewsAvailabilityDto);
+        Page<AgendaDto> agendaDtos = cache.getIfPresent(key);
+        if (agendaDtos != null) return agendaDtos;
+
+        long generation = invalidations.get();
+        agendaDtos = search.get();
+        cache.put(key, agendaDtos);
+
+        //an invalidation counted after this check will find the page in the cache
+        if (invalidations.get() != generation) {
+            cache.invalidate(key);
+        }
+
+        return agendaDtos;
+    }
+
+    /**
+     * Invalidates the cached pages of the searches involving any of the given users
+     *
+     * @param  userIds the owners of created Agendas
+     */
+    public void invalidate(Collection<Long> userIds) {
+        if (!isEnabled() || userIds.isEmpty()) return;
+
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> userIds.stream().anyMatch(key::involves));
+        log.debug("Invalidated cached availability searches of users {}", userIds);
+    }
+
+    /**
+     * Search criterias normalized so equivalent searches share the same entry:
+     * Interviewers sorted without duplicates and the period as instants
+     */
+    @Value
+    static class Key {
+        Long candidateId;
+        List<Long> interviewerIds;
+        Instant startingFrom;
+        Instant endingAt;
+        long offset;
+        int pageSize;
+
+        static Key of(Pageable pageable, SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto) {
+            return new Key(
+              searchInterviewsAvailabilityDto.getCandidateId(),
+              searchInterviewsAvailabilityDto.getInterviewerIds().stream().distinct().sorted().collect(Collectors.toList()),
+              searchInterviewsAvailabilityDto.getStartingFrom().toInstant(),
+              searchInterviewsAvailabilityDto.getEndingAt().toInstant(),
+              pageable.getOffset(),
+              pageable.getPageSize());
+        }
+
+        boolean involves(Long userId) {
+            return candidateId.equals(userId) || interviewerIds.contains(userId);
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.github.saleco.interview.calendar.api.agenda.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.FreeBusyDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.FreeBusyExport;
+import com.github.saleco.interview.calendar.api.agenda.imports.AvailabilityImports;
+import com.github.saleco.interview.calendar.api.agenda.imports.AvailabilityStreamImport;
+import com.github.saleco.interview.calendar.api.agenda.imports.ICalendarAvailabilityImport;
 import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.dto.SliceDto;
+import com.github.saleco.interview.calendar.api.user.repository.UserAgendaVersion;
 import com.github.saleco.interview.calendar.api.utils.InterviewCalendarAPIResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,11 +28,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/ap1/v1/agendas")
@@ -30,7 +52,18 @@ import java.util.List;
 @Slf4j
 public class AgendasController {
 
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CALENDAR_VALUE = "text/calendar";
+
+    //the first Agenda is flushed right away, then once every STREAM_FLUSH_SIZE Agendas
+    private static final int STREAM_FLUSH_SIZE = 500;
+
     private final AgendaService agendaService;
+    private final AvailabilityImports availabilityImports;
+    private final AvailabilityStreamImport availabilityStreamImport;
+    private final ICalendarAvailabilityImport iCalendarAvailabilityImport;
+    private final FreeBusyExport freeBusyExport;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Search Interview's Availability",
         description = "As a USER, I would like to get a list of possible interview slots for a particular candidate and one or more interviewers.")
@@ -45,6 +78,114 @@ public class AgendasController {
         return agendaService.getAvailability(searchInterviewsAvailabilityDto);
     }
 
+    @Operation(summary = "Search Interview's Availability by cursor",
+        description = "As a USER, I would like to browse the possible interview slots for a particular candidate and one or more interviewers, " +
+          "one slice at a time. The nextCursor of a slice is sent as the after parameter to get the next one.")
+    @GetMapping(value = "/search/cursor", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The slice of Interview's Availability has been returned",
+        content = @Content(schema = @Schema(implementation = SliceDto.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public SliceDto<AgendaDto> getAgendasSlice(
+      @ParameterObject @Valid SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto) {
+        return agendaService.getAvailabilitySlice(searchInterviewsAvailabilityCursorDto);
+    }
+
+    @Operation(summary = "Stream Interview's Availability",
+        description = "As a USER, I would like to receive every possible interview slot for a particular candidate and one or more interviewers, " +
+          "as newline delimited JSON written while the slots are read.")
+    @GetMapping(value = "/search/stream", produces = APPLICATION_NDJSON_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The Interview's Availability are being streamed, one Agenda per line",
+        content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AgendaDto.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public void streamAgendas(
+      @ParameterObject @Valid SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto, HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        AtomicLong written = new AtomicLong();
+
+        agendaService.streamAvailability(searchInterviewsAvailabilityDto, agendaDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(agendaDto));
+                outputStream.write('\n');
+                if (written.getAndIncrement() % STREAM_FLUSH_SIZE == 0) outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        outputStream.flush();
+    }
+
+    @Operation(summary = "Stream Interview's Availability reactively",
+        description = "As a USER, I would like to receive every possible interview slot for a particular candidate and one or more interviewers, " +
+          "as they are read, at the pace I read them. Slots are read one slice of pageSize at a time, only once the previous ones were written, " +
+          "as newline delimited JSON (application/stream+json) or server-sent events (text/event-stream). " +
+          "The cursor of the last slot received is sent as the after parameter to resume an interrupted stream.")
+    @GetMapping(value = "/search/flux", produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The Interview's Availability are being streamed, one Agenda per line or event",
+        content = @Content(mediaType = MediaType.APPLICATION_STREAM_JSON_VALUE, schema = @Schema(implementation = AgendaDto.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public Flux<AgendaDto> getAgendasFlux(
+      @ParameterObject @Valid SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto) {
+        return agendaService.getAvailabilityFlux(searchInterviewsAvailabilityCursorDto);
+    }
+
+    @Operation(summary = "Export User's free/busy",
+      description = "As a calendar client, I would like to poll the free/busy of an User. The response has a strong ETag of the version and the period, " +
+        "when it matches If-None-Match the status 304 is returned without reading the Agendas.")
+    @GetMapping(value = "/freebusy/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The free/busy has been returned",
+        content = @Content(schema = @Schema(implementation = FreeBusyDto.class))),
+      @ApiResponse(responseCode = "304", description = "The free/busy didn't change"),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Not found",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public FreeBusyDto getFreeBusy(
+      @Parameter(description = "User's Identification", example = "1") @PathVariable Long userId,
+      @Parameter(description = "Start from", example = "2021-03-25T00:00:00Z") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startingFrom,
+      @Parameter(description = "Ending at", example = "2021-03-30T00:00:00Z") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endingAt,
+      WebRequest webRequest) {
+        agendaService.validatesPeriodInput(startingFrom, endingAt);
+
+        UserAgendaVersion version = freeBusyExport.getVersion(userId);
+        if (webRequest.checkNotModified(freeBusyExport.getETag(userId, version, startingFrom, endingAt, FreeBusyExport.JSON))) return null;
+
+        return freeBusyExport.getFreeBusy(userId, version, startingFrom, endingAt);
+    }
+
+    @Operation(summary = "Export User's free/busy as iCalendar",
+      description = "As a calendar client, I would like to poll the free/busy of an User as a VFREEBUSY. The response has a strong ETag of the version and the period, " +
+        "when it matches If-None-Match the status 304 is returned without reading the Agendas.")
+    @GetMapping(value = "/freebusy/{userId}", produces = TEXT_CALENDAR_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The free/busy has been returned",
+        content = @Content(mediaType = TEXT_CALENDAR_VALUE)),
+      @ApiResponse(responseCode = "304", description = "The free/busy didn't change"),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Not found",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public String getFreeBusyICalendar(
+      @Parameter(description = "User's Identification", example = "1") @PathVariable Long userId,
+      @Parameter(description = "Start from", example = "2021-03-25T00:00:00Z") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startingFrom,
+      @Parameter(description = "Ending at", example = "2021-03-30T00:00:00Z") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endingAt,
+      WebRequest webRequest) {
+        agendaService.validatesPeriodInput(startingFrom, endingAt);
+
+        UserAgendaVersion version = freeBusyExport.getVersion(userId);
+        if (webRequest.checkNotModified(freeBusyExport.getETag(userId, version, startingFrom, endingAt, FreeBusyExport.ICALENDAR))) return null;
+
+        return freeBusyExport.toICalendar(freeBusyExport.getFreeBusy(userId, version, startingFrom, endingAt), version);
+    }
+
     @Operation(summary = "Setup Agenda slots",
       description = "As an INTERVIEWER / CANDIDATE, I would like to set availability slots")
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
@@ -60,6 +201,75 @@ public class AgendasController {
         return agendaService.createAvailability(createAgendaDto);
     }
 
+    @Operation(summary = "Setup Agenda slots from a stream",
+      description = "As an INTERVIEWER / CANDIDATE, I would like to set many availability slots at once. " +
+        "The Create Agenda payload is read while it is received, userId must precede availabilities, " +
+        "and the slots are created chunk by chunk. An invalid availability stops the request, the previous chunks stay created: " +
+        "the 400 response is then the failed Import Job, to resume without its first availabilitiesCreated availabilities " +
+        "and with the next one starting at createdUntil when set.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+      content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CreateAgendaDto.class)))
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The Agenda slots were successfully created.",
+        content = @Content(schema = @Schema(implementation = ImportJobDto.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter, with the failed Import Job when slots were already created",
+        content = @Content(schema = @Schema(oneOf = {InterviewCalendarAPIResponse.class, ImportJobDto.class}))),
+      @ApiResponse(responseCode = "404", description = "Not found",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public ImportJobDto streamAgendaSlots(HttpServletRequest request) throws IOException {
+        return availabilityStreamImport.importAvailability(request.getInputStream());
+    }
+
+    @Operation(summary = "Setup Agenda slots from an iCalendar",
+      description = "As an INTERVIEWER / CANDIDATE, I would like to set availability slots from my calendar free/busy export. " +
+        "The time covered by a VFREEBUSY, its FREE periods and transparent events are free, the other periods and events are busy. " +
+        "The whole free hours that are not busy are created as availability slots. Opaque recurring events are rejected, " +
+        "their occurrences are read from a free/busy export.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(mediaType = TEXT_CALENDAR_VALUE))
+    @PostMapping(value = "/ics", consumes = TEXT_CALENDAR_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The Agenda slots were successfully created.",
+        content = @Content(schema = @Schema(implementation = ImportJobDto.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter, with the failed Import Job when slots were already created",
+        content = @Content(schema = @Schema(oneOf = {InterviewCalendarAPIResponse.class, ImportJobDto.class}))),
+      @ApiResponse(responseCode = "404", description = "Not found",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public ImportJobDto importICalendar(
+      @Parameter(description = "Agenda's User", required = true, example = "1") @RequestParam Long userId,
+      HttpServletRequest request) throws IOException {
+        return iCalendarAvailabilityImport.importAvailability(userId, request.getInputStream());
+    }
+
+    @Operation(summary = "Import Agenda slots",
+      description = "As an INTERVIEWER / CANDIDATE, I would like to set availability slots of many Users at once. " +
+        "The import is processed in the background, its progress is returned by GET /imports/{id}")
+    @PostMapping(value = "/imports", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "The import was queued.",
+        content = @Content(schema = @Schema(implementation = ImportJobDto.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid parameter",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class))),
+      @ApiResponse(responseCode = "503", description = "Import queue is full",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public ImportJobDto importAgendaSlots(
+      @Parameter(name = "Import Availability DTO", required = true) @RequestBody @Valid ImportAvailabilityDto importAvailabilityDto) {
+        return availabilityImports.submit(importAvailabilityDto);
+    }
+
+    @Operation(summary = "Get Agenda slots import",
+      description = "Progress of an import: availabilities processed, slots created, failures and throughput")
+    @GetMapping(value = "/imports/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The import status has been returned",
+        content = @Content(schema = @Schema(implementation = ImportJobDto.class))),
+      @ApiResponse(responseCode = "404", description = "Not found",
+        content = @Content(schema = @Schema(implementation = InterviewCalendarAPIResponse.class)))})
+    public ImportJobDto getImport(@PathVariable String id) {
+        return availabilityImports.getJob(id);
+    }
+
 
 
 }
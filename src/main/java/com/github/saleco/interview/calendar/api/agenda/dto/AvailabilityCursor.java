@@ -0,0 +1,49 @@
+package com.github.saleco.interview.calendar.api.agenda.dto;
+
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position of the last Agenda returned by a cursor search, the next slice starts right after its (start, id).
+ * Exposed to the clients as an opaque Base64 token.
+ */
+@Data
+@AllArgsConstructor
+public class AvailabilityCursor {
+
+    private static final String SEPARATOR = ",";
+
+    private OffsetDateTime start;
+    private Long id;
+
+    public static AvailabilityCursor of(AgendaDto agendaDto) {
+        return new AvailabilityCursor(agendaDto.getStart(), agendaDto.getId());
+    }
+
+    /**
+     * @param  token the token returned by encode
+     * @return the cursor of the given token
+     * @throws ValidationException when the token was not produced by encode
+     */
+    public static AvailabilityCursor decode(String token) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+            return new AvailabilityCursor(
+              OffsetDateTime.ofInstant(Instant.parse(position[0]), ZoneOffset.UTC), Long.valueOf(position[1]));
+        } catch (RuntimeException e) {
+            throw new ValidationException(String.format("Invalid cursor %s", token));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString((start.toInstant() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.saleco.interview.calendar.api.agenda.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Schema(name = "Create Agenda")
+//userId first, so payloads written by the API can be streamed to POST /ap1/v1/agendas/stream
+@JsonPropertyOrder({"userId", "availabilities"})
 public class CreateAgendaDto {
 
     @Schema(description = "Agendas", required = true)
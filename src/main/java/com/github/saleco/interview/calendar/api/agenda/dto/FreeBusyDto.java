@@ -0,0 +1,37 @@
+package com.github.saleco.interview.calendar.api.agenda.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Free Busy")
+public class FreeBusyDto {
+
+    @Schema(description = "User's Identification", example = "1")
+    private Long userId;
+
+    @Schema(description = "Change version of the User's Agendas, incremented whenever an Agenda of the User is created", example = "3")
+    private long version;
+
+    @Schema(description = "Start from", format = "date-time", example = "2021-03-25T09:00:00Z")
+    @JsonFormat(pattern="yyyy-MM-dd'T'HH:mm:ssZ", shape=JsonFormat.Shape.STRING)
+    private OffsetDateTime startingFrom;
+
+    @Schema(description = "Ending at", format = "date-time", example = "2021-03-26T09:00:00Z")
+    @JsonFormat(pattern="yyyy-MM-dd'T'HH:mm:ssZ", shape=JsonFormat.Shape.STRING)
+    private OffsetDateTime endingAt;
+
+    @Schema(description = "Free periods in UTC, sorted by start. The rest of the period is busy")
+    private List<AvailabilityDto> free;
+
+}
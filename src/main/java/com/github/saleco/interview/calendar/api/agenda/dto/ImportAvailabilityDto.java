@@ -0,0 +1,25 @@
+package com.github.saleco.interview.calendar.api.agenda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Import Availability")
+public class ImportAvailabilityDto {
+
+    @Schema(description = "Availabilities of each User, validated and created as by POST /ap1/v1/agendas", required = true)
+    @NotEmpty
+    @Valid
+    private List<CreateAgendaDto> agendas;
+
+}
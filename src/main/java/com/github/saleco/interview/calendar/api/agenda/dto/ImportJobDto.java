@@ -0,0 +1,61 @@
+package com.github.saleco.interview.calendar.api.agenda.dto;
+
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Import Job")
+public class ImportJobDto {
+
+    @Schema(description = "Job Identification", example = "0b5c5f4e-8a8e-4a8e-9d7a-3f1f7a0c2b1d")
+    private String id;
+
+    @Schema(description = "Job status")
+    private ImportJobStatus status;
+
+    @Schema(description = "User availabilities in the import", example = "300")
+    private long agendas;
+
+    @Schema(description = "User availabilities processed, created or failed", example = "120")
+    private long agendasProcessed;
+
+    @Schema(description = "Agenda slots created", example = "48000")
+    private long rowsProcessed;
+
+    @Schema(description = "User availabilities that failed", example = "2")
+    private long failures;
+
+    @Schema(description = "Messages of the first failures")
+    private List<String> errors;
+
+    @Schema(description = "Streamed imports: leading availabilities whose slots are all created", example = "250")
+    private long availabilitiesCreated;
+
+    @Schema(description = "Streamed imports: end of the slots created of the next availability, when only its first slots are created",
+      example = "2021-04-26T14:00:00")
+    private LocalDateTime createdUntil;
+
+    @Schema(description = "Agenda slots created per second", example = "8000")
+    private double rowsPerSecond;
+
+    @Schema(description = "Submission date time", format = "date-time")
+    private OffsetDateTime submittedAt;
+
+    @Schema(description = "Processing start date time", format = "date-time")
+    private OffsetDateTime startedAt;
+
+    @Schema(description = "Processing end date time", format = "date-time")
+    private OffsetDateTime finishedAt;
+
+}
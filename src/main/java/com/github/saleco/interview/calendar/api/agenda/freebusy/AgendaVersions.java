@@ -0,0 +1,65 @@
+package com.github.saleco.interview.calendar.api.agenda.freebusy;
+
+import com.github.saleco.interview.calendar.api.exception.NotFoundException;
+import com.github.saleco.interview.calendar.api.user.repository.UserAgendaVersion;
+import com.github.saleco.interview.calendar.api.user.repository.UserIdAndAgendaVersion;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per User change version of the Agendas, stored with the User so it survives restarts and is shared by every instance.
+ * Incremented in the transaction creating the Agendas, so a version is never read before the Agendas it stands for
+ * and Agendas are never stored without a new version.
+ */
+@Component
+@RequiredArgsConstructor
+public class AgendaVersions {
+
+    private final UserRepository userRepository;
+
+    /**
+     * @param  userIds Users whose Agendas changed
+     */
+    public void increment(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        userRepository.incrementAgendaVersion(userIds, Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
+    }
+
+    /**
+     * @param  userId User Identification
+     * @throws NotFoundException when the User doesn't exist
+     * @return the change version of the Agendas of the User, read without touching the agenda table
+     */
+    public UserAgendaVersion getVersion(Long userId) {
+        return userRepository.findAgendaVersionById(userId)
+          .orElseThrow(() -> new NotFoundException(String.format("User %s not found", userId)));
+    }
+
+    /**
+     * @param  userIds User Identifications
+     * @return the change version of the Agendas of each existing User, read with a single query by primary key
+     */
+    public Map<Long, Long> getVersions(Collection<Long> userIds) {
+        return asMap(userRepository.findAgendaVersionsByIdIn(userIds));
+    }
+
+    /**
+     * @return the change version of the Agendas of every User
+     */
+    public Map<Long, Long> getVersions() {
+        return asMap(userRepository.findAllAgendaVersions());
+    }
+
+    private static Map<Long, Long> asMap(List<UserIdAndAgendaVersion> versions) {
+        return versions.stream().collect(Collectors.toMap(UserIdAndAgendaVersion::getId, UserIdAndAgendaVersion::getAgendaVersion));
+    }
+}
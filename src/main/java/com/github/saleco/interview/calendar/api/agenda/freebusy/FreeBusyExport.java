@@ -0,0 +1,171 @@
+package com.github.saleco.interview.calendar.api.agenda.freebusy;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.FreeBusyDto;
+import com.github.saleco.interview.calendar.api.agenda.range.AvailabilityRanges;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityRangeRepository;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.repository.UserAgendaVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Free/busy export of the Agendas of an User, as JSON or as an iCalendar VFREEBUSY.
+ * Each export has a strong ETag made of the User, its Agendas change version, the period and the format, so an unchanged export
+ * is answered by reading the version only, without touching the agenda table. The exported content of a version
+ * is always the same, the DTSTAMP of the iCalendar being the time of the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class FreeBusyExport {
+
+    public static final String JSON = "json";
+    public static final String ICALENDAR = "ics";
+
+    private static final String CRLF = "\r\n";
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final AgendaVersions agendaVersions;
+    private final AgendaRepository agendaRepository;
+    private final AvailabilityRangeRepository availabilityRangeRepository;
+    private final AvailabilityRanges availabilityRanges;
+    private final DateMapper dateMapper;
+
+    /**
+     * @param  userId User Identification
+     * @return the change version of the Agendas of the User
+     * @see AgendaVersions#getVersion(Long)
+     */
+    public UserAgendaVersion getVersion(Long userId) {
+        return agendaVersions.getVersion(userId);
+    }
+
+    /**
+     * @param  userId User Identification
+     * @param  version Change version of the Agendas of the User
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @param  format JSON or ICALENDAR
+     * @return the strong ETag of the export
+     */
+    public String getETag(Long userId, UserAgendaVersion version, OffsetDateTime startingFrom, OffsetDateTime endingAt, String format) {
+        return String.format("\"%s-%s-%s/%s-%s\"", userId, version.getAgendaVersion(), startingFrom.toInstant(), endingAt.toInstant(), format);
+    }
+
+    /**
+     * Given an User and a period, returns the free periods of the User, merged and clipped to the period
+     *
+     * @param  userId User Identification
+     * @param  version Change version of the Agendas of the User
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @return the free / busy of the User
+     */
+    public FreeBusyDto getFreeBusy(Long userId, UserAgendaVersion version, OffsetDateTime startingFrom, OffsetDateTime endingAt) {
+        Timestamp start = dateMapper.asTimestamp(startingFrom);
+        Timestamp end = dateMapper.asTimestamp(endingAt);
+
+        List<AvailabilityDto> periods;
+        if (availabilityRanges.isEnabled()) {
+            periods = availabilityRangeRepository.findTouching(userId, start, end).stream()
+              .map(range -> period(range.getStart(), range.getEnd()))
+              .collect(Collectors.toList());
+        } else {
+            periods = agendaRepository.findSlotsBy(Collections.singleton(userId), start, end).stream()
+              .map(slot -> period(slot.getStart(), slot.getEnd()))
+              .collect(Collectors.toList());
+        }
+
+        return FreeBusyDto.builder()
+          .userId(userId)
+          .version(version.getAgendaVersion())
+          .startingFrom(startingFrom)
+          .endingAt(endingAt)
+          .free(merge(periods, start.toLocalDateTime(), end.toLocalDateTime()))
+          .build();
+    }
+
+    /**
+     * @param  freeBusyDto Free / busy of an User
+     * @param  version Change version of the Agendas of the User
+     * @return the free / busy as an iCalendar VFREEBUSY, the time between free periods is listed as busy
+     */
+    public String toICalendar(FreeBusyDto freeBusyDto, UserAgendaVersion version) {
+        LocalDateTime start = utc(freeBusyDto.getStartingFrom());
+        LocalDateTime end = utc(freeBusyDto.getEndingAt());
+        //Agendas never changed through the API have no change time
+        LocalDateTime stamp = version.getAgendaUpdatedAt() != null ? version.getAgendaUpdatedAt().toLocalDateTime() : start;
+
+        StringBuilder ics = new StringBuilder()
+          .append("BEGIN:VCALENDAR").append(CRLF)
+          .append("VERSION:2.0").append(CRLF)
+          .append("PRODID:-//saleco//Interview Calendar API//EN").append(CRLF)
+          .append("METHOD:PUBLISH").append(CRLF)
+          .append("BEGIN:VFREEBUSY").append(CRLF)
+          .append("UID:freebusy-").append(freeBusyDto.getUserId()).append("@interview-calendar-api").append(CRLF)
+          .append("DTSTAMP:").append(UTC_DATE_TIME.format(stamp)).append(CRLF)
+          .append("DTSTART:").append(UTC_DATE_TIME.format(start)).append(CRLF)
+          .append("DTEND:").append(UTC_DATE_TIME.format(end)).append(CRLF);
+
+        LocalDateTime busyFrom = start;
+        for (AvailabilityDto free : freeBusyDto.getFree()) {
+            if (busyFrom.isBefore(free.getStart())) appendFreeBusy(ics, "BUSY", busyFrom, free.getStart());
+            appendFreeBusy(ics, "FREE", free.getStart(), free.getEnd());
+            busyFrom = free.getEnd();
+        }
+        if (busyFrom.isBefore(end)) appendFreeBusy(ics, "BUSY", busyFrom, end);
+
+        return ics
+          .append("END:VFREEBUSY").append(CRLF)
+          .append("END:VCALENDAR").append(CRLF)
+          .toString();
+    }
+
+    private static void appendFreeBusy(StringBuilder ics, String type, LocalDateTime start, LocalDateTime end) {
+        ics.append("FREEBUSY;FBTYPE=").append(type).append(':')
+          .append(UTC_DATE_TIME.format(start)).append('/').append(UTC_DATE_TIME.format(end)).append(CRLF);
+    }
+
+    //consecutive and overlapping periods are merged, then clipped to [start, end]
+    private static List<AvailabilityDto> merge(List<AvailabilityDto> periods, LocalDateTime start, LocalDateTime end) {
+        periods.sort(Comparator.comparing(AvailabilityDto::getStart));
+
+        List<AvailabilityDto> merged = new ArrayList<>();
+        AvailabilityDto current = null;
+        for (AvailabilityDto period : periods) {
+            if (current != null && !period.getStart().isAfter(current.getEnd())) {
+                if (period.getEnd().isAfter(current.getEnd())) current.setEnd(period.getEnd());
+            } else {
+                current = period;
+                merged.add(current);
+            }
+        }
+
+        merged.forEach(period -> {
+            if (period.getStart().isBefore(start)) period.setStart(start);
+            if (period.getEnd().isAfter(end)) period.setEnd(end);
+        });
+        merged.removeIf(period -> !period.getStart().isBefore(period.getEnd()));
+        return merged;
+    }
+
+    private static AvailabilityDto period(Timestamp start, Timestamp end) {
+        return AvailabilityDto.builder().start(start.toLocalDateTime()).end(end.toLocalDateTime()).build();
+    }
+
+    private static LocalDateTime utc(OffsetDateTime offsetDateTime) {
+        return offsetDateTime.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validates availabilities of an User as createAvailability does and creates their slots
+ * through AgendaService.createAgendas, one transaction per chunk of slots.
+ * Long availabilities are expanded piece by piece, the buffer never holds more than a chunk of slots.
+ * Each chunk created records in the job how far the availabilities written were created.
+ */
+@Slf4j
+class AgendaChunkWriter {
+
+    private final AgendaService agendaService;
+    private final ImportJob job;
+    private final Long userId;
+    private final int chunkSize;
+    private final List<AgendaDto> chunk;
+
+    //availabilities whose slots are all in the chunk or created, and end of the slots of the next one in the chunk
+    private long availabilities;
+    private LocalDateTime until;
+
+    AgendaChunkWriter(AgendaService agendaService, ImportJob job, Long userId, int chunkSize) {
+        this.agendaService = agendaService;
+        this.job = job;
+        this.userId = userId;
+        this.chunkSize = chunkSize;
+        this.chunk = new ArrayList<>(chunkSize);
+    }
+
+    void write(AvailabilityDto availabilityDto) {
+        agendaService.validateAvailabilities(Collections.singletonList(availabilityDto));
+        if (!availabilityDto.getStart().isBefore(availabilityDto.getEnd())) availabilities++;
+
+        for (LocalDateTime start = availabilityDto.getStart(); start.isBefore(availabilityDto.getEnd()); ) {
+            LocalDateTime end = min(start.plusHours(chunkSize - chunk.size()), availabilityDto.getEnd());
+            chunk.addAll(agendaService.getAgendaDtosFromAvailabilities(
+              Collections.singletonList(AvailabilityDto.builder().start(start).end(end).build()), userId));
+            if (end.isBefore(availabilityDto.getEnd())) {
+                until = end;
+            } else {
+                availabilities++;
+                until = null;
+            }
+            if (chunk.size() >= chunkSize) flush();
+            start = end;
+        }
+    }
+
+    void flush() {
+        if (chunk.isEmpty()) return;
+        job.rowsProcessed(agendaService.createAgendas(chunk).size());
+        job.availabilitiesCreated(availabilities, until);
+        log.debug("Import {} created {} slots", job.getId(), chunk.size());
+        chunk.clear();
+    }
+
+    private static LocalDateTime min(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
+import com.github.saleco.interview.calendar.api.exception.NotFoundException;
+import com.github.saleco.interview.calendar.api.exception.ServiceUnavailableException;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk availability imports, processed in the background by a dedicated bounded executor.
+ * Each User availability is validated as by AgendaService.createAvailability, its whole slot set included
+ * against the stored Agendas, before any slot is created. The slots are then created chunk by chunk,
+ * one transaction per chunk, so an import never holds a long transaction nor a request thread.
+ * A failing User availability is recorded and skipped, the others are still imported.
+ * An interrupted import ends CANCELLED, an unexpected error ends it FAILED.
+ * Statuses are kept in memory for the configured retention.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityImports {
+
+    private final AgendaService agendaService;
+    private final InterviewCalendarAPIProperties properties;
+
+    private ThreadPoolExecutor executor;
+    private Cache<String, ImportJob> jobs;
+
+    @PostConstruct
+    public void start() {
+        InterviewCalendarAPIProperties.Imports settings = properties.getImports();
+
+        executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(), 0, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(settings.getQueueCapacity()), new CustomizableThreadFactory("availability-import-"));
+
+        jobs = Caffeine.newBuilder()
+          .expireAfterWrite(settings.getRetention())
+          .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        //imports still in the queue will never run
+        jobs.asMap().values().stream()
+          .filter(job -> job.getStatus() == ImportJobStatus.QUEUED)
+          .forEach(ImportJob::cancel);
+    }
+
+    /**
+     * Queues an import, returning right away
+     *
+     * @param  importAvailabilityDto Availabilities of each User
+     * @throws ServiceUnavailableException when the import queue is full
+     * @return the status of the queued import
+     */
+    public ImportJobDto submit(ImportAvailabilityDto importAvailabilityDto) {
+        InterviewCalendarAPIProperties.Imports settings = properties.getImports();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), importAvailabilityDto.getAgendas().size(), settings.getMaximumErrors());
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job, importAvailabilityDto.getAgendas()));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.getId());
+            throw new ServiceUnavailableException(String.format("Import queue is full (%s imports waiting), retry later", settings.getQueueCapacity()));
+        }
+
+        log.debug("Import {} queued with {} availabilities", job.getId(), importAvailabilityDto.getAgendas().size());
+        return job.toDto();
+    }
+
+    /**
+     * @param  id Import Identification
+     * @throws NotFoundException when the import is unknown or its retention elapsed
+     * @return the status of the import
+     */
+    public ImportJobDto getJob(String id) {
+        ImportJob job = jobs.getIfPresent(id);
+        if (job == null) throw new NotFoundException(String.format("Import %s not found", id));
+        return job.toDto();
+    }
+
+    void run(ImportJob job, List<CreateAgendaDto> createAgendaDtos) {
+        job.start();
+        log.info("Import {} started", job.getId());
+
+        try {
+            for (CreateAgendaDto createAgendaDto : createAgendaDtos) {
+                if (Thread.currentThread().isInterrupted()) {
+                    job.cancel();
+                    break;
+                }
+                job.agendaStarted();
+                try {
+                    importAvailability(job, createAgendaDto);
+                    job.agendaProcessed();
+                } catch (RuntimeException e) {
+                    log.debug("Import {} failed for user {}", job.getId(), createAgendaDto.getUserId(), e);
+                    job.agendaFailed(createAgendaDto.getUserId(), e.getMessage());
+                }
+            }
+            if (job.getStatus() == ImportJobStatus.RUNNING) job.finish();
+        } catch (Throwable e) {
+            log.error("Import {} failed", job.getId(), e);
+            job.fail(e);
+            throw e;
+        } finally {
+            //restarts the retention from the end of the import
+            jobs.put(job.getId(), job);
+
+            ImportJobDto status = job.toDto();
+            log.info("Import {} {}: {} slots created, {} failures, {} slots/s", job.getId(), status.getStatus(),
+              status.getRowsProcessed(), status.getFailures(), String.format("%.0f", status.getRowsPerSecond()));
+        }
+    }
+
+    //same validations of createAvailability, all the slots of the User are checked against the stored Agendas before the first chunk
+    private void importAvailability(ImportJob job, CreateAgendaDto createAgendaDto) {
+        agendaService.validatesUserInput(createAgendaDto.getUserId());
+        agendaService.validateAvailabilities(createAgendaDto.getAvailabilities());
+
+        List<AgendaDto> agendaDtos = agendaService.getAgendaDtosFromAvailabilities(createAgendaDto.getAvailabilities(), createAgendaDto.getUserId());
+        if (new HashSet<>(agendaDtos).size() != agendaDtos.size()) {
+            throw new ValidationException(String.format("Availabilities of user %s are overlapping", createAgendaDto.getUserId()));
+        }
+        agendaService.validateAgendas(agendaDtos);
+
+        int chunkSize = properties.getImports().getChunkSize();
+        for (int from = 0; from < agendaDtos.size(); from += chunkSize) {
+            List<AgendaDto> chunk = agendaDtos.subList(from, Math.min(from + chunkSize, agendaDtos.size()));
+            job.rowsProcessed(agendaService.createAgendas(chunk).size());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Streaming ingestion of a Create Agenda payload. The availabilities are read token by token,
+ * validated and expanded one at a time and their slots are created chunk by chunk, one transaction per chunk,
+ * so the memory used depends on the chunk size and not on the size of the request.
+ * The userId must precede the availabilities in the payload.
+ * Validation stops the request at the first invalid availability or slot already set, the slots of the previous chunks stay created:
+ * the request then fails with the import, which tells how many availabilities and up to when the next one were created.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityStreamImport {
+
+    private static final String USER_ID = "userId";
+    private static final String AVAILABILITIES = "availabilities";
+
+    private final AgendaService agendaService;
+    private final ObjectMapper objectMapper;
+    private final InterviewCalendarAPIProperties properties;
+
+    /**
+     * Reads a Create Agenda payload and creates its agenda slots
+     *
+     * @param  inputStream Create Agenda payload
+     * @throws ValidationException when the payload is malformed, has no availabilities or an invalid one
+     * @throws PartialImportException when the payload has an invalid availability after some slots were created
+     * @return the completed import, with the slots created and the throughput
+     * @see com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto
+     */
+    public ImportJobDto importAvailability(InputStream inputStream) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), 1, 1);
+        job.start();
+
+        try {
+            read(inputStream, job);
+        } catch (ValidationException e) {
+            throw PartialImportException.of(job, e);
+        }
+
+        job.agendaProcessed();
+        job.finish();
+        return job.toDto();
+    }
+
+    private void read(InputStream inputStream, ImportJob job) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) throw new ValidationException("Create Agenda should be a JSON object");
+
+            Long userId = null;
+            long availabilities = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+
+                if (USER_ID.equals(field)) {
+                    userId = parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+                    agendaService.validatesUserInput(userId);
+                } else if (AVAILABILITIES.equals(field)) {
+                    if (userId == null) throw new ValidationException("userId should precede availabilities");
+                    availabilities += readAvailabilities(parser, userId, job);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (userId == null) throw new IllegalArgumentException("userId should not be null");
+            if (availabilities == 0) throw new ValidationException("availabilities should not be empty");
+        } catch (JsonProcessingException e) {
+            throw new ValidationException(String.format("Malformed Create Agenda: %s", e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readAvailabilities(JsonParser parser, Long userId, ImportJob job) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) throw new ValidationException("availabilities should be an array");
+
+        AgendaChunkWriter writer = new AgendaChunkWriter(agendaService, job, userId, properties.getImports().getChunkSize());
+        long availabilities = 0;
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            writer.write(objectMapper.readValue(parser, AvailabilityDto.class));
+            availabilities++;
+        }
+
+        writer.flush();
+        return availabilities;
+    }
+}
@@ -0,0 +1,280 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Imports the availability of an User from an iCalendar (.ics) stream, read line by line.
+ * Free time comes from the period covered by a VFREEBUSY, its FBTYPE=FREE periods and transparent VEVENTs,
+ * busy time from the other FREEBUSY periods and opaque VEVENTs, cancelled events are ignored.
+ * Recurrences are not expanded: opaque recurring events are rejected, as free/busy exports list their occurrences,
+ * and only the first occurrence of a transparent recurring event is free.
+ * Free and busy time are kept as 1 bit per hour slot, so the memory used depends on the hours covered and not on the number of events.
+ * TZIDs may be IANA time zones, Windows time zones as in Outlook / Exchange exports, or defined by a VTIMEZONE of the stream.
+ * Free blocks are shrunk and busy blocks are widened to whole hours. The free hours that are not busy are created
+ * as availabilities, with the validations and chunked creation of POST /ap1/v1/agendas/stream.
+ * Every slot is checked against the stored ones before the first chunk is created, a slot set meanwhile
+ * fails the request with the import as POST /ap1/v1/agendas/stream does.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ICalendarAvailabilityImport {
+
+    private static final String VEVENT = "VEVENT";
+    private static final String VFREEBUSY = "VFREEBUSY";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final ZoneRules UTC = ZoneOffset.UTC.getRules();
+
+    private final AgendaService agendaService;
+    private final InterviewCalendarAPIProperties properties;
+
+    /**
+     * Reads an iCalendar stream and creates the agenda slots of the free hours that are not busy
+     *
+     * @param  userId User Identification
+     * @param  inputStream iCalendar stream
+     * @throws ValidationException when the stream is malformed, has no free hour, an opaque recurring event or a slot already set
+     * @throws PartialImportException when a slot is set by another request after some slots were created
+     * @return the completed import, with the slots created and the throughput
+     */
+    public ImportJobDto importAvailability(Long userId, InputStream inputStream) {
+        agendaService.validatesUserInput(userId);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), 1, 1);
+        job.start();
+
+        BitSet free = new BitSet();
+        BitSet busy = new BitSet();
+        read(inputStream, free, busy);
+        free.andNot(busy);
+
+        if (free.isEmpty()) throw new ValidationException("iCalendar has no free hour");
+        validate(userId, free);
+
+        AgendaChunkWriter writer = new AgendaChunkWriter(agendaService, job, userId, properties.getImports().getChunkSize());
+        try {
+            for (int from = free.nextSetBit(0); from >= 0; ) {
+                int to = free.nextClearBit(from);
+                writer.write(availability(from, to));
+                from = free.nextSetBit(to);
+            }
+            writer.flush();
+        } catch (ValidationException e) {
+            throw PartialImportException.of(job, e);
+        }
+
+        job.agendaProcessed();
+        job.finish();
+        return job.toDto();
+    }
+
+    //the slots of the free hours, a chunk at a time, against each other and the stored ones
+    private void validate(Long userId, BitSet free) {
+        int chunkSize = properties.getImports().getChunkSize();
+        List<AgendaDto> chunk = new ArrayList<>(chunkSize);
+        for (int from = free.nextSetBit(0); from >= 0; ) {
+            int to = Math.min(free.nextClearBit(from), from + chunkSize - chunk.size());
+            chunk.addAll(agendaService.getAgendaDtosFromAvailabilities(Collections.singletonList(availability(from, to)), userId));
+            if (chunk.size() >= chunkSize) {
+                agendaService.validateAgendas(chunk);
+                chunk.clear();
+            }
+            from = free.nextSetBit(to);
+        }
+        if (!chunk.isEmpty()) agendaService.validateAgendas(chunk);
+    }
+
+    private void read(InputStream inputStream, BitSet free, BitSet busy) {
+        try (ICalendarLineReader reader = new ICalendarLineReader(inputStream)) {
+            Deque<String> components = new ArrayDeque<>();
+            ICalendarTimeZones timeZones = new ICalendarTimeZones();
+            Period period = null;
+            long events = 0;
+
+            ICalendarLineReader.ContentLine line;
+            while ((line = reader.readLine()) != null) {
+                if ("BEGIN".equals(line.getName())) {
+                    components.push(line.getValue().toUpperCase(Locale.ROOT));
+                    timeZones.begin(components.peek());
+                    if (isPeriod(components.peek())) period = new Period();
+                } else if ("END".equals(line.getName())) {
+                    String component = components.poll();
+                    if (!line.getValue().equalsIgnoreCase(component)) {
+                        throw new ValidationException(String.format("Malformed iCalendar: END:%s does not match BEGIN:%s", line.getValue(), component));
+                    }
+                    timeZones.end(component);
+                    if (VEVENT.equals(component)) {
+                        period.markEvent(free, busy);
+                        events++;
+                    } else if (VFREEBUSY.equals(component)) {
+                        period.markCoveredFree(free);
+                    }
+                } else if (timeZones.isReading()) {
+                    timeZones.readProperty(line);
+                } else if (isPeriod(components.peek())) {
+                    readProperty(line, period, free, busy, timeZones);
+                }
+            }
+
+            log.debug("iCalendar read: {} events, {} free hours, {} busy hours", events, free.cardinality(), busy.cardinality());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DateTimeException | ArithmeticException | NumberFormatException e) {
+            throw new ValidationException(String.format("Malformed iCalendar date: %s", e.getMessage()));
+        }
+    }
+
+    private void readProperty(ICalendarLineReader.ContentLine line, Period period, BitSet free, BitSet busy, ICalendarTimeZones timeZones) {
+        switch (line.getName()) {
+            case "DTSTART":
+                period.start = asInstant(line, timeZones);
+                break;
+            case "DTEND":
+                period.end = asInstant(line, timeZones);
+                break;
+            case "DURATION":
+                period.duration = asDuration(line.getValue());
+                break;
+            case "TRANSP":
+                period.transparent = "TRANSPARENT".equalsIgnoreCase(line.getValue());
+                break;
+            case "STATUS":
+                period.cancelled = "CANCELLED".equalsIgnoreCase(line.getValue());
+                break;
+            case "RRULE":
+            case "RDATE":
+                period.recurring = true;
+                break;
+            case "FREEBUSY":
+                boolean isFree = "FREE".equalsIgnoreCase(line.getParameter("FBTYPE"));
+                for (String value : line.getValue().split(",")) {
+                    String[] startAndEnd = value.split("/");
+                    if (startAndEnd.length != 2) throw new ValidationException(String.format("Malformed iCalendar period: %s", value));
+                    Instant start = asInstant(startAndEnd[0], UTC);
+                    Instant end = startAndEnd[1].matches("[+-]?P.*") ? start.plus(asDuration(startAndEnd[1])) : asInstant(startAndEnd[1], UTC);
+                    if (isFree) markFree(free, start, end);
+                    else markBusy(busy, start, end);
+                }
+                break;
+            default:
+        }
+    }
+
+    private static boolean isPeriod(String component) {
+        return VEVENT.equals(component) || VFREEBUSY.equals(component);
+    }
+
+    //TZIDs are resolved as IANA or Windows time zones, or by a VTIMEZONE of the stream
+    private static Instant asInstant(ICalendarLineReader.ContentLine line, ICalendarTimeZones timeZones) {
+        String tzid = line.getParameter("TZID");
+        return asInstant(line.getValue(), tzid != null ? timeZones.rules(tzid) : UTC);
+    }
+
+    //floating times are read as UTC, the time zone of the API
+    private static Instant asInstant(String value, ZoneRules zone) {
+        if (value.endsWith("Z")) return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME).toInstant(ZoneOffset.UTC);
+        LocalDateTime localDateTime = value.indexOf('T') < 0 ? LocalDate.parse(value, DATE).atStartOfDay() : LocalDateTime.parse(value, DATE_TIME);
+        //a time skipped by a transition is moved forward as by ZonedDateTime
+        return localDateTime.toInstant(zone.getOffset(localDateTime));
+    }
+
+    private static Duration asDuration(String value) {
+        boolean negative = value.startsWith("-");
+        String unsigned = value.startsWith("-") || value.startsWith("+") ? value.substring(1) : value;
+        Duration duration = unsigned.endsWith("W")
+          ? Duration.ofDays(7 * Long.parseLong(unsigned.substring(1, unsigned.length() - 1)))
+          : Duration.parse(unsigned);
+        return negative ? duration.negated() : duration;
+    }
+
+    private static void markFree(BitSet free, Instant start, Instant end) {
+        int from = hour(start, true);
+        int to = hour(end, false);
+        if (from < to) free.set(from, to);
+    }
+
+    private static void markBusy(BitSet busy, Instant start, Instant end) {
+        int from = hour(start, false);
+        int to = hour(end, true);
+        if (from < to) busy.set(from, to);
+    }
+
+    //hours since the epoch, rounded up or down to a whole hour
+    private static int hour(Instant instant, boolean roundUp) {
+        long seconds = instant.getEpochSecond() + (roundUp ? SECONDS_PER_HOUR - 1 : 0);
+        if (seconds < 0) throw new ValidationException(String.format("iCalendar dates before %s are not supported", Instant.EPOCH));
+        return Math.toIntExact(seconds / SECONDS_PER_HOUR);
+    }
+
+    private static AvailabilityDto availability(int from, int to) {
+        return AvailabilityDto.builder().start(asLocalDateTime(from)).end(asLocalDateTime(to)).build();
+    }
+
+    private static LocalDateTime asLocalDateTime(int hour) {
+        return LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+    }
+
+    //DTSTART / DTEND / DURATION of the current VEVENT or VFREEBUSY
+    private static class Period {
+        private Instant start;
+        private Instant end;
+        private Duration duration;
+        private boolean transparent;
+        private boolean cancelled;
+        private boolean recurring;
+
+        private Instant getEnd() {
+            if (end != null) return end;
+            return start != null && duration != null ? start.plus(duration) : null;
+        }
+
+        private void markEvent(BitSet free, BitSet busy) {
+            if (cancelled || start == null || getEnd() == null) return;
+            if (transparent) {
+                markFree(free, start, getEnd());
+            } else if (recurring) {
+                //its other occurrences would be created as free
+                throw new ValidationException(String.format("Recurring busy events are not supported, found one starting at %s: "
+                  + "import a free/busy export, which lists every occurrence", start));
+            } else {
+                markBusy(busy, start, getEnd());
+            }
+        }
+
+        //time of a VFREEBUSY not listed as busy is free
+        private void markCoveredFree(BitSet free) {
+            if (start == null || getEnd() == null) return;
+            markFree(free, start, getEnd());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import lombok.Value;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the content lines of an iCalendar stream (RFC 5545) one at a time, unfolding continuation lines.
+ * Only the current line is kept in memory.
+ */
+class ICalendarLineReader implements Closeable {
+
+    private final BufferedReader reader;
+    private String next;
+
+    ICalendarLineReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the next unfolded content line, null at the end of the stream
+     * @throws ValidationException when the line has no value
+     */
+    ContentLine readLine() throws IOException {
+        String line = next != null ? next : reader.readLine();
+        next = null;
+        while (line != null && line.isEmpty()) line = reader.readLine();
+        if (line == null) return null;
+
+        StringBuilder unfolded = null;
+        String following;
+        while ((following = reader.readLine()) != null && isContinuation(following)) {
+            if (unfolded == null) unfolded = new StringBuilder(line);
+            unfolded.append(following, 1, following.length());
+        }
+        next = following;
+
+        return ContentLine.parse(unfolded != null ? unfolded.toString() : line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static boolean isContinuation(String line) {
+        return !line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t');
+    }
+
+    /**
+     * A property, or a BEGIN / END of a component: name, parameters and value.
+     * Names and parameter names are upper cased.
+     */
+    @Value
+    static class ContentLine {
+        String name;
+        Map<String, String> parameters;
+        String value;
+
+        String getParameter(String parameter) {
+            return parameters.get(parameter);
+        }
+
+        static ContentLine parse(String line) {
+            Map<String, String> parameters = new HashMap<>();
+            String name = null;
+            int from = 0;
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && (c == ';' || c == ':')) {
+                    String token = line.substring(from, i);
+                    if (name == null) {
+                        name = token.toUpperCase(Locale.ROOT);
+                    } else {
+                        int equals = token.indexOf('=');
+                        if (equals > 0) {
+                            parameters.put(token.substring(0, equals).toUpperCase(Locale.ROOT), unquote(token.substring(equals + 1)));
+                        }
+                    }
+                    from = i + 1;
+                    if (c == ':') return new ContentLine(name, parameters, line.substring(from));
+                }
+            }
+
+            throw new ValidationException(String.format("Malformed iCalendar line: %s", line));
+        }
+
+        private static String unquote(String value) {
+            return value.length() > 1 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+        }
+    }
+}
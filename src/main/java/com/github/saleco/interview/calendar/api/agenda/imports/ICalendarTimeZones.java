@@ -0,0 +1,180 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Resolves the TZID parameters of an iCalendar stream: IANA time zones first, then the Windows time zone names
+ * of Outlook / Exchange exports, then the VTIMEZONE definitions read so far in the stream.
+ * A VTIMEZONE is read as a fixed offset, or as yearly STANDARD / DAYLIGHT transitions on the nth or last weekday of a month.
+ */
+class ICalendarTimeZones {
+
+    private static final String VTIMEZONE = "VTIMEZONE";
+    private static final String STANDARD = "STANDARD";
+    private static final String DAYLIGHT = "DAYLIGHT";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Map<String, String> WINDOWS_ZONES = windowsZones();
+
+    private final Map<String, Definition> definitions = new HashMap<>();
+
+    //VTIMEZONE being read
+    private Definition definition;
+    private Observance observance;
+
+    /**
+     * @param  tzid TZID parameter
+     * @return the rules of the time zone
+     * @throws ValidationException when the time zone is unknown or its VTIMEZONE is not supported
+     */
+    ZoneRules rules(String tzid) {
+        try {
+            return ZoneId.of(tzid).getRules();
+        } catch (DateTimeException e) {
+            String windowsZone = WINDOWS_ZONES.get(tzid);
+            if (windowsZone != null) return ZoneId.of(windowsZone).getRules();
+
+            Definition defined = definitions.get(tzid);
+            if (defined == null) throw new ValidationException(String.format("Unknown iCalendar time zone %s, no VTIMEZONE defines it", tzid));
+            return defined.rules();
+        }
+    }
+
+    void begin(String component) {
+        if (VTIMEZONE.equals(component)) definition = new Definition();
+        else if (definition != null && STANDARD.equals(component)) observance = definition.standard = new Observance();
+        else if (definition != null && DAYLIGHT.equals(component)) observance = definition.daylight = new Observance();
+    }
+
+    void end(String component) {
+        if (STANDARD.equals(component) || DAYLIGHT.equals(component)) {
+            observance = null;
+        } else if (VTIMEZONE.equals(component) && definition != null) {
+            if (definition.tzid != null) definitions.put(definition.tzid, definition);
+            definition = null;
+        }
+    }
+
+    /**
+     * @return true while a VTIMEZONE is read, its properties are then given to readProperty
+     */
+    boolean isReading() {
+        return definition != null;
+    }
+
+    void readProperty(ICalendarLineReader.ContentLine line) {
+        if (observance == null) {
+            if ("TZID".equals(line.getName())) definition.tzid = line.getValue();
+            return;
+        }
+
+        switch (line.getName()) {
+            case "DTSTART":
+                observance.start = LocalDateTime.parse(line.getValue(), DATE_TIME);
+                break;
+            case "TZOFFSETFROM":
+                observance.offsetFrom = ZoneOffset.of(line.getValue());
+                break;
+            case "TZOFFSETTO":
+                observance.offsetTo = ZoneOffset.of(line.getValue());
+                break;
+            case "RRULE":
+                observance.rule = line.getValue();
+                break;
+            default:
+        }
+    }
+
+    private static Map<String, String> windowsZones() {
+        Properties properties = new Properties();
+        try (InputStream inputStream = ICalendarTimeZones.class.getResourceAsStream("windows-zones.properties")) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, String> windowsZones = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> windowsZones.put(name, properties.getProperty(name)));
+        return windowsZones;
+    }
+
+    private static DayOfWeek dayOfWeek(String day) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (dayOfWeek.name().startsWith(day)) return dayOfWeek;
+        }
+        throw new IllegalArgumentException(day);
+    }
+
+    //VTIMEZONE, turned into rules the first time its TZID is used
+    private static class Definition {
+        private String tzid;
+        private Observance standard;
+        private Observance daylight;
+        private ZoneRules rules;
+
+        private ZoneRules rules() {
+            if (rules != null) return rules;
+            if (standard == null || standard.offsetTo == null) {
+                throw new ValidationException(String.format("Unsupported iCalendar time zone %s: no STANDARD offset", tzid));
+            }
+            if (daylight == null) return rules = ZoneRules.of(standard.offsetTo);
+
+            ZoneOffsetTransitionRule toDaylight = daylight.transitionRule(tzid, standard.offsetTo);
+            ZoneOffsetTransitionRule toStandard = standard.transitionRule(tzid, standard.offsetTo);
+            //the yearly rules apply after the first transition
+            return rules = ZoneRules.of(standard.offsetTo, standard.offsetTo, Collections.emptyList(),
+              Collections.singletonList(toDaylight.createTransition(daylight.start.getYear())), Arrays.asList(toDaylight, toStandard));
+        }
+    }
+
+    //STANDARD or DAYLIGHT component of a VTIMEZONE
+    private static class Observance {
+        private LocalDateTime start;
+        private ZoneOffset offsetFrom;
+        private ZoneOffset offsetTo;
+        private String rule;
+
+        private ZoneOffsetTransitionRule transitionRule(String tzid, ZoneOffset standardOffset) {
+            Map<String, String> parts = new HashMap<>();
+            if (rule != null) {
+                for (String part : rule.split(";")) {
+                    String[] nameAndValue = part.split("=", 2);
+                    if (nameAndValue.length == 2) parts.put(nameAndValue[0].toUpperCase(Locale.ROOT), nameAndValue[1].toUpperCase(Locale.ROOT));
+                }
+            }
+
+            String byDay = parts.get("BYDAY");
+            if (start == null || offsetFrom == null || offsetTo == null || !"YEARLY".equals(parts.get("FREQ"))
+              || parts.get("BYMONTH") == null || byDay == null || !byDay.matches("[+-]?[1-5](MO|TU|WE|TH|FR|SA|SU)")) {
+                throw new ValidationException(String.format("Unsupported iCalendar time zone %s: %s", tzid, rule));
+            }
+
+            //the 5th weekday of Windows time zones is the last one
+            int week = Integer.parseInt(byDay.substring(0, byDay.length() - 2));
+            if (week == 5) week = -1;
+            //nth weekday on or after the day 7n-6, last weekdays on or before the last day of the month
+            int dayOfMonthIndicator = week > 0 ? 7 * week - 6 : 7 * week + 6;
+            return ZoneOffsetTransitionRule.of(Month.of(Integer.parseInt(parts.get("BYMONTH"))), dayOfMonthIndicator,
+              dayOfWeek(byDay.substring(byDay.length() - 2)), start.toLocalTime(), false,
+              ZoneOffsetTransitionRule.TimeDefinition.WALL, standardOffset, offsetFrom, offsetTo);
+        }
+    }
+}
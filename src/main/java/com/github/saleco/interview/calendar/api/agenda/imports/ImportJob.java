@@ -0,0 +1,148 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of an availability import, updated by the import thread and read by status requests.
+ */
+@RequiredArgsConstructor
+class ImportJob {
+
+    @Getter
+    private final String id;
+    private final long agendas;
+    private final int maximumErrors;
+    private final Instant submittedAt = Instant.now();
+
+    private final AtomicLong agendasProcessed = new AtomicLong();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+    //slots created for the User being imported, only touched by the import thread
+    private long userRows;
+    //position of the last chunk created in the availabilities of a streamed import
+    private volatile long availabilitiesCreated;
+    private volatile LocalDateTime createdUntil;
+
+    @Getter
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+
+    void start() {
+        startedAt = Instant.now();
+        status = ImportJobStatus.RUNNING;
+    }
+
+    void agendaStarted() {
+        userRows = 0;
+    }
+
+    void rowsProcessed(long rows) {
+        userRows += rows;
+        rowsProcessed.addAndGet(rows);
+    }
+
+    void availabilitiesCreated(long availabilities, LocalDateTime until) {
+        availabilitiesCreated = availabilities;
+        createdUntil = until;
+    }
+
+    void agendaProcessed() {
+        agendasProcessed.incrementAndGet();
+    }
+
+    //the slots already committed for the User are kept, and reported along with the failure
+    void agendaFailed(Long userId, String message) {
+        failures.incrementAndGet();
+        error(userRows > 0
+          ? String.format("User %s: %s (%s slots created before the failure)", userId, message, userRows)
+          : String.format("User %s: %s", userId, message));
+        agendasProcessed.incrementAndGet();
+    }
+
+    void finish() {
+        finish(ImportJobStatus.COMPLETED);
+    }
+
+    void cancel() {
+        error(String.format("Import cancelled, %s of %s availabilities processed", agendasProcessed.get(), agendas));
+        finish(ImportJobStatus.CANCELLED);
+    }
+
+    void fail(Throwable cause) {
+        fail(String.format("Import failed: %s", cause));
+    }
+
+    void fail(String message) {
+        error(message);
+        finish(ImportJobStatus.FAILED);
+    }
+
+    //written after every counter, see toDto
+    private void finish(ImportJobStatus finalStatus) {
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    private void error(String message) {
+        synchronized (errors) {
+            if (errors.size() < maximumErrors) errors.add(message);
+        }
+    }
+
+    ImportJobDto toDto() {
+        //the status is written last by the import thread, reading it first makes the counters at least those of a finished job
+        ImportJobStatus currentStatus = status;
+        Instant finished = finishedAt;
+        Instant started = startedAt;
+        long rows = rowsProcessed.get();
+        long processed = agendasProcessed.get();
+        long failed = failures.get();
+        long availabilities = availabilitiesCreated;
+        LocalDateTime until = createdUntil;
+
+        double rowsPerSecond = 0;
+        if (started != null) {
+            long elapsed = Duration.between(started, finished != null ? finished : Instant.now()).toMillis();
+            rowsPerSecond = elapsed > 0 ? rows * 1000d / elapsed : rows;
+        }
+
+        List<String> errorsCopy;
+        synchronized (errors) {
+            errorsCopy = new ArrayList<>(errors);
+        }
+
+        return ImportJobDto.builder()
+          .id(id)
+          .status(currentStatus)
+          .agendas(agendas)
+          .agendasProcessed(processed)
+          .rowsProcessed(rows)
+          .failures(failed)
+          .availabilitiesCreated(availabilities)
+          .createdUntil(until)
+          .errors(errorsCopy)
+          .rowsPerSecond(rowsPerSecond)
+          .submittedAt(asOffsetDateTime(submittedAt))
+          .startedAt(asOffsetDateTime(started))
+          .finishedAt(asOffsetDateTime(finished))
+          .build();
+    }
+
+    private static OffsetDateTime asOffsetDateTime(Instant instant) {
+        return instant != null ? instant.atOffset(ZoneOffset.UTC) : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Validation failure of a streamed import after some of its chunks were created.
+ * The failed import is answered instead of the message alone, so the client knows from where to resume it.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class PartialImportException extends ValidationException {
+
+    @Getter
+    private final transient ImportJobDto job;
+
+    public PartialImportException(String errorMessage, ImportJobDto job) {
+        super(errorMessage);
+        this.job = job;
+    }
+
+    /**
+     * @param  job import that failed
+     * @param  cause validation failure
+     * @return the failure with the import when slots were created, the failure as is otherwise as the request can be sent again
+     */
+    static ValidationException of(ImportJob job, ValidationException cause) {
+        if (job.toDto().getRowsProcessed() == 0) return cause;
+
+        job.fail(cause.getMessage());
+        return new PartialImportException(cause.getMessage(), job.toDto());
+    }
+}
@@ -0,0 +1,312 @@
+package com.github.saleco.interview.calendar.api.agenda.index;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.AgendaVersions;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.AvailabilitySearchMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import static com.github.saleco.interview.calendar.api.agenda.index.HourSlots.BITS_PER_WORD;
+
+/**
+ * In-memory availability index, keeps one bitset of 1-hour slots per User
+ * so a Candidate / Interviewers search is resolved with word-wide ANDs instead of the Agenda self join.
+ *
+ * Agendas that are not 1-hour slots starting at the beginning of an hour can't be represented,
+ * the owners of such Agendas are flagged as not covered and their searches go through the database.
+ *
+ * Each User is indexed along with the change version of its Agendas. Before a search is answered, the versions of the
+ * searched Users are read with a single query and the Users whose Agendas changed since, through any instance, are reloaded.
+ * Agendas written to the database without incrementing the version of their User are only seen after a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final AgendaRepository agendaRepository;
+    private final AgendaMapper agendaMapper;
+    private final AgendaVersions agendaVersions;
+    private final InterviewCalendarAPIProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, HourSlots> slotsByUser = new HashMap<>();
+    private final Set<Long> uncoveredUsers = new HashSet<>();
+    //version of the Agendas of each User when it was loaded, Users missing were loaded without Agendas
+    private final Map<Long, Long> versionByUser = new HashMap<>();
+
+    /**
+     * @return true when availability searches are configured to use the index
+     */
+    public boolean isEnabled() {
+        return properties.getSearch().getMode() == AvailabilitySearchMode.INDEX;
+    }
+
+    /**
+     * Loads every stored Agenda into the index, page by page
+     */
+    @PostConstruct
+    public void rebuild() {
+        if (!isEnabled()) return;
+
+        long start = System.currentTimeMillis();
+        long agendas = 0;
+
+        lock.writeLock().lock();
+        try {
+            slotsByUser.clear();
+            uncoveredUsers.clear();
+            versionByUser.clear();
+            //read before the Agendas, so Agendas created meanwhile make the version out of date
+            versionByUser.putAll(agendaVersions.getVersions());
+
+            Page<Agenda> page = agendaRepository.findAll(PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id")));
+            while (true) {
+                page.forEach(agenda -> add(agendaMapper.modelToDto(agenda)));
+                agendas += page.getNumberOfElements();
+
+                if (!page.hasNext()) break;
+                page = agendaRepository.findAll(page.nextPageable());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Availability index built with {} agendas in {}ms", agendas, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds created Agendas to the index
+     *
+     * @param  agendaDtos the persisted Agendas
+     */
+    public void index(List<AgendaDto> agendaDtos) {
+        if (!isEnabled()) return;
+
+        lock.writeLock().lock();
+        try {
+            agendaDtos.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks if a search between the given users can be answered by the index,
+     * reloading first the users whose Agendas changed since they were loaded
+     *
+     * @param  candidateId Candidate Identification
+     * @param  interviewerIds Interviewers Identifications
+     * @return true when the index is enabled and holds every Agenda of the given users
+     */
+    public boolean covers(Long candidateId, List<Long> interviewerIds) {
+        if (!isEnabled()) return false;
+
+        List<Long> userIds = new ArrayList<>(interviewerIds.size() + 1);
+        userIds.add(candidateId);
+        userIds.addAll(interviewerIds);
+        agendaVersions.getVersions(userIds).forEach((userId, version) -> {
+            if (version != indexedVersion(userId)) reload(userId, version);
+        });
+
+        lock.readLock().lock();
+        try {
+            return !uncoveredUsers.contains(candidateId) && interviewerIds.stream().noneMatch(uncoveredUsers::contains);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the Interviewers slots matching a Candidate slot, with the same semantics of
+     * AgendaRepository.searchAvailabilityBy: a slot is returned when its start or its end is within the period.
+     * Results are sorted by start, then by Agenda id.
+     *
+     * @param  pageable Page to be returned
+     * @param  candidateId Candidate Identification
+     * @param  interviewerIds Interviewers Identifications
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @return the Page of Interviewers Agendas
+     */
+    public Page<AgendaDto> search(Pageable pageable, Long candidateId, List<Long> interviewerIds,
+                                  OffsetDateTime startingFrom, OffsetDateTime endingAt) {
+        long from = startingFrom.toEpochSecond() + (startingFrom.getNano() > 0 ? 1 : 0);
+        long to = endingAt.toEpochSecond();
+
+        //first hour whose end reaches the period and last hour whose start is within it
+        long firstHour = Math.floorDiv(from - 1, SECONDS_PER_HOUR);
+        long lastHour = Math.floorDiv(to, SECONDS_PER_HOUR);
+
+        //a period shorter than an hour may lie inside the first slot without touching its start / end
+        if (!isWithinPeriod(firstHour * SECONDS_PER_HOUR, from, to)) firstHour++;
+
+        lock.readLock().lock();
+        try {
+            HourSlots candidate = slotsByUser.get(candidateId);
+            if (candidate == null || firstHour > lastHour) {
+                return new PageImpl<>(Collections.emptyList(), pageable, 0);
+            }
+
+            List<Long> userIds = new ArrayList<>();
+            List<HourSlots> interviewers = new ArrayList<>();
+            new LinkedHashSet<>(interviewerIds).forEach(interviewerId -> {
+                HourSlots slots = slotsByUser.get(interviewerId);
+                if (slots != null) {
+                    userIds.add(interviewerId);
+                    interviewers.add(slots);
+                }
+            });
+
+            return collect(pageable, candidate, userIds, interviewers, firstHour, lastHour);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Page<AgendaDto> collect(Pageable pageable, HourSlots candidate, List<Long> userIds, List<HourSlots> interviewers,
+                                    long firstHour, long lastHour) {
+        List<AgendaDto> content = new ArrayList<>(pageable.getPageSize());
+        long offset = pageable.getOffset();
+        long position = 0;
+        long[] matches = new long[interviewers.size()];
+
+        for (long word = Math.floorDiv(firstHour, BITS_PER_WORD); word <= Math.floorDiv(lastHour, BITS_PER_WORD); word++) {
+            long candidateWord = candidate.word(word) & rangeMask(word, firstHour, lastHour);
+            if (candidateWord == 0) continue;
+
+            long anyMatch = 0;
+            int wordMatches = 0;
+            for (int i = 0; i < interviewers.size(); i++) {
+                matches[i] = candidateWord & interviewers.get(i).word(word);
+                anyMatch |= matches[i];
+                wordMatches += Long.bitCount(matches[i]);
+            }
+
+            if (position + wordMatches <= offset || content.size() == pageable.getPageSize()) {
+                position += wordMatches;
+                continue;
+            }
+
+            for (long bits = anyMatch; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                long hour = word * BITS_PER_WORD + bit;
+
+                List<AgendaDto> slots = new ArrayList<>();
+                for (int i = 0; i < interviewers.size(); i++) {
+                    if ((matches[i] & (1L << bit)) != 0) {
+                        slots.add(toAgendaDto(interviewers.get(i).agendaId(hour), userIds.get(i), hour));
+                    }
+                }
+                slots.sort((first, second) -> Long.compare(first.getId(), second.getId()));
+
+                for (AgendaDto slot : slots) {
+                    if (position >= offset && content.size() < pageable.getPageSize()) content.add(slot);
+                    position++;
+                }
+            }
+        }
+
+        return new PageImpl<>(content, pageable, position);
+    }
+
+    private long indexedVersion(Long userId) {
+        lock.readLock().lock();
+        try {
+            return versionByUser.getOrDefault(userId, 0L);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //the Agendas are read after the version, so they hold at least the Agendas of that version
+    private void reload(Long userId, long version) {
+        List<AgendaDto> agendaDtos = agendaRepository.findByUserId(userId).stream()
+          .map(agendaMapper::modelToDto)
+          .collect(Collectors.toList());
+
+        lock.writeLock().lock();
+        try {
+            if (version == versionByUser.getOrDefault(userId, 0L)) return;
+
+            slotsByUser.remove(userId);
+            uncoveredUsers.remove(userId);
+            agendaDtos.forEach(this::add);
+            versionByUser.put(userId, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.debug("Availability index reloaded {} agendas of user {} at version {}", agendaDtos.size(), userId, version);
+    }
+
+    private void add(AgendaDto agendaDto) {
+        Long userId = agendaDto.getUserId();
+        if (uncoveredUsers.contains(userId)) return;
+
+        long start = agendaDto.getStart().toEpochSecond();
+        long end = agendaDto.getEnd().toEpochSecond();
+
+        if (Math.floorMod(start, SECONDS_PER_HOUR) != 0 || end - start != SECONDS_PER_HOUR) {
+            log.debug("Agenda {} is not a 1-hour slot, searches for user {} will not use the index", agendaDto, userId);
+            uncoveredUsers.add(userId);
+            slotsByUser.remove(userId);
+            return;
+        }
+
+        slotsByUser
+          .computeIfAbsent(userId, id -> new HourSlots())
+          .add(Math.floorDiv(start, SECONDS_PER_HOUR), agendaDto.getId());
+    }
+
+    private static boolean isWithinPeriod(long slotStart, long from, long to) {
+        long slotEnd = slotStart + SECONDS_PER_HOUR;
+        return (slotStart >= from && slotStart <= to) || (slotEnd >= from && slotEnd <= to);
+    }
+
+    private static long rangeMask(long word, long firstHour, long lastHour) {
+        long wordStart = word * BITS_PER_WORD;
+        int low = (int) Math.max(0, firstHour - wordStart);
+        int high = (int) Math.min(BITS_PER_WORD - 1, lastHour - wordStart);
+        return (-1L << low) & (-1L >>> (BITS_PER_WORD - 1 - high));
+    }
+
+    private static AgendaDto toAgendaDto(long agendaId, Long userId, long hour) {
+        LocalDateTime start = LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+        return AgendaDto.builder()
+          .id(agendaId)
+          .userId(userId)
+          .start(OffsetDateTime.of(start, ZoneOffset.UTC))
+          .end(OffsetDateTime.of(start.plusHours(1), ZoneOffset.UTC))
+          .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.saleco.interview.calendar.api.agenda.index;
+
+import java.util.Arrays;
+
+/**
+ * Bitset of the 1-hour slots of a single user, one bit per hour since the epoch.
+ * Only the words between the first and the last indexed hour are allocated,
+ * and the Agenda id of each slot is kept next to its word.
+ */
+class HourSlots {
+
+    static final int BITS_PER_WORD = Long.SIZE;
+
+    private long firstWord;
+    private long[] words = new long[0];
+    private long[][] agendaIds = new long[0][];
+
+    /**
+     * Flags the given hour as available
+     *
+     * @param  hour hours since the epoch
+     * @param  agendaId the Agenda that owns the slot
+     */
+    void add(long hour, long agendaId) {
+        long word = Math.floorDiv(hour, BITS_PER_WORD);
+        ensureCapacity(word);
+
+        int index = (int) (word - firstWord);
+        int bit = (int) Math.floorMod(hour, BITS_PER_WORD);
+
+        if (agendaIds[index] == null) {
+            agendaIds[index] = new long[BITS_PER_WORD];
+        }
+
+        words[index] |= 1L << bit;
+        agendaIds[index][bit] = agendaId;
+    }
+
+    /**
+     * @param  word word number (hour / 64)
+     * @return the 64 hours of the given word, 0 when nothing is indexed there
+     */
+    long word(long word) {
+        long index = word - firstWord;
+        return index < 0 || index >= words.length ? 0L : words[(int) index];
+    }
+
+    /**
+     * @param  hour hours since the epoch
+     * @return the Agenda id indexed for the given hour
+     */
+    long agendaId(long hour) {
+        long word = Math.floorDiv(hour, BITS_PER_WORD);
+        return agendaIds[(int) (word - firstWord)][(int) Math.floorMod(hour, BITS_PER_WORD)];
+    }
+
+    private void ensureCapacity(long word) {
+        if (words.length == 0) {
+            firstWord = word;
+            words = new long[1];
+            agendaIds = new long[1][];
+            return;
+        }
+
+        if (word < firstWord) {
+            int shift = (int) (firstWord - word);
+            long[] grownWords = new long[words.length + shift];
+            long[][] grownAgendaIds = new long[words.length + shift][];
+            System.arraycopy(words, 0, grownWords, shift, words.length);
+            System.arraycopy(agendaIds, 0, grownAgendaIds, shift, agendaIds.length);
+            words = grownWords;
+            agendaIds = grownAgendaIds;
+            firstWord = word;
+        } else if (word - firstWord >= words.length) {
+            int length = (int) Math.max(word - firstWord + 1, words.length * 2L);
+            words = Arrays.copyOf(words, length);
+            agendaIds = Arrays.copyOf(agendaIds, length);
+        }
+    }
+}
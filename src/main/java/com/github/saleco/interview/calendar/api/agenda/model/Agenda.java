@@ -16,10 +16,12 @@ import java.sql.Timestamp;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(name = "agenda_user_start_end_idx", columnList = "user_id, start, end"))
 public class Agenda {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agenda_seq")
+    @SequenceGenerator(name = "agenda_seq", sequenceName = "agenda_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
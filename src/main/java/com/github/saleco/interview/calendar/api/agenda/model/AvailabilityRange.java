@@ -0,0 +1,34 @@
+package com.github.saleco.interview.calendar.api.agenda.model;
+
+import com.github.saleco.interview.calendar.api.user.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.sql.Timestamp;
+
+/**
+ * A contiguous interval of availability of an User, [start, end).
+ * Ranges of the same User never overlap nor touch, adjacent intervals are merged in a single range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(indexes = @Index(name = "availability_range_user_start_end_idx", columnList = "user_id, start, end"))
+public class AvailabilityRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_range_seq")
+    @SequenceGenerator(name = "availability_range_seq", sequenceName = "availability_range_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne
+    private User user;
+
+    private Timestamp start;
+    private Timestamp end;
+}
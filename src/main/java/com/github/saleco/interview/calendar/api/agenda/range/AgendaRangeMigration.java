@@ -0,0 +1,100 @@
+package com.github.saleco.interview.calendar.api.agenda.range;
+
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.model.AvailabilityRange;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityRangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migration path from the Agenda table to the range based storage.
+ * On the first start with RANGES storage, while the AvailabilityRange table is still empty,
+ * the Agendas are read page by page sorted by user and start, and the consecutive or overlapping ones
+ * of each User are merged in a single range. The Agenda table is left untouched so SLOTS storage can be restored.
+ * The check and the migration run in one transaction: a migration failing halfway is rolled back,
+ * so the table is still empty and the next start migrates it again from the beginning.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AgendaRangeMigration implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final AgendaRepository agendaRepository;
+    private final AvailabilityRangeRepository availabilityRangeRepository;
+    private final AvailabilityRanges availabilityRanges;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (availabilityRanges.isEnabled() && availabilityRangeRepository.count() == 0) {
+            migrate();
+        }
+    }
+
+    /**
+     * Merges every stored Agenda into availability ranges
+     *
+     * @return the number of ranges created
+     */
+    public long migrate() {
+        long start = System.currentTimeMillis();
+        long agendas = 0;
+        long ranges = 0;
+
+        AvailabilityRange range = null;
+        List<AvailabilityRange> merged = new ArrayList<>(PAGE_SIZE);
+
+        Page<Agenda> page = agendaRepository.findAll(PageRequest.of(0, PAGE_SIZE, Sort.by("user.id", "start", "id")));
+        while (true) {
+            for (Agenda agenda : page) {
+                if (range != null && range.getUser().getId().equals(agenda.getUser().getId())
+                  && !agenda.getStart().after(range.getEnd())) {
+                    if (agenda.getEnd().after(range.getEnd())) range.setEnd(agenda.getEnd());
+                    continue;
+                }
+
+                range = AvailabilityRange.builder().user(agenda.getUser()).start(agenda.getStart()).end(agenda.getEnd()).build();
+                merged.add(range);
+            }
+            agendas += page.getNumberOfElements();
+
+            //the last range may still grow with the Agendas of the next page
+            if (merged.size() > 1) {
+                availabilityRangeRepository.saveAll(merged.subList(0, merged.size() - 1));
+                ranges += merged.size() - 1;
+                merged.subList(0, merged.size() - 1).clear();
+            }
+
+            //the whole migration is one transaction, keep only the current page in the persistence context
+            entityManager.flush();
+            entityManager.clear();
+
+            if (!page.hasNext()) break;
+            page = agendaRepository.findAll(page.nextPageable());
+        }
+
+        availabilityRangeRepository.saveAll(merged);
+        ranges += merged.size();
+
+        log.info("Migrated {} agendas to {} availability ranges in {}ms", agendas, ranges, System.currentTimeMillis() - start);
+        return ranges;
+    }
+}
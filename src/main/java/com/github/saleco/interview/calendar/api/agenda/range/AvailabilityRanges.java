@@ -0,0 +1,280 @@
+package com.github.saleco.interview.calendar.api.agenda.range;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityCursor;
+import com.github.saleco.interview.calendar.api.agenda.model.AvailabilityRange;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityOverlap;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityRangeRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.AvailabilityStorage;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.github.saleco.interview.calendar.api.agenda.range.HourSlices.SECONDS_PER_HOUR;
+
+/**
+ * Range based availability storage: one AvailabilityRange row per contiguous interval of an User
+ * instead of one Agenda row per 1-hour slot.
+ * Searches intersect the Candidate and Interviewers ranges in the database and slice the overlaps into
+ * 1-hour slots only when responses are built, each slot carries the id of the Interviewer range it belongs to.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityRanges {
+
+    private final AvailabilityRangeRepository availabilityRangeRepository;
+    private final DateMapper dateMapper;
+    private final InterviewCalendarAPIProperties properties;
+
+    /**
+     * @return true when availabilities are configured to be stored as ranges
+     */
+    public boolean isEnabled() {
+        return properties.getAvailability().getStorage() == AvailabilityStorage.RANGES;
+    }
+
+    /**
+     * Stores the given intervals, merging them with the touching ranges of their owners
+     *
+     * @param  agendaDtos the intervals to be stored
+     * @return the stored intervals, with the id of the range holding each one
+     * @throws ValidationException when an interval overlaps another one or a stored range
+     */
+    @Transactional
+    public List<AgendaDto> save(List<AgendaDto> agendaDtos) {
+        Map<AgendaDto, Long> rangeIds = new IdentityHashMap<>();
+
+        agendaDtos.stream()
+          .collect(Collectors.groupingBy(AgendaDto::getUserId, LinkedHashMap::new, Collectors.toList()))
+          .forEach((userId, userAgendaDtos) -> rangeIds.putAll(save(userId, userAgendaDtos)));
+
+        return agendaDtos.stream()
+          .map(agendaDto -> AgendaDto.builder()
+            .id(rangeIds.get(agendaDto))
+            .userId(agendaDto.getUserId())
+            .start(agendaDto.getStart())
+            .end(agendaDto.getEnd())
+            .build())
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks the given intervals as save does, without storing them
+     *
+     * @param  agendaDtos the intervals to be stored
+     * @throws ValidationException when an interval overlaps another one or a stored range
+     */
+    @Transactional(readOnly = true)
+    public void validate(List<AgendaDto> agendaDtos) {
+        agendaDtos.stream()
+          .collect(Collectors.groupingBy(AgendaDto::getUserId, LinkedHashMap::new, Collectors.toList()))
+          .forEach((userId, userAgendaDtos) -> {
+              List<Interval> intervals = intervals(userId, userAgendaDtos);
+              for (int i = 1; i < intervals.size(); i++) {
+                  checkOverlap(intervals.get(i - 1), intervals.get(i));
+              }
+          });
+    }
+
+    private Map<AgendaDto, Long> save(Long userId, List<AgendaDto> agendaDtos) {
+        List<Interval> intervals = intervals(userId, agendaDtos);
+
+        Map<AgendaDto, Long> rangeIds = new IdentityHashMap<>();
+        List<Interval> group = new ArrayList<>();
+        for (Interval interval : intervals) {
+            if (!group.isEmpty()) {
+                Interval previous = group.get(group.size() - 1);
+                checkOverlap(previous, interval);
+                if (interval.range.getStart().after(previous.range.getEnd())) {
+                    merge(userId, group, rangeIds);
+                    group.clear();
+                }
+            }
+            group.add(interval);
+        }
+        merge(userId, group, rangeIds);
+
+        return rangeIds;
+    }
+
+    //the given intervals and the stored ranges touching them, sorted by start and end
+    private List<Interval> intervals(Long userId, List<AgendaDto> agendaDtos) {
+        Timestamp start = agendaDtos.stream().map(AgendaDto::getStart).min(Comparator.naturalOrder()).map(dateMapper::asTimestamp).orElseThrow(IllegalStateException::new);
+        Timestamp end = agendaDtos.stream().map(AgendaDto::getEnd).max(Comparator.naturalOrder()).map(dateMapper::asTimestamp).orElseThrow(IllegalStateException::new);
+
+        List<Interval> intervals = new ArrayList<>();
+        availabilityRangeRepository.findTouching(userId, start, end).forEach(range -> intervals.add(new Interval(range, null)));
+        agendaDtos.forEach(agendaDto -> intervals.add(new Interval(
+          AvailabilityRange.builder().start(dateMapper.asTimestamp(agendaDto.getStart())).end(dateMapper.asTimestamp(agendaDto.getEnd())).build(),
+          agendaDto)));
+        intervals.sort(Comparator.comparing((Interval interval) -> interval.range.getStart()).thenComparing(interval -> interval.range.getEnd()));
+        return intervals;
+    }
+
+    private static void checkOverlap(Interval previous, Interval interval) {
+        if (interval.range.getStart().before(previous.range.getEnd())) {
+            AgendaDto overlapping = interval.agendaDto != null ? interval.agendaDto : previous.agendaDto;
+            throw new ValidationException(String.format("Agenda already exists for %s", overlapping));
+        }
+    }
+
+    //the first stored range of the group is kept and stretched, the others are replaced by it
+    private void merge(Long userId, List<Interval> group, Map<AgendaDto, Long> rangeIds) {
+        if (group.stream().allMatch(interval -> interval.agendaDto == null)) return;
+
+        List<AvailabilityRange> stored = group.stream()
+          .filter(interval -> interval.agendaDto == null)
+          .map(interval -> interval.range)
+          .collect(Collectors.toList());
+
+        AvailabilityRange range = stored.isEmpty()
+          ? AvailabilityRange.builder().user(User.builder().id(userId).build()).build()
+          : stored.get(0);
+        range.setStart(group.get(0).range.getStart());
+        range.setEnd(group.get(group.size() - 1).range.getEnd());
+
+        if (stored.size() > 1) availabilityRangeRepository.deleteAll(stored.subList(1, stored.size()));
+        Long rangeId = availabilityRangeRepository.save(range).getId();
+
+        group.stream()
+          .filter(interval -> interval.agendaDto != null)
+          .forEach(interval -> rangeIds.put(interval.agendaDto, rangeId));
+    }
+
+    /**
+     * Searches the Interviewers slots matching a Candidate slot, with the same semantics of
+     * AgendaRepository.searchAvailabilityBy: a slot is returned when its start or its end is within the period.
+     * Results are sorted by start, then by range id
+     *
+     * @param  pageable Page to be returned
+     * @param  candidateId Candidate Identification
+     * @param  interviewerIds Interviewers Identifications
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @return the Page of Interviewers slots
+     */
+    public Page<AgendaDto> search(Pageable pageable, Long candidateId, List<Long> interviewerIds,
+                                  OffsetDateTime startingFrom, OffsetDateTime endingAt) {
+        List<HourSlices.Run> runs = runs(candidateId, interviewerIds, startingFrom, endingAt);
+        long total = HourSlices.count(runs);
+
+        HourSlices slices = new HourSlices(runs);
+        slices.skip(pageable.getOffset());
+
+        List<AgendaDto> content = new ArrayList<>(pageable.getPageSize());
+        while (slices.hasNext() && content.size() < pageable.getPageSize()) {
+            content.add(slices.next());
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * Cursor based variant of search, returns the slots right after the given cursor
+     *
+     * @param  pageSize Slice size
+     * @param  candidateId Candidate Identification
+     * @param  interviewerIds Interviewers Identifications
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @param  after the last slot of the previous slice, null for the first slice
+     * @return the Slice of Interviewers slots
+     */
+    public Slice<AgendaDto> searchSlice(int pageSize, Long candidateId, List<Long> interviewerIds,
+                                        OffsetDateTime startingFrom, OffsetDateTime endingAt, AvailabilityCursor after) {
+        List<HourSlices.Run> runs = runs(candidateId, interviewerIds, startingFrom, endingAt);
+        if (after != null) {
+            runs.forEach(run -> run.after(after.getStart().toEpochSecond(), after.getId()));
+        }
+
+        HourSlices slices = new HourSlices(runs);
+        List<AgendaDto> content = new ArrayList<>(pageSize);
+        while (slices.hasNext() && content.size() < pageSize) {
+            content.add(slices.next());
+        }
+
+        return new SliceImpl<>(content, PageRequest.of(0, pageSize), slices.hasNext());
+    }
+
+    /**
+     * Streaming variant of search, hands each slot to the consumer in order
+     *
+     * @param  candidateId Candidate Identification
+     * @param  interviewerIds Interviewers Identifications
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @param  consumer receives each slot
+     */
+    public void stream(Long candidateId, List<Long> interviewerIds,
+                       OffsetDateTime startingFrom, OffsetDateTime endingAt, Consumer<AgendaDto> consumer) {
+        new HourSlices(runs(candidateId, interviewerIds, startingFrom, endingAt)).forEachRemaining(consumer);
+    }
+
+    private List<HourSlices.Run> runs(Long candidateId, List<Long> interviewerIds, OffsetDateTime startingFrom, OffsetDateTime endingAt) {
+        long from = startingFrom.toEpochSecond() + (startingFrom.getNano() > 0 ? 1 : 0);
+        long to = endingAt.toEpochSecond();
+
+        //first hour whose end reaches the period and last hour whose start is within it
+        long firstHour = Math.floorDiv(from - 1, SECONDS_PER_HOUR);
+        long lastHour = Math.floorDiv(to, SECONDS_PER_HOUR);
+
+        //a period shorter than an hour may lie inside the first slot without touching its start / end
+        long firstHourEnd = (firstHour + 1) * SECONDS_PER_HOUR;
+        if (firstHourEnd > to && firstHour * SECONDS_PER_HOUR < from) firstHour++;
+
+        List<AvailabilityOverlap> overlaps = availabilityRangeRepository.searchOverlaps(candidateId, interviewerIds,
+          dateMapper.asTimestamp(startingFrom), dateMapper.asTimestamp(endingAt));
+
+        List<HourSlices.Run> runs = new ArrayList<>(overlaps.size());
+        for (AvailabilityOverlap overlap : overlaps) {
+            long start = Math.max(epochSecond(overlap.getStart()), epochSecond(overlap.getCandidateStart()));
+            long end = Math.min(epochSecond(overlap.getEnd()), epochSecond(overlap.getCandidateEnd()));
+
+            //only the whole hours of the overlap are slots
+            long first = Math.max(firstHour, Math.floorDiv(start + SECONDS_PER_HOUR - 1, SECONDS_PER_HOUR));
+            long last = Math.min(lastHour, Math.floorDiv(end, SECONDS_PER_HOUR) - 1);
+
+            if (first <= last) runs.add(new HourSlices.Run(overlap.getId(), overlap.getUserId(), first, last));
+        }
+
+        log.debug("Sliced {} availability overlaps in {} runs", overlaps.size(), runs.size());
+        return runs;
+    }
+
+    private long epochSecond(Timestamp timestamp) {
+        return dateMapper.asOffsetDateTime(timestamp).toEpochSecond();
+    }
+
+    private static class Interval {
+        private final AvailabilityRange range;
+        private final AgendaDto agendaDto;
+
+        Interval(AvailabilityRange range, AgendaDto agendaDto) {
+            this.range = range;
+            this.agendaDto = agendaDto;
+        }
+    }
+}
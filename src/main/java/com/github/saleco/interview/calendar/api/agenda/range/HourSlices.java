@@ -0,0 +1,111 @@
+package com.github.saleco.interview.calendar.api.agenda.range;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Lazily slices runs of consecutive hours into the 1-hour slots returned by searches,
+ * merged in the order of the Agenda searches: by start, then by id.
+ * Only the slots that are consumed are ever built.
+ */
+class HourSlices implements Iterator<AgendaDto> {
+
+    static final long SECONDS_PER_HOUR = 3600;
+
+    private final PriorityQueue<Run> runs = new PriorityQueue<>(
+      Comparator.comparingLong((Run run) -> run.nextHour).thenComparing(run -> run.id));
+
+    HourSlices(List<Run> runs) {
+        runs.stream().filter(run -> !run.isEmpty()).forEach(this.runs::add);
+    }
+
+    /**
+     * @param  runs the runs to slice
+     * @return the number of slots of the given runs, without building them
+     */
+    static long count(List<Run> runs) {
+        return runs.stream().mapToLong(Run::size).sum();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !runs.isEmpty();
+    }
+
+    @Override
+    public AgendaDto next() {
+        Run run = runs.poll();
+        if (run == null) throw new NoSuchElementException();
+
+        AgendaDto slot = run.slot();
+        if (!run.isEmpty()) runs.add(run);
+
+        return slot;
+    }
+
+    /**
+     * Skips the given number of slots
+     */
+    void skip(long slots) {
+        for (long skipped = 0; skipped < slots && hasNext(); skipped++) {
+            next();
+        }
+    }
+
+    /**
+     * Consecutive hours [nextHour, lastHour] of an availability range, hours since the epoch
+     */
+    static class Run {
+        private final Long id;
+        private final Long userId;
+        private long nextHour;
+        private final long lastHour;
+
+        Run(Long id, Long userId, long firstHour, long lastHour) {
+            this.id = id;
+            this.userId = userId;
+            this.nextHour = firstHour;
+            this.lastHour = lastHour;
+        }
+
+        /**
+         * Drops the slots up to the given position, a slot is kept when it starts after the position
+         * or at the position with a greater id
+         *
+         * @param  start position start, in seconds since the epoch
+         * @param  id position id
+         */
+        void after(long start, long id) {
+            long firstHour = this.id > id
+              ? Math.floorDiv(start + SECONDS_PER_HOUR - 1, SECONDS_PER_HOUR)
+              : Math.floorDiv(start, SECONDS_PER_HOUR) + 1;
+            nextHour = Math.max(nextHour, firstHour);
+        }
+
+        boolean isEmpty() {
+            return nextHour > lastHour;
+        }
+
+        long size() {
+            return Math.max(0, lastHour - nextHour + 1);
+        }
+
+        private AgendaDto slot() {
+            LocalDateTime start = LocalDateTime.ofEpochSecond(nextHour++ * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+            return AgendaDto.builder()
+              .id(id)
+              .userId(userId)
+              .start(OffsetDateTime.of(start, ZoneOffset.UTC))
+              .end(OffsetDateTime.of(start.plusHours(1), ZoneOffset.UTC))
+              .build();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.saleco.interview.calendar.api.agenda.repository;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection of the Agenda sort keys: start, then id
+ */
+public interface AgendaKey {
+
+    Long getId();
+
+    Timestamp getStart();
+}
@@ -3,11 +3,19 @@ package com.github.saleco.interview.calendar.api.agenda.repository;
 import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface AgendaRepository extends JpaRepository<Agenda, Long> {
 
@@ -21,6 +29,67 @@ public interface AgendaRepository extends JpaRepository<Agenda, Long> {
       "and ((candidate_agenda.start between ?3 and ?4) or (candidate_agenda.end between ?3 and ?4)) \n" +
       "and ((interviewer_agenda.start between ?3 and ?4) or (interviewer_agenda.end between ?3 and ?4)) \n";
 
+    /*
+     * Same result of SEARCH_AVAILABILITY comparing the raw start / end columns, so every Candidate lookup
+     * is an equality seek on the (user_id, start, end) index instead of a PARSEDATETIME scan.
+     * "start or end between ?3 and ?4" is rewritten as a range: start <= ?4 and end >= ?3,
+     * excluding the slots that contain the whole period.
+     */
+    String AVAILABILITY_BY_RANGE = "from Agenda interviewer_agenda \n" +
+      "where interviewer_agenda.user.id in (?2) \n" +
+      "and exists (select candidate_agenda.id from Agenda candidate_agenda \n" +
+      " where candidate_agenda.user.id = ?1 \n" +
+      " and candidate_agenda.start = interviewer_agenda.start \n" +
+      " and candidate_agenda.end = interviewer_agenda.end \n" +
+      " and candidate_agenda.start <= ?4 and candidate_agenda.end >= ?3 \n" +
+      " and (candidate_agenda.start >= ?3 or candidate_agenda.end <= ?4)) \n";
+
+    String SEARCH_AVAILABILITY_BY_RANGE = "select interviewer_agenda " + AVAILABILITY_BY_RANGE;
+
+    //only the sort keys of the matching Agendas, no entity (and no eager User) is loaded
+    String SEARCH_AVAILABILITY_KEYS_BY_RANGE = "select interviewer_agenda.id as id, interviewer_agenda.start as start " + AVAILABILITY_BY_RANGE;
+
+    /*
+     * Keyset pagination over SEARCH_AVAILABILITY_BY_RANGE: the next slice starts right after the (start, id)
+     * of the last returned Agenda, so no OFFSET is scanned and no count query is needed.
+     */
+    String AFTER_CURSOR = "and (interviewer_agenda.start > ?5 \n" +
+      " or (interviewer_agenda.start = ?5 and interviewer_agenda.id > ?6)) \n";
+
+    String ORDER_BY_CURSOR = "order by interviewer_agenda.start, interviewer_agenda.id";
+
+    //rows fetched per round trip when streaming, so only one batch of the result is held by the driver
+    String STREAM_FETCH_SIZE = "500";
+
     @Query(value = SEARCH_AVAILABILITY)
     Page<Agenda> searchAvailabilityBy(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end);
+
+    @Query(value = SEARCH_AVAILABILITY_BY_RANGE)
+    Page<Agenda> searchAvailabilityByRange(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end);
+
+    @Query(value = SEARCH_AVAILABILITY_KEYS_BY_RANGE + ORDER_BY_CURSOR)
+    Page<AgendaKey> searchAvailabilityKeysByRange(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end);
+
+    @Query(value = SEARCH_AVAILABILITY_BY_RANGE + ORDER_BY_CURSOR)
+    Slice<Agenda> searchFirstAvailabilitySlice(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end);
+
+    @Query(value = SEARCH_AVAILABILITY_BY_RANGE + AFTER_CURSOR + ORDER_BY_CURSOR)
+    Slice<Agenda> searchAvailabilitySliceAfter(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end,
+                                               Timestamp afterStart, Long afterId);
+
+    /**
+     * Natural keys of the Agendas of the given users starting within [from, to],
+     * a single index range scan used to detect duplicates of a bulk creation in memory
+     */
+    @Query("select agenda.user.id as userId, agenda.start as start, agenda.end as end from Agenda agenda " +
+      "where agenda.user.id in (?1) and agenda.start between ?2 and ?3")
+    List<AgendaSlot> findSlotsBy(Collection<Long> userIds, Timestamp from, Timestamp to);
+
+    List<Agenda> findByUserId(Long userId);
+
+    @QueryHints(value = {
+      @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query(value = SEARCH_AVAILABILITY_BY_RANGE + ORDER_BY_CURSOR)
+    Stream<Agenda> streamAvailabilityBy(Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end);
 }
@@ -0,0 +1,15 @@
+package com.github.saleco.interview.calendar.api.agenda.repository;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection of the Agenda natural key: user, start and end
+ */
+public interface AgendaSlot {
+
+    Long getUserId();
+
+    Timestamp getStart();
+
+    Timestamp getEnd();
+}
@@ -0,0 +1,21 @@
+package com.github.saleco.interview.calendar.api.agenda.repository;
+
+import java.sql.Timestamp;
+
+/**
+ * An Interviewer availability range overlapping a Candidate availability range
+ */
+public interface AvailabilityOverlap {
+
+    Long getId();
+
+    Long getUserId();
+
+    Timestamp getStart();
+
+    Timestamp getEnd();
+
+    Timestamp getCandidateStart();
+
+    Timestamp getCandidateEnd();
+}
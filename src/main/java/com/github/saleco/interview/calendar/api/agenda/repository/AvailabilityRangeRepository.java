@@ -0,0 +1,36 @@
+package com.github.saleco.interview.calendar.api.agenda.repository;
+
+import com.github.saleco.interview.calendar.api.agenda.model.AvailabilityRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface AvailabilityRangeRepository extends JpaRepository<AvailabilityRange, Long> {
+
+    String SEARCH_OVERLAPS =
+      "select interviewer_range.id as id, interviewer_range.user.id as userId, " +
+      "interviewer_range.start as start, interviewer_range.end as end, " +
+      "candidate_range.start as candidateStart, candidate_range.end as candidateEnd \n" +
+      "from AvailabilityRange candidate_range, AvailabilityRange interviewer_range \n" +
+      "where candidate_range.user.id = ?1 \n" +
+      "and interviewer_range.user.id in (?2) \n" +
+      "and candidate_range.start <= ?4 and candidate_range.end >= ?3 \n" +
+      "and interviewer_range.start <= ?4 and interviewer_range.end >= ?3 \n" +
+      "and interviewer_range.start < candidate_range.end and candidate_range.start < interviewer_range.end";
+
+    /**
+     * Ranges of the given user overlapping or touching [start, end], sorted by start
+     */
+    @Query("from AvailabilityRange availability_range where availability_range.user.id = ?1 " +
+      "and availability_range.start <= ?3 and availability_range.end >= ?2 order by availability_range.start")
+    List<AvailabilityRange> findTouching(Long userId, Timestamp start, Timestamp end);
+
+    /**
+     * Overlaps between the Candidate and the Interviewers ranges that reach the period,
+     * the 1-hour slots of each overlap are filtered and sorted when responses are built
+     */
+    @Query(SEARCH_OVERLAPS)
+    List<AvailabilityOverlap> searchOverlaps(Long candidateId, List<Long> interviewerIds, Timestamp startingFrom, Timestamp endingAt);
+}
@@ -0,0 +1,145 @@
+package com.github.saleco.interview.calendar.api.agenda.search;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaKey;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Availability search for long Interviewer lists. The Interviewers are split in shards,
+ * each shard runs the range query on a bounded fork-join pool returning the sort keys of its first offset + page size slots
+ * and its total. The keys are merged sorted by start and Agenda id, the same order of the serial range query,
+ * and only the Agendas of the requested page are loaded.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParallelAvailabilitySearch {
+
+    private static final Comparator<AgendaKey> BY_START_AND_ID = Comparator.comparing(AgendaKey::getStart).thenComparing(AgendaKey::getId);
+
+    private final AgendaRepository agendaRepository;
+    private final AgendaMapper agendaMapper;
+    private final DateMapper dateMapper;
+    private final InterviewCalendarAPIProperties properties;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void start() {
+        pool = new ForkJoinPool(properties.getSearch().getParallel().getParallelism());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @param  interviewerIds Interviewers Identifications
+     * @return true when parallel searches are enabled and the Interviewers don't fit in a single shard
+     */
+    public boolean isParallel(List<Long> interviewerIds) {
+        InterviewCalendarAPIProperties.Parallel parallel = properties.getSearch().getParallel();
+        return parallel.isEnabled() && interviewerIds.size() > parallel.getShardSize();
+    }
+
+    /**
+     * Searches the Interviewers slots matching a Candidate slot, with the same semantics, ordering and pagination
+     * of AgendaRepository.searchAvailabilityByRange sorted by start and id.
+     *
+     * @param  pageable Page to be returned
+     * @param  candidateId Candidate Identification
+     * @param  interviewerIds Interviewers Identifications
+     * @param  startingFrom Period start
+     * @param  endingAt Period end
+     * @return the Page of Interviewers Agendas
+     */
+    public Page<AgendaDto> search(Pageable pageable, Long candidateId, List<Long> interviewerIds,
+                                  OffsetDateTime startingFrom, OffsetDateTime endingAt) {
+        Timestamp start = dateMapper.asTimestamp(startingFrom);
+        Timestamp end = dateMapper.asTimestamp(endingAt);
+
+        //every shard returns enough slots to fill the requested page on its own
+        Pageable shardPageable = PageRequest.of(0, (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()));
+
+        long searchStart = System.nanoTime();
+
+        List<ForkJoinTask<Shard>> tasks = shards(interviewerIds).stream()
+          .map(shardIds -> pool.submit(() -> searchShard(shardPageable, candidateId, shardIds, start, end)))
+          .collect(Collectors.toList());
+
+        List<Shard> shards = tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+
+        long elapsed = System.nanoTime() - searchStart;
+        long shardsElapsed = shards.stream().mapToLong(shard -> shard.elapsed).sum();
+        log.debug("Parallel availability search of {} shards took {}ms for {}ms of shard queries, parallel speedup {}",
+          shards.size(), elapsed / 1_000_000, shardsElapsed / 1_000_000, String.format("%.2f", (double) shardsElapsed / elapsed));
+
+        List<Long> ids = shards.stream()
+          .flatMap(shard -> shard.keys.getContent().stream())
+          .sorted(BY_START_AND_ID)
+          .skip(pageable.getOffset())
+          .limit(pageable.getPageSize())
+          .map(AgendaKey::getId)
+          .collect(Collectors.toList());
+
+        Map<Long, Agenda> agendas = agendaRepository.findAllById(ids).stream()
+          .collect(Collectors.toMap(Agenda::getId, Function.identity()));
+
+        List<AgendaDto> content = ids.stream()
+          .map(agendas::get)
+          .map(agendaMapper::modelToDto)
+          .collect(Collectors.toList());
+
+        return new PageImpl<>(content, pageable, shards.stream().mapToLong(shard -> shard.keys.getTotalElements()).sum());
+    }
+
+    private Shard searchShard(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end) {
+        long shardStart = System.nanoTime();
+        Page<AgendaKey> keys = agendaRepository.searchAvailabilityKeysByRange(pageable, candidateId, interviewerIds, start, end);
+        return new Shard(keys, System.nanoTime() - shardStart);
+    }
+
+    //duplicated Interviewers would be returned by more than one shard
+    private List<List<Long>> shards(List<Long> interviewerIds) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(interviewerIds));
+        int shardSize = properties.getSearch().getParallel().getShardSize();
+
+        List<List<Long>> shards = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += shardSize) {
+            shards.add(distinctIds.subList(from, Math.min(from + shardSize, distinctIds.size())));
+        }
+        return shards;
+    }
+
+    @RequiredArgsConstructor
+    private static class Shard {
+        private final Page<AgendaKey> keys;
+        private final long elapsed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.saleco.interview.calendar.api.agenda.search;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityCursor;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Availability search published as a Flux. The availabilities are read slice by slice with the cursor search,
+ * each slice on a bounded scheduler and only when the subscriber asks for more, so at most one slice is kept ahead of it
+ * and no reader thread nor database connection is held between slices. Writing the Flux to the client is blocking,
+ * a stalled client holds one of the writers of MvcAsyncSupport.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveAvailabilitySearch {
+
+    //slices read ahead of the subscriber
+    private static final int PREFETCH = 1;
+
+    private final InterviewCalendarAPIProperties properties;
+
+    private Scheduler scheduler;
+
+    @PostConstruct
+    public void start() {
+        InterviewCalendarAPIProperties.Reactive reactive = properties.getSearch().getReactive();
+        scheduler = Schedulers.newBoundedElastic(reactive.getThreads(), reactive.getQueuedSlices(), "availability-flux");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    /**
+     * @param  after cursor of the last availability already received, null to start from the first one
+     * @param  slices reads the slice right after the given cursor, null for the first slice
+     * @return the availabilities of every slice, in the order of the cursor search
+     */
+    public Flux<AgendaDto> search(AvailabilityCursor after, Function<AvailabilityCursor, Slice<AgendaDto>> slices) {
+        return slice(slices, after)
+          .expand(slice -> slice.hasNext() ? slice(slices, AvailabilityCursor.of(last(slice.getContent()))) : Mono.empty())
+          .concatMapIterable(Slice::getContent, PREFETCH);
+    }
+
+    private Mono<Slice<AgendaDto>> slice(Function<AvailabilityCursor, Slice<AgendaDto>> slices, AvailabilityCursor after) {
+        return Mono.fromCallable(() -> slices.apply(after)).subscribeOn(scheduler);
+    }
+
+    private static AgendaDto last(List<AgendaDto> agendaDtos) {
+        return agendaDtos.get(agendaDtos.size() - 1);
+    }
+}
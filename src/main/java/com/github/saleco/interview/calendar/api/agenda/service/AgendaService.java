@@ -3,18 +3,25 @@ package com.github.saleco.interview.calendar.api.agenda.service;
 import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.dto.SliceDto;
 import com.github.saleco.interview.calendar.api.enums.UserType;
 import org.springframework.data.domain.Page;
+import reactor.core.publisher.Flux;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AgendaService {
 
     AgendaDto createAgenda(AgendaDto agendaDto);
     List<AgendaDto> createAgendas(List<AgendaDto> agendaDtos);
     Page<AgendaDto> getAvailability(SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto);
+    SliceDto<AgendaDto> getAvailabilitySlice(SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto);
+    Flux<AgendaDto> getAvailabilityFlux(SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto);
+    void streamAvailability(SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto, Consumer<AgendaDto> consumer);
 
     void validateAvailability(OffsetDateTime start, OffsetDateTime end);
     void validateAvailabilities(List<AvailabilityDto> agendaSlots);
@@ -24,5 +31,6 @@ public interface AgendaService {
     List<AgendaDto> createAvailability(CreateAgendaDto createAgendaDto);
     void validatesUserInputWithUserType(Long userId, UserType userType);
     void validateAgenda(AgendaDto agendaDto);
+    void validateAgendas(List<AgendaDto> agendaDtos);
     List<AgendaDto> getAgendaDtosFromAvailabilities(List<AvailabilityDto> availabilities, Long userId);
 }
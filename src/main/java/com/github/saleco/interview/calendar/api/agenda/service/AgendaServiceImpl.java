@@ -1,87 +1,178 @@
 package com.github.saleco.interview.calendar.api.agenda.service;
 
+import com.github.saleco.interview.calendar.api.agenda.cache.AvailabilityCache;
 import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityCursor;
 import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.AgendaVersions;
+import com.github.saleco.interview.calendar.api.agenda.index.AvailabilityIndex;
 import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
 import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.range.AvailabilityRanges;
 import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaSlot;
+import com.github.saleco.interview.calendar.api.agenda.search.ParallelAvailabilitySearch;
+import com.github.saleco.interview.calendar.api.agenda.search.ReactiveAvailabilitySearch;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.dto.SliceDto;
+import com.github.saleco.interview.calendar.api.enums.AvailabilitySearchMode;
 import com.github.saleco.interview.calendar.api.enums.UserType;
 import com.github.saleco.interview.calendar.api.exception.NotFoundException;
 import com.github.saleco.interview.calendar.api.exception.ValidationException;
 import com.github.saleco.interview.calendar.api.mapper.DateMapper;
 import com.github.saleco.interview.calendar.api.service.AbstractService;
-import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import com.github.saleco.interview.calendar.api.user.cache.UserTypeCache;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-
-import java.time.LocalDateTime;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @RequiredArgsConstructor
 @Service
 public class AgendaServiceImpl extends AbstractService implements AgendaService {
 
-    //Could come from application properties
-    public static final int MAX_PERIOD_SEARCH_AVAILABILITY = 5;
-
     private final AgendaRepository agendaRepository;
     private final AgendaMapper agendaMapper;
     private final DateMapper dateMapper;
-    private final UserRepository userRepository;
+    private final UserTypeCache userTypeCache;
+    private final AvailabilityIndex availabilityIndex;
+    private final ParallelAvailabilitySearch parallelAvailabilitySearch;
+    private final ReactiveAvailabilitySearch reactiveAvailabilitySearch;
+    private final AvailabilityCache availabilityCache;
+    private final AgendaVersions agendaVersions;
+    private final AvailabilityRanges availabilityRanges;
+    private final InterviewCalendarAPIProperties properties;
+    private final EntityManager entityManager;
 
 
     /**
      * This method creates an Agenda for an User
+     * With RANGES storage the Agenda is merged in the availability range it extends.
+     * The Agenda and the free/busy version of its owner are stored in the same transaction
      *
      * @param  agendaDto  an Agenda to be created
      * @return the Agenda created
      */
     @Override
+    @Transactional
     public AgendaDto createAgenda(AgendaDto agendaDto) {
         log.debug("Creating agenda: {}", agendaDto);
 
         validatesUserInput(agendaDto.getUserId());
-        validateAgenda(agendaDto);
 
-        return agendaMapper
-          .modelToDto(agendaRepository.save(agendaMapper.dtoToModel(agendaDto)));
+        AgendaDto createdAgendaDto;
+        if (availabilityRanges.isEnabled()) {
+            validateAvailability(agendaDto.getStart(), agendaDto.getEnd());
+            createdAgendaDto = availabilityRanges.save(Collections.singletonList(agendaDto)).get(0);
+        } else {
+            validateAgenda(agendaDto);
+            createdAgendaDto = agendaMapper.modelToDto(agendaRepository.save(agendaMapper.dtoToModel(agendaDto)));
+        }
+
+        agendaVersions.increment(Collections.singleton(createdAgendaDto.getUserId()));
+        afterCommit(() -> {
+            if (!availabilityRanges.isEnabled()) availabilityIndex.index(Collections.singletonList(createdAgendaDto));
+            availabilityCache.invalidate(Collections.singleton(createdAgendaDto.getUserId()));
+        });
+
+        return createdAgendaDto;
     }
 
     /**
      * This method creates multiple Agendas for an User
+     * Each User is validated once and duplicates, stored or within the list, are detected in bulk.
+     * With RANGES storage consecutive Agendas are merged in a single availability range,
+     * overlapping ones are rejected as duplicates.
+     * The Agendas and the free/busy version of their owners are stored in the same transaction,
+     * the availability index and cache are refreshed once it commits
      *
      * @param  agendaDtos  The list of Agendas to be created
      * @return the List of Agendas created
      */
     @Override
+    @Transactional
     public List<AgendaDto> createAgendas(List<AgendaDto> agendaDtos) {
         log.debug("Creating agendas: {}", agendaDtos);
 
-        agendaDtos.forEach(agendaDto -> {
-            validatesUserInput(agendaDto.getUserId());
-            validateAgenda(agendaDto);
+        agendaDtos.stream().map(AgendaDto::getUserId).distinct().forEach(this::validatesUserInput);
+        if (availabilityRanges.isEnabled()) {
+            agendaDtos.forEach(agendaDto -> validateAvailability(agendaDto.getStart(), agendaDto.getEnd()));
+        } else {
+            validateAgendas(agendaDtos);
+        }
+
+        List<AgendaDto> createdAgendaDtos;
+        if (availabilityRanges.isEnabled()) {
+            createdAgendaDtos = availabilityRanges.save(agendaDtos);
+        } else {
+            createdAgendaDtos = agendaRepository
+              .saveAll(agendaDtos.stream().map(agendaMapper::dtoToModel).collect(Collectors.toList()))
+              .stream().map(agendaMapper::modelToDto).collect(Collectors.toList());
+        }
+
+        Set<Long> userIds = createdAgendaDtos.stream().map(AgendaDto::getUserId).collect(Collectors.toSet());
+        agendaVersions.increment(userIds);
+        afterCommit(() -> {
+            if (!availabilityRanges.isEnabled()) availabilityIndex.index(createdAgendaDtos);
+            availabilityCache.invalidate(userIds);
         });
 
-        return agendaRepository
-          .saveAll(agendaDtos.stream().map(agendaMapper::dtoToModel).collect(Collectors.toList()))
-          .stream().map(agendaMapper::modelToDto).collect(Collectors.toList());
+        return createdAgendaDtos;
+    }
+
+    //in-memory state is only refreshed with committed Agendas, right away when there is no transaction
+    private static void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
     }
 
     /**
      * Given a Search Interviews Availability this method will search
      * all the available possible times between a Candidate and one or more Interviewers
-     * A start and end must be provided with the maximum period of 5 days
+     * A start and end must be provided, within the configured maximum period (5 days by default)
+     * With RANGES storage the overlaps of the availability ranges are sliced in 1-hour slots,
+     * otherwise when the availability index is enabled and covers all the users, the search is resolved in memory,
+     * otherwise long Interviewers lists are split in shards searched in parallel,
+     * otherwise periods longer than the range query threshold run the range query, ordered by start and limited to the page.
+     * Totals are always exact, /search/cursor avoids their count on long periods.
+     * Pages are cached until an Agenda of one of the searched users is created
      *
      * @param  searchInterviewsAvailabilityDto  Search criterias
      * @return the List of availabilities for the given criteria
@@ -95,20 +186,177 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
         validatesUsersInputWithUserType(searchInterviewsAvailabilityDto.getInterviewerIds(), UserType.INTERVIEWER);
         validatesPeriodInput(searchInterviewsAvailabilityDto.getStartingFrom(), searchInterviewsAvailabilityDto.getEndingAt());
 
-        long start = System.currentTimeMillis();
+        PageRequest pageRequest =
+          super.getPageRequest(searchInterviewsAvailabilityDto.getPageNumber(), searchInterviewsAvailabilityDto.getPageSize(), "start", "id");
+
+        return availabilityCache.get(pageRequest, searchInterviewsAvailabilityDto,
+          () -> searchAvailability(pageRequest, searchInterviewsAvailabilityDto));
+    }
+
+    private Page<AgendaDto> searchAvailability(PageRequest pageRequest, SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto) {
+        if (availabilityRanges.isEnabled()) {
+            return availabilityRanges.search(
+              pageRequest,
+              searchInterviewsAvailabilityDto.getCandidateId(),
+              searchInterviewsAvailabilityDto.getInterviewerIds(),
+              searchInterviewsAvailabilityDto.getStartingFrom(),
+              searchInterviewsAvailabilityDto.getEndingAt());
+        }
+
+        if (availabilityIndex.covers(searchInterviewsAvailabilityDto.getCandidateId(), searchInterviewsAvailabilityDto.getInterviewerIds())) {
+            return availabilityIndex.search(
+              pageRequest,
+              searchInterviewsAvailabilityDto.getCandidateId(),
+              searchInterviewsAvailabilityDto.getInterviewerIds(),
+              searchInterviewsAvailabilityDto.getStartingFrom(),
+              searchInterviewsAvailabilityDto.getEndingAt());
+        }
+
+        if (parallelAvailabilitySearch.isParallel(searchInterviewsAvailabilityDto.getInterviewerIds())) {
+            return parallelAvailabilitySearch.search(
+              pageRequest,
+              searchInterviewsAvailabilityDto.getCandidateId(),
+              searchInterviewsAvailabilityDto.getInterviewerIds(),
+              searchInterviewsAvailabilityDto.getStartingFrom(),
+              searchInterviewsAvailabilityDto.getEndingAt());
+        }
+
+        Timestamp startingFrom = dateMapper.asTimestamp(searchInterviewsAvailabilityDto.getStartingFrom());
+        Timestamp endingAt = dateMapper.asTimestamp(searchInterviewsAvailabilityDto.getEndingAt());
+
+        Page<Agenda> agendas = isRangeQuery(searchInterviewsAvailabilityDto.getStartingFrom(), searchInterviewsAvailabilityDto.getEndingAt())
+          ? agendaRepository.searchAvailabilityByRange(pageRequest, searchInterviewsAvailabilityDto.getCandidateId(),
+              searchInterviewsAvailabilityDto.getInterviewerIds(), startingFrom, endingAt)
+          : agendaRepository.searchAvailabilityBy(pageRequest, searchInterviewsAvailabilityDto.getCandidateId(),
+              searchInterviewsAvailabilityDto.getInterviewerIds(), startingFrom, endingAt);
+
+        return agendas.map(agendaMapper::modelToDto);
+    }
+
+    //periods longer than the threshold in whole days always run the range query, its LIMIT stops at the page in start order on the (user_id, start, end) index
+    private boolean isRangeQuery(OffsetDateTime startingFrom, OffsetDateTime endingAt) {
+        return properties.getSearch().getMode() == AvailabilitySearchMode.RANGE_QUERY
+          || startingFrom.until(endingAt, ChronoUnit.DAYS) > properties.getSearch().getRangeQueryThreshold().toDays();
+    }
+
+    /**
+     * Cursor based variant of getAvailability, returns the availabilities right after the given cursor
+     * sorted by start and Agenda id. No count query is executed and deep slices don't scan the previous ones
+     *
+     * @param  searchInterviewsAvailabilityCursorDto  Search criterias and the cursor of the previous slice
+     * @return the Slice of availabilities with the cursor of the next one
+     * @throws ValidationException when the cursor is invalid
+     * @see SearchInterviewsAvailabilityCursorDto
+     */
+    @Override
+    public SliceDto<AgendaDto> getAvailabilitySlice(SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto) {
+        log.debug("Searching availability slice with: {}", searchInterviewsAvailabilityCursorDto);
+
+        validatesUserInputWithUserType(searchInterviewsAvailabilityCursorDto.getCandidateId(), UserType.CANDIDATE);
+        validatesUsersInputWithUserType(searchInterviewsAvailabilityCursorDto.getInterviewerIds(), UserType.INTERVIEWER);
+        validatesPeriodInput(searchInterviewsAvailabilityCursorDto.getStartingFrom(), searchInterviewsAvailabilityCursorDto.getEndingAt());
+
+        PageRequest pageRequest = PageRequest.of(0, searchInterviewsAvailabilityCursorDto.getPageSize());
+        AvailabilityCursor cursor = StringUtils.isEmpty(searchInterviewsAvailabilityCursorDto.getAfter())
+          ? null : AvailabilityCursor.decode(searchInterviewsAvailabilityCursorDto.getAfter());
+
+        Slice<AgendaDto> agendas = searchAvailabilitySlice(pageRequest, searchInterviewsAvailabilityCursorDto, cursor);
+        List<AgendaDto> agendaDtos = agendas.getContent();
+
+        return SliceDto.<AgendaDto>builder()
+          .content(agendaDtos)
+          .size(pageRequest.getPageSize())
+          .hasNext(agendas.hasNext())
+          .nextCursor(agendas.hasNext() ? AvailabilityCursor.of(agendaDtos.get(agendaDtos.size() - 1)).encode() : null)
+          .build();
+    }
+
+    /**
+     * Flux variant of getAvailabilitySlice, publishes the availabilities right after the given cursor
+     * sorted by start and Agenda id, reading one slice of the page size at a time as the subscriber consumes them.
+     * The search is validated before the Flux is returned, so an invalid search fails without subscribing
+     *
+     * @param  searchInterviewsAvailabilityCursorDto  Search criterias, the cursor to resume from and the slice size
+     * @return the availabilities for the given criteria
+     * @throws ValidationException when the cursor is invalid
+     * @see SearchInterviewsAvailabilityCursorDto
+     */
+    @Override
+    public Flux<AgendaDto> getAvailabilityFlux(SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto) {
+        log.debug("Searching availability flux with: {}", searchInterviewsAvailabilityCursorDto);
+
+        validatesUserInputWithUserType(searchInterviewsAvailabilityCursorDto.getCandidateId(), UserType.CANDIDATE);
+        validatesUsersInputWithUserType(searchInterviewsAvailabilityCursorDto.getInterviewerIds(), UserType.INTERVIEWER);
+        validatesPeriodInput(searchInterviewsAvailabilityCursorDto.getStartingFrom(), searchInterviewsAvailabilityCursorDto.getEndingAt());
+
+        PageRequest pageRequest = PageRequest.of(0, searchInterviewsAvailabilityCursorDto.getPageSize());
+        AvailabilityCursor cursor = StringUtils.isEmpty(searchInterviewsAvailabilityCursorDto.getAfter())
+          ? null : AvailabilityCursor.decode(searchInterviewsAvailabilityCursorDto.getAfter());
+
+        return reactiveAvailabilitySearch.search(cursor, after -> searchAvailabilitySlice(pageRequest, searchInterviewsAvailabilityCursorDto, after));
+    }
+
+    private Slice<AgendaDto> searchAvailabilitySlice(PageRequest pageRequest, SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto,
+                                                     AvailabilityCursor cursor) {
+        if (availabilityRanges.isEnabled()) {
+            return availabilityRanges.searchSlice(pageRequest.getPageSize(), searchInterviewsAvailabilityCursorDto.getCandidateId(),
+              searchInterviewsAvailabilityCursorDto.getInterviewerIds(), searchInterviewsAvailabilityCursorDto.getStartingFrom(),
+              searchInterviewsAvailabilityCursorDto.getEndingAt(), cursor);
+        }
+
+        return searchAgendaSlice(pageRequest, searchInterviewsAvailabilityCursorDto, cursor).map(agendaMapper::modelToDto);
+    }
+
+    private Slice<Agenda> searchAgendaSlice(PageRequest pageRequest, SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto,
+                                            AvailabilityCursor cursor) {
+        Timestamp startingFrom = dateMapper.asTimestamp(searchInterviewsAvailabilityCursorDto.getStartingFrom());
+        Timestamp endingAt = dateMapper.asTimestamp(searchInterviewsAvailabilityCursorDto.getEndingAt());
+
+        if (cursor == null) {
+            return agendaRepository.searchFirstAvailabilitySlice(pageRequest, searchInterviewsAvailabilityCursorDto.getCandidateId(),
+              searchInterviewsAvailabilityCursorDto.getInterviewerIds(), startingFrom, endingAt);
+        }
+
+        return agendaRepository.searchAvailabilitySliceAfter(pageRequest, searchInterviewsAvailabilityCursorDto.getCandidateId(),
+          searchInterviewsAvailabilityCursorDto.getInterviewerIds(), startingFrom, endingAt,
+          dateMapper.asTimestamp(cursor.getStart()), cursor.getId());
+    }
+
+    /**
+     * Streaming variant of getAvailability, reads the availabilities with a forward-only cursor sorted by start and
+     * Agenda id, handing each one to the consumer as soon as it is mapped.
+     * Every Agenda is detached once consumed, so memory use doesn't grow with the size of the result
+     *
+     * @param  searchInterviewsAvailabilityDto  Search criterias, pagination is ignored
+     * @param  consumer receives each availability in order
+     * @see SearchInterviewsAvailabilityDto
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAvailability(SearchInterviewsAvailabilityDto searchInterviewsAvailabilityDto, Consumer<AgendaDto> consumer) {
+        log.debug("Streaming availability with: {}", searchInterviewsAvailabilityDto);
+
+        validatesUserInputWithUserType(searchInterviewsAvailabilityDto.getCandidateId(), UserType.CANDIDATE);
+        validatesUsersInputWithUserType(searchInterviewsAvailabilityDto.getInterviewerIds(), UserType.INTERVIEWER);
+        validatesPeriodInput(searchInterviewsAvailabilityDto.getStartingFrom(), searchInterviewsAvailabilityDto.getEndingAt());
+
+        if (availabilityRanges.isEnabled()) {
+            availabilityRanges.stream(searchInterviewsAvailabilityDto.getCandidateId(), searchInterviewsAvailabilityDto.getInterviewerIds(),
+              searchInterviewsAvailabilityDto.getStartingFrom(), searchInterviewsAvailabilityDto.getEndingAt(), consumer);
+            return;
+        }
 
-        Page<AgendaDto> agendaDtos = agendaRepository.searchAvailabilityBy(
-          super.getPageRequest(searchInterviewsAvailabilityDto.getPageNumber(), searchInterviewsAvailabilityDto.getPageSize(), "start"),
+        try (Stream<Agenda> agendas = agendaRepository.streamAvailabilityBy(
           searchInterviewsAvailabilityDto.getCandidateId(),
           searchInterviewsAvailabilityDto.getInterviewerIds(),
           dateMapper.asTimestamp(searchInterviewsAvailabilityDto.getStartingFrom()),
-          dateMapper.asTimestamp(searchInterviewsAvailabilityDto.getEndingAt()))
-          .map(agendaMapper::modelToDto);
-
-        long end = System.currentTimeMillis();
-        log.debug("Availability search took :" + (end - start) + "ms");
+          dateMapper.asTimestamp(searchInterviewsAvailabilityDto.getEndingAt()))) {
 
-        return agendaDtos;
+            agendas.forEach(agenda -> {
+                consumer.accept(agendaMapper.modelToDto(agenda));
+                entityManager.detach(agenda);
+            });
+        }
     }
 
     /**
@@ -119,6 +367,7 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
      * @see CreateAgendaDto
      */
     @Override
+    @Transactional
     public List<AgendaDto> createAvailability(CreateAgendaDto createAgendaDto) {
         log.debug("Creating agenda slots: {}", createAgendaDto);
 
@@ -129,9 +378,7 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
         //transforms availability periods into agendas
         List<AgendaDto> agendaDtos = getAgendaDtosFromAvailabilities(createAgendaDto.getAvailabilities(), createAgendaDto.getUserId());
         
-        //to keep it simple, it will not validate each one of the slots if some of them
-        //are duplicated in the received list
-        //it will check that on the create agenda method
+        //overlapping availabilities produce duplicated slots, rejected by createAgendas
         return this.createAgendas(agendaDtos);
     }
 
@@ -153,6 +400,48 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
         validateAvailability(agendaDto.getStart(), agendaDto.getEnd());
     }
 
+    /**
+     * Given a list of Agendas, checks that none of them already exists nor is repeated in the list.
+     * The stored Agendas of the users within the period of the list are fetched in a single query
+     * and compared in memory by User, start and end.
+     * With RANGES storage the Agendas are checked against the stored ranges of each User instead
+     * @throws ValidationException when an agenda already exists or is duplicated in the list
+     * @param  agendaDtos  Agendas to be created
+     * @see AgendaDto
+     */
+    @Override
+    public void validateAgendas(List<AgendaDto> agendaDtos) {
+        if (availabilityRanges.isEnabled()) {
+            agendaDtos.forEach(agendaDto -> validateAvailability(agendaDto.getStart(), agendaDto.getEnd()));
+            availabilityRanges.validate(agendaDtos);
+            return;
+        }
+
+        Map<Slot, AgendaDto> slots = new HashMap<>(agendaDtos.size() * 2);
+        for (AgendaDto agendaDto : agendaDtos) {
+            validateAvailability(agendaDto.getStart(), agendaDto.getEnd());
+
+            Slot slot = new Slot(agendaDto.getUserId(), dateMapper.asTimestamp(agendaDto.getStart()).getTime(),
+              dateMapper.asTimestamp(agendaDto.getEnd()).getTime());
+            if (slots.putIfAbsent(slot, agendaDto) != null) {
+                throw new ValidationException(String.format("Agenda is duplicated for %s", agendaDto));
+            }
+        }
+
+        if (slots.isEmpty()) return;
+
+        Timestamp from = agendaDtos.stream().map(AgendaDto::getStart).min(Comparator.naturalOrder()).map(dateMapper::asTimestamp).orElseThrow(IllegalStateException::new);
+        Timestamp to = agendaDtos.stream().map(AgendaDto::getStart).max(Comparator.naturalOrder()).map(dateMapper::asTimestamp).orElseThrow(IllegalStateException::new);
+        List<Long> userIds = agendaDtos.stream().map(AgendaDto::getUserId).distinct().collect(Collectors.toList());
+
+        for (AgendaSlot stored : agendaRepository.findSlotsBy(userIds, from, to)) {
+            AgendaDto existing = slots.get(new Slot(stored.getUserId(), stored.getStart().getTime(), stored.getEnd().getTime()));
+            if (existing != null) {
+                throw new ValidationException(String.format("Agenda already exists for %s", existing));
+            }
+        }
+    }
+
     /**
       * This method is responsible for transforming a list of availabilities
      * into 1 hour slots the each one of the given periods in each availability
@@ -160,22 +449,10 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
      * @param  availabilities List of availabilities
      * @param  userId The owner of availabilities
      * @see AvailabilityDto
+     * @see AgendaSlots
      */
     public List<AgendaDto> getAgendaDtosFromAvailabilities(List<AvailabilityDto> availabilities, Long userId) {
-        List<AgendaDto> agendaDtos = new ArrayList<>();
-
-        availabilities.forEach(availability -> {
-            for (LocalDateTime start = availability.getStart(); start.isBefore(availability.getEnd()) ; start = start.plusHours(1)) {
-                agendaDtos.add(
-                  AgendaDto.builder()
-                    .start(OffsetDateTime.of(start, ZoneOffset.UTC))
-                    .end(OffsetDateTime.of(start.plusHours(1), ZoneOffset.UTC))
-                    .userId(userId)
-                    .build());
-            }
-        });
-
-        return agendaDtos;
+        return AgendaSlots.of(availabilities, userId);
     }
 
     /**
@@ -211,7 +488,7 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
     }
 
     /**
-     * Validates if the User exists
+     * Validates if the User exists, from the User type cache when the User was already seen
      * @throws IllegalArgumentException In case the user id is null
      * @throws NotFoundException In case the user doesn't exists
      * @param  userId User Identification
@@ -220,14 +497,15 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
     public void validatesUserInput(Long userId) {
         if(userId == null) throw new IllegalArgumentException("userId should not be null");
 
-        userRepository.findById(userId)
+        userTypeCache.getUserType(userId)
           .orElseThrow(() -> new NotFoundException(String.format("User %s not found", userId)));
     }
 
     /**
      * Given start and end it validates Period Input
-     * This validation was created to avoid any performance issues when searching for an interview
-     * @throws ValidationException In case the difference between start and end are greater then 5 days
+     * The maximum period is a configurable safety cap (interview-calendar.search.max-period),
+     * periods longer than interview-calendar.search.range-query-threshold are searched with the range query whatever the mode
+     * @throws ValidationException In case the difference between start and end are greater then the maximum period
      * @throws IllegalArgumentException In case startingFrom / endingAt are null
      * @param  startingFrom Starting From date time
      * @param  endingAt Ending At date time
@@ -237,14 +515,18 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
 
         long daysBetween = startingFrom.until(endingAt, ChronoUnit.DAYS);
 
-        if(daysBetween > MAX_PERIOD_SEARCH_AVAILABILITY) {
-            throw new ValidationException("Search period shouldn't be greater than 5 days");
+        long maxPeriod = properties.getSearch().getMaxPeriod().toDays();
+
+        if(daysBetween > maxPeriod) {
+            throw new ValidationException(String.format("Search period shouldn't be greater than %d days", maxPeriod));
         }
     }
 
     /**
-     * Wrapper method to validate a given list of User ids and a User Type, belongs to the the provided type
-     * @throws IllegalArgumentException In case userIds / userType are null
+     * Validates a given list of User ids belongs to the provided type,
+     * the Users missing from the User type cache are read with a single query
+     * @throws IllegalArgumentException In case userIds / userType or one of the ids are null
+     * @throws NotFoundException listing every user that doesn't belong to the provided userType
      * @param  userIds The users to validate
      * @param  userType The Type of the user
      * @see UserType
@@ -252,11 +534,20 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
     @Override
     public void validatesUsersInputWithUserType(List<Long> userIds, UserType userType) {
         if(userIds == null || userType == null) throw new IllegalArgumentException("userIds / userType should not be null");
-        userIds.forEach(userId -> validatesUserInputWithUserType(userId, userType));
+        if(userIds.stream().anyMatch(Objects::isNull)) throw new IllegalArgumentException("userId / userType should not be null");
+        if(userIds.isEmpty()) return;
+
+        List<Long> distinctUserIds = userIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, UserType> userTypes = userTypeCache.getUserTypes(distinctUserIds);
+
+        List<Long> missing = distinctUserIds.stream().filter(userId -> userTypes.get(userId) != userType).collect(Collectors.toList());
+        if(!missing.isEmpty()) {
+            throw new NotFoundException(String.format("Users %s, type %s not found", missing, userType));
+        }
     }
 
     /**
-     * Method to validate an User belongs to the the provided user type
+     * Method to validate an User belongs to the the provided user type, from the User type cache when the User was already seen
      * @throws IllegalArgumentException In case userId / userType are null
      * @throws NotFoundException In case user doesn't belong to the provided userType
      * @param  userId The user to validate
@@ -267,8 +558,17 @@ public class AgendaServiceImpl extends AbstractService implements AgendaService
     public void validatesUserInputWithUserType(Long userId, UserType userType) {
         if(userId == null || userType == null) throw new IllegalArgumentException("userId / userType should not be null");
 
-        userRepository.findByIdAndUserType(userId, userType)
+        userTypeCache.getUserType(userId)
+          .filter(userType::equals)
           .orElseThrow(() -> new NotFoundException(String.format("User %s, type %s not found", userId, userType)));
     }
 
+    //natural key of an Agenda, start / end as epoch milliseconds
+    @Value
+    private static class Slot {
+        Long userId;
+        long start;
+        long end;
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.github.saleco.interview.calendar.api.agenda.service;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Expansion of availabilities in the 1-hour Agenda slots created by createAvailability and the imports.
+ * Stateless, so it can be used and benchmarked without the service and its collaborators.
+ */
+public final class AgendaSlots {
+
+    private AgendaSlots() {
+    }
+
+    /**
+     * @param  availabilities List of availabilities
+     * @param  userId The owner of availabilities
+     * @return a 1-hour Agenda for each hour of each availability, in the order of the availabilities
+     */
+    public static List<AgendaDto> of(List<AvailabilityDto> availabilities, Long userId) {
+        List<AgendaDto> agendaDtos = new ArrayList<>();
+
+        availabilities.forEach(availability -> {
+            for (LocalDateTime start = availability.getStart(); start.isBefore(availability.getEnd()) ; start = start.plusHours(1)) {
+                agendaDtos.add(
+                  AgendaDto.builder()
+                    .start(OffsetDateTime.of(start, ZoneOffset.UTC))
+                    .end(OffsetDateTime.of(start.plusHours(1), ZoneOffset.UTC))
+                    .userId(userId)
+                    .build());
+            }
+        });
+
+        return agendaDtos;
+    }
+}
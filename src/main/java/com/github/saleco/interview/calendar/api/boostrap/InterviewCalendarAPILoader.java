@@ -2,8 +2,8 @@ package com.github.saleco.interview.calendar.api.boostrap;
 
 import com.github.javafaker.Faker;
 import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
-import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
 import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
 import com.github.saleco.interview.calendar.api.enums.UserType;
 import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
 import com.github.saleco.interview.calendar.api.user.dto.UserDto;
@@ -11,16 +11,29 @@ import com.github.saleco.interview.calendar.api.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.data.domain.Page;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Load inital data for Interview Calendar API
+ * Synthetic dataset of Interviewers, Candidates and Agendas for Interview Calendar API, enabled by the local profile.
+ * Its size comes from the interview-calendar.loader.* properties, from the initial 20 Users with 10 days of Agendas
+ * to millions of Agenda slots for load tests. Users and Agendas are written in batches, one transaction per batch,
+ * the Agendas of different Users optionally in parallel. By default the dataset is generated once the application
+ * is ready, on a background thread, so startup doesn't wait for it.
  */
 @Slf4j
 @Component
@@ -28,83 +41,122 @@ import java.util.stream.Collectors;
 public class InterviewCalendarAPILoader implements CommandLineRunner {
 
     private static final Faker faker = new Faker(LocaleContextHolder.getLocale());
-    public static final int INITAL_WORKING_HOUR = 9;
-    public static final int FINAL_WORKING_HOUR = 19;
-    public static final int TEN_DAYS = 10;
 
     private final UserService userService;
     private final AgendaService agendaService;
+    private final InterviewCalendarAPIProperties properties;
 
     @Override
-    public void run(String... args) throws Exception {
-
-        log.debug("Creating Interviewers...");
+    public void run(String... args) {
+        if (properties.getLoader().isEnabled() && !properties.getLoader().isBackground()) {
+            load();
+        }
+    }
 
-        for (int i = 0; i < 10; i++) {
-            UserDto userDto = userService.createUser(createUser(UserType.INTERVIEWER));
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.getLoader().isEnabled() && properties.getLoader().isBackground()) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("data-loader-");
+            //the dataset is not worth keeping the application alive on shutdown
+            threadFactory.setDaemon(true);
+            threadFactory.newThread(this::load).start();
+        }
+    }
 
-            //creates an agenda for the next 10 days
-            log.debug("Creating Agendas for {}...", userDto);
+    /**
+     * Generates the configured Interviewers and Candidates, then the Agendas of each of them
+     *
+     * @return the number of Agenda slots created
+     */
+    public long load() {
+        InterviewCalendarAPIProperties.Loader loader = properties.getLoader();
+        long start = System.currentTimeMillis();
+
+        try {
+            List<UserDto> users = new ArrayList<>(createUsers(UserType.INTERVIEWER, loader.getInterviewers()));
+            users.addAll(createUsers(UserType.CANDIDATE, loader.getCandidates()));
+
+            long agendas = createAgendas(users);
+
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            log.info("Data loader created {} users and {} agenda slots in {} ms ({} slots/s)",
+              users.size(), agendas, elapsed, agendas * 1000 / elapsed);
+            return agendas;
+        } catch (RuntimeException e) {
+            log.error("Data loader failed after {} ms", System.currentTimeMillis() - start, e);
+            throw e;
+        }
+    }
 
-            for(OffsetDateTime today = OffsetDateTime.now(); today.isBefore(OffsetDateTime.now().plusDays(TEN_DAYS)); today = today.plusDays(1)) {
-                for (int hour = INITAL_WORKING_HOUR; hour < FINAL_WORKING_HOUR; hour++) {
-                    AgendaDto agendaDto = createAgenda(userDto.getId(), today, hour);
-                    log.debug("Creating Agenda {}...", agendaDto);
+    private List<UserDto> createUsers(UserType userType, int count) {
+        List<UserDto> users = new ArrayList<>(count);
+        List<CreateUserDto> batch = new ArrayList<>();
 
-                    agendaService.createAgenda(agendaDto);
-                }
+        for (int i = 0; i < count; i++) {
+            batch.add(createUser(userType));
+            if (batch.size() == properties.getLoader().getBatchSize()) {
+                users.addAll(userService.createUsers(batch));
+                batch = new ArrayList<>();
             }
         }
+        if (!batch.isEmpty()) users.addAll(userService.createUsers(batch));
 
-        log.debug("Creating Candidates...");
+        return users;
+    }
 
-        for (int i = 0; i < 10; i++) {
-            UserDto userDto = userService.createUser(createUser(UserType.CANDIDATE));
+    private long createAgendas(List<UserDto> users) {
+        AtomicLong agendas = new AtomicLong();
+        OffsetDateTime today = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
 
-            //creates an agenda for the next 10 days
-            log.debug("Creating Agendas for {}...", userDto);
+        int parallelism = properties.getLoader().getParallelism();
+        if (parallelism <= 1) {
+            users.forEach(user -> agendas.addAndGet(createAgendas(user.getId(), today)));
+            return agendas.get();
+        }
 
-            for(OffsetDateTime today = OffsetDateTime.now(); today.isBefore(OffsetDateTime.now().plusDays(TEN_DAYS)); today = today.plusDays(1)) {
-                for (int hour = INITAL_WORKING_HOUR; hour < FINAL_WORKING_HOUR; hour++) {
-                    AgendaDto agendaDto = createAgenda(userDto.getId(), today, hour);
-                    log.debug("Creating Agenda {}...", agendaDto);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("data-loader-worker-"));
+        try {
+            List<Future<?>> futures = new ArrayList<>(users.size());
+            users.forEach(user -> futures.add(executor.submit(() -> agendas.addAndGet(createAgendas(user.getId(), today)))));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return agendas.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data loader interrupted", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-                    agendaService.createAgenda(agendaDto);
+    //creates the Agendas of an User for the configured days, batch by batch
+    private long createAgendas(Long userId, OffsetDateTime today) {
+        InterviewCalendarAPIProperties.Loader loader = properties.getLoader();
+        List<AgendaDto> batch = new ArrayList<>(loader.getBatchSize());
+        long agendas = 0;
+
+        for (int day = 0; day < loader.getDays(); day++) {
+            for (int hour = loader.getFirstHour(); hour < loader.getLastHour(); hour++) {
+                batch.add(createAgenda(userId, today.plusDays(day), hour));
+                if (batch.size() == loader.getBatchSize()) {
+                    agendas += agendaService.createAgendas(batch).size();
+                    batch = new ArrayList<>(loader.getBatchSize());
                 }
             }
         }
+        if (!batch.isEmpty()) agendas += agendaService.createAgendas(batch).size();
 
-        //gets a random candidate
-        UserDto randomCandidate = userService.getUsersByType(0, 1, UserType.CANDIDATE).getContent().get(0);
-
-        //gets 2 random interviewers
-        List<UserDto> randomInterviewers = userService.getUsersByType(0, 2,  UserType.INTERVIEWER).getContent();
-
-        //finds availability between candidate and interviewers
-        log.debug("Searching agenda availability for Candidate {}, Interviewers {} ", randomCandidate, randomInterviewers);
-        List<AgendaDto> availabilityDtos = getAgendaAvaliability(randomCandidate.getId(), randomInterviewers.stream().map(UserDto::getId).collect(Collectors.toList()));
-
-        log.debug("Found agenda availabilities {}", availabilityDtos);
-    }
-
-    private List<AgendaDto> getAgendaAvaliability(Long candidateId, List<Long> interviewerIds) {
-        Page<AgendaDto> agendaDtoPage = agendaService.getAvailability(
-          SearchInterviewsAvailabilityDto
-            .builder()
-            .candidateId(candidateId)
-            .interviewerIds(interviewerIds)
-            .startingFrom(OffsetDateTime.now())
-            .endingAt(OffsetDateTime.now().plusDays(5))
-            .build()
-        );
-        return agendaDtoPage.getContent();
+        return agendas;
     }
 
-    private AgendaDto createAgenda(Long userId, OffsetDateTime today, int hour) {
+    private AgendaDto createAgenda(Long userId, OffsetDateTime day, int hour) {
         return AgendaDto
           .builder()
-          .start(today.withHour(hour).withMinute(0).withSecond(0))
-          .end(today.withHour(hour+1).withMinute(0).withSecond(0))
+          .start(day.withHour(hour))
+          .end(day.withHour(hour).plusHours(1))
           .userId(userId)
           .build();
     }
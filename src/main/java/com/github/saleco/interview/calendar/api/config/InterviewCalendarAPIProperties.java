@@ -0,0 +1,316 @@
+package com.github.saleco.interview.calendar.api.config;
+
+import com.github.saleco.interview.calendar.api.enums.AvailabilitySearchMode;
+import com.github.saleco.interview.calendar.api.enums.AvailabilityStorage;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Interview Calendar API settings, bound from the interview-calendar.* properties
+ */
+@Data
+@ConfigurationProperties(prefix = "interview-calendar")
+public class InterviewCalendarAPIProperties {
+
+    private final Availability availability = new Availability();
+
+    private final Search search = new Search();
+
+    private final Users users = new Users();
+
+    private final Imports imports = new Imports();
+
+    private final Loader loader = new Loader();
+
+    private final Startup startup = new Startup();
+
+    private final Mapping mapping = new Mapping();
+
+    private final Statistics statistics = new Statistics();
+
+    private final Threads threads = new Threads();
+
+    @Data
+    public static class Availability {
+
+        /**
+         * How availabilities are stored.
+         * SLOTS keeps one Agenda row per 1-hour slot, RANGES keeps one AvailabilityRange row per contiguous interval
+         * and slices it into 1-hour slots only when responses are built.
+         */
+        private AvailabilityStorage storage = AvailabilityStorage.SLOTS;
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * How availability searches are resolved.
+         * QUERY runs the JPA self join, RANGE_QUERY runs the index friendly self join on raw start / end,
+         * INDEX uses the in-memory availability index.
+         */
+        private AvailabilitySearchMode mode = AvailabilitySearchMode.QUERY;
+
+        /**
+         * Longest period accepted by a search, in whole days. A safety cap on the work done by a single request.
+         */
+        private Duration maxPeriod = Duration.ofDays(5);
+
+        /**
+         * Searches over longer periods, in whole days, run the RANGE_QUERY whatever the mode, a single query ordered on the (user_id, start, end) index.
+         */
+        private Duration rangeQueryThreshold = Duration.ofDays(5);
+
+        private final Parallel parallel = new Parallel();
+
+        private final Cache cache = new Cache();
+
+        private final Reactive reactive = new Reactive();
+    }
+
+    @Data
+    public static class Parallel {
+
+        /**
+         * Searches with more Interviewers than the shard size are split in shards searched in parallel.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interviewers per shard.
+         */
+        private int shardSize = 25;
+
+        /**
+         * Threads of the search pool, should not exceed the connection pool size.
+         */
+        private int parallelism = 4;
+    }
+
+    @Data
+    public static class Reactive {
+
+        /**
+         * Threads reading the slices of the Flux searches, should not exceed the connection pool size.
+         */
+        private int threads = 4;
+
+        /**
+         * Slice reads queued once every thread is busy, further Flux searches fail.
+         */
+        private int queuedSlices = 10_000;
+
+        /**
+         * Threads writing the Flux responses, each client whose socket buffer is full holds one until it reads again.
+         * More stalled clients than writer threads delay every other Flux response. Unused with interview-calendar.threads.virtual.
+         */
+        private int writerThreads = 32;
+
+        /**
+         * Flux responses waiting for a writer thread once every one is busy, the streams of further ones are ended.
+         */
+        private int queuedWrites = 1_000;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Caches the pages returned by availability searches, evicted when an Agenda of one of the searched users is created.
+         * Evictions are local to the instance, Agendas created through another instance are only seen once the page expires.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached pages.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Time a cached page is kept after being searched.
+         */
+        private Duration timeToLive = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Users {
+
+        private final UserCache cache = new UserCache();
+    }
+
+    @Data
+    public static class UserCache {
+
+        /**
+         * Caches the type of each User, so user validations don't query the database once the User was seen.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached Users.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * Time an User type is kept after being read or created.
+         */
+        private Duration timeToLive = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Imports {
+
+        /**
+         * Threads of the import executor, each holds a database connection while writing a chunk.
+         */
+        private int threads = 1;
+
+        /**
+         * Imports waiting for a thread, further imports are rejected until one finishes.
+         */
+        private int queueCapacity = 10;
+
+        /**
+         * Agenda slots written per transaction.
+         */
+        private int chunkSize = 1_000;
+
+        /**
+         * Maximum number of failure messages kept per import, failures are still counted beyond it.
+         */
+        private int maximumErrors = 100;
+
+        /**
+         * Time the status of an import is kept after being submitted or finished.
+         */
+        private Duration retention = Duration.ofDays(1);
+    }
+
+    @Data
+    public static class Loader {
+
+        /**
+         * Generates a synthetic dataset of Interviewers, Candidates and Agendas on startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Generates the dataset after the application is ready, on a background thread, instead of before it starts serving.
+         */
+        private boolean background = true;
+
+        /**
+         * Number of Interviewers generated.
+         */
+        private int interviewers = 10;
+
+        /**
+         * Number of Candidates generated.
+         */
+        private int candidates = 10;
+
+        /**
+         * Days of Agendas generated for each User, from today.
+         */
+        private int days = 10;
+
+        /**
+         * First hour of the day with an Agenda slot.
+         */
+        private int firstHour = 9;
+
+        /**
+         * Hour of the day the last Agenda slot ends.
+         */
+        private int lastHour = 19;
+
+        /**
+         * Users and Agenda slots written per transaction.
+         */
+        private int batchSize = 1_000;
+
+        /**
+         * Threads generating the Agendas of the Users, each holds a database connection while writing a batch.
+         */
+        private int parallelism = 1;
+    }
+
+    @Data
+    public static class Startup {
+
+        /**
+         * Sends a few requests once the application is ready, then exits.
+         * Run by the Docker build to list the classes archived for class data sharing.
+         */
+        private boolean trainingRun = false;
+    }
+
+    @Data
+    public static class Mapping {
+
+        /**
+         * Reuses the OffsetDateTime of hour-aligned instants, the start and end of every Agenda slot,
+         * so mapping an Agenda to its DTO allocates no date.
+         */
+        private boolean hourCache = true;
+
+        /**
+         * Hours kept by the hour cache, rounded up to a power of two. Hours sharing a cache entry replace each other.
+         */
+        private int hourCacheSize = 16_384;
+    }
+
+    @Data
+    public static class Statistics {
+
+        /**
+         * Queries of the Hibernate statistics listed by /actuator/hibernate, slowest first.
+         */
+        private int slowestQueries = 10;
+
+        private final SlowStatements slowStatements = new SlowStatements();
+    }
+
+    @Data
+    public static class SlowStatements {
+
+        /**
+         * Times every JDBC statement and keeps the slowest ones, with the types of their bind parameters.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Statements faster than the threshold are not kept.
+         */
+        private Duration threshold = Duration.ofMillis(100);
+
+        /**
+         * Slowest statements kept, a slower statement replaces the fastest one kept.
+         */
+        private int capacity = 20;
+    }
+
+    @Data
+    public static class Threads {
+
+        /**
+         * Runs each request, and the repository calls it makes, on a virtual thread of its own instead of the Tomcat worker pool.
+         * Requires a Java 21+ runtime.
+         */
+        private boolean virtual = false;
+
+        /**
+         * Database connections used at the same time by virtual threads, 0 for the maximum size of the connection pool
+         * capped to the virtual thread carriers minus one: a thread running a statement pins its carrier on Java 21.
+         * Further threads wait for a permit, in arrival order.
+         */
+        private int databasePermits = 0;
+
+        /**
+         * Time a thread waits for a database permit before its request fails.
+         */
+        private Duration databasePermitTimeout = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.saleco.interview.calendar.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Cursor Dto")
+public class CursorDto {
+
+    @Schema(description = "Cursor returned by the previous slice. Empty for the first slice", example = "MjAyMS0wNC0yN1QwOTowMDowMFosMTI")
+    private String after;
+
+    @Schema(description = "Slice size", example = "20", defaultValue = "20")
+    private int pageSize = 20;
+
+}
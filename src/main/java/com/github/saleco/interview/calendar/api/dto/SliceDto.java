@@ -0,0 +1,30 @@
+package com.github.saleco.interview.calendar.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Slice Dto")
+public class SliceDto<T> {
+
+    @Schema(description = "Slice content")
+    private List<T> content;
+
+    @Schema(description = "Slice size", example = "20")
+    private int size;
+
+    @Schema(description = "True when there is a next slice")
+    private boolean hasNext;
+
+    @Schema(description = "Cursor of the next slice, null when this is the last one", example = "MjAyMS0wNC0yN1QwOTowMDowMFosMTI")
+    private String nextCursor;
+
+}
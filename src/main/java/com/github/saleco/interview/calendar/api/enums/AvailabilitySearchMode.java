@@ -0,0 +1,9 @@
+package com.github.saleco.interview.calendar.api.enums;
+
+public enum AvailabilitySearchMode {
+
+    QUERY,
+    RANGE_QUERY,
+    INDEX
+
+}
@@ -0,0 +1,8 @@
+package com.github.saleco.interview.calendar.api.enums;
+
+public enum AvailabilityStorage {
+
+    SLOTS,
+    RANGES
+
+}
@@ -0,0 +1,5 @@
+package com.github.saleco.interview.calendar.api.enums;
+
+public enum ImportJobStatus {
+    QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED
+}
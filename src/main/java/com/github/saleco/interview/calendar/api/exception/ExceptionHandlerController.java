@@ -1,6 +1,7 @@
 package com.github.saleco.interview.calendar.api.exception;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.github.saleco.interview.calendar.api.agenda.imports.PartialImportException;
 import com.github.saleco.interview.calendar.api.utils.InterviewCalendarAPIResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -50,6 +51,10 @@ public class ExceptionHandlerController {
 			ex = handleBindException(ex);
 		}
 
+		if (ex instanceof PartialImportException) {
+			return handlePartialImportException((PartialImportException) ex);
+		}
+
 		if (ex instanceof InterviewCalendarAPIException) {
 			return handleInterviewCalendarAPIException(ex);
 		}
@@ -77,6 +82,12 @@ public class ExceptionHandlerController {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST.value()).body(response);
 	}
 
+	//the import is answered so the client knows which availabilities were created
+	private ResponseEntity<Object> handlePartialImportException(PartialImportException ex) {
+		log.error(ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getJob());
+	}
+
 	private ResponseEntity<Object> handleInterviewCalendarAPIExceptionUndeclared(UndeclaredThrowableException ex) {
 		InterviewCalendarAPIException exception = (InterviewCalendarAPIException) ex.getUndeclaredThrowable().getCause();
 		HttpStatus status = exception.getClass().getAnnotation(ResponseStatus.class).value();
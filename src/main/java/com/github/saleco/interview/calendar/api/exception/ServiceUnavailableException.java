@@ -0,0 +1,22 @@
+package com.github.saleco.interview.calendar.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This Exception is used to tell the caller, that the request can't be accepted right now.
+ *
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends BusinessException {
+
+	/**
+	 * Exception, that is to be thrown, when there is no capacity left to process the request.
+	 * This leads to a return code of 503 (Service Unavailable) for the requesting system.
+	 *
+	 * @param errorMessage description of the unavailability
+	 */
+	public ServiceUnavailableException(String errorMessage) {
+		super("UNA", errorMessage);
+	}
+}
@@ -1,30 +1,96 @@
 package com.github.saleco.interview.calendar.api.mapper;
 
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
 
+/**
+ * Conversions between the Timestamps of the entities and the OffsetDateTimes of the DTOs.
+ * A Timestamp holds the wall clock time of the JVM time zone, exposed as UTC.
+ * When the JVM time zone has a fixed offset (UTC in the Docker image) the conversions go through epoch seconds
+ * without intermediate LocalDateTimes, and the OffsetDateTimes of hour-aligned instants are cached,
+ * so mapping an Agenda slot to its DTO allocates no date at all.
+ */
 @Component
 public class DateMapper {
 
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    //false when the offset of the JVM time zone changes over time (daylight saving)
+    private final boolean fixedOffset;
+    private final int offsetSeconds;
+
+    //direct mapped: each hour has a single entry, shared with the hours congruent modulo the cache size
+    private final OffsetDateTime[] hours;
+
+    public DateMapper() {
+        this(new InterviewCalendarAPIProperties());
+    }
+
+    @Autowired
+    public DateMapper(InterviewCalendarAPIProperties properties) {
+        ZoneRules rules = ZoneId.systemDefault().getRules();
+        this.fixedOffset = rules.isFixedOffset();
+        this.offsetSeconds = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+
+        InterviewCalendarAPIProperties.Mapping mapping = properties.getMapping();
+        this.hours = mapping.isHourCache() ? new OffsetDateTime[powerOfTwo(mapping.getHourCacheSize())] : null;
+    }
+
     public OffsetDateTime asOffsetDateTime(Timestamp ts){
-        if (ts != null){
-            return OffsetDateTime.of(ts.toLocalDateTime().getYear(), ts.toLocalDateTime().getMonthValue(),
-              ts.toLocalDateTime().getDayOfMonth(), ts.toLocalDateTime().getHour(), ts.toLocalDateTime().getMinute(),
-              ts.toLocalDateTime().getSecond(), ts.toLocalDateTime().getNano(), ZoneOffset.UTC);
-        } else {
+        if (ts == null) {
             return null;
         }
+
+        if (!fixedOffset) {
+            return OffsetDateTime.of(ts.toLocalDateTime(), ZoneOffset.UTC);
+        }
+
+        //getTime includes the milliseconds of the nanos, the floor is the whole second
+        long wallSecond = Math.floorDiv(ts.getTime(), MILLIS_PER_SECOND) + offsetSeconds;
+        int nanos = ts.getNanos();
+        if (hours != null && nanos == 0 && Math.floorMod(wallSecond, SECONDS_PER_HOUR) == 0) {
+            return hour(wallSecond);
+        }
+        return OffsetDateTime.of(LocalDateTime.ofEpochSecond(wallSecond, nanos, ZoneOffset.UTC), ZoneOffset.UTC);
     }
 
     public Timestamp asTimestamp(OffsetDateTime offsetDateTime){
-        if(offsetDateTime != null) {
-            return Timestamp.valueOf(offsetDateTime.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
-        } else {
+        if (offsetDateTime == null) {
             return null;
         }
+
+        if (!fixedOffset) {
+            return Timestamp.valueOf(offsetDateTime.atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        }
+
+        Timestamp timestamp = new Timestamp((offsetDateTime.toEpochSecond() - offsetSeconds) * MILLIS_PER_SECOND);
+        timestamp.setNanos(offsetDateTime.getNano());
+        return timestamp;
+    }
+
+    //OffsetDateTimes are immutable, an entry read by another thread is either null or complete
+    private OffsetDateTime hour(long wallSecond) {
+        int entry = (int) (Math.floorDiv(wallSecond, SECONDS_PER_HOUR) & (hours.length - 1));
+        OffsetDateTime hour = hours[entry];
+        if (hour == null || hour.toEpochSecond() != wallSecond) {
+            hour = OffsetDateTime.of(LocalDateTime.ofEpochSecond(wallSecond, 0, ZoneOffset.UTC), ZoneOffset.UTC);
+            hours[entry] = hour;
+        }
+        return hour;
+    }
+
+    private static int powerOfTwo(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
     }
 
 }
@@ -0,0 +1,126 @@
+package com.github.saleco.interview.calendar.api.metrics;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.dto.SliceDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Times the calls to the methods of a service or repository, tagged by method, outcome, exception
+ * and size bucket: the Interviewers of a search, else the elements of the first collection argument,
+ * else the elements returned. Methods returning a Stream are timed until the Stream is returned.
+ */
+@RequiredArgsConstructor
+class InvocationTimer implements MethodInterceptor {
+
+    static final String SUCCESS = "SUCCESS";
+    static final String ERROR = "ERROR";
+    static final String NONE = "None";
+    static final String NO_SIZE = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String metricName;
+    private final String componentTag;
+    private final String component;
+
+    //resolved on the first call, repositories may be called before the registry exists
+    private volatile MeterRegistry registry;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = registry();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+
+        Timer.Sample sample = Timer.start(registry);
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(metricName)
+              .description("Calls to the " + componentTag + " methods")
+              .tags(componentTag, component,
+                "method", invocation.getMethod().getName(),
+                "outcome", failure == null ? SUCCESS : ERROR,
+                "exception", failure == null ? NONE : failure.getClass().getSimpleName(),
+                "size", size(invocation.getArguments(), result))
+              .register(registry));
+        }
+    }
+
+    /**
+     * @return the bucket of the number of items a call works on: 0, 1, 2-10, 11-100, 101-1000, 1001+ or none
+     */
+    static String size(Object[] arguments, Object result) {
+        for (Object argument : arguments) {
+            int size = size(argument);
+            if (size >= 0) return bucket(size);
+        }
+        return bucket(resultSize(result));
+    }
+
+    private static int size(Object argument) {
+        if (argument instanceof SearchInterviewsAvailabilityDto) {
+            return size(((SearchInterviewsAvailabilityDto) argument).getInterviewerIds());
+        }
+        if (argument instanceof SearchInterviewsAvailabilityCursorDto) {
+            return size(((SearchInterviewsAvailabilityCursorDto) argument).getInterviewerIds());
+        }
+        return argument instanceof Collection ? ((Collection<?>) argument).size() : -1;
+    }
+
+    private static int size(List<Long> interviewerIds) {
+        return interviewerIds == null ? 0 : interviewerIds.size();
+    }
+
+    private static int resultSize(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof SliceDto) {
+            List<?> content = ((SliceDto<?>) result).getContent();
+            return content == null ? 0 : content.size();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static String bucket(int size) {
+        if (size < 0) return NO_SIZE;
+        if (size <= 1) return String.valueOf(size);
+        if (size <= 10) return "2-10";
+        if (size <= 100) return "11-100";
+        if (size <= 1000) return "101-1000";
+        return "1001+";
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            registry = meterRegistry.getIfAvailable();
+            this.registry = registry;
+        }
+        return registry;
+    }
+}
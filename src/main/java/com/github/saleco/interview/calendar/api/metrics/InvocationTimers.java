@@ -0,0 +1,69 @@
+package com.github.saleco.interview.calendar.api.metrics;
+
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Times every call to the AgendaService and UserService methods and to the repository methods,
+ * see /actuator/metrics/service.invocations and /actuator/metrics/repository.invocations.
+ * Beans already proxied (transactions, Spring Data repositories) get the timer as their first advice,
+ * the others are proxied by class. Calls of a service to its own methods are not timed.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvocationTimers implements BeanPostProcessor {
+
+    public static final String SERVICE_METRIC = "service.invocations";
+    public static final String REPOSITORY_METRIC = "repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Advisor advisor = advisor(bean);
+        if (advisor == null) {
+            return bean;
+        }
+
+        if (bean instanceof Advised && !((Advised) bean).isFrozen()) {
+            ((Advised) bean).addAdvisor(0, advisor);
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private Advisor advisor(Object bean) {
+        if (bean instanceof AgendaService) {
+            return new DefaultPointcutAdvisor(new InvocationTimer(meterRegistry, SERVICE_METRIC, "service", AgendaService.class.getSimpleName()));
+        }
+        if (bean instanceof UserService) {
+            return new DefaultPointcutAdvisor(new InvocationTimer(meterRegistry, SERVICE_METRIC, "service", UserService.class.getSimpleName()));
+        }
+        if (bean instanceof Repository) {
+            //the repository interface declared by the application, not the Spring Data ones it extends
+            return Stream.of(AopProxyUtils.proxiedUserInterfaces(bean))
+              .filter(Repository.class::isAssignableFrom)
+              .findFirst()
+              .map(repository -> new DefaultPointcutAdvisor(new InvocationTimer(meterRegistry, REPOSITORY_METRIC, "repository", repository.getSimpleName())))
+              .orElse(null);
+        }
+        return null;
+    }
+}
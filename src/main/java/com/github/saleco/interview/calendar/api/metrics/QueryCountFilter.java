@@ -0,0 +1,51 @@
+package com.github.saleco.interview.calendar.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records the SQL statements run by each request, by method and uri template,
+ * see /actuator/metrics/http.server.requests.queries (only logged when no registry is available, e.g. web slice tests)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "http.server.requests.queries";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+        QueryCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            long queries = QueryCounter.count();
+
+            meterRegistry.ifAvailable(registry -> DistributionSummary.builder(METRIC_NAME)
+              .description("SQL statements run per request")
+              .tags("method", request.getMethod(), "uri", uri)
+              .register(registry)
+              .record(queries));
+
+            log.debug("{} {} ran {} queries", request.getMethod(), uri, queries);
+        }
+    }
+}
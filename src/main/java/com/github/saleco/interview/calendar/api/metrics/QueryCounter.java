@@ -0,0 +1,33 @@
+package com.github.saleco.interview.calendar.api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on the current thread.
+ * Registered as hibernate.session_factory.statement_inspector, statements run by
+ * other threads (e.g. parallel search shards) are counted on their own thread.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Restarts the count of the current thread
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * @return the statements prepared by the current thread since the last reset
+     */
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.saleco.interview.calendar.api.startup;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Training run of the class data sharing (AppCDS) archive built with the Docker image, see src/main/docker/Dockerfile.
+ * With interview-calendar.startup.training-run=true, once the application is ready a few requests are sent to it,
+ * so the classes of the request path are also listed, then the application exits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClassDataSharingTrainingRun {
+
+    private static final List<String> TRAINING_REQUESTS = Arrays.asList(
+      "/actuator/health",
+      "/ap1/v1/users?userType=INTERVIEWER",
+      "/ap1/v1/agendas/search?candidateId=11&interviewerIds=1&startingFrom=2021-04-26T00:00:00Z&endingAt=2021-04-27T00:00:00Z");
+
+    private final InterviewCalendarAPIProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        if (!properties.getStartup().isTrainingRun()) return;
+
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port", "8080");
+        for (String path : TRAINING_REQUESTS) {
+            request("http://localhost:" + port + path);
+        }
+
+        log.info("Class data sharing training run completed, exiting");
+        System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+
+    //any status is fine, only the classes loaded to serve the request matter
+    private static void request(String url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            try (InputStream body = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                if (body != null) body.readAllBytes();
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            log.warn("Training request {} failed: {}", url, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.saleco.interview.calendar.api.startup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records the end of the first request served in the startup timeline, the time-to-first-request of a new instance
+ */
+@Component
+@RequiredArgsConstructor
+public class FirstRequestFilter extends OncePerRequestFilter {
+
+    private final StartupTimeline startupTimeline;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            startupTimeline.firstRequest();
+        }
+    }
+}
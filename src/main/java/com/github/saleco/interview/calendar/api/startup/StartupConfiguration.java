@@ -0,0 +1,23 @@
+package com.github.saleco.interview.calendar.api.startup;
+
+import com.github.saleco.interview.calendar.api.agenda.index.AvailabilityIndex;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Beans kept eager by the startup profile (spring.main.lazy-initialization=true):
+ * the database, so a wrong configuration still fails the startup and the schema isn't created by the first request,
+ * and the availability index, so it isn't built by the first search.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeansExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class, AvailabilityIndex.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.saleco.interview.calendar.api.startup;
+
+import com.github.saleco.interview.calendar.api.startup.dto.StartupTimelineDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the startup timeline on /actuator/startup
+ */
+@Component
+@Endpoint(id = "startup")
+@RequiredArgsConstructor
+public class StartupEndpoint {
+
+    private final StartupTimeline startupTimeline;
+
+    @ReadOperation
+    public StartupTimelineDto startup() {
+        return startupTimeline.getTimeline();
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.saleco.interview.calendar.api.startup;
+
+import com.github.saleco.interview.calendar.api.startup.dto.StartupPhaseDto;
+import com.github.saleco.interview.calendar.api.startup.dto.StartupTimelineDto;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationContextInitializedEvent;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup timeline of the application, from the JVM start to the first request served, see /actuator/startup.
+ * Registered in META-INF/spring.factories so it sees the events published before the context exists,
+ * then registered in the context as a bean once it is prepared.
+ * Each phase is recorded once, the first time its event is published.
+ * The Spring Cloud bootstrap context gets an instance of its own, which records nothing.
+ */
+@Slf4j
+public class StartupTimeline implements ApplicationListener<ApplicationEvent> {
+
+    public static final String BEAN_NAME = "startupTimeline";
+    public static final String APPLICATION_READY = "applicationReady";
+    public static final String FIRST_REQUEST = "firstRequest";
+
+    private static final String BOOTSTRAP = "bootstrap";
+
+    private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private volatile boolean bootstrap;
+    private volatile boolean lazyInitialization;
+    private volatile boolean firstRequestServed;
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (bootstrap) return;
+
+        if (event instanceof ApplicationStartingEvent) {
+            record("starting");
+        } else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            ConfigurableEnvironment environment = ((ApplicationEnvironmentPreparedEvent) event).getEnvironment();
+            bootstrap = BOOTSTRAP.equals(environment.getProperty("spring.config.name"));
+            if (bootstrap) return;
+            record("environmentPrepared");
+            lazyInitialization = environment.getProperty("spring.main.lazy-initialization", Boolean.class, false);
+        } else if (event instanceof ApplicationContextInitializedEvent) {
+            record("contextInitialized");
+        } else if (event instanceof ApplicationPreparedEvent) {
+            record("contextPrepared");
+            register(((ApplicationPreparedEvent) event).getApplicationContext().getBeanFactory());
+        } else if (event instanceof WebServerInitializedEvent) {
+            record("webServerStarted");
+        } else if (event instanceof ContextRefreshedEvent) {
+            record("contextRefreshed");
+        } else if (event instanceof ApplicationStartedEvent) {
+            record("applicationStarted");
+        } else if (event instanceof ApplicationReadyEvent) {
+            log.info("Application ready {} ms after the JVM start (lazy initialization: {})", record(APPLICATION_READY), lazyInitialization);
+        }
+    }
+
+    /**
+     * Records the end of the first request served, further calls only read a volatile flag
+     */
+    public void firstRequest() {
+        if (firstRequestServed) return;
+        synchronized (this) {
+            if (firstRequestServed) return;
+            firstRequestServed = true;
+        }
+        log.info("First request served {} ms after the JVM start", record(FIRST_REQUEST));
+    }
+
+    /**
+     * @return the phases recorded so far, with the time elapsed since the JVM start and since the previous phase
+     */
+    public synchronized StartupTimelineDto getTimeline() {
+        List<StartupPhaseDto> phaseDtos = new ArrayList<>(phases.size());
+        long previous = 0;
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            phaseDtos.add(StartupPhaseDto.builder().name(phase.getKey()).sinceJvmStart(phase.getValue()).duration(phase.getValue() - previous).build());
+            previous = phase.getValue();
+        }
+
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        String sharedArchiveFile = hotSpot.getVMOption("SharedArchiveFile").getValue();
+
+        return StartupTimelineDto.builder()
+          .jvmStartTime(Instant.ofEpochMilli(jvmStartTime))
+          .lazyInitialization(lazyInitialization)
+          .classDataSharing(Boolean.parseBoolean(hotSpot.getVMOption("UseSharedSpaces").getValue()))
+          .sharedArchiveFile(sharedArchiveFile.isEmpty() ? null : sharedArchiveFile)
+          .timeToReady(phases.get(APPLICATION_READY))
+          .timeToFirstRequest(phases.get(FIRST_REQUEST))
+          .phases(phaseDtos)
+          .build();
+    }
+
+    //Spring Cloud publishes the prepared event of the application twice
+    private void register(ConfigurableListableBeanFactory beanFactory) {
+        if (!beanFactory.containsSingleton(BEAN_NAME)) beanFactory.registerSingleton(BEAN_NAME, this);
+    }
+
+    //milliseconds since the JVM start of the first occurrence of the phase
+    private synchronized long record(String phase) {
+        return phases.computeIfAbsent(phase, name -> System.currentTimeMillis() - jvmStartTime);
+    }
+}
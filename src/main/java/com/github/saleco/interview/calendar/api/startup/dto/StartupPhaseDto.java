@@ -0,0 +1,21 @@
+package com.github.saleco.interview.calendar.api.startup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StartupPhaseDto {
+
+    private String name;
+
+    //milliseconds since the JVM started
+    private long sinceJvmStart;
+
+    //milliseconds since the previous phase
+    private long duration;
+}
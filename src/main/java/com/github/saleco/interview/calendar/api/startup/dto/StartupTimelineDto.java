@@ -0,0 +1,33 @@
+package com.github.saleco.interview.calendar.api.startup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StartupTimelineDto {
+
+    private Instant jvmStartTime;
+
+    private boolean lazyInitialization;
+
+    //true when classes are mapped from a class data sharing archive
+    private boolean classDataSharing;
+
+    private String sharedArchiveFile;
+
+    //milliseconds from the JVM start to the application ready, null while starting
+    private Long timeToReady;
+
+    //milliseconds from the JVM start to the end of the first request served, null until then
+    private Long timeToFirstRequest;
+
+    private List<StartupPhaseDto> phases;
+}
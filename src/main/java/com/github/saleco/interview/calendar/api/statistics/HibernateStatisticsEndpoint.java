@@ -0,0 +1,100 @@
+package com.github.saleco.interview.calendar.api.statistics;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.statistics.dto.HibernateStatisticsDto;
+import com.github.saleco.interview.calendar.api.statistics.dto.QueryStatisticsDto;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exposes the Hibernate statistics and the slowest JDBC statements on /actuator/hibernate,
+ * a DELETE resets both
+ */
+@Component
+@Endpoint(id = "hibernate")
+@RequiredArgsConstructor
+public class HibernateStatisticsEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SlowStatements slowStatements;
+    private final InterviewCalendarAPIProperties properties;
+
+    @ReadOperation
+    public HibernateStatisticsDto statistics() {
+        Statistics statistics = hibernateStatistics();
+
+        return HibernateStatisticsDto.builder()
+          .statisticsEnabled(statistics.isStatisticsEnabled())
+          .since(Instant.ofEpochMilli(statistics.getStartTime()))
+          .sessionsOpened(statistics.getSessionOpenCount())
+          .sessionsClosed(statistics.getSessionCloseCount())
+          .transactions(statistics.getTransactionCount())
+          .flushes(statistics.getFlushCount())
+          .connectionsObtained(statistics.getConnectCount())
+          .statementsPrepared(statistics.getPrepareStatementCount())
+          .queriesExecuted(statistics.getQueryExecutionCount())
+          .queryExecutionMaxTime(statistics.getQueryExecutionMaxTime())
+          .slowestQuery(statistics.getQueryExecutionMaxTimeQueryString())
+          .entitiesLoaded(statistics.getEntityLoadCount())
+          .entitiesFetched(statistics.getEntityFetchCount())
+          .entitiesInserted(statistics.getEntityInsertCount())
+          .entitiesUpdated(statistics.getEntityUpdateCount())
+          .entitiesDeleted(statistics.getEntityDeleteCount())
+          .collectionsLoaded(statistics.getCollectionLoadCount())
+          .collectionsFetched(statistics.getCollectionFetchCount())
+          .secondLevelCacheHits(statistics.getSecondLevelCacheHitCount())
+          .secondLevelCacheMisses(statistics.getSecondLevelCacheMissCount())
+          .queryCacheHits(statistics.getQueryCacheHitCount())
+          .queryCacheMisses(statistics.getQueryCacheMissCount())
+          .queryPlanCacheHits(statistics.getQueryPlanCacheHitCount())
+          .queryPlanCacheMisses(statistics.getQueryPlanCacheMissCount())
+          .optimisticFailures(statistics.getOptimisticFailureCount())
+          .slowestQueries(slowestQueries(statistics))
+          .slowStatementCount(slowStatements.getCount())
+          .slowStatements(slowStatements.getSlowest())
+          .build();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        hibernateStatistics().clear();
+        slowStatements.clear();
+    }
+
+    private List<QueryStatisticsDto> slowestQueries(Statistics statistics) {
+        return Stream.of(statistics.getQueries())
+          .map(query -> queryStatisticsDto(query, statistics.getQueryStatistics(query)))
+          .filter(queryStatistics -> queryStatistics.getExecutions() > 0)
+          .sorted(Comparator.comparingLong(QueryStatisticsDto::getMaxTime).reversed())
+          .limit(properties.getStatistics().getSlowestQueries())
+          .collect(Collectors.toList());
+    }
+
+    private static QueryStatisticsDto queryStatisticsDto(String query, QueryStatistics queryStatistics) {
+        return QueryStatisticsDto.builder()
+          .query(query)
+          .executions(queryStatistics.getExecutionCount())
+          .rows(queryStatistics.getExecutionRowCount())
+          .averageTime(queryStatistics.getExecutionAvgTime())
+          .maxTime(queryStatistics.getExecutionMaxTime())
+          .cacheHits(queryStatistics.getCacheHitCount())
+          .build();
+    }
+
+    private Statistics hibernateStatistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.saleco.interview.calendar.api.statistics;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.statistics.dto.SlowStatementDto;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The slowest JDBC statements above the threshold, timed by {@link TimedDataSource}.
+ * Statements faster than the threshold, or than every statement kept once it is full,
+ * are rejected without taking a lock, so timing every statement stays cheap under load.
+ */
+@Component
+public class SlowStatements {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final long NOT_FULL = -1;
+
+    private static final Comparator<Capture> FASTEST_FIRST = Comparator.comparingLong(capture -> capture.nanos);
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int capacity;
+
+    //fastest statement kept on top
+    private final PriorityQueue<Capture> slowest;
+    private final LongAdder count = new LongAdder();
+
+    //statements this fast or faster are not kept: none until full, then the fastest statement kept
+    private volatile long floorNanos = NOT_FULL;
+
+    public SlowStatements(InterviewCalendarAPIProperties properties) {
+        InterviewCalendarAPIProperties.SlowStatements settings = properties.getStatistics().getSlowStatements();
+        this.enabled = settings.isEnabled();
+        this.thresholdNanos = settings.getThreshold().toNanos();
+        this.capacity = Math.max(1, settings.getCapacity());
+        this.slowest = new PriorityQueue<>(capacity + 1, FASTEST_FIRST);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Keeps a statement if it is slow enough, its bind parameter types are only read when it is kept
+     *
+     * @param sql the statement
+     * @param parameters the type of each bind parameter
+     * @param batchSize rows of a batch, 0 when not batched
+     * @param nanos execution time
+     */
+    public void record(String sql, Supplier<List<String>> parameters, int batchSize, long nanos) {
+        if (nanos < thresholdNanos) return;
+        count.increment();
+        if (nanos <= floorNanos) return;
+
+        Capture capture = new Capture(sql, parameters.get(), batchSize, nanos, Instant.now(), Thread.currentThread().getName());
+        synchronized (slowest) {
+            slowest.add(capture);
+            if (slowest.size() > capacity) slowest.poll();
+            if (slowest.size() >= capacity) floorNanos = slowest.peek().nanos;
+        }
+    }
+
+    /**
+     * @return the statements kept, slowest first
+     */
+    public List<SlowStatementDto> getSlowest() {
+        List<Capture> captures;
+        synchronized (slowest) {
+            captures = new ArrayList<>(slowest);
+        }
+        return captures.stream()
+          .sorted(FASTEST_FIRST.reversed())
+          .map(Capture::toDto)
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the statements slower than the threshold, kept or not
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    public void clear() {
+        synchronized (slowest) {
+            slowest.clear();
+            floorNanos = NOT_FULL;
+        }
+        count.reset();
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    private static class Capture {
+        private final String sql;
+        private final List<String> parameters;
+        private final int batchSize;
+        private final long nanos;
+        private final Instant executedAt;
+        private final String thread;
+
+        private SlowStatementDto toDto() {
+            return SlowStatementDto.builder()
+              .sql(sql)
+              .parameters(parameters)
+              .batchSize(batchSize)
+              .duration(nanos / NANOS_PER_MILLI)
+              .executedAt(executedAt)
+              .thread(thread)
+              .build();
+        }
+    }
+}
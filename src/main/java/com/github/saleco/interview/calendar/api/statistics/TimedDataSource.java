@@ -0,0 +1,183 @@
+package com.github.saleco.interview.calendar.api.statistics;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * JDK proxies of a DataSource, its Connections and their Statements, timing every execute call for {@link SlowStatements}.
+ * Queries are timed until their ResultSet is returned, reading the rows is not included.
+ * Prepared statements remember the setter used for each bind parameter, never the values.
+ * The DataSource proxy implements every interface of the pool (Closeable, MXBeans), unwrap returns the pool itself.
+ */
+final class TimedDataSource {
+
+    private static final String EXECUTE = "execute";
+    private static final String SET = "set";
+    private static final String NULL = "Null";
+
+    private TimedDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, SlowStatements slowStatements) {
+        return (DataSource) Proxy.newProxyInstance(dataSource.getClass().getClassLoader(),
+          ClassUtils.getAllInterfaces(dataSource), new DataSourceHandler(dataSource, slowStatements));
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object proceed(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private static class DataSourceHandler extends Handler {
+
+        private final SlowStatements slowStatements;
+
+        DataSourceHandler(DataSource target, SlowStatements slowStatements) {
+            super(target);
+            this.slowStatements = slowStatements;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = proceed(method, args);
+            if (!"getConnection".equals(method.getName())) return result;
+
+            return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+              new ConnectionHandler(result, slowStatements));
+        }
+    }
+
+    private static class ConnectionHandler extends Handler {
+
+        private final SlowStatements slowStatements;
+
+        ConnectionHandler(Object target, SlowStatements slowStatements) {
+            super(target);
+            this.slowStatements = slowStatements;
+        }
+
+        //prepareStatement, prepareCall and createStatement return a PreparedStatement, CallableStatement or Statement
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = proceed(method, args);
+            if (!(result instanceof Statement)) return result;
+
+            String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+            return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{method.getReturnType()},
+              new StatementHandler(result, sql, slowStatements));
+        }
+    }
+
+    private static class StatementHandler extends Handler {
+
+        private final String sql;
+        private final SlowStatements slowStatements;
+
+        //setter Method, or Class of the value given to setObject, of each bind parameter
+        private Object[] parameters = new Object[0];
+        private int batchSize;
+
+        StatementHandler(Object target, String sql, SlowStatements slowStatements) {
+            super(target);
+            this.sql = sql;
+            this.slowStatements = slowStatements;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith(EXECUTE)) {
+                return execute(method, args);
+            }
+
+            if (name.startsWith(SET) && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bind((Integer) args[0], "setObject".equals(name) ? type(args[1]) : method);
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+            } else if ("clearParameters".equals(name)) {
+                Arrays.fill(parameters, null);
+            }
+            return proceed(method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            //plain Statements get their SQL on execute
+            String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            int batch = method.getName().startsWith("executeBatch") || method.getName().startsWith("executeLargeBatch") ? batchSize : 0;
+
+            long start = System.nanoTime();
+            try {
+                return proceed(method, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                if (batch > 0) batchSize = 0;
+                slowStatements.record(executed, this::parameterTypes, batch, nanos);
+            }
+        }
+
+        private void bind(int index, Object setter) {
+            if (index < 1) return;
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = setter;
+        }
+
+        private static Object type(Object value) {
+            return value == null ? NULL : value.getClass();
+        }
+
+        //setLong gives Long, setObject gives the class of the value, unset parameters are omitted
+        private List<String> parameterTypes() {
+            List<String> types = new ArrayList<>(parameters.length);
+            for (Object parameter : parameters) {
+                if (parameter instanceof Method) {
+                    types.add(((Method) parameter).getName().substring(SET.length()));
+                } else if (parameter instanceof Class) {
+                    types.add(((Class<?>) parameter).getSimpleName());
+                } else if (parameter != null) {
+                    types.add(parameter.toString());
+                }
+            }
+            return types;
+        }
+    }
+}
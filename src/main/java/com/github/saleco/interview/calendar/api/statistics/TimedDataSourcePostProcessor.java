@@ -0,0 +1,29 @@
+package com.github.saleco.interview.calendar.api.statistics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Times the statements of the DataSource when interview-calendar.statistics.slow-statements.enabled is set
+ */
+@Component
+@RequiredArgsConstructor
+public class TimedDataSourcePostProcessor implements BeanPostProcessor {
+
+    //resolved when the DataSource is created, so the settings are bound and post processed as usual
+    private final ObjectProvider<SlowStatements> slowStatements;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource)) {
+            return bean;
+        }
+
+        SlowStatements statements = slowStatements.getObject();
+        return statements.isEnabled() ? TimedDataSource.wrap((DataSource) bean, statements) : bean;
+    }
+}
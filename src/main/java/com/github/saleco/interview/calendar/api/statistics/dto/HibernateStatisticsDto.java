@@ -0,0 +1,78 @@
+package com.github.saleco.interview.calendar.api.statistics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HibernateStatisticsDto {
+
+    //false when hibernate.generate_statistics is off, the counters are then 0
+    private boolean statisticsEnabled;
+
+    //start of the statistics, or their last reset
+    private Instant since;
+
+    private long sessionsOpened;
+
+    private long sessionsClosed;
+
+    private long transactions;
+
+    private long flushes;
+
+    private long connectionsObtained;
+
+    private long statementsPrepared;
+
+    private long queriesExecuted;
+
+    //milliseconds
+    private long queryExecutionMaxTime;
+
+    private String slowestQuery;
+
+    private long entitiesLoaded;
+
+    private long entitiesFetched;
+
+    private long entitiesInserted;
+
+    private long entitiesUpdated;
+
+    private long entitiesDeleted;
+
+    private long collectionsLoaded;
+
+    private long collectionsFetched;
+
+    private long secondLevelCacheHits;
+
+    private long secondLevelCacheMisses;
+
+    private long queryCacheHits;
+
+    private long queryCacheMisses;
+
+    private long queryPlanCacheHits;
+
+    private long queryPlanCacheMisses;
+
+    private long optimisticFailures;
+
+    //queries executed with the highest max execution time, named queries are listed once executed
+    private List<QueryStatisticsDto> slowestQueries;
+
+    //statements above the slow statement threshold since the start or the last reset, kept or not
+    private long slowStatementCount;
+
+    //slowest statements above the threshold, slowest first
+    private List<SlowStatementDto> slowStatements;
+}
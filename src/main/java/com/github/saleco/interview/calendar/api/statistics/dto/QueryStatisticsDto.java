@@ -0,0 +1,28 @@
+package com.github.saleco.interview.calendar.api.statistics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueryStatisticsDto {
+
+    //HQL, or SQL of a native query
+    private String query;
+
+    private long executions;
+
+    private long rows;
+
+    //milliseconds
+    private long averageTime;
+
+    //milliseconds
+    private long maxTime;
+
+    private long cacheHits;
+}
@@ -0,0 +1,31 @@
+package com.github.saleco.interview.calendar.api.statistics.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlowStatementDto {
+
+    private String sql;
+
+    //type of each bind parameter, e.g. Long, Timestamp or Null, never the values
+    private List<String> parameters;
+
+    //rows of a batch, 0 when not batched
+    private int batchSize;
+
+    //milliseconds
+    private double duration;
+
+    private Instant executedAt;
+
+    private String thread;
+}
@@ -0,0 +1,129 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDK proxy of a DataSource holding a permit from the time a Connection is obtained until it is closed.
+ * Threads beyond the permits park on a fair Semaphore, which unmounts a virtual thread from its carrier,
+ * rather than queueing in the connection pool and the JDBC driver.
+ * The proxy implements every interface of the pool (Closeable, MXBeans), unwrap returns the pool itself.
+ */
+final class DatabasePermits {
+
+    private DatabasePermits() {
+    }
+
+    static DataSource wrap(DataSource dataSource, int permits, Duration timeout) {
+        return (DataSource) Proxy.newProxyInstance(dataSource.getClass().getClassLoader(),
+          ClassUtils.getAllInterfaces(dataSource), new DataSourceHandler(dataSource, new Semaphore(permits, true), timeout));
+    }
+
+    private static Object proceed(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class DataSourceHandler implements InvocationHandler {
+
+        private final DataSource target;
+        private final Semaphore permits;
+        private final Duration timeout;
+
+        DataSourceHandler(DataSource target, Semaphore permits, Duration timeout) {
+            this.target = target;
+            this.permits = permits;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection(method, args);
+                default:
+                    return proceed(target, method, args);
+            }
+        }
+
+        private Connection connection(Method method, Object[] args) throws Throwable {
+            acquire();
+            try {
+                Connection connection = (Connection) proceed(target, method, args);
+                return (Connection) Proxy.newProxyInstance(DatabasePermits.class.getClassLoader(), new Class<?>[]{Connection.class},
+                  new ConnectionHandler(connection, permits));
+            } catch (Throwable e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("No database permit available after " + timeout.toMillis() + "ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+            }
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final Semaphore permits;
+
+        //a Connection is used by a single thread at a time, closing it again is a no-op
+        private boolean closed;
+
+        ConnectionHandler(Connection target, Semaphore permits) {
+            this.target = target;
+            this.permits = permits;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    return close(method, args);
+                default:
+                    return proceed(target, method, args);
+            }
+        }
+
+        private Object close(Method method, Object[] args) throws Throwable {
+            try {
+                return proceed(target, method, args);
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    permits.release();
+                }
+            }
+        }
+    }
+}
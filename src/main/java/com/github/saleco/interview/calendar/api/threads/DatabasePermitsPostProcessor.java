@@ -0,0 +1,71 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Limits the connections used at the same time when interview-calendar.threads.virtual is set.
+ * On Java 21 a virtual thread blocked in a synchronized block pins its carrier thread, and HikariCP and the JDBC drivers
+ * wait on socket I/O under such locks, so a thread running a statement holds a carrier until the database answers.
+ * Unless interview-calendar.threads.database-permits is set, the permits are the maximum size of the connection pool
+ * capped to the carriers minus one, so one carrier is always left to the requests not waiting on the database.
+ * Raising the carriers (-Djdk.virtualThreadScheduler.parallelism) above the pool size lets every connection be used.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatabasePermitsPostProcessor implements BeanPostProcessor {
+
+    //HikariCP maximumPoolSize default, applied when the pool starts (unset until then), also used for pools of another kind
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private static final String CARRIERS_PROPERTY = "jdk.virtualThreadScheduler.parallelism";
+
+    //resolved when the DataSource is created, so the settings are bound and post processed as usual
+    private final ObjectProvider<InterviewCalendarAPIProperties> properties;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource)) {
+            return bean;
+        }
+
+        InterviewCalendarAPIProperties.Threads threads = properties.getObject().getThreads();
+        if (!threads.isVirtual()) {
+            return bean;
+        }
+
+        DataSource dataSource = (DataSource) bean;
+        int carriers = carriers();
+        int permits;
+        if (threads.getDatabasePermits() > 0) {
+            permits = threads.getDatabasePermits();
+            if (permits >= carriers) {
+                log.warn("{} database permits for {} virtual thread carriers: statements may pin every carrier, stalling the other requests", permits, carriers);
+            }
+        } else {
+            permits = Math.min(poolSize(dataSource), Math.max(1, carriers - 1));
+        }
+
+        log.info("Virtual threads use at most {} database connections at the same time, on {} carriers", permits, carriers);
+        return DatabasePermits.wrap(dataSource, permits, threads.getDatabasePermitTimeout());
+    }
+
+    //parallelism of the virtual thread scheduler, the available processors unless set
+    static int carriers() {
+        return Integer.getInteger(CARRIERS_PROPERTY, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        HikariDataSource hikariDataSource = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        return hikariDataSource != null && hikariDataSource.getMaximumPoolSize() > 0 ? hikariDataSource.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor writing the elements of the Flux responses. Spring MVC writes them with blocking servlet I/O,
+ * so a client whose socket buffer is full holds a writer until it reads again.
+ * The writers are a dedicated pool of interview-calendar.search.reactive.writer-threads, with at most queued-writes streams
+ * waiting for one, instead of the application task executor shared with the rest of the application:
+ * more stalled clients than writers delay the other Flux responses, and streams beyond the queue are ended.
+ * With interview-calendar.threads.virtual each write runs on its own virtual thread, so a stalled client blocks a virtual thread only.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MvcAsyncSupport implements WebMvcConfigurer {
+
+    public static final String THREAD_PREFIX = "flux-writer-";
+    public static final String VIRTUAL_THREAD_PREFIX = "mvc-async-virtual-";
+
+    //absent from the web slice tests, which keep the default executor
+    private final ObjectProvider<InterviewCalendarAPIProperties> properties;
+
+    private ExecutorService executor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        InterviewCalendarAPIProperties interviewCalendarAPIProperties = properties.getIfAvailable();
+        if (interviewCalendarAPIProperties == null) return;
+
+        if (interviewCalendarAPIProperties.getThreads().isVirtual()) {
+            executor = VirtualThreads.newExecutor(VIRTUAL_THREAD_PREFIX);
+            log.info("Flux responses are written on virtual threads");
+        } else {
+            InterviewCalendarAPIProperties.Reactive reactive = interviewCalendarAPIProperties.getSearch().getReactive();
+            executor = newWriters(reactive.getWriterThreads(), reactive.getQueuedWrites());
+            log.info("Flux responses are written by {} threads, {} streams queued at most", reactive.getWriterThreads(), reactive.getQueuedWrites());
+        }
+        configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) executor.shutdown();
+    }
+
+    /**
+     * @param  threads writer threads, started on demand and stopped after a minute idle
+     * @param  queuedWrites writes waiting for a thread, further ones are rejected and Spring MVC ends their stream
+     * @return the bounded writer pool
+     */
+    static ExecutorService newWriters(int threads, int queuedWrites) {
+        ThreadPoolExecutor writers = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+          new ArrayBlockingQueue<>(queuedWrites), new CustomizableThreadFactory(THREAD_PREFIX));
+        writers.allowCoreThreadTimeOut(true);
+        return writers;
+    }
+}
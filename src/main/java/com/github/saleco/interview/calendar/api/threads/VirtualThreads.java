@@ -0,0 +1,54 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual threads of a Java 21+ runtime. The application is compiled for Java 11,
+ * so the Thread.Builder API is looked up reflectively, once per executor created.
+ */
+public final class VirtualThreads {
+
+    private static final String BUILDER = "java.lang.Thread$Builder";
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return true when the running JVM has virtual threads
+     */
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param  prefix name of the threads, followed by a sequence number
+     * @return an executor starting a new virtual thread for each task
+     * @throws IllegalStateException when the running JVM has no virtual threads
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads require a Java 21+ runtime, running Java " + System.getProperty("java.version"));
+        }
+
+        try {
+            Class<?> builderType = Class.forName(BUILDER);
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Virtual thread executor could not be created", e);
+        }
+    }
+}
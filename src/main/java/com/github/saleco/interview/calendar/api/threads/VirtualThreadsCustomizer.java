@@ -0,0 +1,32 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves each request on a virtual thread of its own when interview-calendar.threads.virtual is set,
+ * instead of the Tomcat worker pool (server.tomcat.threads.max no longer applies).
+ * Connections accepted stay bounded by server.tomcat.max-connections, database work by the database permits.
+ * Fails the startup on a JVM without virtual threads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadsCustomizer implements TomcatProtocolHandlerCustomizer<ProtocolHandler> {
+
+    public static final String THREAD_PREFIX = "http-virtual-";
+
+    private final InterviewCalendarAPIProperties properties;
+
+    @Override
+    public void customize(ProtocolHandler protocolHandler) {
+        if (!properties.getThreads().isVirtual()) return;
+
+        protocolHandler.setExecutor(VirtualThreads.newExecutor(THREAD_PREFIX));
+        log.info("Requests are served on virtual threads");
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.saleco.interview.calendar.api.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded near-cache of the type of each User, filled when Users are read or created.
+ * Users are never updated nor deleted by the API, the time to live only bounds changes made elsewhere.
+ * Unknown ids are not cached. Hit / miss counts are published as the cache.* metrics tagged with cache=users,
+ * plus the cache.hit.ratio gauge.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserTypeCache {
+
+    public static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+    private final InterviewCalendarAPIProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<Long, UserType> cache;
+
+    @PostConstruct
+    public void start() {
+        InterviewCalendarAPIProperties.UserCache settings = properties.getUsers().getCache();
+
+        cache = Caffeine.newBuilder()
+          .maximumSize(settings.getMaximumSize())
+          .expireAfterWrite(settings.getTimeToLive())
+          .recordStats()
+          .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+          .description("The ratio of cache requests which were hits")
+          .tag("cache", CACHE_NAME)
+          .register(meterRegistry);
+    }
+
+    /**
+     * @return true when User types are configured to be cached
+     */
+    public boolean isEnabled() {
+        return properties.getUsers().getCache().isEnabled();
+    }
+
+    /**
+     * @param  userId User Identification
+     * @return the type of the User, empty when the User doesn't exist
+     */
+    public Optional<UserType> getUserType(Long userId) {
+        if (isEnabled()) {
+            UserType userType = cache.getIfPresent(userId);
+            if (userType != null) return Optional.of(userType);
+        }
+
+        Optional<UserType> userType = userRepository.findById(userId).map(User::getUserType);
+        userType.ifPresent(type -> put(userId, type));
+        return userType;
+    }
+
+    /**
+     * Bulk variant of getUserType, the missing Users are read with a single query
+     *
+     * @param  userIds Users Identifications
+     * @return the type of each existing User
+     */
+    public Map<Long, UserType> getUserTypes(Collection<Long> userIds) {
+        Map<Long, UserType> userTypes = new HashMap<>(isEnabled() ? cache.getAllPresent(userIds) : Map.of());
+
+        List<Long> missing = userIds.stream().filter(userId -> !userTypes.containsKey(userId)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            userRepository.findAllById(missing).forEach(user -> {
+                userTypes.put(user.getId(), user.getUserType());
+                put(user.getId(), user.getUserType());
+            });
+            log.debug("Read the type of {} users, {} cached", missing.size(), userIds.size() - missing.size());
+        }
+
+        return userTypes;
+    }
+
+    /**
+     * Caches the type of a read or created User
+     *
+     * @param  userId User Identification
+     * @param  userType The Type of the user
+     */
+    public void put(Long userId, UserType userType) {
+        if (isEnabled() && userId != null && userType != null) {
+            cache.put(userId, userType);
+        }
+    }
+}
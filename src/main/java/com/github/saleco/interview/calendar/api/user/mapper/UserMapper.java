@@ -4,10 +4,13 @@ import com.github.saleco.interview.calendar.api.mapper.DateMapper;
 import com.github.saleco.interview.calendar.api.user.dto.UserDto;
 import com.github.saleco.interview.calendar.api.user.model.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(uses = DateMapper.class)
 public interface UserMapper {
     UserDto modelToDto(User user);
+    @Mapping(target = "agendaVersion", ignore = true)
+    @Mapping(target = "agendaUpdatedAt", ignore = true)
     User dtoToModel(UserDto userDto);
 
 }
@@ -5,11 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import java.sql.Timestamp;
 
 @Data
 @NoArgsConstructor
@@ -19,8 +23,16 @@ import javax.persistence.Id;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
     private String name;
     private UserType userType;
+
+    //incremented, with the time of the change, whenever an Agenda of the User is created,
+    //defaults to 0 so the column can be added to a filled table and Users inserted without it
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long agendaVersion;
+    private Timestamp agendaUpdatedAt;
 }
@@ -0,0 +1,13 @@
+package com.github.saleco.interview.calendar.api.user.repository;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection of the change version of the Agendas of an User
+ */
+public interface UserAgendaVersion {
+
+    long getAgendaVersion();
+
+    Timestamp getAgendaUpdatedAt();
+}
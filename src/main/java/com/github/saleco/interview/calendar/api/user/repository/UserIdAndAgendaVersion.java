@@ -0,0 +1,11 @@
+package com.github.saleco.interview.calendar.api.user.repository;
+
+/**
+ * Projection of the change version of the Agendas of an User, along with the User id
+ */
+public interface UserIdAndAgendaVersion {
+
+    Long getId();
+
+    long getAgendaVersion();
+}
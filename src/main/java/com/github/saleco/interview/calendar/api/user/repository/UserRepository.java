@@ -5,7 +5,13 @@ import com.github.saleco.interview.calendar.api.user.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +19,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByIdAndUserType(Long id, UserType userType);
     Page<User> findALlByUserType(UserType userType, Pageable pageable);
     Optional<User> findFirstByUserTypeAndName(UserType userType, String name);
+
+    @Query("select user.agendaVersion as agendaVersion, user.agendaUpdatedAt as agendaUpdatedAt from User user where user.id = ?1")
+    Optional<UserAgendaVersion> findAgendaVersionById(Long id);
+
+    @Query("select user.id as id, user.agendaVersion as agendaVersion from User user where user.id in (?1)")
+    List<UserIdAndAgendaVersion> findAgendaVersionsByIdIn(Collection<Long> ids);
+
+    @Query("select user.id as id, user.agendaVersion as agendaVersion from User user")
+    List<UserIdAndAgendaVersion> findAllAgendaVersions();
+
+    @Transactional
+    @Modifying
+    @Query("update User user set user.agendaVersion = user.agendaVersion + 1, user.agendaUpdatedAt = ?2 where user.id in (?1)")
+    int incrementAgendaVersion(Collection<Long> ids, Timestamp updatedAt);
 }
@@ -5,9 +5,12 @@ import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
 import com.github.saleco.interview.calendar.api.user.dto.UserDto;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface UserService {
     Page<UserDto> getUsersByType(int page, int size, UserType userType);
     UserDto createUser(CreateUserDto createUserDto);
+    List<UserDto> createUsers(List<CreateUserDto> createUserDtos);
     UserDto getUserDtoFromCreateUserDto(CreateUserDto createUserDto);
 }
 
@@ -2,9 +2,11 @@ package com.github.saleco.interview.calendar.api.user.service;
 
 import com.github.saleco.interview.calendar.api.enums.UserType;
 import com.github.saleco.interview.calendar.api.service.AbstractService;
+import com.github.saleco.interview.calendar.api.user.cache.UserTypeCache;
 import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
 import com.github.saleco.interview.calendar.api.user.dto.UserDto;
 import com.github.saleco.interview.calendar.api.user.mapper.UserMapper;
+import com.github.saleco.interview.calendar.api.user.model.User;
 import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +14,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -19,6 +24,7 @@ public class UserServiceImpl extends AbstractService implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserTypeCache userTypeCache;
 
     /**
      * Get Users by UserType paginated
@@ -42,6 +48,7 @@ public class UserServiceImpl extends AbstractService implements UserService {
 
     /**
      * Creates an User - The User can be of Type Candidate / Interviewer
+     * The type of the created User is cached for the validations of its next requests
      *
      * @param  createUserDto - User values
      * @return the created User
@@ -53,8 +60,32 @@ public class UserServiceImpl extends AbstractService implements UserService {
 
         UserDto userDto = getUserDtoFromCreateUserDto(createUserDto);
 
-        return userMapper
-          .modelToDto(userRepository.save(userMapper.dtoToModel(userDto)));
+        User user = userRepository.save(userMapper.dtoToModel(userDto));
+        userTypeCache.put(user.getId(), user.getUserType());
+
+        return userMapper.modelToDto(user);
+    }
+
+    /**
+     * Creates many Users at once, inserted as JDBC batches
+     * The types of the created Users are cached for the validations of their next requests
+     *
+     * @param  createUserDtos - Values of each User
+     * @return the created Users, in the same order
+     * @see CreateUserDto
+     */
+    @Override
+    public List<UserDto> createUsers(List<CreateUserDto> createUserDtos) {
+        log.debug("Creating {} users", createUserDtos.size());
+
+        List<User> users = userRepository.saveAll(createUserDtos
+          .stream()
+          .map(this::getUserDtoFromCreateUserDto)
+          .map(userMapper::dtoToModel)
+          .collect(Collectors.toList()));
+        users.forEach(user -> userTypeCache.put(user.getId(), user.getUserType()));
+
+        return users.stream().map(userMapper::modelToDto).collect(Collectors.toList());
     }
 
     /**
@@ -1,13 +1,55 @@
 package com.github.saleco.interview.calendar.api;
 
+import com.github.saleco.interview.calendar.api.startup.StartupTimeline;
+import com.github.saleco.interview.calendar.api.startup.dto.StartupPhaseDto;
+import com.github.saleco.interview.calendar.api.statistics.HibernateStatisticsEndpoint;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class InterviewCalendarAPIApplicationTests {
 
+    @Autowired
+    StartupTimeline startupTimeline;
+
+    @Autowired
+    HibernateStatisticsEndpoint hibernateStatisticsEndpoint;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    DataSource dataSource;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void startupTimelineIsRecorded() {
+        assertThat(startupTimeline.getTimeline().getTimeToReady()).isNotNull();
+        assertThat(startupTimeline.getTimeline().getPhases()).extracting(StartupPhaseDto::getName)
+          .contains("contextPrepared", "contextRefreshed", StartupTimeline.APPLICATION_READY);
+    }
+
+    @Test
+    void hibernateStatisticsAreRecordedAndStatementsTimed() throws SQLException {
+        hibernateStatisticsEndpoint.reset();
+        userRepository.findAll();
+
+        assertThat(hibernateStatisticsEndpoint.statistics().isStatisticsEnabled()).isTrue();
+        assertThat(hibernateStatisticsEndpoint.statistics().getQueriesExecuted()).isEqualTo(1);
+        assertThat(Proxy.isProxyClass(dataSource.getClass())).isTrue();
+        assertThat(dataSource.unwrap(HikariDataSource.class)).isInstanceOf(HikariDataSource.class);
+    }
+
 }
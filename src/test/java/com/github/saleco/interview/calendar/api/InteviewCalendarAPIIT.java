@@ -1,34 +1,65 @@
 package com.github.saleco.interview.calendar.api;
 
+import com.github.saleco.interview.calendar.api.agenda.cache.AvailabilityCache;
+import com.github.saleco.interview.calendar.api.agenda.dto.FreeBusyDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.AgendaVersions;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.FreeBusyExport;
+import com.github.saleco.interview.calendar.api.agenda.imports.AvailabilityImports;
+import com.github.saleco.interview.calendar.api.agenda.imports.AvailabilityStreamImport;
+import com.github.saleco.interview.calendar.api.agenda.imports.ICalendarAvailabilityImport;
 import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.dto.SliceDto;
 import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
 import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import com.github.saleco.interview.calendar.api.metrics.InvocationTimers;
+import com.github.saleco.interview.calendar.api.metrics.QueryCounter;
 import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
 import com.github.saleco.interview.calendar.api.user.dto.UserDto;
+import com.github.saleco.interview.calendar.api.user.repository.UserAgendaVersion;
 import com.github.saleco.interview.calendar.api.user.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.in;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.reset;
 
 /*
     Integration tests to validate Interview Calendar API Use Cases
+    Each configuration runs on its own database, ids are allocated from pooled sequences
+    that must not be recreated under another cached context
  */
 @SpringBootTest
+@TestPropertySource(properties = {"spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=MySQL", "interview-calendar.search.cache.enabled=true"})
 class InteviewCalendarAPIIT {
 
     public static final int YEAR = 2021;
@@ -43,6 +74,30 @@ class InteviewCalendarAPIIT {
     @Autowired
     UserService userService;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    AvailabilityImports availabilityImports;
+
+    @Autowired
+    AvailabilityStreamImport availabilityStreamImport;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ICalendarAvailabilityImport iCalendarAvailabilityImport;
+
+    @Autowired
+    FreeBusyExport freeBusyExport;
+
+    @SpyBean
+    AgendaVersions agendaVersions;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @DisplayName("As an INTERVIEWER, I would like to set availability slots - David is available next week each day from 9am through 4pm without breaks")
     @Test
     void givenDavidAsInterviewerAndAvailabilitiesWhenSetupAvailabilityThenShouldCreateAvailabitiesForDavid() {
@@ -191,6 +246,409 @@ class InteviewCalendarAPIIT {
 
     }
 
+    @DisplayName("As a USER, I would like to browse the possible interview slots one slice at a time - " +
+      "Browsing the availabilities of Carl and David with slices of 2 should return the same slots of the Page search.")
+    @Test
+    void givenCarlAsCandidateAndDavidAsInterviewerWhenSearchAvailabilitySlicesThenShouldReturnEveryAvailabilityOnce() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        UserDto david = createUser("David", UserType.INTERVIEWER);
+
+        createAvailability(david, getDavidAvailabilities());
+        createAvailability(carl, getCarlAvailabilities());
+
+        SearchInterviewsAvailabilityCursorDto search = SearchInterviewsAvailabilityCursorDto.builder()
+          .candidateId(carl.getId())
+          .interviewerIds(Lists.newArrayList(david.getId()))
+          .startingFrom(OffsetDateTime.of(YEAR, MONTH, 26, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .endingAt(OffsetDateTime.of(YEAR, MONTH, 30, 18, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .build();
+        search.setPageSize(2);
+
+        //WHEN
+        List<AgendaDto> browsed = new ArrayList<>();
+        int slices = 0;
+        SliceDto<AgendaDto> slice;
+        do {
+            slice = agendaService.getAvailabilitySlice(search);
+            browsed.addAll(slice.getContent());
+            search.setAfter(slice.getNextCursor());
+            slices++;
+        } while (slice.isHasNext());
+
+        //THEN
+        Page<AgendaDto> agendaDtos = agendaService.getAvailability(
+          SearchInterviewsAvailabilityDto.builder()
+            .candidateId(search.getCandidateId())
+            .interviewerIds(search.getInterviewerIds())
+            .startingFrom(search.getStartingFrom())
+            .endingAt(search.getEndingAt())
+            .build()
+        );
+
+        //6 slots of Carl within David's availability, 2 per slice
+        assertThat(slices).isEqualTo(3);
+        assertThat(browsed).hasSize(6);
+        assertThat(browsed).extracting(AgendaDto::getStart)
+          .containsExactlyElementsOf(agendaDtos.map(AgendaDto::getStart).getContent());
+        assertThat(browsed).extracting(AgendaDto::getStart).isSorted();
+    }
+
+    @DisplayName("As a USER, I would like to stream the possible interview slots - " +
+      "Streaming the availabilities of Carl and David should return the same slots of the Page search, sorted by start.")
+    @Test
+    void givenCarlAsCandidateAndDavidAsInterviewerWhenStreamAvailabilityThenShouldReturnEveryAvailability() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        UserDto david = createUser("David", UserType.INTERVIEWER);
+
+        createAvailability(david, getDavidAvailabilities());
+        createAvailability(carl, getCarlAvailabilities());
+
+        SearchInterviewsAvailabilityDto search = SearchInterviewsAvailabilityDto.builder()
+          .candidateId(carl.getId())
+          .interviewerIds(Lists.newArrayList(david.getId()))
+          .startingFrom(OffsetDateTime.of(YEAR, MONTH, 26, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .endingAt(OffsetDateTime.of(YEAR, MONTH, 30, 18, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .build();
+
+        //WHEN
+        List<AgendaDto> streamed = new ArrayList<>();
+        agendaService.streamAvailability(search, streamed::add);
+
+        //THEN
+        Page<AgendaDto> agendaDtos = agendaService.getAvailability(search);
+
+        assertThat(streamed).hasSize(6);
+        assertThat(streamed).extracting(AgendaDto::getStart)
+          .containsExactlyElementsOf(agendaDtos.map(AgendaDto::getStart).getContent());
+    }
+
+    @DisplayName("As a USER, I would like to receive the possible interview slots at my own pace - " +
+      "The Flux of the availabilities of Carl and David read by slices of 4 should publish the same slots of the Page search.")
+    @Test
+    void givenCarlAsCandidateAndDavidAsInterviewerWhenGetAvailabilityFluxThenShouldPublishEveryAvailability() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        UserDto david = createUser("David", UserType.INTERVIEWER);
+
+        createAvailability(david, getDavidAvailabilities());
+        createAvailability(carl, getCarlAvailabilities());
+
+        SearchInterviewsAvailabilityCursorDto search = SearchInterviewsAvailabilityCursorDto.builder()
+          .candidateId(carl.getId())
+          .interviewerIds(Lists.newArrayList(david.getId()))
+          .startingFrom(OffsetDateTime.of(YEAR, MONTH, 26, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .endingAt(OffsetDateTime.of(YEAR, MONTH, 30, 18, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .build();
+        search.setPageSize(4);
+
+        //WHEN
+        List<AgendaDto> published = agendaService.getAvailabilityFlux(search).collectList().block();
+
+        //THEN
+        Page<AgendaDto> agendaDtos = agendaService.getAvailability(
+          SearchInterviewsAvailabilityDto.builder()
+            .candidateId(search.getCandidateId())
+            .interviewerIds(search.getInterviewerIds())
+            .startingFrom(search.getStartingFrom())
+            .endingAt(search.getEndingAt())
+            .build()
+        );
+
+        assertThat(published).hasSize(6);
+        assertThat(published).extracting(AgendaDto::getStart)
+          .containsExactlyElementsOf(agendaDtos.map(AgendaDto::getStart).getContent());
+    }
+
+    @DisplayName("As a USER, I would like to get the possible interview slots weeks ahead - " +
+      "Searching 4 weeks of Carl and David availabilities page by page should return the slots in order.")
+    @Test
+    void givenCarlAsCandidateAndDavidAsInterviewerWhenSearchAvailabilityWeeksAheadThenShouldReturnPagesInOrder() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        UserDto david = createUser("David", UserType.INTERVIEWER);
+
+        createAvailability(david, getDavidAvailabilities());
+        createAvailability(carl, getCarlAvailabilities());
+
+        SearchInterviewsAvailabilityDto search = SearchInterviewsAvailabilityDto.builder()
+          .candidateId(carl.getId())
+          .interviewerIds(Lists.newArrayList(david.getId()))
+          .startingFrom(OffsetDateTime.of(YEAR, MONTH, 12, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .endingAt(OffsetDateTime.of(YEAR, MONTH + 1, 10, 18, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .build();
+        search.setPageSize(4);
+
+        //WHEN
+        Page<AgendaDto> firstPage = agendaService.getAvailability(search);
+        search.setPageNumber(1);
+        Page<AgendaDto> secondPage = agendaService.getAvailability(search);
+
+        //THEN
+        assertThat(firstPage.getContent()).extracting(AgendaDto::getStart).containsExactly(
+          OffsetDateTime.of(YEAR, MONTH, 26, 9, 0, 0, 0, ZoneOffset.UTC),
+          OffsetDateTime.of(YEAR, MONTH, 27, 9, 0, 0, 0, ZoneOffset.UTC),
+          OffsetDateTime.of(YEAR, MONTH, 28, 10, 0, 0, 0, ZoneOffset.UTC),
+          OffsetDateTime.of(YEAR, MONTH, 28, 11, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(firstPage.hasNext()).isTrue();
+
+        assertThat(secondPage.getContent()).extracting(AgendaDto::getStart).containsExactly(
+          OffsetDateTime.of(YEAR, MONTH, 29, 9, 0, 0, 0, ZoneOffset.UTC),
+          OffsetDateTime.of(YEAR, MONTH, 30, 9, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(secondPage.hasNext()).isFalse();
+        assertThat(secondPage.getTotalElements()).isEqualTo(6);
+    }
+
+    @DisplayName("As a USER, I would like to refresh a search and see the slots created since - " +
+      "Searching Carl and Ingrid again after Ingrid sets her availability should return the new slots, the repeated search is a cache hit.")
+    @Test
+    void givenCachedSearchWhenInterviewerSetsAvailabilityThenShouldReturnNewAvailabilities() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        UserDto ingrid = createUser("Ingrid", UserType.INTERVIEWER);
+
+        createAvailability(carl, getCarlAvailabilities());
+
+        SearchInterviewsAvailabilityDto search = SearchInterviewsAvailabilityDto.builder()
+          .candidateId(carl.getId())
+          .interviewerIds(Lists.newArrayList(ingrid.getId()))
+          .startingFrom(OffsetDateTime.of(YEAR, MONTH, 26, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .endingAt(OffsetDateTime.of(YEAR, MONTH, 30, 18, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+          .build();
+
+        double hits = cacheGets("hit");
+        long searches = searchTimings();
+
+        //WHEN
+        Page<AgendaDto> beforeAvailability = agendaService.getAvailability(search);
+        Page<AgendaDto> repeated = agendaService.getAvailability(search);
+        createAvailability(ingrid, getIngridAvailabilities());
+        Page<AgendaDto> afterAvailability = agendaService.getAvailability(search);
+
+        //THEN
+        Assertions.assertAll(
+          () -> assertThat(beforeAvailability).isEmpty(),
+          () -> assertThat(repeated).isEmpty(),
+          () -> assertThat(afterAvailability).hasSize(2),
+          () -> assertThat(cacheGets("hit")).isEqualTo(hits + 1),
+          () -> assertThat(searchTimings()).isEqualTo(searches + 3)
+        );
+    }
+
+    @DisplayName("As an INTERVIEWER, I would like to set availability slots - " +
+      "Overlapping availabilities in one request and availabilities set twice are rejected, nothing of the rejected request is stored.")
+    @Test
+    void givenDuplicatedAvailabilitiesWhenSetupAvailabilityThenShouldThrowValidationException() {
+        //GIVEN
+        UserDto ingrid = createUser("Ingrid", UserType.INTERVIEWER);
+        List<AvailabilityDto> overlapping = Lists.newArrayList(
+          buildAvailabilityDto(YEAR, MONTH, 26, 9, 12),
+          buildAvailabilityDto(YEAR, MONTH, 26, 11, 13));
+
+        //WHEN / THEN
+        Assertions.assertThrows(ValidationException.class, () -> createAvailability(ingrid, overlapping));
+
+        List<AgendaDto> ingridAgendas = createAvailability(ingrid, getIngridAvailabilities());
+        assertThat(ingridAgendas).hasSize(18);
+
+        Assertions.assertThrows(ValidationException.class, () -> createAvailability(ingrid, Lists.newArrayList(
+          buildAvailabilityDto(YEAR, MONTH, 30, 9, 12),
+          buildAvailabilityDto(YEAR, MONTH, 29, 11, 12))));
+    }
+
+    @DisplayName("As a USER, I would like to get a list of possible interview slots for many interviewers - " +
+      "Validating the Interviewers of a search runs no query once they were created or read, however many they are.")
+    @Test
+    void givenManyInterviewersWhenValidatesUsersInputWithUserTypeThenShouldRunNoQuery() {
+        //GIVEN
+        List<Long> interviewerIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            interviewerIds.add(createUser("Interviewer " + i, UserType.INTERVIEWER).getId());
+        }
+
+        //WHEN
+        QueryCounter.reset();
+        agendaService.validatesUsersInputWithUserType(interviewerIds.subList(0, 1), UserType.INTERVIEWER);
+        long oneInterviewerQueries = QueryCounter.count();
+
+        QueryCounter.reset();
+        agendaService.validatesUsersInputWithUserType(interviewerIds, UserType.INTERVIEWER);
+        long tenInterviewersQueries = QueryCounter.count();
+
+        //THEN
+        Assertions.assertAll(
+          () -> assertThat(oneInterviewerQueries).isZero(),
+          () -> assertThat(tenInterviewersQueries).isZero()
+        );
+    }
+
+    @DisplayName("As an INTERVIEWER, I would like to set availability slots of many Users at once - " +
+      "The import runs in background, valid availabilities are created and invalid ones are reported.")
+    @Test
+    void givenAvailabilitiesOfManyUsersWhenImportThenShouldCreateValidOnesAndReportFailures() throws InterruptedException {
+        //GIVEN
+        UserDto david = createUser("David", UserType.INTERVIEWER);
+        UserDto ingrid = createUser("Ingrid", UserType.INTERVIEWER);
+
+        ImportAvailabilityDto importAvailabilityDto = ImportAvailabilityDto.builder()
+          .agendas(Lists.newArrayList(
+            CreateAgendaDto.builder().userId(david.getId()).availabilities(getDavidAvailabilities()).build(),
+            CreateAgendaDto.builder().userId(Long.MAX_VALUE).availabilities(getDavidAvailabilities()).build(),
+            CreateAgendaDto.builder().userId(ingrid.getId()).availabilities(getIngridAvailabilities()).build()))
+          .build();
+
+        //WHEN
+        ImportJobDto importJobDto = availabilityImports.submit(importAvailabilityDto);
+        for (int i = 0; i < 500 && importJobDto.getStatus() != ImportJobStatus.COMPLETED; i++) {
+            Thread.sleep(10);
+            importJobDto = availabilityImports.getJob(importJobDto.getId());
+        }
+
+        //THEN
+        ImportJobDto completed = importJobDto;
+        Assertions.assertAll(
+          () -> assertThat(completed.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+          () -> assertThat(completed.getAgendasProcessed()).isEqualTo(3),
+          () -> assertThat(completed.getRowsProcessed()).isEqualTo(35 + 18),
+          () -> assertThat(completed.getFailures()).isEqualTo(1),
+          () -> assertThat(completed.getErrors()).hasSize(1),
+          () -> Assertions.assertThrows(ValidationException.class, () -> createAvailability(ingrid, getIngridAvailabilities()))
+        );
+    }
+
+    @DisplayName("As an INTERVIEWER, I would like to set availability slots - " +
+      "A Create Agenda payload streamed chunk by chunk creates the same slots, availabilities set twice are rejected.")
+    @Test
+    void givenDavidAvailabilitiesWhenStreamAvailabilityThenShouldCreateAvailabitiesForDavid() throws Exception {
+        //GIVEN
+        UserDto david = createUser("David", UserType.INTERVIEWER);
+        byte[] payload = objectMapper.writeValueAsBytes(
+          CreateAgendaDto.builder().userId(david.getId()).availabilities(getDavidAvailabilities()).build());
+
+        //WHEN
+        ImportJobDto importJobDto = availabilityStreamImport.importAvailability(new ByteArrayInputStream(payload));
+
+        //THEN
+        Assertions.assertAll(
+          () -> assertThat(importJobDto.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+          () -> assertThat(importJobDto.getRowsProcessed()).isEqualTo(35),
+          () -> Assertions.assertThrows(ValidationException.class, () -> createAvailability(david, getDavidAvailabilities()))
+        );
+    }
+
+    @DisplayName("As a CANDIDATE, I would like to set availability slots from my calendar - " +
+      "Carl's free/busy export of Monday 9am to 12pm, busy from 10am to 11am, creates the slots 9am to 10am and 11am to 12pm.")
+    @Test
+    void givenCarlFreeBusyWhenImportICalendarThenShouldCreateTheFreeSlots() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        String ics = String.join("\r\n",
+          "BEGIN:VCALENDAR",
+          "VERSION:2.0",
+          "BEGIN:VFREEBUSY",
+          "DTSTART:20210426T090000Z",
+          "DTEND:20210426T120000Z",
+          "FREEBUSY:20210426T100000Z/20210426T110000Z",
+          "END:VFREEBUSY",
+          "END:VCALENDAR", "");
+
+        //WHEN
+        ImportJobDto importJobDto = iCalendarAvailabilityImport.importAvailability(carl.getId(), new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8)));
+
+        //THEN
+        Assertions.assertAll(
+          () -> assertThat(importJobDto.getRowsProcessed()).isEqualTo(2),
+          () -> Assertions.assertThrows(ValidationException.class, () -> createAvailability(carl, Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 26, 11, 12)))),
+          () -> assertThat(createAvailability(carl, Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 26, 10, 11)))).hasSize(1)
+        );
+    }
+
+    @DisplayName("As a calendar client, I would like to poll the free/busy of an User - " +
+      "Each availability set changes the version of the export, which is read with a single query.")
+    @Test
+    void givenDaveAvailabilitiesWhenGetFreeBusyThenShouldChangeVersionAndMergeSlots() {
+        //GIVEN
+        UserDto dave = createUser("Dave", UserType.INTERVIEWER);
+        UserAgendaVersion initialVersion = freeBusyExport.getVersion(dave.getId());
+
+        //WHEN
+        createAvailability(dave, Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 26, 9, 11)));
+        createAvailability(dave, Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 26, 11, 12)));
+
+        QueryCounter.reset();
+        UserAgendaVersion version = freeBusyExport.getVersion(dave.getId());
+        long versionQueries = QueryCounter.count();
+
+        OffsetDateTime startingFrom = OffsetDateTime.of(YEAR, MONTH, 26, 0, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC);
+        OffsetDateTime endingAt = OffsetDateTime.of(YEAR, MONTH, 27, 0, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC);
+        FreeBusyDto freeBusyDto = freeBusyExport.getFreeBusy(dave.getId(), version, startingFrom, endingAt);
+
+        //THEN
+        Assertions.assertAll(
+          () -> assertThat(version.getAgendaVersion()).isEqualTo(initialVersion.getAgendaVersion() + 2),
+          () -> assertThat(version.getAgendaUpdatedAt()).isNotNull(),
+          () -> assertThat(versionQueries).isEqualTo(1),
+          () -> assertThat(freeBusyExport.getETag(dave.getId(), version, startingFrom, endingAt, FreeBusyExport.JSON))
+            .isNotEqualTo(freeBusyExport.getETag(dave.getId(), initialVersion, startingFrom, endingAt, FreeBusyExport.JSON)),
+          () -> assertThat(freeBusyExport.getETag(dave.getId(), version, startingFrom, endingAt, FreeBusyExport.JSON))
+            .isNotEqualTo(freeBusyExport.getETag(dave.getId(), version, startingFrom, endingAt.plusDays(1), FreeBusyExport.JSON)),
+          () -> assertThat(freeBusyDto.getFree()).containsExactly(buildAvailabilityDto(YEAR, MONTH, 26, 9, 12))
+        );
+    }
+
+    @DisplayName("As a calendar client, I would like to poll the free/busy of an User - " +
+      "Users inserted without an agenda version, as by an older release, start at version 0.")
+    @Test
+    void givenUserInsertedWithoutAgendaVersionWhenGetVersionThenShouldBeZero() {
+        //GIVEN
+        jdbcTemplate.update("insert into user (id, name, user_type) values (?, ?, ?)", 1_000_000L, "Frank", UserType.INTERVIEWER.ordinal());
+
+        //WHEN
+        UserAgendaVersion version = freeBusyExport.getVersion(1_000_000L);
+
+        //THEN
+        assertThat(version.getAgendaVersion()).isZero();
+    }
+
+    @DisplayName("As a calendar client, I would like to poll the free/busy of an User - " +
+      "Availabilities whose version can't be incremented are not stored, so the export never answers 304 over stale slots.")
+    @Test
+    void givenVersionIncrementFailingWhenSetupAvailabilityThenShouldStoreNoAgenda() {
+        //GIVEN
+        UserDto erin = createUser("Erin", UserType.INTERVIEWER);
+        UserAgendaVersion initialVersion = freeBusyExport.getVersion(erin.getId());
+        willThrow(new IllegalStateException("Version not incremented")).given(agendaVersions).increment(anyCollection());
+
+        //WHEN
+        Assertions.assertThrows(IllegalStateException.class,
+          () -> createAvailability(erin, Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 26, 9, 11))));
+
+        //THEN
+        reset(agendaVersions);
+        FreeBusyDto freeBusyDto = freeBusyExport.getFreeBusy(erin.getId(), initialVersion,
+          OffsetDateTime.of(YEAR, MONTH, 26, 0, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC),
+          OffsetDateTime.of(YEAR, MONTH, 27, 0, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC));
+        Assertions.assertAll(
+          () -> assertThat(freeBusyExport.getVersion(erin.getId()).getAgendaVersion()).isEqualTo(initialVersion.getAgendaVersion()),
+          () -> assertThat(freeBusyDto.getFree()).isEmpty(),
+          //nothing left behind conflicts with the same availability
+          () -> assertThat(createAvailability(erin, Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 26, 9, 11)))).hasSize(2)
+        );
+    }
+
+    //searches of a single interviewer timed by the service, cached or not
+    private long searchTimings() {
+        Timer timer = meterRegistry.find(InvocationTimers.SERVICE_METRIC)
+          .tags("service", "AgendaService", "method", "getAvailability", "outcome", "SUCCESS", "size", "1")
+          .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", AvailabilityCache.CACHE_NAME).tag("result", result).functionCounter().count();
+    }
+
     private List<AgendaDto> createAvailability(UserDto userDto, List<AvailabilityDto> availabilities) {
         return agendaService.createAvailability(
           CreateAgendaDto.builder()
@@ -0,0 +1,78 @@
+package com.github.saleco.interview.calendar.api;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.dto.UserDto;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    Integration tests to validate Interview Calendar API Use Cases using the in-memory availability index
+ */
+@SpringBootTest(properties = "interview-calendar.search.mode=INDEX")
+class InteviewCalendarAPIIndexIT extends InteviewCalendarAPIIT {
+
+    @Autowired
+    AgendaRepository agendaRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    DateMapper dateMapper;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @DisplayName("As a USER, I would like to get a list of possible interview slots - " +
+      "An Agenda of Ingrid created through another instance is found by the index of this one.")
+    @Test
+    void givenIngridAgendaCreatedThroughAnotherInstanceWhenSearchAvailabilityThenShouldReturnIt() {
+        //GIVEN
+        UserDto carl = createUser("Carl", UserType.CANDIDATE);
+        UserDto ingrid = createUser("Ingrid", UserType.INTERVIEWER);
+        agendaService.createAvailability(CreateAgendaDto.builder()
+          .userId(carl.getId()).availabilities(Lists.newArrayList(buildAvailabilityDto(YEAR, MONTH, 27, 9, 10))).build());
+
+        //another instance stores the Agenda and increments the version of its User, without touching this index
+        transactionTemplate.executeWithoutResult(status -> {
+            agendaRepository.save(Agenda.builder()
+              .user(userRepository.getOne(ingrid.getId()))
+              .start(dateMapper.asTimestamp(OffsetDateTime.of(YEAR, MONTH, 27, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC)))
+              .end(dateMapper.asTimestamp(OffsetDateTime.of(YEAR, MONTH, 27, 10, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC)))
+              .build());
+            agendaVersions.increment(Collections.singleton(ingrid.getId()));
+        });
+
+        //WHEN
+        Page<AgendaDto> agendaDtos = agendaService.getAvailability(
+          SearchInterviewsAvailabilityDto.builder()
+            .candidateId(carl.getId())
+            .interviewerIds(Lists.newArrayList(ingrid.getId()))
+            .startingFrom(OffsetDateTime.of(YEAR, MONTH, 26, 9, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+            .endingAt(OffsetDateTime.of(YEAR, MONTH, 30, 18, MINUTE, SECOND, NANO_OF_SECOND, ZoneOffset.UTC))
+            .build()
+        );
+
+        //THEN
+        assertThat(agendaDtos.getContent()).extracting(AgendaDto::getStart)
+          .containsExactly(OffsetDateTime.of(YEAR, MONTH, 27, 9, 0, 0, 0, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.saleco.interview.calendar.api;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/*
+    Integration tests to validate Interview Calendar API Use Cases searching one shard per Interviewer in parallel
+ */
+@SpringBootTest(properties = {
+  "interview-calendar.search.parallel.enabled=true",
+  "interview-calendar.search.parallel.shard-size=1"})
+class InteviewCalendarAPIParallelIT extends InteviewCalendarAPIIT {
+
+}
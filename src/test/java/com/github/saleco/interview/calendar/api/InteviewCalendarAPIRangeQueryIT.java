@@ -0,0 +1,11 @@
+package com.github.saleco.interview.calendar.api;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/*
+    Integration tests to validate Interview Calendar API Use Cases using the index friendly range query
+ */
+@SpringBootTest(properties = "interview-calendar.search.mode=RANGE_QUERY")
+class InteviewCalendarAPIRangeQueryIT extends InteviewCalendarAPIIT {
+
+}
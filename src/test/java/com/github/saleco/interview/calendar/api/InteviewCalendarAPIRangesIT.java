@@ -0,0 +1,11 @@
+package com.github.saleco.interview.calendar.api;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/*
+    Integration tests to validate Interview Calendar API Use Cases storing availabilities as ranges
+ */
+@SpringBootTest(properties = "interview-calendar.availability.storage=RANGES")
+class InteviewCalendarAPIRangesIT extends InteviewCalendarAPIIT {
+
+}
@@ -0,0 +1,140 @@
+package com.github.saleco.interview.calendar.api.agenda.cache;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityCacheTest {
+
+    public static final long CANDIDATE = 1L;
+    public static final long INTERVIEWER = 2L;
+    public static final long OTHER_INTERVIEWER = 3L;
+    public static final long OTHER_CANDIDATE = 4L;
+
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private InterviewCalendarAPIProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AvailabilityCache availabilityCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterviewCalendarAPIProperties();
+        properties.getSearch().getCache().setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityCache = new AvailabilityCache(properties, meterRegistry);
+        availabilityCache.start();
+    }
+
+    @DisplayName("Given equivalent searches When get then should search once and count the hit")
+    @Test
+    void givenEquivalentSearchesWhenGetThenShouldSearchOnce() {
+        Page<AgendaDto> first = availabilityCache.get(PageRequest.of(0, 20),
+          search(CANDIDATE, Lists.newArrayList(INTERVIEWER, OTHER_INTERVIEWER), at(26, 9)), this::searchPage);
+        Page<AgendaDto> second = availabilityCache.get(PageRequest.of(0, 20),
+          search(CANDIDATE, Lists.newArrayList(OTHER_INTERVIEWER, INTERVIEWER, INTERVIEWER), at(26, 9).withOffsetSameInstant(ZoneOffset.ofHours(2))), this::searchPage);
+
+        Assertions.assertAll(
+          () -> assertThat(searches).hasValue(1),
+          () -> assertThat(second).isSameAs(first),
+          () -> assertThat(meterRegistry.get("cache.gets").tag("cache", AvailabilityCache.CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1),
+          () -> assertThat(meterRegistry.get("cache.gets").tag("cache", AvailabilityCache.CACHE_NAME).tag("result", "miss").functionCounter().count()).isEqualTo(1)
+        );
+    }
+
+    @DisplayName("Given different pages When get then should search each page")
+    @Test
+    void givenDifferentPagesWhenGetThenShouldSearchEachPage() {
+        SearchInterviewsAvailabilityDto search = search(CANDIDATE, Collections.singletonList(INTERVIEWER), at(26, 9));
+
+        availabilityCache.get(PageRequest.of(0, 20), search, this::searchPage);
+        availabilityCache.get(PageRequest.of(1, 20), search, this::searchPage);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @DisplayName("Given cached searches When invalidate an user then should only evict the searches involving the user")
+    @Test
+    void givenCachedSearchesWhenInvalidateThenShouldOnlyEvictSearchesInvolvingUser() {
+        SearchInterviewsAvailabilityDto withInterviewer = search(CANDIDATE, Lists.newArrayList(INTERVIEWER, OTHER_INTERVIEWER), at(26, 9));
+        SearchInterviewsAvailabilityDto withoutInterviewer = search(OTHER_CANDIDATE, Collections.singletonList(OTHER_INTERVIEWER), at(26, 9));
+
+        availabilityCache.get(PageRequest.of(0, 20), withInterviewer, this::searchPage);
+        availabilityCache.get(PageRequest.of(0, 20), withoutInterviewer, this::searchPage);
+
+        availabilityCache.invalidate(Collections.singleton(INTERVIEWER));
+
+        availabilityCache.get(PageRequest.of(0, 20), withInterviewer, this::searchPage);
+        availabilityCache.get(PageRequest.of(0, 20), withoutInterviewer, this::searchPage);
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @DisplayName("Given an Agenda created while searching When get then should return the page without caching it")
+    @Test
+    void givenAgendaCreatedWhileSearchingWhenGetThenShouldNotCacheThePage() {
+        SearchInterviewsAvailabilityDto search = search(CANDIDATE, Collections.singletonList(INTERVIEWER), at(26, 9));
+        Supplier<Page<AgendaDto>> searchWithConcurrentWrite = () -> {
+            availabilityCache.invalidate(Collections.singleton(CANDIDATE));
+            return searchPage();
+        };
+
+        Page<AgendaDto> agendaDtos = availabilityCache.get(PageRequest.of(0, 20), search, searchWithConcurrentWrite);
+        availabilityCache.get(PageRequest.of(0, 20), search, this::searchPage);
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos).isNotNull(),
+          () -> assertThat(searches).hasValue(2)
+        );
+    }
+
+    @DisplayName("Given cache disabled When get then should always search")
+    @Test
+    void givenCacheDisabledWhenGetThenShouldAlwaysSearch() {
+        properties.getSearch().getCache().setEnabled(false);
+        SearchInterviewsAvailabilityDto search = search(CANDIDATE, Collections.singletonList(INTERVIEWER), at(26, 9));
+
+        availabilityCache.get(PageRequest.of(0, 20), search, this::searchPage);
+        availabilityCache.get(PageRequest.of(0, 20), search, this::searchPage);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    private Page<AgendaDto> searchPage() {
+        searches.incrementAndGet();
+        return new PageImpl<>(Collections.singletonList(AgendaDto.builder().id((long) searches.get()).userId(INTERVIEWER).build()));
+    }
+
+    private static SearchInterviewsAvailabilityDto search(Long candidateId, List<Long> interviewerIds, OffsetDateTime startingFrom) {
+        return SearchInterviewsAvailabilityDto.builder()
+          .candidateId(candidateId)
+          .interviewerIds(interviewerIds)
+          .startingFrom(startingFrom)
+          .endingAt(startingFrom.plusDays(1))
+          .build();
+    }
+
+    private static OffsetDateTime at(int dayOfMonth, int hour) {
+        return OffsetDateTime.of(2021, 4, dayOfMonth, hour, 0, 0, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,11 +1,25 @@
 package com.github.saleco.interview.calendar.api.agenda.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.FreeBusyDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.FreeBusyExport;
+import com.github.saleco.interview.calendar.api.agenda.imports.AvailabilityImports;
+import com.github.saleco.interview.calendar.api.agenda.imports.AvailabilityStreamImport;
+import com.github.saleco.interview.calendar.api.agenda.imports.ICalendarAvailabilityImport;
+import com.github.saleco.interview.calendar.api.agenda.imports.PartialImportException;
 import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
 import com.github.saleco.interview.calendar.api.exception.NotFoundException;
+import com.github.saleco.interview.calendar.api.exception.ServiceUnavailableException;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import com.github.saleco.interview.calendar.api.user.repository.UserAgendaVersion;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,19 +27,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
 
+import java.io.InputStream;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc(addFilters = false)
@@ -34,6 +62,15 @@ class AgendasControllerTest {
 
     public static final String AGENDAS_API = "/ap1/v1/agendas";
     public static final String AGENDAS_SEARCH_API = "/ap1/v1/agendas/search";
+    public static final String AGENDAS_SEARCH_CURSOR_API = "/ap1/v1/agendas/search/cursor";
+    public static final String AGENDAS_SEARCH_STREAM_API = "/ap1/v1/agendas/search/stream";
+    public static final String AGENDAS_SEARCH_FLUX_API = "/ap1/v1/agendas/search/flux";
+    public static final String AGENDAS_IMPORTS_API = "/ap1/v1/agendas/imports";
+    public static final String AGENDAS_STREAM_API = "/ap1/v1/agendas/stream";
+    public static final String AGENDAS_ICS_API = "/ap1/v1/agendas/ics";
+    public static final String AGENDAS_FREEBUSY_API = "/ap1/v1/agendas/freebusy/1";
+    public static final OffsetDateTime FREEBUSY_STARTING_FROM = OffsetDateTime.of(2021, 4, 26, 0, 0, 0, 0, ZoneOffset.UTC);
+    public static final OffsetDateTime FREEBUSY_ENDING_AT = OffsetDateTime.of(2021, 4, 27, 0, 0, 0, 0, ZoneOffset.UTC);
 
     @Autowired
     private MockMvc mockMvc;
@@ -44,6 +81,18 @@ class AgendasControllerTest {
     @MockBean
     private AgendaService agendaService;
 
+    @MockBean
+    private AvailabilityImports availabilityImports;
+
+    @MockBean
+    private AvailabilityStreamImport availabilityStreamImport;
+
+    @MockBean
+    private ICalendarAvailabilityImport iCalendarAvailabilityImport;
+
+    @MockBean
+    private FreeBusyExport freeBusyExport;
+
 
     @DisplayName("Given Invalid Request when getAgendas then Should return status 400.")
     @Test
@@ -89,6 +138,136 @@ class AgendasControllerTest {
         then(agendaService).shouldHaveNoMoreInteractions();
     }
 
+    @DisplayName("Given request without mandatory fields when getAgendasSlice then Should return status 400.")
+    @Test
+    void givenRequestWithoutMandatoryFieldsWhenGetAgendasSliceThenShouldReturnStatus400() throws Exception {
+        mockMvc
+          .perform(get(AGENDAS_SEARCH_CURSOR_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString()))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string(containsString("There is a validation rule that prevents the request.")));
+
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given correct request when getAgendasSlice then Should return status 2XX.")
+    @Test
+    void givenCorrectRequestWhenGetAgendasSliceThenStatusShouldBe2XX() throws Exception {
+
+        mockMvc
+          .perform(get(AGENDAS_SEARCH_CURSOR_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString())
+            .param("candidateId", "1")
+            .param("interviewerIds", "1")
+            .param("after", "MjAyMS0wNC0yN1QwOTowMDowMFosMTI")
+          ).andExpect(status().is2xxSuccessful());
+
+        then(agendaService).should(times(1)).getAvailabilitySlice(any(SearchInterviewsAvailabilityCursorDto.class));
+        then(agendaService).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given request without mandatory fields when streamAgendas then Should return status 400.")
+    @Test
+    void givenRequestWithoutMandatoryFieldsWhenStreamAgendasThenShouldReturnStatus400() throws Exception {
+        mockMvc
+          .perform(get(AGENDAS_SEARCH_STREAM_API)
+            .accept(AgendasController.APPLICATION_NDJSON_VALUE)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString()))
+          .andExpect(status().isBadRequest());
+
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given correct request when streamAgendas then Should write one Agenda per line.")
+    @Test
+    void givenCorrectRequestWhenStreamAgendasThenShouldWriteOneAgendaPerLine() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<AgendaDto> consumer = invocation.getArgument(1);
+            consumer.accept(AgendaDto.builder().id(1L).userId(2L).build());
+            consumer.accept(AgendaDto.builder().id(3L).userId(2L).build());
+            return null;
+        }).given(agendaService).streamAvailability(any(SearchInterviewsAvailabilityDto.class), any());
+
+        mockMvc
+          .perform(get(AGENDAS_SEARCH_STREAM_API)
+            .accept(AgendasController.APPLICATION_NDJSON_VALUE)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString())
+            .param("candidateId", "1")
+            .param("interviewerIds", "2")
+          )
+          .andExpect(status().is2xxSuccessful())
+          .andExpect(content().contentType(AgendasController.APPLICATION_NDJSON_VALUE))
+          .andExpect(content().string(
+            "{\"id\":1,\"userId\":2,\"start\":null,\"end\":null}\n{\"id\":3,\"userId\":2,\"start\":null,\"end\":null}\n"));
+
+        then(agendaService).should(times(1)).streamAvailability(any(SearchInterviewsAvailabilityDto.class), any());
+        then(agendaService).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given request without mandatory fields when getAgendasFlux then Should return status 400.")
+    @Test
+    void givenRequestWithoutMandatoryFieldsWhenGetAgendasFluxThenShouldReturnStatus400() throws Exception {
+        mockMvc
+          .perform(get(AGENDAS_SEARCH_FLUX_API)
+            .accept(MediaType.APPLICATION_STREAM_JSON)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString()))
+          .andExpect(status().isBadRequest());
+
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given request when getAgendasFlux throws NotFoundException then Should return status 404 without streaming.")
+    @Test
+    void givenRequestWhenGetAgendasFluxThrowsNotFoundExceptionThenShouldReturnStatus404() throws Exception {
+        given(agendaService.getAvailabilityFlux(any(SearchInterviewsAvailabilityCursorDto.class))).willThrow(new NotFoundException("User 1 not found"));
+
+        mockMvc
+          .perform(get(AGENDAS_SEARCH_FLUX_API)
+            .accept(MediaType.APPLICATION_STREAM_JSON)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString())
+            .param("candidateId", "1")
+            .param("interviewerIds", "2"))
+          .andExpect(request().asyncNotStarted())
+          .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("Given correct request when getAgendasFlux then Should write one Agenda per line.")
+    @Test
+    void givenCorrectRequestWhenGetAgendasFluxThenShouldWriteOneAgendaPerLine() throws Exception {
+        given(agendaService.getAvailabilityFlux(any(SearchInterviewsAvailabilityCursorDto.class))).willReturn(Flux.just(
+          AgendaDto.builder().id(1L).userId(2L).build(),
+          AgendaDto.builder().id(3L).userId(2L).build()));
+
+        MvcResult mvcResult = mockMvc
+          .perform(get(AGENDAS_SEARCH_FLUX_API)
+            .accept(MediaType.APPLICATION_STREAM_JSON)
+            .param("startingFrom", OffsetDateTime.now().toString())
+            .param("endingAt",  OffsetDateTime.now().plusDays(5).toString())
+            .param("candidateId", "1")
+            .param("interviewerIds", "2")
+            .param("pageSize", "100"))
+          .andExpect(request().asyncStarted())
+          .andReturn();
+
+        mockMvc
+          .perform(asyncDispatch(mvcResult))
+          .andExpect(status().is2xxSuccessful())
+          .andExpect(content().contentType(MediaType.APPLICATION_STREAM_JSON))
+          .andExpect(content().string(
+            "{\"id\":1,\"userId\":2,\"start\":null,\"end\":null}\n{\"id\":3,\"userId\":2,\"start\":null,\"end\":null}\n"));
+
+        then(agendaService).should(times(1)).getAvailabilityFlux(any(SearchInterviewsAvailabilityCursorDto.class));
+        then(agendaService).shouldHaveNoMoreInteractions();
+    }
+
     @DisplayName("Given Invalid Request when setupAgendaSlots then Should return status 400.")
     @Test
     void givenInvalidRequestWhenSetupAgendaSlotsThenShouldReturnStatus400() throws Exception {
@@ -160,4 +339,254 @@ class AgendasControllerTest {
         then(agendaService).shouldHaveNoMoreInteractions();
     }
 
-}
\ No newline at end of file
+    @DisplayName("Given correct request when streamAgendaSlots then Should return status 200 with the slots created.")
+    @Test
+    void givenRequestWhenStreamAgendaSlotsThenShouldReturnStatus200() throws Exception {
+        given(availabilityStreamImport.importAvailability(any(InputStream.class)))
+          .willReturn(ImportJobDto.builder().id("job").status(ImportJobStatus.COMPLETED).agendas(1).agendasProcessed(1).rowsProcessed(6).build());
+
+        mockMvc
+          .perform(post(AGENDAS_STREAM_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(importAvailabilityDto().getAgendas().get(0)))
+          )
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.rowsProcessed").value(6));
+
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given request when streamAgendaSlots throws ValidationException then Should return status 400.")
+    @Test
+    void givenRequestWhenStreamAgendaSlotsThrowsValidationExceptionThenShouldReturnStatus400() throws Exception {
+        given(availabilityStreamImport.importAvailability(any(InputStream.class))).willThrow(new ValidationException("availabilities should not be empty"));
+
+        mockMvc
+          .perform(post(AGENDAS_STREAM_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":1,\"availabilities\":[]}")
+          )
+          .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("Given request when streamAgendaSlots fails after creating slots then Should return status 400 with the failed import.")
+    @Test
+    void givenRequestWhenStreamAgendaSlotsFailsAfterCreatingSlotsThenShouldReturnStatus400WithTheImport() throws Exception {
+        given(availabilityStreamImport.importAvailability(any(InputStream.class))).willThrow(new PartialImportException("Agenda is duplicated",
+          ImportJobDto.builder().id("job").status(ImportJobStatus.FAILED)
+            .rowsProcessed(4).availabilitiesCreated(1).createdUntil(LocalDateTime.of(2021, 4, 27, 13, 0)).build()));
+
+        mockMvc
+          .perform(post(AGENDAS_STREAM_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":1,\"availabilities\":[]}")
+          )
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath("$.status").value("FAILED"))
+          .andExpect(jsonPath("$.rowsProcessed").value(4))
+          .andExpect(jsonPath("$.availabilitiesCreated").value(1))
+          .andExpect(jsonPath("$.createdUntil").value("2021-04-27T13:00:00"));
+    }
+
+    @DisplayName("Given iCalendar when importICalendar then Should return status 200 with the slots created.")
+    @Test
+    void givenICalendarWhenImportICalendarThenShouldReturnStatus200() throws Exception {
+        given(iCalendarAvailabilityImport.importAvailability(eq(1L), any(InputStream.class)))
+          .willReturn(ImportJobDto.builder().id("job").status(ImportJobStatus.COMPLETED).rowsProcessed(7).build());
+
+        mockMvc
+          .perform(post(AGENDAS_ICS_API)
+            .param("userId", "1")
+            .contentType(AgendasController.TEXT_CALENDAR_VALUE)
+            .content("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n")
+          )
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.rowsProcessed").value(7));
+    }
+
+    @DisplayName("Given iCalendar without userId when importICalendar then Should return status 400.")
+    @Test
+    void givenICalendarWithoutUserIdWhenImportICalendarThenShouldReturnStatus400() throws Exception {
+        mockMvc
+          .perform(post(AGENDAS_ICS_API)
+            .contentType(AgendasController.TEXT_CALENDAR_VALUE)
+            .content("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n")
+          )
+          .andExpect(status().isBadRequest());
+
+        then(iCalendarAvailabilityImport).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given User when getFreeBusy then Should return status 200 with the free periods and the ETag.")
+    @Test
+    void givenUserWhenGetFreeBusyThenShouldReturnStatus200WithETag() throws Exception {
+        UserAgendaVersion version = agendaVersion();
+        given(freeBusyExport.getVersion(1L)).willReturn(version);
+        given(freeBusyExport.getETag(1L, version, FREEBUSY_STARTING_FROM, FREEBUSY_ENDING_AT, FreeBusyExport.JSON)).willReturn("\"1-3-json\"");
+        given(freeBusyExport.getFreeBusy(eq(1L), eq(version), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+          .willReturn(FreeBusyDto.builder().userId(1L).version(3)
+            .free(Lists.newArrayList(AvailabilityDto.builder().start(LocalDateTime.of(2021, 4, 26, 9, 0)).end(LocalDateTime.of(2021, 4, 26, 12, 0)).build()))
+            .build());
+
+        mockMvc
+          .perform(get(AGENDAS_FREEBUSY_API)
+            .param("startingFrom", "2021-04-26T00:00:00Z")
+            .param("endingAt", "2021-04-27T00:00:00Z")
+            .accept(MediaType.APPLICATION_JSON)
+          )
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.ETAG, "\"1-3-json\""))
+          .andExpect(jsonPath("$.version").value(3))
+          .andExpect(jsonPath("$.free[0].start").value("2021-04-26T09:00:00"));
+    }
+
+    @DisplayName("Given matching If-None-Match when getFreeBusy then Should return status 304 without reading the Agendas.")
+    @Test
+    void givenMatchingIfNoneMatchWhenGetFreeBusyThenShouldReturnStatus304() throws Exception {
+        UserAgendaVersion version = agendaVersion();
+        given(freeBusyExport.getVersion(1L)).willReturn(version);
+        given(freeBusyExport.getETag(1L, version, FREEBUSY_STARTING_FROM, FREEBUSY_ENDING_AT, FreeBusyExport.JSON)).willReturn("\"1-3-json\"");
+
+        mockMvc
+          .perform(get(AGENDAS_FREEBUSY_API)
+            .param("startingFrom", "2021-04-26T00:00:00Z")
+            .param("endingAt", "2021-04-27T00:00:00Z")
+            .accept(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"1-3-json\"")
+          )
+          .andExpect(status().isNotModified())
+          .andExpect(content().string(""));
+
+        then(freeBusyExport).should(never()).getFreeBusy(any(), any(), any(), any());
+    }
+
+    @DisplayName("Given text/calendar accept when getFreeBusy then Should return the VFREEBUSY.")
+    @Test
+    void givenTextCalendarAcceptWhenGetFreeBusyThenShouldReturnTheVFreeBusy() throws Exception {
+        UserAgendaVersion version = agendaVersion();
+        FreeBusyDto freeBusyDto = FreeBusyDto.builder().userId(1L).version(3).free(Lists.newArrayList()).build();
+        given(freeBusyExport.getVersion(1L)).willReturn(version);
+        given(freeBusyExport.getETag(1L, version, FREEBUSY_STARTING_FROM, FREEBUSY_ENDING_AT, FreeBusyExport.ICALENDAR)).willReturn("\"1-3-ics\"");
+        given(freeBusyExport.getFreeBusy(eq(1L), eq(version), any(OffsetDateTime.class), any(OffsetDateTime.class))).willReturn(freeBusyDto);
+        given(freeBusyExport.toICalendar(freeBusyDto, version)).willReturn("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n");
+
+        mockMvc
+          .perform(get(AGENDAS_FREEBUSY_API)
+            .param("startingFrom", "2021-04-26T00:00:00Z")
+            .param("endingAt", "2021-04-27T00:00:00Z")
+            .accept(AgendasController.TEXT_CALENDAR_VALUE)
+          )
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.ETAG, "\"1-3-ics\""))
+          .andExpect(content().string(containsString("BEGIN:VCALENDAR")));
+    }
+
+    @DisplayName("Given unknown User when getFreeBusy then Should return status 404.")
+    @Test
+    void givenUnknownUserWhenGetFreeBusyThenShouldReturnStatus404() throws Exception {
+        given(freeBusyExport.getVersion(1L)).willThrow(new NotFoundException("User 1 not found"));
+
+        mockMvc
+          .perform(get(AGENDAS_FREEBUSY_API)
+            .param("startingFrom", "2021-04-26T00:00:00Z")
+            .param("endingAt", "2021-04-27T00:00:00Z")
+            .accept(MediaType.APPLICATION_JSON)
+          )
+          .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("Given request without agendas when importAgendaSlots then Should return status 400.")
+    @Test
+    void givenRequestWithoutAgendasWhenImportAgendaSlotsThenShouldReturnStatus400() throws Exception {
+        mockMvc
+          .perform(post(AGENDAS_IMPORTS_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(ImportAvailabilityDto.builder().build()))
+          )
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string(containsString("There is a validation rule that prevents the request.")));
+
+        then(availabilityImports).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given correct request when importAgendaSlots then Should return status 202 with the import id.")
+    @Test
+    void givenRequestWhenImportAgendaSlotsThenShouldReturnStatus202() throws Exception {
+        ImportAvailabilityDto importAvailabilityDto = importAvailabilityDto();
+        given(availabilityImports.submit(importAvailabilityDto))
+          .willReturn(ImportJobDto.builder().id("job").status(ImportJobStatus.QUEUED).agendas(1).build());
+
+        mockMvc
+          .perform(post(AGENDAS_IMPORTS_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(importAvailabilityDto))
+          )
+          .andExpect(status().isAccepted())
+          .andExpect(jsonPath("$.id").value("job"))
+          .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given full import queue when importAgendaSlots then Should return status 503.")
+    @Test
+    void givenFullImportQueueWhenImportAgendaSlotsThenShouldReturnStatus503() throws Exception {
+        given(availabilityImports.submit(any(ImportAvailabilityDto.class))).willThrow(new ServiceUnavailableException("Import queue is full"));
+
+        mockMvc
+          .perform(post(AGENDAS_IMPORTS_API)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(importAvailabilityDto()))
+          )
+          .andExpect(status().isServiceUnavailable());
+    }
+
+    @DisplayName("Given unknown import when getImport then Should return status 404.")
+    @Test
+    void givenUnknownImportWhenGetImportThenShouldReturnStatus404() throws Exception {
+        given(availabilityImports.getJob("unknown")).willThrow(new NotFoundException("Import unknown not found"));
+
+        mockMvc
+          .perform(get(AGENDAS_IMPORTS_API + "/unknown"))
+          .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("Given import when getImport then Should return its progress.")
+    @Test
+    void givenImportWhenGetImportThenShouldReturnItsProgress() throws Exception {
+        given(availabilityImports.getJob("job"))
+          .willReturn(ImportJobDto.builder().id("job").status(ImportJobStatus.RUNNING).agendas(2).agendasProcessed(1).rowsProcessed(6).build());
+
+        mockMvc
+          .perform(get(AGENDAS_IMPORTS_API + "/job"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.status").value("RUNNING"))
+          .andExpect(jsonPath("$.agendasProcessed").value(1))
+          .andExpect(jsonPath("$.rowsProcessed").value(6));
+    }
+
+    private static UserAgendaVersion agendaVersion() {
+        return new UserAgendaVersion() {
+            @Override
+            public long getAgendaVersion() {
+                return 3;
+            }
+
+            @Override
+            public Timestamp getAgendaUpdatedAt() {
+                return Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 8, 0));
+            }
+        };
+    }
+
+    private static ImportAvailabilityDto importAvailabilityDto() {
+        return ImportAvailabilityDto.builder()
+          .agendas(Lists.newArrayList(CreateAgendaDto
+            .builder()
+            .userId(1L)
+            .availabilities(Lists.newArrayList(AvailabilityDto.builder().start(LocalDateTime.now()).end(LocalDateTime.now().plusHours(6)).build()))
+            .build()))
+          .build();
+    }
+
+}
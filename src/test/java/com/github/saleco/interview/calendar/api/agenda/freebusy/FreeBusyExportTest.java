@@ -0,0 +1,173 @@
+package com.github.saleco.interview.calendar.api.agenda.freebusy;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.FreeBusyDto;
+import com.github.saleco.interview.calendar.api.agenda.model.AvailabilityRange;
+import com.github.saleco.interview.calendar.api.agenda.range.AvailabilityRanges;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaSlot;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityRangeRepository;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.repository.UserAgendaVersion;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class FreeBusyExportTest {
+
+    public static final OffsetDateTime STARTING_FROM = OffsetDateTime.of(2021, 4, 26, 0, 0, 0, 0, ZoneOffset.UTC);
+    public static final OffsetDateTime ENDING_AT = OffsetDateTime.of(2021, 4, 27, 0, 0, 0, 0, ZoneOffset.UTC);
+    public static final UserAgendaVersion VERSION = version(3, at(8));
+
+    @Mock
+    private AgendaVersions agendaVersions;
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private AvailabilityRangeRepository availabilityRangeRepository;
+
+    @Mock
+    private AvailabilityRanges availabilityRanges;
+
+    @Spy
+    private DateMapper dateMapper = new DateMapper();
+
+    @InjectMocks
+    private FreeBusyExport freeBusyExport;
+
+    @DisplayName("Given Agenda slots When getFreeBusy Then should merge consecutive slots in free periods")
+    @Test
+    void givenAgendaSlotsWhenGetFreeBusyThenShouldMergeConsecutiveSlots() {
+        given(agendaRepository.findSlotsBy(Collections.singleton(1L), Timestamp.valueOf(STARTING_FROM.toLocalDateTime()), Timestamp.valueOf(ENDING_AT.toLocalDateTime())))
+          .willReturn(Lists.newArrayList(slot(14, 15), slot(9, 10), slot(10, 11), slot(11, 12)));
+
+        FreeBusyDto freeBusyDto = freeBusyExport.getFreeBusy(1L, VERSION, STARTING_FROM, ENDING_AT);
+
+        assertThat(freeBusyDto.getVersion()).isEqualTo(3);
+        assertThat(freeBusyDto.getFree()).containsExactly(period(9, 12), period(14, 15));
+        then(availabilityRangeRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given RANGES storage When getFreeBusy Then should clip the ranges to the period")
+    @Test
+    void givenRangesStorageWhenGetFreeBusyThenShouldClipTheRangesToThePeriod() {
+        given(availabilityRanges.isEnabled()).willReturn(true);
+        given(availabilityRangeRepository.findTouching(any(), any(), any())).willReturn(Lists.newArrayList(
+          AvailabilityRange.builder().start(Timestamp.valueOf(LocalDateTime.of(2021, 4, 25, 20, 0))).end(at(2)).build(),
+          AvailabilityRange.builder().start(at(22)).end(Timestamp.valueOf(LocalDateTime.of(2021, 4, 27, 3, 0))).build()));
+
+        FreeBusyDto freeBusyDto = freeBusyExport.getFreeBusy(1L, VERSION, STARTING_FROM, ENDING_AT);
+
+        assertThat(freeBusyDto.getFree()).containsExactly(
+          period(0, 2),
+          AvailabilityDto.builder().start(LocalDateTime.of(2021, 4, 26, 22, 0)).end(LocalDateTime.of(2021, 4, 27, 0, 0)).build());
+        then(agendaRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given free periods When toICalendar Then should list free periods and the time between them as busy")
+    @Test
+    void givenFreePeriodsWhenToICalendarThenShouldListFreeAndBusyPeriods() {
+        FreeBusyDto freeBusyDto = FreeBusyDto.builder()
+          .userId(1L)
+          .startingFrom(STARTING_FROM)
+          .endingAt(ENDING_AT)
+          .free(Lists.newArrayList(period(9, 12), period(14, 15)))
+          .build();
+
+        String ics = freeBusyExport.toICalendar(freeBusyDto, VERSION);
+
+        assertThat(ics.split("\r\n")).containsSubsequence(
+          "BEGIN:VFREEBUSY",
+          "DTSTAMP:20210426T080000Z",
+          "DTSTART:20210426T000000Z",
+          "DTEND:20210427T000000Z",
+          "FREEBUSY;FBTYPE=BUSY:20210426T000000Z/20210426T090000Z",
+          "FREEBUSY;FBTYPE=FREE:20210426T090000Z/20210426T120000Z",
+          "FREEBUSY;FBTYPE=BUSY:20210426T120000Z/20210426T140000Z",
+          "FREEBUSY;FBTYPE=FREE:20210426T140000Z/20210426T150000Z",
+          "FREEBUSY;FBTYPE=BUSY:20210426T150000Z/20210427T000000Z",
+          "END:VFREEBUSY");
+    }
+
+    @DisplayName("Given an User version When getETag Then should change with the version, the period and the format")
+    @Test
+    void givenAnUserVersionWhenGetETagThenShouldChangeWithTheVersionThePeriodAndTheFormat() {
+        assertThat(freeBusyExport.getETag(1L, VERSION, STARTING_FROM, ENDING_AT, FreeBusyExport.JSON))
+          .isEqualTo("\"1-3-2021-04-26T00:00:00Z/2021-04-27T00:00:00Z-json\"");
+        assertThat(freeBusyExport.getETag(1L, version(4, at(9)), STARTING_FROM, ENDING_AT, FreeBusyExport.JSON))
+          .isEqualTo("\"1-4-2021-04-26T00:00:00Z/2021-04-27T00:00:00Z-json\"");
+        assertThat(freeBusyExport.getETag(1L, VERSION, STARTING_FROM, ENDING_AT.plusDays(1), FreeBusyExport.JSON))
+          .isEqualTo("\"1-3-2021-04-26T00:00:00Z/2021-04-28T00:00:00Z-json\"");
+        assertThat(freeBusyExport.getETag(1L, VERSION, STARTING_FROM, ENDING_AT, FreeBusyExport.ICALENDAR))
+          .isEqualTo("\"1-3-2021-04-26T00:00:00Z/2021-04-27T00:00:00Z-ics\"");
+    }
+
+    @DisplayName("Given the same instants in another offset When getETag Then should be the same")
+    @Test
+    void givenTheSameInstantsInAnotherOffsetWhenGetETagThenShouldBeTheSame() {
+        ZoneOffset offset = ZoneOffset.ofHours(2);
+
+        assertThat(freeBusyExport.getETag(1L, VERSION, STARTING_FROM.withOffsetSameInstant(offset), ENDING_AT.withOffsetSameInstant(offset), FreeBusyExport.JSON))
+          .isEqualTo(freeBusyExport.getETag(1L, VERSION, STARTING_FROM, ENDING_AT, FreeBusyExport.JSON));
+    }
+
+    private static AgendaSlot slot(int startHour, int endHour) {
+        return new AgendaSlot() {
+            @Override
+            public Long getUserId() {
+                return 1L;
+            }
+
+            @Override
+            public Timestamp getStart() {
+                return at(startHour);
+            }
+
+            @Override
+            public Timestamp getEnd() {
+                return at(endHour);
+            }
+        };
+    }
+
+    private static UserAgendaVersion version(long agendaVersion, Timestamp updatedAt) {
+        return new UserAgendaVersion() {
+            @Override
+            public long getAgendaVersion() {
+                return agendaVersion;
+            }
+
+            @Override
+            public Timestamp getAgendaUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    private static AvailabilityDto period(int startHour, int endHour) {
+        return AvailabilityDto.builder().start(LocalDateTime.of(2021, 4, 26, startHour, 0)).end(LocalDateTime.of(2021, 4, 26, endHour, 0)).build();
+    }
+
+    private static Timestamp at(int hour) {
+        return Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, hour, 0));
+    }
+}
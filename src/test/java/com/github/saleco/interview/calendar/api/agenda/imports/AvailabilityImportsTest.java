@@ -0,0 +1,302 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
+import com.github.saleco.interview.calendar.api.exception.NotFoundException;
+import com.github.saleco.interview.calendar.api.exception.ServiceUnavailableException;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityImportsTest {
+
+    public static final LocalDateTime DAY = LocalDateTime.of(2021, 4, 26, 0, 0);
+
+    @Mock
+    private AgendaService agendaService;
+
+    @Spy
+    private InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+
+    @InjectMocks
+    private AvailabilityImports availabilityImports;
+
+    @BeforeEach
+    void setUp() {
+        properties.getImports().setChunkSize(4);
+        properties.getImports().setQueueCapacity(1);
+        availabilityImports.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityImports.shutdown();
+    }
+
+    @DisplayName("Given availabilities larger than a chunk When run Then should create the slots chunk by chunk")
+    @Test
+    void givenAvailabilitiesLargerThanAChunkWhenRunThenShouldCreateTheSlotsChunkByChunk() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots(1L, 10));
+        given(agendaService.createAgendas(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        ImportJob job = new ImportJob("job", 1, 10);
+        availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L)));
+
+        ImportJobDto status = job.toDto();
+        Assertions.assertAll(
+          () -> assertThat(status.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+          () -> assertThat(status.getAgendasProcessed()).isEqualTo(1),
+          () -> assertThat(status.getRowsProcessed()).isEqualTo(10),
+          () -> assertThat(status.getFailures()).isZero(),
+          () -> assertThat(status.getFinishedAt()).isNotNull()
+        );
+        then(agendaService).should().validatesUserInput(1L);
+        then(agendaService).should(times(3)).createAgendas(anyList());
+    }
+
+    @DisplayName("Given an invalid availability When run Then should record the failure and import the others")
+    @Test
+    void givenAnInvalidAvailabilityWhenRunThenShouldRecordTheFailureAndImportTheOthers() {
+        willThrow(new NotFoundException("User 1 not found")).given(agendaService).validatesUserInput(1L);
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(2L))).willReturn(slots(2L, 2));
+        given(agendaService.createAgendas(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        ImportJob job = new ImportJob("job", 2, 10);
+        availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L), createAgendaDto(2L)));
+
+        ImportJobDto status = job.toDto();
+        Assertions.assertAll(
+          () -> assertThat(status.getAgendasProcessed()).isEqualTo(2),
+          () -> assertThat(status.getRowsProcessed()).isEqualTo(2),
+          () -> assertThat(status.getFailures()).isEqualTo(1),
+          () -> assertThat(status.getErrors()).containsExactly("User 1: User 1 not found")
+        );
+    }
+
+    @DisplayName("Given overlapping availabilities When run Then should reject them before creating any slot")
+    @Test
+    void givenOverlappingAvailabilitiesWhenRunThenShouldRejectThemBeforeCreatingAnySlot() {
+        List<AgendaDto> slots = slots(1L, 2);
+        slots.add(slots.get(0));
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots);
+
+        ImportJob job = new ImportJob("job", 1, 10);
+        availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L)));
+
+        assertThat(job.toDto().getErrors()).containsExactly("User 1: Availabilities of user 1 are overlapping");
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given slots conflicting with stored Agendas When run Then should reject them before creating any slot")
+    @Test
+    void givenSlotsConflictingWithStoredAgendasWhenRunThenShouldRejectThemBeforeCreatingAnySlot() {
+        List<AgendaDto> slots = slots(1L, 10);
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots);
+        willThrow(new ValidationException("Agenda already exists")).given(agendaService).validateAgendas(slots);
+
+        ImportJob job = new ImportJob("job", 1, 10);
+        availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L)));
+
+        assertThat(job.toDto().getErrors()).containsExactly("User 1: Agenda already exists");
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given a chunk failing after others were created When run Then should report the slots created for the User")
+    @Test
+    void givenAChunkFailingAfterOthersWereCreatedWhenRunThenShouldReportTheSlotsCreatedForTheUser() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots(1L, 10));
+        given(agendaService.createAgendas(anyList()))
+          .willAnswer(invocation -> invocation.getArgument(0))
+          .willThrow(new ValidationException("Agenda already exists"));
+
+        ImportJob job = new ImportJob("job", 1, 10);
+        availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L)));
+
+        ImportJobDto status = job.toDto();
+        Assertions.assertAll(
+          () -> assertThat(status.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+          () -> assertThat(status.getRowsProcessed()).isEqualTo(4),
+          () -> assertThat(status.getErrors()).containsExactly("User 1: Agenda already exists (4 slots created before the failure)")
+        );
+    }
+
+    @DisplayName("Given an interrupted import When run Then should stop and be CANCELLED")
+    @Test
+    void givenAnInterruptedImportWhenRunThenShouldStopAndBeCancelled() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots(1L, 2));
+        willAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return invocation.getArgument(0);
+        }).given(agendaService).createAgendas(anyList());
+
+        ImportJob job = new ImportJob("job", 2, 10);
+        try {
+            availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L), createAgendaDto(2L)));
+        } finally {
+            Thread.interrupted();
+        }
+
+        ImportJobDto status = job.toDto();
+        Assertions.assertAll(
+          () -> assertThat(status.getStatus()).isEqualTo(ImportJobStatus.CANCELLED),
+          () -> assertThat(status.getAgendasProcessed()).isEqualTo(1),
+          () -> assertThat(status.getErrors()).containsExactly("Import cancelled, 1 of 2 availabilities processed"),
+          () -> assertThat(status.getFinishedAt()).isNotNull()
+        );
+        then(agendaService).should(never()).validatesUserInput(2L);
+    }
+
+    @DisplayName("Given an Error When run Then should be FAILED and rethrow it")
+    @Test
+    void givenAnErrorWhenRunThenShouldBeFailedAndRethrowIt() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots(1L, 2));
+        willThrow(new OutOfMemoryError("Java heap space")).given(agendaService).createAgendas(anyList());
+
+        ImportJob job = new ImportJob("job", 1, 10);
+        Assertions.assertThrows(OutOfMemoryError.class, () -> availabilityImports.run(job, Lists.newArrayList(createAgendaDto(1L))));
+
+        ImportJobDto status = job.toDto();
+        Assertions.assertAll(
+          () -> assertThat(status.getStatus()).isEqualTo(ImportJobStatus.FAILED),
+          () -> assertThat(status.getErrors()).containsExactly("Import failed: java.lang.OutOfMemoryError: Java heap space"),
+          () -> assertThat(status.getFinishedAt()).isNotNull()
+        );
+    }
+
+    @DisplayName("Given a queued import When shutdown Then should be CANCELLED")
+    @Test
+    void givenAQueuedImportWhenShutdownThenShouldBeCancelled() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            running.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }).given(agendaService).validatesUserInput(1L);
+
+        ImportAvailabilityDto importAvailabilityDto = ImportAvailabilityDto.builder().agendas(Lists.newArrayList(createAgendaDto(1L))).build();
+        availabilityImports.submit(importAvailabilityDto);
+        running.await();
+        ImportJobDto queued = availabilityImports.submit(importAvailabilityDto);
+
+        availabilityImports.shutdown();
+
+        assertThat(availabilityImports.getJob(queued.getId()).getStatus()).isEqualTo(ImportJobStatus.CANCELLED);
+    }
+
+    @DisplayName("Given import When submit Then should be processed in background and return its id")
+    @Test
+    void givenImportWhenSubmitThenShouldBeProcessedInBackground() throws InterruptedException {
+        CountDownLatch created = new CountDownLatch(1);
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willReturn(slots(1L, 1));
+        willAnswer(invocation -> {
+            created.countDown();
+            return invocation.getArgument(0);
+        }).given(agendaService).createAgendas(anyList());
+
+        ImportJobDto submitted = availabilityImports.submit(ImportAvailabilityDto.builder().agendas(Lists.newArrayList(createAgendaDto(1L))).build());
+        assertThat(submitted.getId()).isNotNull();
+        assertThat(submitted.getAgendas()).isEqualTo(1);
+
+        created.await();
+        ImportJobDto status = awaitFinished(submitted.getId());
+        assertThat(status.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(status.getRowsProcessed()).isEqualTo(1);
+    }
+
+    @DisplayName("Given full queue When submit Then should throw ServiceUnavailableException")
+    @Test
+    void givenFullQueueWhenSubmitThenShouldThrowServiceUnavailableException() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return null;
+        }).given(agendaService).validatesUserInput(1L);
+
+        ImportAvailabilityDto importAvailabilityDto = ImportAvailabilityDto.builder().agendas(Lists.newArrayList(createAgendaDto(1L))).build();
+        try {
+            //one running, one waiting
+            availabilityImports.submit(importAvailabilityDto);
+            running.await();
+            availabilityImports.submit(importAvailabilityDto);
+
+            Assertions.assertThrows(ServiceUnavailableException.class, () -> availabilityImports.submit(importAvailabilityDto));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @DisplayName("Given unknown import When getJob Then should throw NotFoundException")
+    @Test
+    void givenUnknownImportWhenGetJobThenShouldThrowNotFoundException() {
+        Assertions.assertThrows(NotFoundException.class, () -> availabilityImports.getJob("unknown"));
+    }
+
+    private ImportJobDto awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportJobDto status = availabilityImports.getJob(id);
+        while (status.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = availabilityImports.getJob(id);
+        }
+        assertThat(status.getFinishedAt()).as("import %s finished", id).isNotNull();
+        return status;
+    }
+
+    private static CreateAgendaDto createAgendaDto(Long userId) {
+        return CreateAgendaDto.builder()
+          .userId(userId)
+          .availabilities(Lists.newArrayList(AvailabilityDto.builder().start(DAY.withHour(9)).end(DAY.withHour(19)).build()))
+          .build();
+    }
+
+    private static List<AgendaDto> slots(Long userId, int size) {
+        return IntStream.range(0, size)
+          .mapToObj(hour -> AgendaDto.builder()
+            .userId(userId)
+            .start(OffsetDateTime.of(DAY.withHour(hour), ZoneOffset.UTC))
+            .end(OffsetDateTime.of(DAY.withHour(hour + 1), ZoneOffset.UTC))
+            .build())
+          .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.ImportJobStatus;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityStreamImportTest {
+
+    @Mock
+    private AgendaService agendaService;
+
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Spy
+    private InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+
+    @InjectMocks
+    private AvailabilityStreamImport availabilityStreamImport;
+
+    @BeforeEach
+    void setUp() {
+        properties.getImports().setChunkSize(4);
+    }
+
+    @DisplayName("Given availabilities larger than a chunk When importAvailability Then should create the slots in chunks of at most chunk size")
+    @Test
+    void givenAvailabilitiesLargerThanAChunkWhenImportAvailabilityThenShouldCreateTheSlotsInChunks() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willAnswer(invocation -> slots(invocation.getArgument(0)));
+        List<Integer> chunkSizes = new ArrayList<>();
+        willAnswer(invocation -> {
+            List<AgendaDto> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return new ArrayList<>(chunk);
+        }).given(agendaService).createAgendas(anyList());
+
+        ImportJobDto importJobDto = availabilityStreamImport.importAvailability(payload(
+          "{\"userId\":1,\"ignored\":{\"a\":[1]},\"availabilities\":[" +
+            "{\"start\":\"2021-04-26T09:00:00\",\"end\":\"2021-04-26T19:00:00\"}," +
+            "{\"start\":\"2021-04-27T09:00:00\",\"end\":\"2021-04-27T11:00:00\"}]}"));
+
+        Assertions.assertAll(
+          () -> assertThat(chunkSizes).containsExactly(4, 4, 4),
+          () -> assertThat(importJobDto.getStatus()).isEqualTo(ImportJobStatus.COMPLETED),
+          () -> assertThat(importJobDto.getRowsProcessed()).isEqualTo(12),
+          () -> assertThat(importJobDto.getAgendasProcessed()).isEqualTo(1),
+          () -> assertThat(importJobDto.getAvailabilitiesCreated()).isEqualTo(2),
+          () -> assertThat(importJobDto.getCreatedUntil()).isNull()
+        );
+        then(agendaService).should().validatesUserInput(1L);
+        then(agendaService).should(times(2)).validateAvailabilities(anyList());
+    }
+
+    @DisplayName("Given availabilities before userId When importAvailability Then should throw ValidationException")
+    @Test
+    void givenAvailabilitiesBeforeUserIdWhenImportAvailabilityThenShouldThrowValidationException() {
+        Assertions.assertThrows(ValidationException.class, () -> availabilityStreamImport.importAvailability(payload(
+          "{\"availabilities\":[{\"start\":\"2021-04-26T09:00:00\",\"end\":\"2021-04-26T10:00:00\"}],\"userId\":1}")));
+
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given empty availabilities When importAvailability Then should throw ValidationException")
+    @Test
+    void givenEmptyAvailabilitiesWhenImportAvailabilityThenShouldThrowValidationException() {
+        Assertions.assertThrows(ValidationException.class, () -> availabilityStreamImport.importAvailability(payload(
+          "{\"userId\":1,\"availabilities\":[]}")));
+
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given malformed payload When importAvailability Then should throw ValidationException")
+    @Test
+    void givenMalformedPayloadWhenImportAvailabilityThenShouldThrowValidationException() {
+        Assertions.assertThrows(ValidationException.class, () -> availabilityStreamImport.importAvailability(payload(
+          "{\"userId\":1,\"availabilities\":[{\"start\":")));
+    }
+
+    @DisplayName("Given an invalid availability after a full chunk When importAvailability Then should stop keeping the created chunk and tell where to resume")
+    @Test
+    void givenAnInvalidAvailabilityAfterAFullChunkWhenImportAvailabilityThenShouldStopKeepingTheCreatedChunk() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willAnswer(invocation -> slots(invocation.getArgument(0)));
+        given(agendaService.createAgendas(anyList())).willAnswer(invocation -> new ArrayList<>(invocation.<List<AgendaDto>>getArgument(0)));
+        willThrowOnHalfHours();
+
+        PartialImportException exception = Assertions.assertThrows(PartialImportException.class, () -> availabilityStreamImport.importAvailability(payload(
+          "{\"userId\":1,\"availabilities\":[" +
+            "{\"start\":\"2021-04-26T09:00:00\",\"end\":\"2021-04-26T14:00:00\"}," +
+            "{\"start\":\"2021-04-27T09:30:00\",\"end\":\"2021-04-27T11:00:00\"}]}")));
+
+        then(agendaService).should(times(1)).createAgendas(any());
+        ImportJobDto importJobDto = exception.getJob();
+        Assertions.assertAll(
+          () -> assertThat(importJobDto.getStatus()).isEqualTo(ImportJobStatus.FAILED),
+          () -> assertThat(importJobDto.getRowsProcessed()).isEqualTo(4),
+          () -> assertThat(importJobDto.getAvailabilitiesCreated()).isZero(),
+          () -> assertThat(importJobDto.getCreatedUntil()).isEqualTo(LocalDateTime.of(2021, 4, 26, 13, 0)),
+          () -> assertThat(importJobDto.getErrors()).containsExactly("Agenda Availability Start / End minute cannot be different then 00")
+        );
+    }
+
+    @DisplayName("Given an invalid availability before any chunk is created When importAvailability Then should throw the ValidationException alone")
+    @Test
+    void givenAnInvalidAvailabilityBeforeAnyChunkWhenImportAvailabilityThenShouldThrowTheValidationException() {
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willAnswer(invocation -> slots(invocation.getArgument(0)));
+        willThrowOnHalfHours();
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> availabilityStreamImport.importAvailability(payload(
+          "{\"userId\":1,\"availabilities\":[" +
+            "{\"start\":\"2021-04-26T09:00:00\",\"end\":\"2021-04-26T11:00:00\"}," +
+            "{\"start\":\"2021-04-27T09:30:00\",\"end\":\"2021-04-27T11:00:00\"}]}")));
+
+        assertThat(exception).isNotInstanceOf(PartialImportException.class);
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    private void willThrowOnHalfHours() {
+        willAnswer(invocation -> {
+            List<AvailabilityDto> availabilities = invocation.getArgument(0);
+            if (availabilities.get(0).getStart().getMinute() != 0) {
+                throw new ValidationException("Agenda Availability Start / End minute cannot be different then 00");
+            }
+            return null;
+        }).given(agendaService).validateAvailabilities(anyList());
+    }
+
+    private static ByteArrayInputStream payload(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<AgendaDto> slots(List<AvailabilityDto> availabilities) {
+        List<AgendaDto> slots = new ArrayList<>();
+        for (AvailabilityDto availability : availabilities) {
+            for (LocalDateTime start = availability.getStart(); start.isBefore(availability.getEnd()); start = start.plusHours(1)) {
+                slots.add(AgendaDto.builder()
+                  .userId(1L)
+                  .start(OffsetDateTime.of(start, ZoneOffset.UTC))
+                  .end(OffsetDateTime.of(start.plusHours(1), ZoneOffset.UTC))
+                  .build());
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,359 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.ImportJobDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.exception.NotFoundException;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class ICalendarAvailabilityImportTest {
+
+    @Mock
+    private AgendaService agendaService;
+
+    @Spy
+    private InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+
+    @InjectMocks
+    private ICalendarAvailabilityImport iCalendarAvailabilityImport;
+
+    @DisplayName("Given VFREEBUSY with busy periods When importAvailability Then should create the free hours of the covered period that are not busy")
+    @Test
+    void givenVFreeBusyWithBusyPeriodsWhenImportAvailabilityThenShouldCreateTheFreeHoursThatAreNotBusy() {
+        List<AvailabilityDto> availabilities = captureAvailabilities();
+
+        ImportJobDto importJobDto = iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VFREEBUSY",
+          "DTSTART:20210426T090000Z",
+          "DTEND:20210426T170000Z",
+          "FREEBUSY;FBTYPE=BUSY:20210426T120000Z/20210426T123000Z,",
+          " 20210426T150000Z/PT1H",
+          "FREEBUSY:20210427T090000Z/20210427T100000Z",
+          "END:VFREEBUSY",
+          "END:VCALENDAR"));
+
+        assertThat(availabilities).containsExactly(
+          availability(26, 9, 26, 12),
+          availability(26, 13, 26, 15),
+          availability(26, 16, 26, 17));
+        assertThat(importJobDto.getRowsProcessed()).isEqualTo(6);
+    }
+
+    @DisplayName("Given VEVENTs When importAvailability Then should create the whole hours of transparent events not covered by opaque events")
+    @Test
+    void givenVEventsWhenImportAvailabilityThenShouldCreateTransparentHoursNotCoveredByOpaqueEvents() {
+        List<AvailabilityDto> availabilities = captureAvailabilities();
+
+        iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VEVENT",
+          "SUMMARY:Interviews",
+          "DTSTART;TZID=Europe/Lisbon:20210426T083000",
+          "DTEND;TZID=Europe/Lisbon:20210426T170000",
+          "TRANSP:TRANSPARENT",
+          "BEGIN:VALARM",
+          "TRIGGER:-PT15M",
+          "DTSTART:20210426T000000Z",
+          "END:VALARM",
+          "END:VEVENT",
+          "BEGIN:VEVENT",
+          "DTSTART:20210426T111500Z",
+          "DURATION:PT30M",
+          "END:VEVENT",
+          "BEGIN:VEVENT",
+          "DTSTART:20210426T130000Z",
+          "DTEND:20210426T150000Z",
+          "STATUS:CANCELLED",
+          "END:VEVENT",
+          "END:VCALENDAR"));
+
+        //Lisbon is UTC+1 in April: free from 07:30Z (whole hours from 08:00Z) to 16:00Z, busy 11:00Z to 12:00Z
+        assertThat(availabilities).containsExactly(
+          availability(26, 8, 26, 11),
+          availability(26, 12, 26, 16));
+    }
+
+    @DisplayName("Given an Outlook export with Windows time zones When importAvailability Then should read its events in the IANA time zone")
+    @Test
+    void givenOutlookExportWithWindowsTimeZonesWhenImportAvailabilityThenShouldReadItsEventsInTheIanaTimeZone() {
+        List<AvailabilityDto> availabilities = captureAvailabilities();
+
+        iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "PRODID:Microsoft Exchange Server 2010",
+          "VERSION:2.0",
+          "BEGIN:VTIMEZONE",
+          "TZID:W. Europe Standard Time",
+          "BEGIN:STANDARD",
+          "DTSTART:16010101T030000",
+          "TZOFFSETFROM:+0200",
+          "TZOFFSETTO:+0100",
+          "RRULE:FREQ=YEARLY;INTERVAL=1;BYDAY=-1SU;BYMONTH=10",
+          "END:STANDARD",
+          "BEGIN:DAYLIGHT",
+          "DTSTART:16010101T020000",
+          "TZOFFSETFROM:+0100",
+          "TZOFFSETTO:+0200",
+          "RRULE:FREQ=YEARLY;INTERVAL=1;BYDAY=-1SU;BYMONTH=3",
+          "END:DAYLIGHT",
+          "END:VTIMEZONE",
+          "BEGIN:VEVENT",
+          "DTSTART;TZID=W. Europe Standard Time:20210426T090000",
+          "DTEND;TZID=W. Europe Standard Time:20210426T170000",
+          "TRANSP:TRANSPARENT",
+          "END:VEVENT",
+          "BEGIN:VEVENT",
+          "DTSTART;TZID=\"GMT Standard Time\":20210426T120000",
+          "DTEND;TZID=\"GMT Standard Time\":20210426T130000",
+          "END:VEVENT",
+          "END:VCALENDAR"));
+
+        //Berlin and London are UTC+2 and UTC+1 in April: free from 07:00Z to 15:00Z, busy 11:00Z to 12:00Z
+        assertThat(availabilities).containsExactly(
+          availability(26, 7, 26, 11),
+          availability(26, 12, 26, 15));
+    }
+
+    @DisplayName("Given a custom time zone defined by a VTIMEZONE When importAvailability Then should read its events with the VTIMEZONE offsets")
+    @Test
+    void givenCustomTimeZoneDefinedByVTimeZoneWhenImportAvailabilityThenShouldReadItsEventsWithTheVTimeZoneOffsets() {
+        List<AvailabilityDto> availabilities = captureAvailabilities();
+
+        iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VTIMEZONE",
+          "TZID:Customized Time Zone",
+          "BEGIN:STANDARD",
+          "DTSTART:16010101T030000",
+          "TZOFFSETFROM:+0200",
+          "TZOFFSETTO:+0100",
+          "RRULE:FREQ=YEARLY;BYDAY=5SU;BYMONTH=10",
+          "END:STANDARD",
+          "BEGIN:DAYLIGHT",
+          "DTSTART:16010101T020000",
+          "TZOFFSETFROM:+0100",
+          "TZOFFSETTO:+0200",
+          "RRULE:FREQ=YEARLY;BYDAY=5SU;BYMONTH=3",
+          "END:DAYLIGHT",
+          "END:VTIMEZONE",
+          "BEGIN:VEVENT",
+          "DTSTART;TZID=Customized Time Zone:20210326T090000",
+          "DTEND;TZID=Customized Time Zone:20210326T110000",
+          "TRANSP:TRANSPARENT",
+          "END:VEVENT",
+          "BEGIN:VEVENT",
+          "DTSTART;TZID=Customized Time Zone:20210426T090000",
+          "DTEND;TZID=Customized Time Zone:20210426T110000",
+          "TRANSP:TRANSPARENT",
+          "END:VEVENT",
+          "END:VCALENDAR"));
+
+        //UTC+1 before the last Sunday of March, UTC+2 after it
+        assertThat(availabilities).containsExactly(
+          AvailabilityDto.builder().start(LocalDateTime.of(2021, 3, 26, 8, 0)).end(LocalDateTime.of(2021, 3, 26, 10, 0)).build(),
+          availability(26, 7, 26, 9));
+    }
+
+    @DisplayName("Given an unknown time zone without VTIMEZONE When importAvailability Then should throw ValidationException naming it")
+    @Test
+    void givenUnknownTimeZoneWithoutVTimeZoneWhenImportAvailabilityThenShouldThrowValidationExceptionNamingIt() {
+        ValidationException validationException = Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VEVENT",
+          "DTSTART;TZID=Customized Time Zone:20210426T090000",
+          "DTEND;TZID=Customized Time Zone:20210426T170000",
+          "TRANSP:TRANSPARENT",
+          "END:VEVENT",
+          "END:VCALENDAR")));
+
+        assertThat(validationException.getMessage()).isEqualTo("Unknown iCalendar time zone Customized Time Zone, no VTIMEZONE defines it");
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given an opaque recurring VEVENT When importAvailability Then should throw ValidationException before creating any slot")
+    @Test
+    void givenOpaqueRecurringVEventWhenImportAvailabilityThenShouldThrowValidationException() {
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VFREEBUSY",
+          "DTSTART:20210426T090000Z",
+          "DTEND:20210430T170000Z",
+          "END:VFREEBUSY",
+          "BEGIN:VEVENT",
+          "SUMMARY:Daily stand-up",
+          "DTSTART:20210426T100000Z",
+          "DTEND:20210426T103000Z",
+          "RRULE:FREQ=DAILY;COUNT=5",
+          "END:VEVENT",
+          "END:VCALENDAR")));
+
+        assertThat(exception.getMessage()).contains("Recurring busy events", "2021-04-26T10:00:00Z");
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given a transparent recurring VEVENT When importAvailability Then should create the free hours of its first occurrence")
+    @Test
+    void givenTransparentRecurringVEventWhenImportAvailabilityThenShouldCreateItsFirstOccurrence() {
+        List<AvailabilityDto> availabilities = captureAvailabilities();
+
+        iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VEVENT",
+          "DTSTART:20210426T090000Z",
+          "DTEND:20210426T110000Z",
+          "TRANSP:TRANSPARENT",
+          "RRULE:FREQ=WEEKLY;COUNT=4",
+          "END:VEVENT",
+          "END:VCALENDAR"));
+
+        assertThat(availabilities).containsExactly(availability(26, 9, 26, 11));
+    }
+
+    @DisplayName("Given a free hour already set When importAvailability Then should throw ValidationException before creating any slot")
+    @Test
+    void givenFreeHourAlreadySetWhenImportAvailabilityThenShouldThrowBeforeCreatingAnySlot() {
+        properties.getImports().setChunkSize(2);
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willAnswer(invocation -> slots(invocation.getArgument(0)));
+        List<Integer> validated = new ArrayList<>();
+        willAnswer(invocation -> {
+            List<AgendaDto> chunk = invocation.getArgument(0);
+            validated.add(chunk.size());
+            if (validated.size() == 2) throw new ValidationException("Agenda is duplicated");
+            return null;
+        }).given(agendaService).validateAgendas(anyList());
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VFREEBUSY",
+          "DTSTART:20210426T090000Z",
+          "DTEND:20210426T130000Z",
+          "END:VFREEBUSY",
+          "END:VCALENDAR")));
+
+        assertThat(exception).isNotInstanceOf(PartialImportException.class);
+        assertThat(validated).containsExactly(2, 2);
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given a slot set meanwhile When importAvailability Then should throw PartialImportException with the slots created")
+    @Test
+    void givenSlotSetMeanwhileWhenImportAvailabilityThenShouldThrowPartialImportExceptionWithTheSlotsCreated() {
+        properties.getImports().setChunkSize(2);
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willAnswer(invocation -> slots(invocation.getArgument(0)));
+        List<Integer> created = new ArrayList<>();
+        willAnswer(invocation -> {
+            List<AgendaDto> chunk = invocation.getArgument(0);
+            if (!created.isEmpty()) throw new ValidationException("Agenda is duplicated");
+            created.add(chunk.size());
+            return new ArrayList<>(chunk);
+        }).given(agendaService).createAgendas(anyList());
+
+        PartialImportException exception = Assertions.assertThrows(PartialImportException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VFREEBUSY",
+          "DTSTART:20210426T090000Z",
+          "DTEND:20210426T130000Z",
+          "END:VFREEBUSY",
+          "END:VCALENDAR")));
+
+        Assertions.assertAll(
+          () -> assertThat(exception.getJob().getRowsProcessed()).isEqualTo(2),
+          () -> assertThat(exception.getJob().getCreatedUntil()).isEqualTo(LocalDateTime.of(2021, 4, 26, 11, 0)),
+          () -> assertThat(exception.getJob().getErrors()).containsExactly("Agenda is duplicated")
+        );
+    }
+
+    @DisplayName("Given only busy time When importAvailability Then should throw ValidationException")
+    @Test
+    void givenOnlyBusyTimeWhenImportAvailabilityThenShouldThrowValidationException() {
+        Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+          "BEGIN:VCALENDAR",
+          "BEGIN:VEVENT",
+          "DTSTART;VALUE=DATE:20210426",
+          "DTEND;VALUE=DATE:20210427",
+          "END:VEVENT",
+          "END:VCALENDAR")));
+
+        then(agendaService).should(never()).createAgendas(anyList());
+    }
+
+    @DisplayName("Given malformed iCalendar When importAvailability Then should throw ValidationException")
+    @Test
+    void givenMalformedICalendarWhenImportAvailabilityThenShouldThrowValidationException() {
+        Assertions.assertAll(
+          () -> Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+            "BEGIN:VCALENDAR", "BEGIN:VEVENT", "DTSTART:2021-04-26", "END:VEVENT", "END:VCALENDAR"))),
+          () -> Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+            "BEGIN:VCALENDAR", "BEGIN:VEVENT", "no value", "END:VEVENT", "END:VCALENDAR"))),
+          () -> Assertions.assertThrows(ValidationException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics(
+            "BEGIN:VCALENDAR", "BEGIN:VEVENT", "END:VCALENDAR")))
+        );
+    }
+
+    @DisplayName("Given unknown User When importAvailability Then should throw NotFoundException before reading")
+    @Test
+    void givenUnknownUserWhenImportAvailabilityThenShouldThrowNotFoundException() {
+        willThrow(new NotFoundException("User 1 not found")).given(agendaService).validatesUserInput(1L);
+
+        Assertions.assertThrows(NotFoundException.class, () -> iCalendarAvailabilityImport.importAvailability(1L, ics("BEGIN:VCALENDAR")));
+
+        then(agendaService).should().validatesUserInput(1L);
+        then(agendaService).shouldHaveNoMoreInteractions();
+    }
+
+    private List<AvailabilityDto> captureAvailabilities() {
+        List<AvailabilityDto> availabilities = new ArrayList<>();
+        willAnswer(invocation -> availabilities.addAll(invocation.getArgument(0)))
+          .given(agendaService).validateAvailabilities(anyList());
+        given(agendaService.getAgendaDtosFromAvailabilities(anyList(), eq(1L))).willAnswer(invocation -> slots(invocation.getArgument(0)));
+        given(agendaService.createAgendas(anyList())).willAnswer(invocation -> new ArrayList<>(invocation.<List<AgendaDto>>getArgument(0)));
+        return availabilities;
+    }
+
+    private static List<AgendaDto> slots(List<AvailabilityDto> availabilities) {
+        List<AgendaDto> slots = new ArrayList<>();
+        AvailabilityDto availability = availabilities.get(0);
+        for (LocalDateTime start = availability.getStart(); start.isBefore(availability.getEnd()); start = start.plusHours(1)) {
+            slots.add(AgendaDto.builder().userId(1L).build());
+        }
+        return slots;
+    }
+
+    private static AvailabilityDto availability(int startDay, int startHour, int endDay, int endHour) {
+        return AvailabilityDto.builder()
+          .start(LocalDateTime.of(2021, 4, startDay, startHour, 0))
+          .end(LocalDateTime.of(2021, 4, endDay, endHour, 0))
+          .build();
+    }
+
+    private static ByteArrayInputStream ics(String... lines) {
+        return new ByteArrayInputStream((String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
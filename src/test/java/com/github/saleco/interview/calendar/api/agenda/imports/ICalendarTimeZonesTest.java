@@ -0,0 +1,29 @@
+package com.github.saleco.interview.calendar.api.agenda.imports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZoneId;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ICalendarTimeZonesTest {
+
+    @DisplayName("Given the Windows time zones When rules Then should resolve each one to its IANA time zone")
+    @Test
+    void givenWindowsTimeZonesWhenRulesThenShouldResolveEachOneToItsIanaTimeZone() throws IOException {
+        Properties windowsZones = new Properties();
+        try (InputStream inputStream = ICalendarTimeZones.class.getResourceAsStream("windows-zones.properties")) {
+            windowsZones.load(inputStream);
+        }
+        ICalendarTimeZones timeZones = new ICalendarTimeZones();
+
+        assertThat(windowsZones).containsEntry("W. Europe Standard Time", "Europe/Berlin");
+        for (String windowsZone : windowsZones.stringPropertyNames()) {
+            assertThat(timeZones.rules(windowsZone)).isEqualTo(ZoneId.of(windowsZones.getProperty(windowsZone)).getRules());
+        }
+    }
+}
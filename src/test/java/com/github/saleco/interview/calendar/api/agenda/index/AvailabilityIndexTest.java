@@ -0,0 +1,203 @@
+package com.github.saleco.interview.calendar.api.agenda.index;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.AgendaVersions;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.AvailabilitySearchMode;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexTest {
+
+    public static final long CANDIDATE = 1L;
+    public static final long INTERVIEWER = 2L;
+    public static final long OTHER_INTERVIEWER = 3L;
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private AgendaMapper agendaMapper;
+
+    @Mock
+    private AgendaVersions agendaVersions;
+
+    private InterviewCalendarAPIProperties properties;
+
+    private AvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterviewCalendarAPIProperties();
+        properties.getSearch().setMode(AvailabilitySearchMode.INDEX);
+        availabilityIndex = new AvailabilityIndex(agendaRepository, agendaMapper, agendaVersions, properties);
+    }
+
+    @DisplayName("Given QUERY search mode When index then should not cover any search")
+    @Test
+    void givenQueryModeWhenIndexThenShouldNotCoverAnySearch() {
+        properties.getSearch().setMode(AvailabilitySearchMode.QUERY);
+
+        availabilityIndex.rebuild();
+        availabilityIndex.index(Collections.singletonList(slot(10L, CANDIDATE, 26, 9)));
+
+        assertThat(availabilityIndex.covers(CANDIDATE, Collections.singletonList(INTERVIEWER))).isFalse();
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(agendaVersions).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given Candidate and Interviewers slots When search then should return matching Interviewers slots sorted by start")
+    @Test
+    void givenCandidateAndInterviewersSlotsWhenSearchThenShouldReturnMatchingSlotsSortedByStart() {
+        availabilityIndex.index(Lists.newArrayList(
+          slot(10L, CANDIDATE, 26, 9), slot(11L, CANDIDATE, 27, 9), slot(12L, CANDIDATE, 29, 9),
+          slot(20L, INTERVIEWER, 26, 12), slot(21L, INTERVIEWER, 27, 9), slot(22L, INTERVIEWER, 29, 9),
+          slot(30L, OTHER_INTERVIEWER, 29, 9)));
+
+        Page<AgendaDto> agendaDtos = availabilityIndex.search(PageRequest.of(0, 20), CANDIDATE,
+          Lists.newArrayList(INTERVIEWER, OTHER_INTERVIEWER), at(26, 9), at(30, 18));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getTotalElements()).isEqualTo(3),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(21L, 22L, 30L),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getUserId).containsExactly(INTERVIEWER, INTERVIEWER, OTHER_INTERVIEWER),
+          () -> assertThat(agendaDtos.getContent().get(0).getStart()).isEqualTo(at(27, 9)),
+          () -> assertThat(agendaDtos.getContent().get(0).getEnd()).isEqualTo(at(27, 10))
+        );
+    }
+
+    @DisplayName("Given period touching slots boundaries When search then should return slots starting or ending within the period")
+    @Test
+    void givenPeriodTouchingSlotsBoundariesWhenSearchThenShouldReturnSlotsStartingOrEndingWithinPeriod() {
+        availabilityIndex.index(Lists.newArrayList(
+          slot(10L, CANDIDATE, 26, 8), slot(11L, CANDIDATE, 26, 9), slot(12L, CANDIDATE, 26, 10), slot(13L, CANDIDATE, 26, 11),
+          slot(20L, INTERVIEWER, 26, 8), slot(21L, INTERVIEWER, 26, 9), slot(22L, INTERVIEWER, 26, 10), slot(23L, INTERVIEWER, 26, 11)));
+
+        Page<AgendaDto> agendaDtos = availabilityIndex.search(PageRequest.of(0, 20), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 9), at(26, 10));
+
+        Page<AgendaDto> insideSlot = availabilityIndex.search(PageRequest.of(0, 20), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 9).plusMinutes(15), at(26, 9).plusMinutes(45));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(20L, 21L, 22L),
+          () -> assertThat(insideSlot.getContent()).isEmpty()
+        );
+    }
+
+    @DisplayName("Given more matches than the page size When search then should return the requested page and total")
+    @Test
+    void givenMoreMatchesThanPageSizeWhenSearchThenShouldReturnRequestedPage() {
+        for (int day = 1; day <= 28; day++) {
+            availabilityIndex.index(Lists.newArrayList(slot(100L + day, CANDIDATE, day, 9), slot(200L + day, INTERVIEWER, day, 9)));
+        }
+
+        Page<AgendaDto> agendaDtos = availabilityIndex.search(PageRequest.of(2, 5), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(1, 0), at(28, 23));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getTotalElements()).isEqualTo(28),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(211L, 212L, 213L, 214L, 215L)
+        );
+    }
+
+    @DisplayName("Given Agenda that is not a 1-hour slot When index then should not cover its owner")
+    @Test
+    void givenAgendaNotOneHourSlotWhenIndexThenShouldNotCoverItsOwner() {
+        availabilityIndex.index(Lists.newArrayList(
+          slot(10L, CANDIDATE, 26, 9),
+          AgendaDto.builder().id(20L).userId(INTERVIEWER).start(at(26, 9)).end(at(26, 11)).build()));
+
+        Assertions.assertAll(
+          () -> assertThat(availabilityIndex.covers(CANDIDATE, Collections.emptyList())).isTrue(),
+          () -> assertThat(availabilityIndex.covers(CANDIDATE, Collections.singletonList(INTERVIEWER))).isFalse()
+        );
+    }
+
+    @DisplayName("Given stored Agendas When rebuild then should index every page")
+    @Test
+    void givenStoredAgendasWhenRebuildThenShouldIndexEveryPage() {
+        Agenda candidateAgenda = Agenda.builder().id(10L).build();
+        Agenda interviewerAgenda = Agenda.builder().id(20L).build();
+
+        given(agendaRepository.findAll(any(Pageable.class)))
+          .willReturn(new PageImpl<>(Lists.newArrayList(candidateAgenda, interviewerAgenda)));
+        given(agendaMapper.modelToDto(candidateAgenda)).willReturn(slot(10L, CANDIDATE, 26, 9));
+        given(agendaMapper.modelToDto(interviewerAgenda)).willReturn(slot(20L, INTERVIEWER, 26, 9));
+
+        availabilityIndex.rebuild();
+
+        Page<AgendaDto> agendaDtos = availabilityIndex.search(PageRequest.of(0, 20), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 0), at(26, 23));
+
+        assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(20L);
+    }
+
+    @DisplayName("Given an Interviewer whose Agendas changed through another instance When covers then should reload its Agendas before the search")
+    @Test
+    void givenInterviewerChangedElsewhereWhenCoversThenShouldReloadItsAgendas() {
+        Agenda candidateAgenda = Agenda.builder().id(10L).build();
+        Agenda interviewerAgenda = Agenda.builder().id(20L).build();
+        given(agendaVersions.getVersions()).willReturn(versions(1L, 1L));
+        given(agendaRepository.findAll(any(Pageable.class))).willReturn(new PageImpl<>(Lists.newArrayList(candidateAgenda)));
+        given(agendaMapper.modelToDto(candidateAgenda)).willReturn(slot(10L, CANDIDATE, 26, 9));
+        availabilityIndex.rebuild();
+
+        given(agendaVersions.getVersions(Lists.newArrayList(CANDIDATE, INTERVIEWER))).willReturn(versions(1L, 2L));
+        given(agendaRepository.findByUserId(INTERVIEWER)).willReturn(Lists.newArrayList(interviewerAgenda));
+        given(agendaMapper.modelToDto(interviewerAgenda)).willReturn(slot(20L, INTERVIEWER, 26, 9));
+
+        boolean covered = availabilityIndex.covers(CANDIDATE, Collections.singletonList(INTERVIEWER));
+        availabilityIndex.covers(CANDIDATE, Collections.singletonList(INTERVIEWER));
+        Page<AgendaDto> agendaDtos = availabilityIndex.search(PageRequest.of(0, 20), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 0), at(26, 23));
+
+        Assertions.assertAll(
+          () -> assertThat(covered).isTrue(),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(20L)
+        );
+        then(agendaRepository).should().findByUserId(INTERVIEWER);
+        then(agendaRepository).should(never()).findByUserId(CANDIDATE);
+    }
+
+    private static Map<Long, Long> versions(long candidateVersion, long interviewerVersion) {
+        Map<Long, Long> versions = new HashMap<>();
+        versions.put(CANDIDATE, candidateVersion);
+        versions.put(INTERVIEWER, interviewerVersion);
+        return versions;
+    }
+
+    private static AgendaDto slot(Long id, Long userId, int dayOfMonth, int hour) {
+        return AgendaDto.builder().id(id).userId(userId).start(at(dayOfMonth, hour)).end(at(dayOfMonth, hour).plusHours(1)).build();
+    }
+
+    private static OffsetDateTime at(int dayOfMonth, int hour) {
+        return OffsetDateTime.of(2021, 4, dayOfMonth, hour, 0, 0, 0, ZoneOffset.UTC);
+    }
+}
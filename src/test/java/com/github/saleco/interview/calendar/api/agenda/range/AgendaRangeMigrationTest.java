@@ -0,0 +1,139 @@
+package com.github.saleco.interview.calendar.api.agenda.range;
+
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.model.AvailabilityRange;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityRangeRepository;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class AgendaRangeMigrationTest {
+
+    public static final User INTERVIEWER = User.builder().id(2L).build();
+    public static final User OTHER_INTERVIEWER = User.builder().id(3L).build();
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private AvailabilityRangeRepository availabilityRangeRepository;
+
+    @Mock
+    private AvailabilityRanges availabilityRanges;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private AgendaRangeMigration agendaRangeMigration;
+
+    @DisplayName("Given Agendas sorted by user and start When migrate then should merge consecutive and overlapping Agendas of each user")
+    @Test
+    void givenAgendasWhenMigrateThenShouldMergeConsecutiveAgendasOfEachUser() {
+        List<AvailabilityRange> saved = new ArrayList<>();
+        given(availabilityRangeRepository.saveAll(anyList())).willAnswer(invocation -> {
+            saved.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        Pageable firstPage = PageRequest.of(0, 3);
+        given(agendaRepository.findAll(any(Pageable.class)))
+          .willReturn(new PageImpl<>(Lists.newArrayList(
+            agenda(INTERVIEWER, 9, 10), agenda(INTERVIEWER, 10, 11), agenda(INTERVIEWER, 10, 11)), firstPage, 6))
+          .willReturn(new PageImpl<>(Lists.newArrayList(
+            agenda(INTERVIEWER, 11, 12), agenda(INTERVIEWER, 14, 15), agenda(OTHER_INTERVIEWER, 9, 10)), firstPage.next(), 6));
+
+        long ranges = agendaRangeMigration.migrate();
+
+        Assertions.assertAll(
+          () -> assertThat(ranges).isEqualTo(3),
+          () -> assertThat(saved).extracting(range -> range.getUser().getId()).containsExactly(2L, 2L, 3L),
+          () -> assertThat(saved).extracting(AvailabilityRange::getStart).containsExactly(at(9), at(14), at(9)),
+          () -> assertThat(saved).extracting(AvailabilityRange::getEnd).containsExactly(at(12), at(15), at(10))
+        );
+        then(entityManager).should(times(2)).flush();
+        then(entityManager).should(times(2)).clear();
+    }
+
+    @DisplayName("Given a page failing When migrate then should propagate the failure so the transaction is rolled back")
+    @Test
+    void givenAPageFailingWhenMigrateThenShouldPropagateTheFailure() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        given(agendaRepository.findAll(any(Pageable.class)))
+          .willReturn(new PageImpl<>(Lists.newArrayList(agenda(INTERVIEWER, 9, 10), agenda(OTHER_INTERVIEWER, 9, 10)), firstPage, 4))
+          .willThrow(new IllegalStateException("connection lost"));
+
+        assertThatThrownBy(() -> agendaRangeMigration.migrate())
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessage("connection lost");
+        then(availabilityRangeRepository).should().saveAll(anyList());
+    }
+
+    @DisplayName("Given RANGES storage and no ranges stored When run then should migrate")
+    @Test
+    void givenRangesStorageAndNoRangesStoredWhenRunThenShouldMigrate() {
+        given(availabilityRanges.isEnabled()).willReturn(true);
+        given(availabilityRangeRepository.count()).willReturn(0L);
+        given(agendaRepository.findAll(any(Pageable.class))).willReturn(new PageImpl<>(Lists.newArrayList()));
+
+        agendaRangeMigration.run(null);
+
+        then(agendaRepository).should().findAll(any(Pageable.class));
+    }
+
+    @DisplayName("Given SLOTS storage When run then should not migrate")
+    @Test
+    void givenSlotsStorageWhenRunThenShouldNotMigrate() {
+        given(availabilityRanges.isEnabled()).willReturn(false);
+
+        agendaRangeMigration.run(null);
+
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(availabilityRangeRepository).should(never()).saveAll(anyList());
+    }
+
+    @DisplayName("Given ranges already stored When run then should not migrate again")
+    @Test
+    void givenRangesAlreadyStoredWhenRunThenShouldNotMigrateAgain() {
+        given(availabilityRanges.isEnabled()).willReturn(true);
+        given(availabilityRangeRepository.count()).willReturn(1L);
+
+        agendaRangeMigration.run(null);
+
+        then(agendaRepository).shouldHaveNoInteractions();
+    }
+
+    private static Agenda agenda(User user, int startHour, int endHour) {
+        return Agenda.builder().user(user).start(at(startHour)).end(at(endHour)).build();
+    }
+
+    private static Timestamp at(int hour) {
+        return Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, hour, 0));
+    }
+}
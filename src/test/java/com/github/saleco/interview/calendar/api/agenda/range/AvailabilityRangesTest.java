@@ -0,0 +1,230 @@
+package com.github.saleco.interview.calendar.api.agenda.range;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityCursor;
+import com.github.saleco.interview.calendar.api.agenda.model.AvailabilityRange;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityOverlap;
+import com.github.saleco.interview.calendar.api.agenda.repository.AvailabilityRangeRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.exception.ValidationException;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityRangesTest {
+
+    public static final long CANDIDATE = 1L;
+    public static final long INTERVIEWER = 2L;
+    public static final long OTHER_INTERVIEWER = 3L;
+
+    private final DateMapper dateMapper = new DateMapper();
+
+    @Mock
+    private AvailabilityRangeRepository availabilityRangeRepository;
+
+    private AvailabilityRanges availabilityRanges;
+
+    @BeforeEach
+    void setUp() {
+        availabilityRanges = new AvailabilityRanges(availabilityRangeRepository, dateMapper, new InterviewCalendarAPIProperties());
+    }
+
+    @DisplayName("Given consecutive slots When save then should store a single range")
+    @Test
+    void givenConsecutiveSlotsWhenSaveThenShouldStoreSingleRange() {
+        List<AvailabilityRange> saved = new ArrayList<>();
+        given(availabilityRangeRepository.findTouching(eq(INTERVIEWER), any(Timestamp.class), any(Timestamp.class))).willReturn(Collections.emptyList());
+        given(availabilityRangeRepository.save(any(AvailabilityRange.class))).willAnswer(invocation -> {
+            AvailabilityRange range = invocation.getArgument(0);
+            range.setId(10L);
+            saved.add(range);
+            return range;
+        });
+
+        List<AgendaDto> agendaDtos = availabilityRanges.save(Lists.newArrayList(
+          slot(INTERVIEWER, 26, 10), slot(INTERVIEWER, 26, 9), slot(INTERVIEWER, 26, 11)));
+
+        Assertions.assertAll(
+          () -> assertThat(saved).hasSize(1),
+          () -> assertThat(saved.get(0).getStart()).isEqualTo(timestamp(26, 9)),
+          () -> assertThat(saved.get(0).getEnd()).isEqualTo(timestamp(26, 12)),
+          () -> assertThat(agendaDtos).extracting(AgendaDto::getId).containsExactly(10L, 10L, 10L),
+          () -> assertThat(agendaDtos).extracting(AgendaDto::getStart).containsExactly(at(26, 10), at(26, 9), at(26, 11))
+        );
+    }
+
+    @DisplayName("Given slot between stored ranges When save then should merge the ranges it touches")
+    @Test
+    void givenSlotBetweenStoredRangesWhenSaveThenShouldMergeTouchingRanges() {
+        AvailabilityRange before = range(20L, INTERVIEWER, timestamp(26, 9), timestamp(26, 10));
+        AvailabilityRange after = range(21L, INTERVIEWER, timestamp(26, 11), timestamp(26, 13));
+        given(availabilityRangeRepository.findTouching(INTERVIEWER, timestamp(26, 10), timestamp(26, 11)))
+          .willReturn(Lists.newArrayList(before, after));
+        given(availabilityRangeRepository.save(before)).willReturn(before);
+
+        List<AgendaDto> agendaDtos = availabilityRanges.save(Collections.singletonList(slot(INTERVIEWER, 26, 10)));
+
+        ArgumentCaptor<List<AvailabilityRange>> deleted = ArgumentCaptor.forClass(List.class);
+        then(availabilityRangeRepository).should(times(1)).deleteAll(deleted.capture());
+
+        Assertions.assertAll(
+          () -> assertThat(before.getStart()).isEqualTo(timestamp(26, 9)),
+          () -> assertThat(before.getEnd()).isEqualTo(timestamp(26, 13)),
+          () -> assertThat(deleted.getValue()).containsExactly(after),
+          () -> assertThat(agendaDtos).extracting(AgendaDto::getId).containsExactly(20L)
+        );
+    }
+
+    @DisplayName("Given slot overlapping a stored range When save then should throw ValidationException")
+    @Test
+    void givenSlotOverlappingStoredRangeWhenSaveThenShouldThrowValidationException() {
+        given(availabilityRangeRepository.findTouching(eq(INTERVIEWER), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(Collections.singletonList(range(20L, INTERVIEWER, timestamp(26, 9), timestamp(26, 12))));
+
+        Assertions.assertThrows(ValidationException.class,
+          () -> availabilityRanges.save(Collections.singletonList(slot(INTERVIEWER, 26, 10))));
+
+        then(availabilityRangeRepository).should(never()).save(any(AvailabilityRange.class));
+    }
+
+    @DisplayName("Given slot overlapping a stored range When validate then should throw ValidationException without storing anything")
+    @Test
+    void givenSlotOverlappingStoredRangeWhenValidateThenShouldThrowValidationException() {
+        given(availabilityRangeRepository.findTouching(INTERVIEWER, timestamp(26, 9), timestamp(26, 11)))
+          .willReturn(Collections.singletonList(range(20L, INTERVIEWER, timestamp(26, 10), timestamp(26, 12))));
+
+        Assertions.assertThrows(ValidationException.class,
+          () -> availabilityRanges.validate(Lists.newArrayList(slot(INTERVIEWER, 26, 9), slot(INTERVIEWER, 26, 10))));
+
+        then(availabilityRangeRepository).should(never()).save(any(AvailabilityRange.class));
+        then(availabilityRangeRepository).should(never()).deleteAll(anyList());
+    }
+
+    @DisplayName("Given overlapping ranges When search then should slice the overlaps in hours sorted by start and range id")
+    @Test
+    void givenOverlappingRangesWhenSearchThenShouldSliceOverlapsSortedByStartAndId() {
+        given(availabilityRangeRepository.searchOverlaps(eq(CANDIDATE), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(Lists.newArrayList(
+            overlap(31L, OTHER_INTERVIEWER, at(26, 10), at(26, 12), at(26, 8), at(26, 11)),
+            overlap(20L, INTERVIEWER, at(26, 6), at(26, 18), at(26, 8), at(26, 11))));
+
+        Page<AgendaDto> agendaDtos = availabilityRanges.search(PageRequest.of(0, 20), CANDIDATE,
+          Lists.newArrayList(INTERVIEWER, OTHER_INTERVIEWER), at(26, 0), at(26, 23));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getTotalElements()).isEqualTo(4),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(20L, 20L, 20L, 31L),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getUserId).containsExactly(INTERVIEWER, INTERVIEWER, INTERVIEWER, OTHER_INTERVIEWER),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getStart).containsExactly(at(26, 8), at(26, 9), at(26, 10), at(26, 10)),
+          () -> assertThat(agendaDtos.getContent().get(3).getEnd()).isEqualTo(at(26, 11))
+        );
+    }
+
+    @DisplayName("Given period touching slots boundaries When search then should return slots starting or ending within the period")
+    @Test
+    void givenPeriodTouchingSlotsBoundariesWhenSearchThenShouldReturnSlotsStartingOrEndingWithinPeriod() {
+        given(availabilityRangeRepository.searchOverlaps(eq(CANDIDATE), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(Collections.singletonList(overlap(20L, INTERVIEWER, at(26, 8), at(26, 12), at(26, 8), at(26, 12))));
+
+        Page<AgendaDto> agendaDtos = availabilityRanges.search(PageRequest.of(0, 20), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 9), at(26, 10));
+
+        Page<AgendaDto> insideSlot = availabilityRanges.search(PageRequest.of(0, 20), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 9).plusMinutes(15), at(26, 9).plusMinutes(45));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getStart).containsExactly(at(26, 8), at(26, 9), at(26, 10)),
+          () -> assertThat(insideSlot.getContent()).isEmpty()
+        );
+    }
+
+    @DisplayName("Given more slots than the page size When search then should return the requested page and total")
+    @Test
+    void givenMoreSlotsThanPageSizeWhenSearchThenShouldReturnRequestedPage() {
+        given(availabilityRangeRepository.searchOverlaps(eq(CANDIDATE), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(Collections.singletonList(overlap(20L, INTERVIEWER, at(26, 0), at(27, 0), at(26, 0), at(27, 0))));
+
+        Page<AgendaDto> agendaDtos = availabilityRanges.search(PageRequest.of(2, 5), CANDIDATE,
+          Collections.singletonList(INTERVIEWER), at(26, 0), at(26, 23));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getTotalElements()).isEqualTo(24),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getStart)
+            .containsExactly(at(26, 10), at(26, 11), at(26, 12), at(26, 13), at(26, 14))
+        );
+    }
+
+    @DisplayName("Given cursor When searchSlice then should return the slots after the cursor")
+    @Test
+    void givenCursorWhenSearchSliceThenShouldReturnSlotsAfterCursor() {
+        given(availabilityRangeRepository.searchOverlaps(eq(CANDIDATE), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(Lists.newArrayList(
+            overlap(20L, INTERVIEWER, at(26, 9), at(26, 12), at(26, 9), at(26, 12)),
+            overlap(31L, OTHER_INTERVIEWER, at(26, 9), at(26, 12), at(26, 9), at(26, 12))));
+
+        Slice<AgendaDto> agendaDtos = availabilityRanges.searchSlice(3, CANDIDATE, Lists.newArrayList(INTERVIEWER, OTHER_INTERVIEWER),
+          at(26, 0), at(26, 23), new AvailabilityCursor(at(26, 9), 31L));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getStart).containsExactly(at(26, 10), at(26, 10), at(26, 11)),
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(20L, 31L, 20L),
+          () -> assertThat(agendaDtos.hasNext()).isTrue()
+        );
+    }
+
+    private static AgendaDto slot(Long userId, int dayOfMonth, int hour) {
+        return AgendaDto.builder().userId(userId).start(at(dayOfMonth, hour)).end(at(dayOfMonth, hour).plusHours(1)).build();
+    }
+
+    private static AvailabilityRange range(Long id, Long userId, Timestamp start, Timestamp end) {
+        return AvailabilityRange.builder().id(id).user(User.builder().id(userId).build()).start(start).end(end).build();
+    }
+
+    private AvailabilityOverlap overlap(Long id, Long userId, OffsetDateTime start, OffsetDateTime end,
+                                        OffsetDateTime candidateStart, OffsetDateTime candidateEnd) {
+        return new AvailabilityOverlap() {
+            public Long getId() { return id; }
+            public Long getUserId() { return userId; }
+            public Timestamp getStart() { return dateMapper.asTimestamp(start); }
+            public Timestamp getEnd() { return dateMapper.asTimestamp(end); }
+            public Timestamp getCandidateStart() { return dateMapper.asTimestamp(candidateStart); }
+            public Timestamp getCandidateEnd() { return dateMapper.asTimestamp(candidateEnd); }
+        };
+    }
+
+    private Timestamp timestamp(int dayOfMonth, int hour) {
+        return dateMapper.asTimestamp(at(dayOfMonth, hour));
+    }
+
+    private static OffsetDateTime at(int dayOfMonth, int hour) {
+        return OffsetDateTime.of(2021, 4, dayOfMonth, hour, 0, 0, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.saleco.interview.calendar.api.agenda.repository;
+
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    Latency benchmark of the availability search queries over a seeded dataset of ~300k Agendas.
+    Run with: mvn test -Pbenchmark -Dtest=AgendaRepositorySearchBenchmark
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AgendaRepositorySearchBenchmark {
+
+    public static final int CANDIDATES = 100;
+    public static final int INTERVIEWERS = 900;
+    public static final int DAYS = 60;
+    public static final int INITIAL_WORKING_HOUR = 9;
+    public static final int FINAL_WORKING_HOUR = 19;
+    public static final double AVAILABILITY_RATIO = 0.5;
+    public static final int INTERVIEWERS_PER_SEARCH = 5;
+    public static final int SEARCH_PERIOD_DAYS = 5;
+    public static final int WARMUP_ITERATIONS = 3;
+    public static final int MEASURED_ITERATIONS = 20;
+    public static final int BATCH_SIZE = 10_000;
+    public static final LocalDateTime FIRST_DAY = LocalDateTime.of(2021, 4, 1, 0, 0);
+
+    private final Random random = new Random(42);
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("Benchmark SEARCH_AVAILABILITY against SEARCH_AVAILABILITY_BY_RANGE")
+    @Test
+    void benchmarkSearchAvailabilityQueries() {
+        List<Long> candidateIds = createUsers(CANDIDATES, UserType.CANDIDATE);
+        List<Long> interviewerIds = createUsers(INTERVIEWERS, UserType.INTERVIEWER);
+        userRepository.flush();
+
+        long seedStart = System.currentTimeMillis();
+        int agendas = createAgendas(candidateIds, interviewerIds);
+        jdbcTemplate.execute("ANALYZE");
+        System.out.printf("Seeded %d agendas in %dms%n", agendas, System.currentTimeMillis() - seedStart);
+
+        List<Search> searches = IntStream.range(0, MEASURED_ITERATIONS)
+          .mapToObj(i -> randomSearch(candidateIds, interviewerIds))
+          .collect(Collectors.toList());
+
+        long[] parseDateTimeLatencies = measure(searches, search -> agendaRepository.searchAvailabilityBy(
+          search.pageable, search.candidateId, search.interviewerIds, search.start, search.end));
+        long[] rangeLatencies = measure(searches, search -> agendaRepository.searchAvailabilityByRange(
+          search.pageable, search.candidateId, search.interviewerIds, search.start, search.end));
+
+        searches.forEach(search -> assertThat(
+          agendaRepository.searchAvailabilityByRange(search.pageable, search.candidateId, search.interviewerIds, search.start, search.end).getTotalElements())
+          .isEqualTo(agendaRepository.searchAvailabilityBy(search.pageable, search.candidateId, search.interviewerIds, search.start, search.end).getTotalElements()));
+
+        System.out.printf("%-30s %10s %10s %10s %10s%n", "query (ms)", "avg", "p50", "p95", "max");
+        report("SEARCH_AVAILABILITY", parseDateTimeLatencies);
+        report("SEARCH_AVAILABILITY_BY_RANGE", rangeLatencies);
+    }
+
+    private List<Long> createUsers(int size, UserType userType) {
+        return userRepository.saveAll(
+          IntStream.range(0, size)
+            .mapToObj(i -> User.builder().name(userType + " " + i).userType(userType).build())
+            .collect(Collectors.toList()))
+          .stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    private int createAgendas(List<Long> candidateIds, List<Long> interviewerIds) {
+        List<Long> userIds = new ArrayList<>(candidateIds);
+        userIds.addAll(interviewerIds);
+
+        long id = 1_000_000L;
+        int created = 0;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (Long userId : userIds) {
+            for (int day = 0; day < DAYS; day++) {
+                for (int hour = INITIAL_WORKING_HOUR; hour < FINAL_WORKING_HOUR; hour++) {
+                    if (random.nextDouble() >= AVAILABILITY_RATIO) continue;
+
+                    LocalDateTime start = FIRST_DAY.plusDays(day).withHour(hour);
+                    batch.add(new Object[]{id++, userId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1))});
+
+                    if (batch.size() == BATCH_SIZE) {
+                        created += insert(batch);
+                    }
+                }
+            }
+        }
+
+        return created + insert(batch);
+    }
+
+    private int insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into agenda (id, user_id, start, end) values (?, ?, ?, ?)", batch);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    private Search randomSearch(List<Long> candidateIds, List<Long> interviewerIds) {
+        LocalDateTime start = FIRST_DAY.plusDays(random.nextInt(DAYS - SEARCH_PERIOD_DAYS));
+        return new Search(
+          PageRequest.of(0, 20, Sort.Direction.ASC, "start"),
+          candidateIds.get(random.nextInt(candidateIds.size())),
+          random.ints(INTERVIEWERS_PER_SEARCH, 0, interviewerIds.size()).mapToObj(interviewerIds::get).collect(Collectors.toList()),
+          Timestamp.valueOf(start),
+          Timestamp.valueOf(start.plusDays(SEARCH_PERIOD_DAYS)));
+    }
+
+    private long[] measure(List<Search> searches, SearchQuery query) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            query.run(searches.get(i % searches.size()));
+        }
+
+        long[] latencies = new long[searches.size()];
+        for (int i = 0; i < searches.size(); i++) {
+            long start = System.nanoTime();
+            query.run(searches.get(i));
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private void report(String query, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-30s %10.2f %10.2f %10.2f %10.2f%n", query,
+          Arrays.stream(sorted).average().orElse(0) / 1_000_000d,
+          sorted[sorted.length / 2] / 1_000_000d,
+          sorted[(int) Math.ceil(sorted.length * 0.95) - 1] / 1_000_000d,
+          sorted[sorted.length - 1] / 1_000_000d);
+    }
+
+    private interface SearchQuery {
+        Page<Agenda> run(Search search);
+    }
+
+    private static class Search {
+        private final Pageable pageable;
+        private final Long candidateId;
+        private final List<Long> interviewerIds;
+        private final Timestamp start;
+        private final Timestamp end;
+
+        Search(Pageable pageable, Long candidateId, List<Long> interviewerIds, Timestamp start, Timestamp end) {
+            this.pageable = pageable;
+            this.candidateId = candidateId;
+            this.interviewerIds = interviewerIds;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
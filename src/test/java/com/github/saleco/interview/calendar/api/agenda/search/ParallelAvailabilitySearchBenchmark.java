@@ -0,0 +1,217 @@
+package com.github.saleco.interview.calendar.api.agenda.search;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    Latency benchmark of a search over a long Interviewers list: single range query, shards searched one at a time
+    and shards searched in parallel. The first ratio is the speedup of sharding alone, the second the speedup of parallelism.
+    Run with: mvn test -Pbenchmark -Dtest=ParallelAvailabilitySearchBenchmark
+ */
+@SpringBootTest
+class ParallelAvailabilitySearchBenchmark {
+
+    public static final int CANDIDATES = 10;
+    public static final int INTERVIEWERS = 400;
+    public static final int DAYS = 30;
+    public static final int INITIAL_WORKING_HOUR = 9;
+    public static final int FINAL_WORKING_HOUR = 19;
+    public static final double AVAILABILITY_RATIO = 0.5;
+    public static final int INTERVIEWERS_PER_SEARCH = 200;
+    public static final int SEARCH_PERIOD_DAYS = 5;
+    public static final int SHARD_SIZE = 25;
+    public static final int PARALLELISM = 4;
+    public static final int WARMUP_ITERATIONS = 3;
+    public static final int MEASURED_ITERATIONS = 20;
+    public static final int BATCH_SIZE = 10_000;
+    public static final LocalDateTime FIRST_DAY = LocalDateTime.of(2021, 4, 1, 0, 0);
+
+    private final Random random = new Random(42);
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AgendaMapper agendaMapper;
+
+    @Autowired
+    private DateMapper dateMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("Benchmark serial, sharded and parallel searches over a long Interviewers list")
+    @Test
+    void benchmarkParallelAvailabilitySearch() {
+        List<Long> candidateIds = createUsers(CANDIDATES, UserType.CANDIDATE);
+        List<Long> interviewerIds = createUsers(INTERVIEWERS, UserType.INTERVIEWER);
+        System.out.printf("Seeded %d agendas, %d processors%n", createAgendas(candidateIds, interviewerIds),
+          Runtime.getRuntime().availableProcessors());
+        jdbcTemplate.execute("ANALYZE");
+
+        ParallelAvailabilitySearch sharded = parallelAvailabilitySearch(1);
+        ParallelAvailabilitySearch parallel = parallelAvailabilitySearch(PARALLELISM);
+
+        List<Long> searchedIds = interviewerIds.subList(0, INTERVIEWERS_PER_SEARCH);
+        PageRequest pageRequest = PageRequest.of(2, 20, Sort.Direction.ASC, "start", "id");
+
+        //H2 reuses the result of a repeated query, every measured search gets its own Candidate and period
+        List<Search> searches = new ArrayList<>();
+        candidateIds.forEach(candidateId -> IntStream.range(0, DAYS - SEARCH_PERIOD_DAYS).forEach(day -> searches.add(new Search(
+          candidateId, OffsetDateTime.of(FIRST_DAY.plusDays(day), ZoneOffset.UTC), SEARCH_PERIOD_DAYS))));
+        Collections.shuffle(searches, random);
+        Iterator<Search> nextSearch = searches.iterator();
+
+        try {
+            Function<Search, List<Long>> serialSearch = search -> agendaRepository.searchAvailabilityByRange(pageRequest, search.candidateId,
+              searchedIds, dateMapper.asTimestamp(search.startingFrom), dateMapper.asTimestamp(search.endingAt)).map(Agenda::getId).getContent();
+            Function<Search, List<Long>> shardedSearch = search -> sharded.search(pageRequest, search.candidateId, searchedIds,
+              search.startingFrom, search.endingAt).map(AgendaDto::getId).getContent();
+            Function<Search, List<Long>> parallelSearch = search -> parallel.search(pageRequest, search.candidateId, searchedIds,
+              search.startingFrom, search.endingAt).map(AgendaDto::getId).getContent();
+
+            Search search = nextSearch.next();
+            assertThat(shardedSearch.apply(search)).isNotEmpty().isEqualTo(serialSearch.apply(search));
+            assertThat(parallelSearch.apply(search)).isEqualTo(serialSearch.apply(search));
+
+            long[] serialLatencies = measure(serialSearch, nextSearch);
+            long[] shardedLatencies = measure(shardedSearch, nextSearch);
+            long[] parallelLatencies = measure(parallelSearch, nextSearch);
+
+            System.out.printf("%-30s %10s %10s %10s%n", "search (ms)", "avg", "p50", "max");
+            report("serial", serialLatencies);
+            report("sharded, 1 thread", shardedLatencies);
+            report("sharded, " + PARALLELISM + " threads", parallelLatencies);
+            System.out.printf("speedup from sharding %.2fx, from parallelism %.2fx%n",
+              average(serialLatencies) / average(shardedLatencies), average(shardedLatencies) / average(parallelLatencies));
+        } finally {
+            sharded.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    private ParallelAvailabilitySearch parallelAvailabilitySearch(int parallelism) {
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getSearch().getParallel().setEnabled(true);
+        properties.getSearch().getParallel().setShardSize(SHARD_SIZE);
+        properties.getSearch().getParallel().setParallelism(parallelism);
+
+        ParallelAvailabilitySearch parallelAvailabilitySearch = new ParallelAvailabilitySearch(agendaRepository, agendaMapper, dateMapper, properties);
+        parallelAvailabilitySearch.start();
+        return parallelAvailabilitySearch;
+    }
+
+    private List<Long> createUsers(int size, UserType userType) {
+        return userRepository.saveAll(
+          IntStream.range(0, size)
+            .mapToObj(i -> User.builder().name(userType + " " + i).userType(userType).build())
+            .collect(Collectors.toList()))
+          .stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    private int createAgendas(List<Long> candidateIds, List<Long> interviewerIds) {
+        List<Long> userIds = new ArrayList<>(candidateIds);
+        userIds.addAll(interviewerIds);
+
+        long id = 1_000_000L;
+        int created = 0;
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (Long userId : userIds) {
+            for (int day = 0; day < DAYS; day++) {
+                for (int hour = INITIAL_WORKING_HOUR; hour < FINAL_WORKING_HOUR; hour++) {
+                    if (random.nextDouble() >= AVAILABILITY_RATIO) continue;
+
+                    LocalDateTime start = FIRST_DAY.plusDays(day).withHour(hour);
+                    batch.add(new Object[]{id++, userId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1))});
+
+                    if (batch.size() == BATCH_SIZE) {
+                        created += insert(batch);
+                    }
+                }
+            }
+        }
+
+        return created + insert(batch);
+    }
+
+    private int insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("insert into agenda (id, user_id, start, end) values (?, ?, ?, ?)", batch);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    private long[] measure(Function<Search, List<Long>> search, Iterator<Search> nextSearch) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            search.apply(nextSearch.next());
+        }
+
+        long[] latencies = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            Search measured = nextSearch.next();
+            long start = System.nanoTime();
+            search.apply(measured);
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private static double average(long[] latencies) {
+        return Arrays.stream(latencies).average().orElse(0);
+    }
+
+    private static void report(String search, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-30s %10.2f %10.2f %10.2f%n", search,
+          average(sorted) / 1_000_000d,
+          sorted[sorted.length / 2] / 1_000_000d,
+          sorted[sorted.length - 1] / 1_000_000d);
+    }
+
+    private static class Search {
+        private final Long candidateId;
+        private final OffsetDateTime startingFrom;
+        private final OffsetDateTime endingAt;
+
+        Search(Long candidateId, OffsetDateTime startingFrom, int days) {
+            this.candidateId = candidateId;
+            this.startingFrom = startingFrom;
+            this.endingAt = startingFrom.plusDays(days);
+        }
+    }
+}
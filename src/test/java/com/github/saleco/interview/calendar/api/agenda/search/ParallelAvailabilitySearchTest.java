@@ -0,0 +1,126 @@
+package com.github.saleco.interview.calendar.api.agenda.search;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaKey;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelAvailabilitySearchTest {
+
+    public static final long CANDIDATE = 1L;
+
+    @Mock
+    private AgendaRepository agendaRepository;
+
+    @Mock
+    private AgendaMapper agendaMapper;
+
+    private InterviewCalendarAPIProperties properties;
+
+    private ParallelAvailabilitySearch parallelAvailabilitySearch;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterviewCalendarAPIProperties();
+        properties.getSearch().getParallel().setEnabled(true);
+        properties.getSearch().getParallel().setShardSize(2);
+        parallelAvailabilitySearch = new ParallelAvailabilitySearch(agendaRepository, agendaMapper, new DateMapper(), properties);
+        parallelAvailabilitySearch.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelAvailabilitySearch.shutdown();
+    }
+
+    @DisplayName("Given more Interviewers than the shard size When isParallel then should return true")
+    @Test
+    void givenMoreInterviewersThanShardSizeWhenIsParallelThenShouldReturnTrue() {
+        Assertions.assertAll(
+          () -> assertThat(parallelAvailabilitySearch.isParallel(Lists.newArrayList(2L, 3L))).isFalse(),
+          () -> assertThat(parallelAvailabilitySearch.isParallel(Lists.newArrayList(2L, 3L, 4L))).isTrue()
+        );
+    }
+
+    @DisplayName("Given parallel search disabled When isParallel then should return false")
+    @Test
+    void givenParallelSearchDisabledWhenIsParallelThenShouldReturnFalse() {
+        properties.getSearch().getParallel().setEnabled(false);
+
+        assertThat(parallelAvailabilitySearch.isParallel(Lists.newArrayList(2L, 3L, 4L))).isFalse();
+    }
+
+    @DisplayName("Given Interviewers in many shards When search then should merge the shards sorted by start and id")
+    @Test
+    void givenInterviewersInManyShardsWhenSearchThenShouldMergeShardsSortedByStartAndId() {
+        given(agendaMapper.modelToDto(any(Agenda.class)))
+          .willAnswer(invocation -> AgendaDto.builder().id(invocation.<Agenda>getArgument(0).getId()).build());
+        given(agendaRepository.searchAvailabilityKeysByRange(any(Pageable.class), anyLong(), eq(Lists.newArrayList(2L, 3L)), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(new PageImpl<>(Lists.newArrayList(key(20L, 9), key(30L, 11), key(21L, 12)), PageRequest.of(0, 3), 5));
+        given(agendaRepository.searchAvailabilityKeysByRange(any(Pageable.class), anyLong(), eq(Collections.singletonList(4L)), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(new PageImpl<>(Lists.newArrayList(key(10L, 9), key(40L, 10)), PageRequest.of(0, 3), 2));
+        given(agendaRepository.findAllById(Lists.newArrayList(40L, 30L)))
+          .willReturn(Lists.newArrayList(Agenda.builder().id(30L).build(), Agenda.builder().id(40L).build()));
+
+        Page<AgendaDto> agendaDtos = parallelAvailabilitySearch.search(PageRequest.of(1, 2), CANDIDATE,
+          Lists.newArrayList(2L, 3L, 4L, 2L), at(9), at(18));
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getContent()).extracting(AgendaDto::getId).containsExactly(40L, 30L),
+          () -> assertThat(agendaDtos.getTotalElements()).isEqualTo(7)
+        );
+
+        then(agendaRepository).should(times(2)).searchAvailabilityKeysByRange(
+          eq(PageRequest.of(0, 4)), anyLong(), any(), any(Timestamp.class), any(Timestamp.class));
+    }
+
+    private static AgendaKey key(Long id, int hour) {
+        return new AgendaKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Timestamp getStart() {
+                return Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, hour, 0));
+            }
+        };
+    }
+
+    private static OffsetDateTime at(int hour) {
+        return OffsetDateTime.of(2021, 4, 26, hour, 0, 0, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.saleco.interview.calendar.api.agenda.search;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityCursor;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveAvailabilitySearchTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2021, 4, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private final List<AvailabilityCursor> cursors = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    private ReactiveAvailabilitySearch reactiveAvailabilitySearch;
+
+    @BeforeEach
+    void setUp() {
+        reactiveAvailabilitySearch = new ReactiveAvailabilitySearch(new InterviewCalendarAPIProperties());
+        reactiveAvailabilitySearch.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveAvailabilitySearch.shutdown();
+    }
+
+    @DisplayName("Given 3 slices of 2 Agendas When search then should publish every Agenda in order, each slice read after the last Agenda of the previous one")
+    @Test
+    void givenThreeSlicesWhenSearchThenShouldPublishEveryAgendaInOrder() {
+        List<AgendaDto> agendaDtos = reactiveAvailabilitySearch.search(null, slices(6, 2)).collectList().block();
+
+        assertThat(agendaDtos).extracting(AgendaDto::getId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(cursors).containsExactly(null, new AvailabilityCursor(START.plusHours(2), 2L), new AvailabilityCursor(START.plusHours(4), 4L));
+        assertThat(threads).allMatch(thread -> thread.startsWith("availability-flux"));
+    }
+
+    @DisplayName("Given a cursor When search then should read the first slice after the cursor")
+    @Test
+    void givenCursorWhenSearchThenShouldReadFirstSliceAfterCursor() {
+        AvailabilityCursor after = new AvailabilityCursor(START, 12L);
+
+        List<AgendaDto> agendaDtos = reactiveAvailabilitySearch.search(after, slices(0, 2)).collectList().block();
+
+        assertThat(agendaDtos).isEmpty();
+        assertThat(cursors).containsExactly(after);
+    }
+
+    @DisplayName("Given a subscriber requesting a single Agenda When search then should read at most one slice ahead of it")
+    @Test
+    void givenSubscriberRequestingOneAgendaWhenSearchThenShouldReadAtMostOneSliceAhead() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(1);
+        BaseSubscriber<AgendaDto> subscriber = new BaseSubscriber<AgendaDto>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(AgendaDto agendaDto) {
+                received.countDown();
+            }
+        };
+
+        reactiveAvailabilitySearch.search(null, slices(10, 2)).subscribe(subscriber);
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        TimeUnit.MILLISECONDS.sleep(200);
+        subscriber.dispose();
+
+        //5 slices available, the first one read on demand and the next one prefetched
+        assertThat(cursors).hasSizeBetween(1, 2);
+    }
+
+    @DisplayName("Given a single reader thread and a subscriber that stopped reading When another search Then should publish every Agenda of the other search")
+    @Test
+    void givenSingleReaderAndStalledSubscriberWhenAnotherSearchThenShouldPublishEveryAgenda() throws InterruptedException {
+        reactiveAvailabilitySearch.shutdown();
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getSearch().getReactive().setThreads(1);
+        reactiveAvailabilitySearch = new ReactiveAvailabilitySearch(properties);
+        reactiveAvailabilitySearch.start();
+
+        CountDownLatch received = new CountDownLatch(1);
+        BaseSubscriber<AgendaDto> stalled = new BaseSubscriber<AgendaDto>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(AgendaDto agendaDto) {
+                received.countDown();
+            }
+        };
+        reactiveAvailabilitySearch.search(null, slices(10, 2)).subscribe(stalled);
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            List<AgendaDto> agendaDtos = reactiveAvailabilitySearch.search(null, slices(6, 2)).collectList().block(Duration.ofSeconds(5));
+
+            assertThat(agendaDtos).extracting(AgendaDto::getId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+            assertThat(stalled.isDisposed()).isFalse();
+        } finally {
+            stalled.dispose();
+        }
+    }
+
+    //slices of the given size over Agendas 1..total, one hour apart
+    private Function<AvailabilityCursor, Slice<AgendaDto>> slices(int total, int size) {
+        return after -> {
+            cursors.add(after);
+            threads.add(Thread.currentThread().getName());
+
+            long first = after == null ? 1 : after.getId() + 1;
+            List<AgendaDto> content = first > total ? Collections.emptyList() : LongStream.range(first, Math.min(first + size, total + 1))
+              .mapToObj(id -> AgendaDto.builder().id(id).start(START.plusHours(id)).build())
+              .collect(Collectors.toCollection(ArrayList::new));
+
+            return new SliceImpl<>(content, Pageable.unpaged(), first + size <= total);
+        };
+    }
+}
@@ -1,37 +1,64 @@
 package com.github.saleco.interview.calendar.api.agenda.service;
 
+import com.github.saleco.interview.calendar.api.agenda.cache.AvailabilityCache;
 import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityCursor;
 import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityCursorDto;
 import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.freebusy.AgendaVersions;
+import com.github.saleco.interview.calendar.api.agenda.index.AvailabilityIndex;
 import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
 import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.agenda.range.AvailabilityRanges;
 import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaSlot;
+import com.github.saleco.interview.calendar.api.agenda.search.ParallelAvailabilitySearch;
+import com.github.saleco.interview.calendar.api.agenda.search.ReactiveAvailabilitySearch;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.dto.SliceDto;
+import com.github.saleco.interview.calendar.api.enums.AvailabilitySearchMode;
 import com.github.saleco.interview.calendar.api.enums.UserType;
 import com.github.saleco.interview.calendar.api.exception.NotFoundException;
 import com.github.saleco.interview.calendar.api.exception.ValidationException;
 import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.cache.UserTypeCache;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import reactor.core.publisher.Flux;
+
+import javax.persistence.EntityManager;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -50,6 +77,33 @@ class AgendaServiceImplTest {
     @Mock
     private DateMapper dateMapper;
 
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ParallelAvailabilitySearch parallelAvailabilitySearch;
+
+    @Mock
+    private ReactiveAvailabilitySearch reactiveAvailabilitySearch;
+
+    @Mock
+    private AvailabilityCache availabilityCache;
+
+    @Mock
+    private AvailabilityRanges availabilityRanges;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UserTypeCache userTypeCache;
+
+    @Mock
+    private AgendaVersions agendaVersions;
+
+    @Spy
+    private InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+
     @InjectMocks
     private AgendaServiceImpl agendaService;
 
@@ -58,6 +112,10 @@ class AgendaServiceImplTest {
     @BeforeEach
     void setUp() {
         agendaServiceSpy = spy(agendaService);
+
+        //searches go through the cache, which runs them as on a miss
+        lenient().when(availabilityCache.get(any(Pageable.class), any(SearchInterviewsAvailabilityDto.class), any()))
+          .thenAnswer(invocation -> invocation.<Supplier<Page<AgendaDto>>>getArgument(2).get());
     }
 
     @DisplayName("Given Agenda DTO When createAgenda then validateUserInput throws IllegalArgumentsException")
@@ -130,6 +188,8 @@ class AgendaServiceImplTest {
         assertThat(agendaDtoReturned.getUserId()).isEqualTo(1L);
 
         then(agendaRepository).should(times(1)).save(any(Agenda.class));
+        then(availabilityCache).should(times(1)).invalidate(Collections.singleton(1L));
+        then(agendaVersions).should(times(1)).increment(Collections.singleton(1L));
         then(agendaMapper).should(times(1)).dtoToModel(any(AgendaDto.class));
         then(agendaMapper).should(times(1)).modelToDto(any(Agenda.class));
         then(agendaServiceSpy).should(times(1)).validatesUserInput(anyLong());
@@ -173,12 +233,12 @@ class AgendaServiceImplTest {
         then(agendaServiceSpy).shouldHaveNoMoreInteractions();
     }
 
-    @DisplayName("Given List of Agenda DTO When createAgendas then validateAgenda throws ValidationException")
+    @DisplayName("Given List of Agenda DTO When createAgendas then validateAgendas throws ValidationException")
     @Test
     void givenAgendaDtoListWhenCreateAgendasThenShouldValidationException() {
         AgendaDto agendaDto = AgendaDto.builder().userId(1L).build();
         doNothing().when(agendaServiceSpy).validatesUserInput(1L);
-        doThrow(ValidationException.class).when(agendaServiceSpy).validateAgenda(any(AgendaDto.class));
+        doThrow(ValidationException.class).when(agendaServiceSpy).validateAgendas(anyList());
 
         List<AgendaDto> agendaDtos = Collections.singletonList(agendaDto);
 
@@ -188,7 +248,7 @@ class AgendaServiceImplTest {
         then(agendaRepository).shouldHaveNoInteractions();
         then(agendaMapper).shouldHaveNoInteractions();
         then(agendaServiceSpy).should(times(1)).validatesUserInput(anyLong());
-        then(agendaServiceSpy).should(times(1)).validateAgenda(any(AgendaDto.class));
+        then(agendaServiceSpy).should(times(1)).validateAgendas(anyList());
         then(agendaServiceSpy).should(times(1)).createAgendas(any(List.class));
         then(agendaServiceSpy).shouldHaveNoMoreInteractions();
     }
@@ -204,7 +264,7 @@ class AgendaServiceImplTest {
         given(agendaRepository.saveAll(Collections.singletonList(agenda))).willReturn(Collections.singletonList(agenda));
 
         doNothing().when(agendaServiceSpy).validatesUserInput(anyLong());
-        doNothing().when(agendaServiceSpy).validateAgenda(any(AgendaDto.class));
+        doNothing().when(agendaServiceSpy).validateAgendas(anyList());
 
         List<AgendaDto> agendaDtosReturned = agendaServiceSpy.createAgendas(Collections.singletonList(agendaDto));
 
@@ -216,15 +276,42 @@ class AgendaServiceImplTest {
 
 
         then(agendaRepository).should(times(1)).saveAll(any(List.class));
+        then(availabilityCache).should(times(1)).invalidate(Collections.singleton(1L));
+        then(agendaVersions).should(times(1)).increment(Collections.singleton(1L));
         then(agendaMapper).should(times(1)).dtoToModel(any(AgendaDto.class));
         then(agendaMapper).should(times(1)).modelToDto(any(Agenda.class));
         then(agendaServiceSpy).should(times(1)).validatesUserInput(anyLong());
-        then(agendaServiceSpy).should(times(1)).validateAgenda(any(AgendaDto.class));
+        then(agendaServiceSpy).should(times(1)).validateAgendas(anyList());
         then(agendaServiceSpy).should(times(1)).createAgendas(any(List.class));
         then(agendaServiceSpy).shouldHaveNoMoreInteractions();
 
     }
 
+    @DisplayName("Given RANGES storage When createAgendas then should store ranges instead of Agendas")
+    @Test
+    void givenRangesStorageWhenCreateAgendasThenShouldStoreRanges() {
+        AgendaDto agendaDto = AgendaDto.builder().userId(1L)
+          .start(OffsetDateTime.of(2021, 4, 26, 9, 0, 0, 0, ZoneOffset.UTC))
+          .end(OffsetDateTime.of(2021, 4, 26, 10, 0, 0, 0, ZoneOffset.UTC)).build();
+        AgendaDto createdAgendaDto = AgendaDto.builder().id(10L).userId(1L).start(agendaDto.getStart()).end(agendaDto.getEnd()).build();
+
+        given(availabilityRanges.isEnabled()).willReturn(true);
+        given(availabilityRanges.save(Collections.singletonList(agendaDto))).willReturn(Collections.singletonList(createdAgendaDto));
+        doNothing().when(agendaServiceSpy).validatesUserInput(anyLong());
+
+        List<AgendaDto> agendaDtosReturned = agendaServiceSpy.createAgendas(Collections.singletonList(agendaDto));
+
+        assertThat(agendaDtosReturned).containsExactly(createdAgendaDto);
+
+        then(agendaServiceSpy).should(times(1)).validatesUserInput(anyLong());
+        then(agendaServiceSpy).should(times(1)).validateAvailability(any(OffsetDateTime.class), any(OffsetDateTime.class));
+        then(agendaServiceSpy).should(never()).validateAgendas(anyList());
+        then(availabilityCache).should(times(1)).invalidate(Collections.singleton(1L));
+        then(agendaVersions).should(times(1)).increment(Collections.singleton(1L));
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(availabilityIndex).shouldHaveNoInteractions();
+    }
+
     @DisplayName("Given SearchInterviewAvailability DTO When getAvailability then validatesUserInputWithUserType throws IllegalArgumentException")
     @Test
     void givenSearchInterviewAvailabilityDTOWhenGetAvailabilityValidatesUserInputWithUserTypeThenShouldThrowIllegalArgumentException() {
@@ -355,6 +442,409 @@ class AgendaServiceImplTest {
         then(agendaMapper).shouldHaveNoMoreInteractions();
     }
 
+    @DisplayName("Given cached SearchInterviewAvailability DTO When getAvailability then should return the cached page")
+    @Test
+    void givenCachedSearchInterviewAvailabilityDTOWhenGetAvailabilityThenShouldReturnCachedPage() {
+        Page<AgendaDto> cachedAgendaDtos = new PageImpl<>(Collections.singletonList(AgendaDto.builder().userId(2L).build()));
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(availabilityCache.get(any(Pageable.class), any(SearchInterviewsAvailabilityDto.class), any())).willReturn(cachedAgendaDtos);
+
+        Page<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailability(
+            SearchInterviewsAvailabilityDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Collections.singletonList(2L))
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusDays(5))
+              .build());
+
+        assertThat(agendaDtos).isSameAs(cachedAgendaDtos);
+
+        then(agendaServiceSpy).should(times(1)).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        then(agendaServiceSpy).should(times(1)).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(availabilityIndex).shouldHaveNoInteractions();
+        then(agendaMapper).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given RANGES storage When getAvailability then should search the availability ranges")
+    @Test
+    void givenRangesStorageWhenGetAvailabilityThenShouldSearchAvailabilityRanges() {
+        AgendaDto agendaDto = AgendaDto.builder().id(10L).userId(2L).build();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(availabilityRanges.isEnabled()).willReturn(true);
+        given(availabilityRanges.search(any(Pageable.class), anyLong(), anyList(), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+          .willReturn(new PageImpl<>(Collections.singletonList(agendaDto)));
+
+        Page<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailability(
+            SearchInterviewsAvailabilityDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Collections.singletonList(2L))
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusDays(5))
+              .build());
+
+        assertThat(agendaDtos).containsExactly(agendaDto);
+
+        then(availabilityRanges).should(times(1)).search(any(Pageable.class), anyLong(), anyList(), any(OffsetDateTime.class), any(OffsetDateTime.class));
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(availabilityIndex).shouldHaveNoInteractions();
+        then(agendaMapper).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given RANGE_QUERY search mode When getAvailability then should search by range")
+    @Test
+    void givenRangeQuerySearchModeWhenGetAvailabilityThenShouldSearchByRange() {
+        AgendaDto agendaDto = AgendaDto.builder().userId(1L).build();
+        Agenda agenda = Agenda.builder().build();
+        properties.getSearch().setMode(AvailabilitySearchMode.RANGE_QUERY);
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willReturn(Timestamp.valueOf(LocalDateTime.now()));
+        given(agendaMapper.modelToDto(agenda)).willReturn(agendaDto);
+        given(agendaRepository.searchAvailabilityByRange(any(), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(new PageImpl<>(Collections.singletonList(agenda)));
+
+        Page<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailability(
+            SearchInterviewsAvailabilityDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Collections.emptyList())
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusDays(5))
+              .build());
+
+        assertThat(agendaDtos).hasSize(1);
+
+        then(agendaRepository).should(times(1)).searchAvailabilityByRange(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class));
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given SearchInterviewAvailability DTO covered by the index When getAvailability then should search the index")
+    @Test
+    void givenSearchInterviewAvailabilityDTOCoveredByIndexWhenGetAvailabilityThenShouldSearchIndex() {
+        AgendaDto agendaDto = AgendaDto.builder().userId(2L).build();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(availabilityIndex.covers(anyLong(), anyList())).willReturn(true);
+        given(availabilityIndex.search(any(Pageable.class), anyLong(), anyList(), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+          .willReturn(new PageImpl<>(Collections.singletonList(agendaDto)));
+
+        Page<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailability(
+            SearchInterviewsAvailabilityDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Collections.singletonList(2L))
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusDays(5))
+              .build());
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos).isNotNull(),
+          () -> assertThat(agendaDtos).hasSize(1)
+        );
+
+        then(availabilityIndex).should(times(1)).search(any(Pageable.class), anyLong(), anyList(), any(OffsetDateTime.class), any(OffsetDateTime.class));
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(agendaMapper).shouldHaveNoInteractions();
+        then(dateMapper).shouldHaveNoInteractions();
+    }
+
+
+    @DisplayName("Given SearchInterviewAvailability DTO with a long period When getAvailability then should search by range with an exact total")
+    @Test
+    void givenSearchInterviewAvailabilityDTOWithLongPeriodWhenGetAvailabilityThenShouldSearchByRange() {
+        AgendaDto agendaDto = AgendaDto.builder().userId(2L).build();
+        Agenda agenda = Agenda.builder().build();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willReturn(Timestamp.valueOf(LocalDateTime.now()));
+        given(agendaMapper.modelToDto(agenda)).willReturn(agendaDto);
+        given(agendaRepository.searchAvailabilityByRange(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(new PageImpl<>(Collections.singletonList(agenda), PageRequest.of(0, 1), 30));
+
+        Page<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailability(
+            SearchInterviewsAvailabilityDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Collections.singletonList(2L))
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusWeeks(8))
+              .build());
+
+        assertThat(agendaDtos).containsExactly(agendaDto);
+        assertThat(agendaDtos.getTotalElements()).isEqualTo(30);
+
+        then(agendaRepository).should(times(1)).searchAvailabilityByRange(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class));
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given SearchInterviewAvailability DTO with many Interviewers When getAvailability then should search shards in parallel")
+    @Test
+    void givenSearchInterviewAvailabilityDTOWithManyInterviewersWhenGetAvailabilityThenShouldSearchShardsInParallel() {
+        AgendaDto agendaDto = AgendaDto.builder().userId(2L).build();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(parallelAvailabilitySearch.isParallel(anyList())).willReturn(true);
+        given(parallelAvailabilitySearch.search(any(Pageable.class), anyLong(), anyList(), any(OffsetDateTime.class), any(OffsetDateTime.class)))
+          .willReturn(new PageImpl<>(Collections.singletonList(agendaDto)));
+
+        Page<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailability(
+            SearchInterviewsAvailabilityDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Lists.newArrayList(2L, 3L, 4L))
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusDays(5))
+              .build());
+
+        assertThat(agendaDtos).containsExactly(agendaDto);
+
+        then(parallelAvailabilitySearch).should(times(1)).search(any(Pageable.class), anyLong(), anyList(), any(OffsetDateTime.class), any(OffsetDateTime.class));
+        then(agendaRepository).shouldHaveNoInteractions();
+        then(dateMapper).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given SearchInterviewAvailabilityCursor DTO without cursor When getAvailabilitySlice then should return first Slice and next cursor")
+    @Test
+    void givenSearchInterviewAvailabilityCursorDTOWithoutCursorWhenGetAvailabilitySliceThenShouldReturnFirstSliceAndNextCursor() {
+        OffsetDateTime start = OffsetDateTime.of(2021, 4, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+        AgendaDto agendaDto = AgendaDto.builder().id(12L).userId(2L).start(start).end(start.plusHours(1)).build();
+        Agenda agenda = Agenda.builder().build();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willReturn(Timestamp.valueOf(LocalDateTime.now()));
+        given(agendaMapper.modelToDto(agenda)).willReturn(agendaDto);
+        given(agendaRepository.searchFirstAvailabilitySlice(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(new SliceImpl<>(Collections.singletonList(agenda), Pageable.unpaged(), true));
+
+        SliceDto<AgendaDto> agendaDtos =
+          agendaServiceSpy.getAvailabilitySlice(
+            SearchInterviewsAvailabilityCursorDto
+              .builder()
+              .candidateId(1L)
+              .interviewerIds(Collections.singletonList(2L))
+              .startingFrom(OffsetDateTime.now())
+              .endingAt(OffsetDateTime.now().plusDays(5))
+              .build());
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getContent()).containsExactly(agendaDto),
+          () -> assertThat(agendaDtos.getSize()).isEqualTo(20),
+          () -> assertThat(agendaDtos.isHasNext()).isTrue(),
+          () -> assertThat(AvailabilityCursor.decode(agendaDtos.getNextCursor())).isEqualTo(new AvailabilityCursor(start, 12L))
+        );
+
+        then(agendaRepository).should(times(1)).searchFirstAvailabilitySlice(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class));
+        then(agendaServiceSpy).should(times(1)).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        then(agendaServiceSpy).should(times(1)).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        then(agendaServiceSpy).should(times(1)).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+        then(agendaServiceSpy).should(times(1)).getAvailabilitySlice(any(SearchInterviewsAvailabilityCursorDto.class));
+        then(agendaServiceSpy).shouldHaveNoMoreInteractions();
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+        then(availabilityIndex).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given SearchInterviewAvailabilityCursor DTO with cursor When getAvailabilitySlice then should search after the cursor")
+    @Test
+    void givenSearchInterviewAvailabilityCursorDTOWithCursorWhenGetAvailabilitySliceThenShouldSearchAfterCursor() {
+        OffsetDateTime start = OffsetDateTime.of(2021, 4, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+        Timestamp cursorStart = Timestamp.valueOf(start.toLocalDateTime());
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willReturn(Timestamp.valueOf(LocalDateTime.now()));
+        given(dateMapper.asTimestamp(start)).willReturn(cursorStart);
+        given(agendaRepository.searchAvailabilitySliceAfter(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class),
+          eq(cursorStart), eq(12L)))
+          .willReturn(new SliceImpl<>(Collections.emptyList()));
+
+        SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto =
+          SearchInterviewsAvailabilityCursorDto
+            .builder()
+            .candidateId(1L)
+            .interviewerIds(Collections.singletonList(2L))
+            .startingFrom(OffsetDateTime.now())
+            .endingAt(OffsetDateTime.now().plusDays(5))
+            .build();
+        searchInterviewsAvailabilityCursorDto.setAfter(new AvailabilityCursor(start, 12L).encode());
+
+        SliceDto<AgendaDto> agendaDtos = agendaServiceSpy.getAvailabilitySlice(searchInterviewsAvailabilityCursorDto);
+
+        Assertions.assertAll(
+          () -> assertThat(agendaDtos.getContent()).isEmpty(),
+          () -> assertThat(agendaDtos.isHasNext()).isFalse(),
+          () -> assertThat(agendaDtos.getNextCursor()).isNull()
+        );
+
+        then(agendaRepository).should(times(1)).searchAvailabilitySliceAfter(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class),
+          any(Timestamp.class), eq(cursorStart), eq(12L));
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given invalid cursor When getAvailabilitySlice then should throw ValidationException")
+    @Test
+    void givenInvalidCursorWhenGetAvailabilitySliceThenShouldThrowValidationException() {
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto =
+          SearchInterviewsAvailabilityCursorDto
+            .builder()
+            .candidateId(1L)
+            .interviewerIds(Collections.singletonList(2L))
+            .startingFrom(OffsetDateTime.now())
+            .endingAt(OffsetDateTime.now().plusDays(5))
+            .build();
+        searchInterviewsAvailabilityCursorDto.setAfter("not-a-cursor");
+
+        Assertions.assertThrows(ValidationException.class,
+          () -> agendaServiceSpy.getAvailabilitySlice(searchInterviewsAvailabilityCursorDto));
+
+        then(agendaRepository).shouldHaveNoInteractions();
+    }
+
+
+    @DisplayName("Given SearchInterviewAvailabilityCursor DTO with cursor When getAvailabilityFlux then should read the slices after the cursor")
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenSearchInterviewAvailabilityCursorDTOWithCursorWhenGetAvailabilityFluxThenShouldReadSlicesAfterCursor() {
+        OffsetDateTime start = OffsetDateTime.of(2021, 4, 27, 9, 0, 0, 0, ZoneOffset.UTC);
+        Timestamp cursorStart = Timestamp.valueOf(start.toLocalDateTime());
+        AvailabilityCursor cursor = new AvailabilityCursor(start, 12L);
+        Flux<AgendaDto> flux = Flux.empty();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(reactiveAvailabilitySearch.search(eq(cursor), any())).willReturn(flux);
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willReturn(Timestamp.valueOf(LocalDateTime.now()));
+        given(dateMapper.asTimestamp(start)).willReturn(cursorStart);
+        given(agendaRepository.searchAvailabilitySliceAfter(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class),
+          eq(cursorStart), eq(12L)))
+          .willReturn(new SliceImpl<>(Collections.emptyList()));
+
+        SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto =
+          SearchInterviewsAvailabilityCursorDto
+            .builder()
+            .candidateId(1L)
+            .interviewerIds(Collections.singletonList(2L))
+            .startingFrom(OffsetDateTime.now())
+            .endingAt(OffsetDateTime.now().plusDays(5))
+            .build();
+        searchInterviewsAvailabilityCursorDto.setAfter(cursor.encode());
+
+        assertThat(agendaServiceSpy.getAvailabilityFlux(searchInterviewsAvailabilityCursorDto)).isSameAs(flux);
+
+        //the slices are read by the reactive search, only once subscribed
+        then(agendaRepository).shouldHaveNoInteractions();
+        ArgumentCaptor<Function<AvailabilityCursor, Slice<AgendaDto>>> slices = ArgumentCaptor.forClass(Function.class);
+        then(reactiveAvailabilitySearch).should(times(1)).search(eq(cursor), slices.capture());
+
+        assertThat(slices.getValue().apply(cursor).getContent()).isEmpty();
+
+        then(agendaRepository).should(times(1)).searchAvailabilitySliceAfter(any(Pageable.class), anyLong(), anyList(), any(Timestamp.class),
+          any(Timestamp.class), eq(cursorStart), eq(12L));
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given unknown Candidate When getAvailabilityFlux then should throw NotFoundException before any slice is read")
+    @Test
+    void givenUnknownCandidateWhenGetAvailabilityFluxThenShouldThrowNotFoundException() {
+        doThrow(NotFoundException.class).when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+
+        SearchInterviewsAvailabilityCursorDto searchInterviewsAvailabilityCursorDto =
+          SearchInterviewsAvailabilityCursorDto
+            .builder()
+            .candidateId(1L)
+            .interviewerIds(Collections.singletonList(2L))
+            .startingFrom(OffsetDateTime.now())
+            .endingAt(OffsetDateTime.now().plusDays(5))
+            .build();
+
+        Assertions.assertThrows(NotFoundException.class,
+          () -> agendaServiceSpy.getAvailabilityFlux(searchInterviewsAvailabilityCursorDto));
+
+        then(reactiveAvailabilitySearch).shouldHaveNoInteractions();
+        then(agendaRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given SearchInterviewAvailability DTO When streamAvailability then should consume and detach each Agenda")
+    @Test
+    void givenSearchInterviewAvailabilityDTOWhenStreamAvailabilityThenShouldConsumeAndDetachEachAgenda() {
+        Agenda firstAgenda = Agenda.builder().id(1L).build();
+        Agenda secondAgenda = Agenda.builder().id(2L).build();
+        AgendaDto firstAgendaDto = AgendaDto.builder().id(1L).build();
+        AgendaDto secondAgendaDto = AgendaDto.builder().id(2L).build();
+        List<AgendaDto> consumed = Lists.newArrayList();
+
+        doNothing().when(agendaServiceSpy).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        doNothing().when(agendaServiceSpy).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willReturn(Timestamp.valueOf(LocalDateTime.now()));
+        given(agendaMapper.modelToDto(firstAgenda)).willReturn(firstAgendaDto);
+        given(agendaMapper.modelToDto(secondAgenda)).willReturn(secondAgendaDto);
+        given(agendaRepository.streamAvailabilityBy(anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class)))
+          .willReturn(Stream.of(firstAgenda, secondAgenda));
+
+        agendaServiceSpy.streamAvailability(
+          SearchInterviewsAvailabilityDto
+            .builder()
+            .candidateId(1L)
+            .interviewerIds(Collections.singletonList(2L))
+            .startingFrom(OffsetDateTime.now())
+            .endingAt(OffsetDateTime.now().plusDays(5))
+            .build(),
+          consumed::add);
+
+        assertThat(consumed).containsExactly(firstAgendaDto, secondAgendaDto);
+
+        then(agendaRepository).should(times(1)).streamAvailabilityBy(anyLong(), anyList(), any(Timestamp.class), any(Timestamp.class));
+        then(entityManager).should(times(1)).detach(firstAgenda);
+        then(entityManager).should(times(1)).detach(secondAgenda);
+        then(agendaServiceSpy).should(times(1)).validatesUserInputWithUserType(anyLong(), any(UserType.class));
+        then(agendaServiceSpy).should(times(1)).validatesUsersInputWithUserType(anyList(), any(UserType.class));
+        then(agendaServiceSpy).should(times(1)).validatesPeriodInput(any(OffsetDateTime.class), any(OffsetDateTime.class));
+        then(agendaServiceSpy).should(times(1)).streamAvailability(any(SearchInterviewsAvailabilityDto.class), any());
+        then(agendaServiceSpy).shouldHaveNoMoreInteractions();
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
 
     @DisplayName("Given Create Agenda DTO When createAvailability then validateUserInput throws IllegalArgumentsException")
     @Test
@@ -543,6 +1033,65 @@ class AgendaServiceImplTest {
         then(agendaServiceSpy).shouldHaveNoMoreInteractions();
     }
 
+    @DisplayName("Given List of AgendaDto with a repeated slot When validateAgendas then should throw ValidationException without querying")
+    @Test
+    void givenAgendaDtoListWithRepeatedSlotWhenValidateAgendasThenShouldThrowValidationException() {
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willAnswer(invocation -> new DateMapper().asTimestamp(invocation.getArgument(0)));
+
+        List<AgendaDto> agendaDtos = Lists.newArrayList(slot(1L, 9), slot(1L, 10), slot(1L, 9));
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> agendaService.validateAgendas(agendaDtos));
+
+        assertThat(exception.getMessage()).startsWith("Agenda is duplicated");
+        then(agendaRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given List of AgendaDto with a stored slot When validateAgendas then should throw ValidationException")
+    @Test
+    void givenAgendaDtoListWithStoredSlotWhenValidateAgendasThenShouldThrowValidationException() {
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willAnswer(invocation -> new DateMapper().asTimestamp(invocation.getArgument(0)));
+        List<AgendaSlot> stored = Lists.newArrayList(agendaSlot(1L, 8), agendaSlot(1L, 10));
+        given(agendaRepository.findSlotsBy(anyCollection(), any(Timestamp.class), any(Timestamp.class))).willReturn(stored);
+
+        List<AgendaDto> agendaDtos = Lists.newArrayList(slot(1L, 9), slot(1L, 10), slot(1L, 11));
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class, () -> agendaService.validateAgendas(agendaDtos));
+
+        assertThat(exception.getMessage()).startsWith("Agenda already exists");
+        then(agendaRepository).should(times(1)).findSlotsBy(anyCollection(), any(Timestamp.class), any(Timestamp.class));
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given List of new AgendaDto When validateAgendas then should query the stored slots once")
+    @Test
+    void givenNewAgendaDtoListWhenValidateAgendasThenShouldQueryStoredSlotsOnce() {
+        given(dateMapper.asTimestamp(any(OffsetDateTime.class))).willAnswer(invocation -> new DateMapper().asTimestamp(invocation.getArgument(0)));
+        List<AgendaSlot> stored = Lists.newArrayList(agendaSlot(1L, 8), agendaSlot(2L, 9));
+        given(agendaRepository.findSlotsBy(anyCollection(), any(Timestamp.class), any(Timestamp.class))).willReturn(stored);
+
+        List<AgendaDto> agendaDtos = Lists.newArrayList(slot(1L, 9), slot(1L, 10), slot(2L, 10), slot(1L, 11));
+
+        agendaService.validateAgendas(agendaDtos);
+
+        then(agendaRepository).should(times(1)).findSlotsBy(Lists.newArrayList(1L, 2L),
+          Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 0)), Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 11, 0)));
+        then(agendaRepository).shouldHaveNoMoreInteractions();
+    }
+
+    private static AgendaDto slot(Long userId, int hour) {
+        return AgendaDto.builder().userId(userId)
+          .start(OffsetDateTime.of(2021, 4, 26, hour, 0, 0, 0, ZoneOffset.UTC))
+          .end(OffsetDateTime.of(2021, 4, 26, hour + 1, 0, 0, 0, ZoneOffset.UTC)).build();
+    }
+
+    private static AgendaSlot agendaSlot(Long userId, int hour) {
+        AgendaSlot agendaSlot = mock(AgendaSlot.class);
+        given(agendaSlot.getUserId()).willReturn(userId);
+        given(agendaSlot.getStart()).willReturn(Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, hour, 0)));
+        given(agendaSlot.getEnd()).willReturn(Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, hour + 1, 0)));
+        return agendaSlot;
+    }
+
     @DisplayName("Given Empty List of AvailabilityDto and userId When getAgendaDtosFromAvailabilities then should return Empty List")
     @Test
     void givenEmptyAvailabilityDtoListAndUserIdWhenGetAgendaDtosFromAvailabilitiesThenShouldReturnEmptyList() {
@@ -590,12 +1139,55 @@ class AgendaServiceImplTest {
             OffsetDateTime.of(2021, 2, 2, 4, 0, 0, 0, ZoneOffset.UTC)));
     }
 
+    @DisplayName("Given Interviewer ids When validatesUsersInputWithUserType then should look them up at once")
+    @Test
+    void givenInterviewerIdsWhenValidatesUsersInputWithUserTypeThenShouldLookThemUpAtOnce() {
+        given(userTypeCache.getUserTypes(Lists.newArrayList(2L, 3L, 4L)))
+          .willReturn(Map.of(2L, UserType.INTERVIEWER, 3L, UserType.INTERVIEWER, 4L, UserType.INTERVIEWER));
+
+        agendaService.validatesUsersInputWithUserType(Lists.newArrayList(2L, 3L, 2L, 4L), UserType.INTERVIEWER);
+
+        then(userTypeCache).should(times(1)).getUserTypes(anyCollection());
+        then(userTypeCache).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given missing Interviewer ids When validatesUsersInputWithUserType then should throw NotFoundException listing all of them")
+    @Test
+    void givenMissingInterviewerIdsWhenValidatesUsersInputWithUserTypeThenShouldThrowNotFoundExceptionListingAllOfThem() {
+        given(userTypeCache.getUserTypes(Lists.newArrayList(2L, 3L, 4L)))
+          .willReturn(Map.of(3L, UserType.INTERVIEWER, 4L, UserType.CANDIDATE));
+
+        NotFoundException exception = Assertions.assertThrows(NotFoundException.class,
+          () -> agendaService.validatesUsersInputWithUserType(Lists.newArrayList(2L, 3L, 4L), UserType.INTERVIEWER));
+
+        assertThat(exception.getMessage()).isEqualTo("Users [2, 4], type INTERVIEWER not found");
+    }
+
+    @DisplayName("Given an User of another type When validatesUserInputWithUserType then should throw NotFoundException")
+    @Test
+    void givenUserOfAnotherTypeWhenValidatesUserInputWithUserTypeThenShouldThrowNotFoundException() {
+        given(userTypeCache.getUserType(1L)).willReturn(Optional.of(UserType.INTERVIEWER));
+
+        Assertions.assertThrows(NotFoundException.class, () -> agendaService.validatesUserInputWithUserType(1L, UserType.CANDIDATE));
+        Assertions.assertDoesNotThrow(() -> agendaService.validatesUserInputWithUserType(1L, UserType.INTERVIEWER));
+    }
+
     @DisplayName("Given Null Start or End When validatesPeriodInput then should throw IllegalArgumentException")
     @Test
     void givenNullStartOrEndWhenValidatesPeriodInputThenShouldThrowIllegalArgumentException() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> agendaService.validatesPeriodInput(null, null));
     }
 
+    @DisplayName("Given days between Start and End within the configured max period When validatesPeriodInput then should not throw")
+    @Test
+    void givenDaysBetweenStartAndEndWithinConfiguredMaxPeriodWhenValidatesPeriodInputThenShouldNotThrow() {
+        properties.getSearch().setMaxPeriod(Duration.ofDays(56));
+
+        Assertions.assertDoesNotThrow(() -> agendaService.validatesPeriodInput(
+          OffsetDateTime.of(2021, 2, 2, 5, 0, 0, 0, ZoneOffset.UTC),
+          OffsetDateTime.of(2021, 3, 30, 4, 0, 0, 0, ZoneOffset.UTC)));
+    }
+
     @DisplayName("Given days between Start and End greater then 5 When validatesPeriodInput then should throw ValidationException")
     @Test
     void givenDaysBetweenStartAndEndGreaterThenFiveWhenValidatesPeriodInputThenShouldThrowValidationException() {
@@ -0,0 +1,107 @@
+package com.github.saleco.interview.calendar.api.agenda.service;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.repository.AgendaRepository;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
+import com.github.saleco.interview.calendar.api.user.dto.UserDto;
+import com.github.saleco.interview.calendar.api.user.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    Throughput benchmark of createAvailability with 10k 1-hour slots, end to end (validation included)
+    and of the persistence of the slots alone, reporting rows / second and the JDBC statements executed.
+    Run with: mvn test -Pbenchmark -Dtest=CreateAvailabilityBenchmark
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CreateAvailabilityBenchmark {
+
+    public static final int DAYS = 1000;
+    public static final int INITIAL_WORKING_HOUR = 9;
+    public static final int FINAL_WORKING_HOUR = 19;
+    public static final int SLOTS = DAYS * (FINAL_WORKING_HOUR - INITIAL_WORKING_HOUR);
+    public static final int WARMUP_ITERATIONS = 1;
+    public static final int MEASURED_ITERATIONS = 3;
+    public static final LocalDateTime FIRST_DAY = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private AgendaMapper agendaMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DisplayName("Benchmark rows / second of createAvailability with 10k slots")
+    @Test
+    void benchmarkCreateAvailability() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        System.out.printf("%-30s %12s %12s %12s %12s%n", "10k slots", "avg ms", "rows/s", "statements", "inserts");
+
+        report("createAvailability", statistics, userDto -> agendaService.createAvailability(CreateAgendaDto.builder()
+          .userId(userDto.getId())
+          .availabilities(availabilities())
+          .build()));
+
+        report("persistence only (saveAll)", statistics, userDto -> agendaRepository.saveAll(
+          agendaService.getAgendaDtosFromAvailabilities(availabilities(), userDto.getId()).stream()
+            .map(agendaMapper::dtoToModel)
+            .collect(Collectors.toList())));
+    }
+
+    private void report(String name, Statistics statistics, Function<UserDto, List<?>> create) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            create.apply(createUser());
+        }
+
+        statistics.clear();
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            UserDto userDto = createUser();
+            long start = System.nanoTime();
+            assertThat(create.apply(userDto)).hasSize(SLOTS);
+            elapsed += System.nanoTime() - start;
+        }
+
+        double averageMillis = elapsed / 1_000_000d / MEASURED_ITERATIONS;
+        System.out.printf("%-30s %12.2f %12.0f %12d %12d%n", name, averageMillis, SLOTS / (averageMillis / 1000),
+          statistics.getPrepareStatementCount() / MEASURED_ITERATIONS, statistics.getEntityInsertCount() / MEASURED_ITERATIONS);
+    }
+
+    private UserDto createUser() {
+        return userService.createUser(CreateUserDto.builder().name("Interviewer").userType(UserType.INTERVIEWER).build());
+    }
+
+    private static List<AvailabilityDto> availabilities() {
+        return IntStream.range(0, DAYS)
+          .mapToObj(day -> AvailabilityDto.builder()
+            .start(FIRST_DAY.plusDays(day).withHour(INITIAL_WORKING_HOUR))
+            .end(FIRST_DAY.plusDays(day).withHour(FINAL_WORKING_HOUR))
+            .build())
+          .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.saleco.interview.calendar.api.boostrap;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
+import com.github.saleco.interview.calendar.api.user.dto.UserDto;
+import com.github.saleco.interview.calendar.api.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class InterviewCalendarAPILoaderTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AgendaService agendaService;
+
+    @Spy
+    private InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+
+    @InjectMocks
+    private InterviewCalendarAPILoader loader;
+
+    private final List<List<AgendaDto>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setup() {
+        properties.getLoader().setInterviewers(3);
+        properties.getLoader().setCandidates(1);
+        properties.getLoader().setDays(2);
+        properties.getLoader().setFirstHour(9);
+        properties.getLoader().setLastHour(12);
+        properties.getLoader().setBatchSize(2);
+    }
+
+    @DisplayName("Given loader disabled When the application starts Then should create nothing")
+    @Test
+    void givenLoaderDisabledWhenTheApplicationStartsThenShouldCreateNothing() {
+        loader.run();
+        loader.onApplicationReady();
+
+        then(userService).shouldHaveNoInteractions();
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given loader in foreground When run Then should create the Users and their Agendas in batches")
+    @Test
+    void givenLoaderInForegroundWhenRunThenShouldCreateUsersAndAgendasInBatches() {
+        properties.getLoader().setEnabled(true);
+        properties.getLoader().setBackground(false);
+        givenUsersAndAgendasAreCreated();
+
+        loader.run();
+
+        //Users: 2 interviewers + 1 interviewer, 1 candidate
+        then(userService).should(times(3)).createUsers(anyList());
+        //Agendas: 4 users x 2 days x 3 hours = 24 slots, in batches of 2
+        assertThat(batches).hasSize(12).allSatisfy(batch -> assertThat(batch).hasSize(2));
+        assertThat(batches.get(0).get(0).getStart().getHour()).isEqualTo(9);
+        assertThat(batches.get(0).get(0).getEnd().getHour()).isEqualTo(10);
+        assertThat(batches.get(1).get(0).getStart().getHour()).isEqualTo(11);
+        assertThat(batches.get(1).get(1).getStart().toLocalDate()).isEqualTo(batches.get(1).get(0).getStart().toLocalDate().plusDays(1));
+    }
+
+    @DisplayName("Given parallel loader When load Then should create the Agendas of every User")
+    @Test
+    void givenParallelLoaderWhenLoadThenShouldCreateTheAgendasOfEveryUser() {
+        properties.getLoader().setParallelism(3);
+        properties.getLoader().setBatchSize(4);
+        givenUsersAndAgendasAreCreated();
+
+        long agendas = loader.load();
+
+        assertThat(agendas).isEqualTo(24);
+        //each User is written by a single thread: 6 slots in batches of 4 and 2
+        assertThat(batches).hasSize(8);
+        assertThat(batches.stream().flatMap(List::stream).collect(Collectors.groupingBy(AgendaDto::getUserId, Collectors.counting())))
+          .hasSize(4)
+          .allSatisfy((userId, slots) -> assertThat(slots).isEqualTo(6));
+    }
+
+    @DisplayName("Given loader When load Then should create Interviewers before Candidates")
+    @Test
+    void givenLoaderWhenLoadThenShouldCreateInterviewersBeforeCandidates() {
+        List<UserType> userTypes = new ArrayList<>();
+        given(userService.createUsers(anyList())).willAnswer(invocation -> {
+            List<CreateUserDto> createUserDtos = invocation.getArgument(0);
+            createUserDtos.forEach(createUserDto -> userTypes.add(createUserDto.getUserType()));
+            return Collections.emptyList();
+        });
+
+        assertThat(loader.load()).isZero();
+
+        assertThat(userTypes).containsExactly(UserType.INTERVIEWER, UserType.INTERVIEWER, UserType.INTERVIEWER, UserType.CANDIDATE);
+        then(agendaService).shouldHaveNoInteractions();
+    }
+
+    private void givenUsersAndAgendasAreCreated() {
+        AtomicLong ids = new AtomicLong();
+        given(userService.createUsers(anyList())).willAnswer(invocation -> invocation.<List<CreateUserDto>>getArgument(0).stream()
+          .map(createUserDto -> UserDto.builder().id(ids.incrementAndGet()).userType(createUserDto.getUserType()).build())
+          .collect(Collectors.toList()));
+        given(agendaService.createAgendas(anyList())).willAnswer(invocation -> {
+            List<AgendaDto> batch = new ArrayList<>(invocation.getArgument(0));
+            batches.add(batch);
+            return batch;
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.saleco.interview.calendar.api.jmh;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapper;
+import com.github.saleco.interview.calendar.api.agenda.mapper.AgendaMapperImpl;
+import com.github.saleco.interview.calendar.api.agenda.model.Agenda;
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+    MapStruct mapping of Agenda pages, as done by the availability search, and of Agenda DTO lists, as done by createAgendas,
+    with and without the hour cache of the DateMapper. The allocations per page are reported by the gc profiler (gc.alloc.rate.norm).
+    Run with: mvn test-compile exec:exec -Pjmh -Djmh.args="AgendaMapperJmh -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgendaMapperJmh {
+
+    public static final LocalDateTime FIRST_SLOT = LocalDateTime.of(2021, 4, 1, 9, 0);
+    //Agendas of several Users spread over the hours of the longest search period, 56 days
+    public static final int HOURS = 56 * 24;
+
+    @Param({"20", "1000", "100000"})
+    private int pageSize;
+
+    @Param({"true", "false"})
+    private boolean hourCache;
+
+    private AgendaMapper agendaMapper;
+    private Page<Agenda> agendas;
+    private List<AgendaDto> agendaDtos;
+
+    @Setup
+    public void setup() {
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getMapping().setHourCache(hourCache);
+        //injected as Spring does, without a context logging at DEBUG outside of Spring Boot
+        agendaMapper = new AgendaMapperImpl();
+        Field dateMapper = ReflectionUtils.findField(AgendaMapperImpl.class, "dateMapper");
+        ReflectionUtils.makeAccessible(dateMapper);
+        ReflectionUtils.setField(dateMapper, agendaMapper, new DateMapper(properties));
+
+        User user = User.builder().id(1L).build();
+        agendas = new PageImpl<>(IntStream.range(0, pageSize)
+          .mapToObj(slot -> Agenda.builder()
+            .id((long) slot)
+            .user(user)
+            .start(Timestamp.valueOf(FIRST_SLOT.plusHours(slot % HOURS)))
+            .end(Timestamp.valueOf(FIRST_SLOT.plusHours(slot % HOURS + 1)))
+            .build())
+          .collect(Collectors.toList()), PageRequest.of(0, pageSize), pageSize);
+        agendaDtos = agendas.map(agendaMapper::modelToDto).getContent();
+    }
+
+    @Benchmark
+    public Page<AgendaDto> modelToDto() {
+        return agendas.map(agendaMapper::modelToDto);
+    }
+
+    @Benchmark
+    public List<Agenda> dtoToModel() {
+        return agendaDtos.stream().map(agendaMapper::dtoToModel).collect(Collectors.toList());
+    }
+}
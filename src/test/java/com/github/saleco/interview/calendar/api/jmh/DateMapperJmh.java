@@ -0,0 +1,54 @@
+package com.github.saleco.interview.calendar.api.jmh;
+
+import com.github.saleco.interview.calendar.api.mapper.DateMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/*
+    Conversions between the Timestamps of the Agendas and the OffsetDateTimes of the DTOs, two per mapped Agenda.
+    Hour-aligned Timestamps, as the ones of the Agenda slots, are served by the hour cache.
+    Run with: mvn test-compile exec:exec -Pjmh -Djmh.args=DateMapperJmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateMapperJmh {
+
+    private final DateMapper dateMapper = new DateMapper();
+
+    //not final, so the conversions are not constant folded
+    private Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 0));
+    private Timestamp unalignedTimestamp = Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 30));
+    private OffsetDateTime offsetDateTime = OffsetDateTime.of(2021, 4, 26, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Benchmark
+    public OffsetDateTime asOffsetDateTime() {
+        return dateMapper.asOffsetDateTime(timestamp);
+    }
+
+    @Benchmark
+    public OffsetDateTime asOffsetDateTimeUnaligned() {
+        return dateMapper.asOffsetDateTime(unalignedTimestamp);
+    }
+
+    @Benchmark
+    public Timestamp asTimestamp() {
+        return dateMapper.asTimestamp(offsetDateTime);
+    }
+}
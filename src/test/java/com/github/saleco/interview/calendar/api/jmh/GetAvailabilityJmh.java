@@ -0,0 +1,121 @@
+package com.github.saleco.interview.calendar.api.jmh;
+
+import com.github.saleco.interview.calendar.api.InterviewCalendarAPIApplication;
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaService;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
+import com.github.saleco.interview.calendar.api.user.dto.UserDto;
+import com.github.saleco.interview.calendar.api.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+    End to end availability search (validation, search and mapping) against an in-memory H2 seeded with
+    a Candidate and 50 Interviewers available half of their working hours over 10 days, for each search mode.
+    The availability cache is disabled, so every search reaches the search mode.
+    Run with: mvn test-compile exec:exec -Pjmh -Djmh.args=GetAvailabilityJmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GetAvailabilityJmh {
+
+    public static final int INTERVIEWERS = 50;
+    public static final int DAYS = 10;
+    public static final int INITIAL_WORKING_HOUR = 9;
+    public static final int FINAL_WORKING_HOUR = 19;
+    public static final double AVAILABILITY_RATIO = 0.5;
+    public static final int INTERVIEWERS_PER_SEARCH = 10;
+    public static final int SEARCH_PERIOD_DAYS = 5;
+    public static final OffsetDateTime FIRST_DAY = OffsetDateTime.of(2021, 4, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Param({"QUERY", "RANGE_QUERY", "INDEX"})
+    private String searchMode;
+
+    private final Random random = new Random(42);
+
+    private ConfigurableApplicationContext context;
+    private AgendaService agendaService;
+    private SearchInterviewsAvailabilityDto search;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(InterviewCalendarAPIApplication.class)
+          .web(WebApplicationType.NONE)
+          //arguments, as properties of the builder don't override application.properties
+          .run("--spring.datasource.url=jdbc:h2:mem:jmh;MODE=MySQL",
+            "--interview-calendar.search.mode=" + searchMode,
+            "--interview-calendar.search.cache.enabled=false");
+        agendaService = context.getBean(AgendaService.class);
+        UserService userService = context.getBean(UserService.class);
+
+        List<UserDto> users = userService.createUsers(IntStream.rangeClosed(0, INTERVIEWERS)
+          .mapToObj(user -> CreateUserDto.builder()
+            .name("User " + user)
+            .userType(user == 0 ? UserType.CANDIDATE : UserType.INTERVIEWER)
+            .build())
+          .collect(Collectors.toList()));
+        users.forEach(user -> agendaService.createAgendas(agendas(user.getId())));
+
+        search = SearchInterviewsAvailabilityDto.builder()
+          .candidateId(users.get(0).getId())
+          .interviewerIds(users.subList(1, INTERVIEWERS_PER_SEARCH + 1).stream().map(UserDto::getId).collect(Collectors.toList()))
+          .startingFrom(FIRST_DAY)
+          .endingAt(FIRST_DAY.plusDays(SEARCH_PERIOD_DAYS))
+          .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<AgendaDto> getAvailability() {
+        return agendaService.getAvailability(search);
+    }
+
+    private List<AgendaDto> agendas(Long userId) {
+        List<AgendaDto> agendaDtos = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (int hour = INITIAL_WORKING_HOUR; hour < FINAL_WORKING_HOUR; hour++) {
+                if (random.nextDouble() < AVAILABILITY_RATIO) {
+                    agendaDtos.add(AgendaDto.builder()
+                      .userId(userId)
+                      .start(FIRST_DAY.plusDays(day).withHour(hour))
+                      .end(FIRST_DAY.plusDays(day).withHour(hour + 1))
+                      .build());
+                }
+            }
+        }
+        return agendaDtos;
+    }
+}
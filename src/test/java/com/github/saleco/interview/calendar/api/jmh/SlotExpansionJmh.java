@@ -0,0 +1,59 @@
+package com.github.saleco.interview.calendar.api.jmh;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.AgendaDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.service.AgendaSlots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/*
+    Slot expansion of createAvailability: availabilities of 10 working hours per day expanded in 1-hour Agendas.
+    Run with: mvn test-compile exec:exec -Pjmh -Djmh.args=SlotExpansionJmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotExpansionJmh {
+
+    public static final int INITIAL_WORKING_HOUR = 9;
+    public static final int FINAL_WORKING_HOUR = 19;
+    public static final LocalDateTime FIRST_DAY = LocalDateTime.of(2021, 4, 1, 0, 0);
+
+    @Param({"10", "1000", "10000"})
+    private int slots;
+
+    private List<AvailabilityDto> availabilities;
+
+    @Setup
+    public void setup() {
+        availabilities = IntStream.range(0, slots / (FINAL_WORKING_HOUR - INITIAL_WORKING_HOUR))
+          .mapToObj(day -> AvailabilityDto.builder()
+            .start(FIRST_DAY.plusDays(day).withHour(INITIAL_WORKING_HOUR))
+            .end(FIRST_DAY.plusDays(day).withHour(FINAL_WORKING_HOUR))
+            .build())
+          .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<AgendaDto> agendaSlots() {
+        return AgendaSlots.of(availabilities, 1L);
+    }
+}
@@ -0,0 +1,221 @@
+package com.github.saleco.interview.calendar.api.load;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/*
+    Load generator of a weighted mix of endpoints.
+    Open model (run): requests are started at a constant target rate whatever the response times.
+    Latencies are recorded from the time a request was scheduled, not from the time it was sent,
+    so the time spent waiting for a free worker counts (no coordinated omission).
+    Closed model (runClosed): a fixed number of clients send requests back to back.
+    Requests sent during the warmup are not recorded.
+ */
+@Slf4j
+class LoadGenerator {
+
+    //latencies in microseconds, up to 1 minute with 3 significant digits
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final double rate;
+    private final int threads;
+    private final Random random;
+
+    LoadGenerator(double rate, int threads, long seed) {
+        this.rate = rate;
+        this.threads = threads;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Adds an endpoint to the mix. With the open model its requests are built on the scheduling thread,
+     * so the sequence is the same on every run
+     */
+    LoadGenerator endpoint(String name, int weight, Function<Random, HttpRequest> request) {
+        if (weight > 0) endpoints.add(new Endpoint(name, weight, request));
+        return this;
+    }
+
+    Map<String, Result> run(Duration warmup, Duration duration) throws InterruptedException {
+        int totalWeight = endpoints.stream().mapToInt(endpoint -> endpoint.weight).sum();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("load-worker-"));
+        try {
+            for (long scheduled = start; scheduled < end; scheduled += interval) {
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) LockSupport.parkNanos(delay);
+
+                Endpoint endpoint = pick(totalWeight);
+                HttpRequest request = endpoint.request.apply(random);
+                long scheduledAt = scheduled;
+                boolean measured = scheduled >= measureStart;
+                workers.execute(() -> send(endpoint, request, scheduledAt, measured));
+            }
+        } finally {
+            workers.shutdown();
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Load generator stopped with requests still running");
+                workers.shutdownNow();
+            }
+        }
+
+        return results(duration);
+    }
+
+    /**
+     * Closed model: each thread sends its next request as soon as the previous one is answered,
+     * measuring the throughput reached with that many concurrent clients. Latencies are recorded from the send.
+     */
+    Map<String, Result> runClosed(Duration warmup, Duration duration) throws InterruptedException {
+        int totalWeight = endpoints.stream().mapToInt(endpoint -> endpoint.weight).sum();
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("load-client-"));
+        try {
+            for (int client = 0; client < threads; client++) {
+                clients.execute(() -> {
+                    for (long sent = System.nanoTime(); sent < end && !Thread.currentThread().isInterrupted(); sent = System.nanoTime()) {
+                        Endpoint endpoint;
+                        HttpRequest request;
+                        synchronized (random) {
+                            endpoint = pick(totalWeight);
+                            request = endpoint.request.apply(random);
+                        }
+                        send(endpoint, request, sent, sent >= measureStart);
+                    }
+                });
+            }
+        } finally {
+            clients.shutdown();
+            if (!clients.awaitTermination(duration.plus(warmup).toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+                log.warn("Load generator stopped with requests still running");
+                clients.shutdownNow();
+            }
+        }
+
+        return results(duration);
+    }
+
+    static void print(PrintStream out, Map<String, Result> results) {
+        out.printf("%-16s %10s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((name, result) -> out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name,
+          result.getRequests(), result.getErrors(), result.getThroughput(),
+          result.percentile(50), result.percentile(99), result.percentile(99.9), result.getHistogram().getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    /**
+     * Writes the percentile distribution of each endpoint, in milliseconds, as <endpoint>.hgrm files readable by the HdrHistogram plotter
+     */
+    static void write(Path directory, Map<String, Result> results) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Result> result : results.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(result.getKey() + ".hgrm")))) {
+                result.getValue().getHistogram().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private Map<String, Result> results(Duration duration) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> results.put(endpoint.name, new Result(endpoint.recorder.getIntervalHistogram(), endpoint.errors.get(), duration)));
+        return results;
+    }
+
+    private void send(Endpoint endpoint, HttpRequest request, long scheduledAt, boolean measured) {
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (!measured) return;
+        if (success) {
+            endpoint.recorder.recordValue(Math.min(HIGHEST_LATENCY, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt)));
+        } else {
+            endpoint.errors.incrementAndGet();
+        }
+    }
+
+    private Endpoint pick(int totalWeight) {
+        int weight = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            weight -= endpoint.weight;
+            if (weight < 0) return endpoint;
+        }
+        throw new IllegalStateException("No endpoint in the mix");
+    }
+
+    @RequiredArgsConstructor
+    private static class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Function<Random, HttpRequest> request;
+        private final Recorder recorder = new Recorder(HIGHEST_LATENCY, SIGNIFICANT_DIGITS);
+        private final AtomicLong errors = new AtomicLong();
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class Result {
+        private final Histogram histogram;
+        private final long errors;
+        private final Duration duration;
+
+        long getRequests() {
+            return histogram.getTotalCount();
+        }
+
+        //successful requests per second
+        double getThroughput() {
+            return histogram.getTotalCount() * 1000.0 / duration.toMillis();
+        }
+
+        double percentile(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.saleco.interview.calendar.api.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.saleco.interview.calendar.api.agenda.dto.AvailabilityDto;
+import com.github.saleco.interview.calendar.api.agenda.dto.CreateAgendaDto;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    Load test of the search, create availability and create user endpoints of an embedded instance on H2,
+    seeded by the data loader (users and days of Agendas from today). The endpoints are called over HTTP
+    at a target rate in a configurable mix, reporting throughput and p50 / p99 / p99.9 latencies per endpoint.
+    The percentile distributions are written to target/load-test/<endpoint>.hgrm.
+    Run with: mvn test -Pbenchmark -Dtest=LoadTestBenchmark [-Dload.rate=200 -Dload.mix=search=90,agendas=10,users=0 ...]
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+  "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=MySQL",
+  "interview-calendar.loader.enabled=true",
+  "interview-calendar.loader.background=false",
+  "interview-calendar.loader.interviewers=${load.interviewers:50}",
+  "interview-calendar.loader.candidates=${load.candidates:50}",
+  "interview-calendar.loader.days=${load.days:30}"
+})
+class LoadTestBenchmark {
+
+    public static final int INTERVIEWERS_PER_SEARCH = 3;
+    public static final int SEARCH_PERIOD_DAYS = 5;
+    public static final int AVAILABILITY_HOURS = 4;
+    public static final long SEED = 42;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.rate:50}")
+    private double rate;
+
+    @Value("${load.threads:32}")
+    private int threads;
+
+    @Value("${load.warmup:10s}")
+    private Duration warmup;
+
+    @Value("${load.duration:30s}")
+    private Duration duration;
+
+    @Value("${load.mix:search=80,agendas=15,users=5}")
+    private String mix;
+
+    @Value("${load.days:30}")
+    private int days;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DisplayName("Load test a mix of searches, availabilities and users created at a constant rate")
+    @Test
+    void benchmarkLoad() throws Exception {
+        List<User> users = userRepository.findAll();
+        List<Long> interviewerIds = ids(users, UserType.INTERVIEWER);
+        List<Long> candidateIds = ids(users, UserType.CANDIDATE);
+        OffsetDateTime today = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+        Map<String, Integer> weights = weights();
+
+        //new availabilities are created after the seeded days, each in hours no other request uses
+        long[] availabilities = {0};
+
+        Map<String, LoadGenerator.Result> results = new LoadGenerator(rate, threads, SEED)
+          .endpoint("search", weights.getOrDefault("search", 0), random -> search(random, candidateIds, interviewerIds, today))
+          .endpoint("agendas", weights.getOrDefault("agendas", 0),
+            random -> createAvailability(interviewerIds, today.plusDays(days), availabilities[0]++))
+          .endpoint("users", weights.getOrDefault("users", 0), random -> createUser(random))
+          .run(warmup, duration);
+
+        System.out.printf("%d interviewers, %d candidates, %d days seeded, %.0f req/s target, %d threads, %s warmup, %s measured%n",
+          interviewerIds.size(), candidateIds.size(), days, rate, threads, warmup, duration);
+        LoadGenerator.print(System.out, results);
+        LoadGenerator.write(Paths.get("target", "load-test"), results);
+
+        assertThat(results).allSatisfy((endpoint, result) -> {
+            assertThat(result.getRequests()).isPositive();
+            assertThat(result.getErrors()).isZero();
+        });
+    }
+
+    private HttpRequest search(Random random, List<Long> candidateIds, List<Long> interviewerIds, OffsetDateTime today) {
+        OffsetDateTime startingFrom = today.plusDays(random.nextInt(Math.max(1, days - SEARCH_PERIOD_DAYS + 1)));
+        String interviewers = random.ints(0, interviewerIds.size())
+          .distinct()
+          .limit(Math.min(INTERVIEWERS_PER_SEARCH, interviewerIds.size()))
+          .mapToObj(index -> String.valueOf(interviewerIds.get(index)))
+          .collect(Collectors.joining(","));
+
+        return HttpRequest.newBuilder(uri(String.format("/ap1/v1/agendas/search?candidateId=%d&interviewerIds=%s&startingFrom=%s&endingAt=%s",
+            candidateIds.get(random.nextInt(candidateIds.size())), interviewers, startingFrom.toInstant(), startingFrom.plusDays(SEARCH_PERIOD_DAYS).toInstant())))
+          .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+          .GET()
+          .build();
+    }
+
+    private HttpRequest createAvailability(List<Long> interviewerIds, OffsetDateTime firstDay, long availability) {
+        LocalDateTime start = firstDay.toLocalDateTime().plusHours(availability / interviewerIds.size() * AVAILABILITY_HOURS);
+        return post("/ap1/v1/agendas", CreateAgendaDto.builder()
+          .userId(interviewerIds.get((int) (availability % interviewerIds.size())))
+          .availabilities(Collections.singletonList(AvailabilityDto.builder().start(start).end(start.plusHours(AVAILABILITY_HOURS)).build()))
+          .build());
+    }
+
+    private HttpRequest createUser(Random random) {
+        return post("/ap1/v1/users", CreateUserDto.builder()
+          .name("Load " + random.nextInt(Integer.MAX_VALUE))
+          .userType(random.nextBoolean() ? UserType.INTERVIEWER : UserType.CANDIDATE)
+          .build());
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+              .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+              .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+              .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    //search=80,agendas=15,users=5
+    private Map<String, Integer> weights() {
+        return Stream.of(mix.split(","))
+          .map(weight -> weight.trim().split("="))
+          .collect(Collectors.toMap(weight -> weight[0], weight -> Integer.parseInt(weight[1])));
+    }
+
+    private static List<Long> ids(List<User> users, UserType userType) {
+        return users.stream().filter(user -> user.getUserType() == userType).map(User::getId).collect(Collectors.toList());
+    }
+}
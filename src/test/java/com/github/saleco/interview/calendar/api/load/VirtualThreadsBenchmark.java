@@ -0,0 +1,146 @@
+package com.github.saleco.interview.calendar.api.load;
+
+import com.github.saleco.interview.calendar.api.InterviewCalendarAPIApplication;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.threads.VirtualThreads;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/*
+    Concurrent search throughput with the Tomcat worker pool (200 platform threads) and with virtual threads,
+    on an embedded instance started for each thread model, seeded by the data loader, with the search cache off.
+    A fixed number of clients send searches back to back, more than the Tomcat worker pool, and 1 request in 10
+    reads /actuator/info, which uses no connection, to show whether the requests not waiting on the database are stalled.
+    The database is H2 in memory unless load.datasource.url is set, e.g. to a PostgreSQL server, so the statements wait on
+    socket I/O inside the driver locks that pin the virtual thread carriers.
+    The percentile distributions are written to target/virtual-threads/<model>/<endpoint>.hgrm.
+    The tests must run on a Java 21+ JVM, skipped otherwise.
+    The RANGE_QUERY search is the default, the QUERY self join saturates H2 at a few requests per second on either model.
+    Run with: mvn test -Pbenchmark -Djacoco.skip=true -Dtest=VirtualThreadsBenchmark -Djvm=/path/to/jdk-21/bin/java [-Dload.clients=400 -Dload.search-mode=INDEX ...]
+    [-Dload.datasource.url=jdbc:postgresql://localhost/postgres -Dload.datasource.username=postgres -Dload.models=virtual
+     -Dsurefire.jacoco.args=-Djdk.virtualThreadScheduler.parallelism=11 -Dload.database-permits=10]
+ */
+class VirtualThreadsBenchmark {
+
+    private static final int INTERVIEWERS_PER_SEARCH = 3;
+    private static final int SEARCH_PERIOD_DAYS = 5;
+    private static final long SEED = 42;
+
+    private final int clients = Integer.getInteger("load.clients", 400);
+    private final Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+    private final Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+    private final String searchMode = System.getProperty("load.search-mode", "RANGE_QUERY");
+    private final int interviewers = Integer.getInteger("load.interviewers", 20);
+    private final int candidates = Integer.getInteger("load.candidates", 20);
+    private final int days = Integer.getInteger("load.days", 10);
+    private final String[] models = System.getProperty("load.models", "platform,virtual").split(",");
+    private final String datasourceUrl = System.getProperty("load.datasource.url");
+    private final String datasourceUsername = System.getProperty("load.datasource.username", "sa");
+    private final String datasourcePassword = System.getProperty("load.datasource.password", "");
+    private final int databasePermits = Integer.getInteger("load.database-permits", 0);
+
+    @DisplayName("Compare the throughput of concurrent searches on platform and virtual threads")
+    @Test
+    void benchmarkThreadModels() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads require a Java 21+ JVM, run with -Djvm=/path/to/jdk-21/bin/java");
+
+        Map<String, LoadGenerator.Result> results = new LinkedHashMap<>();
+        for (String model : models) {
+            run(model).forEach((endpoint, result) -> results.put(model + " " + endpoint, result));
+        }
+
+        System.out.printf("%d interviewers, %d candidates, %d days seeded, %s search, %d clients, %s warmup, %s measured, %s, %d carriers%n",
+          interviewers, candidates, days, searchMode, clients, warmup, duration, datasourceUrl != null ? datasourceUrl : "H2 in memory",
+          Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors()));
+        LoadGenerator.print(System.out, results);
+
+        assertThat(results).allSatisfy((model, result) -> {
+            assertThat(result.getRequests()).isPositive();
+            assertThat(result.getErrors()).isZero();
+        });
+    }
+
+    private Map<String, LoadGenerator.Result> run(String model) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InterviewCalendarAPIApplication.class).run(
+          "--server.port=0",
+          "--spring.datasource.url=" + (datasourceUrl != null ? datasourceUrl : "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL"),
+          "--spring.datasource.username=" + datasourceUsername,
+          "--spring.datasource.password=" + datasourcePassword,
+          //a server database is recreated for each thread model, user and end are reserved words there
+          "--spring.jpa.hibernate.ddl-auto=create-drop",
+          "--spring.jpa.properties.hibernate.globally_quoted_identifiers=" + (datasourceUrl != null),
+          "--interview-calendar.threads.virtual=" + "virtual".equals(model),
+          "--interview-calendar.threads.database-permits=" + databasePermits,
+          "--interview-calendar.search.mode=" + searchMode,
+          "--interview-calendar.search.cache.enabled=false",
+          "--interview-calendar.loader.enabled=true",
+          "--interview-calendar.loader.background=false",
+          "--interview-calendar.loader.interviewers=" + interviewers,
+          "--interview-calendar.loader.candidates=" + candidates,
+          "--interview-calendar.loader.days=" + days)) {
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<User> users = context.getBean(UserRepository.class).findAll();
+            List<Long> interviewerIds = ids(users, UserType.INTERVIEWER);
+            List<Long> candidateIds = ids(users, UserType.CANDIDATE);
+            OffsetDateTime today = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+
+            Map<String, LoadGenerator.Result> results = new LoadGenerator(0, clients, SEED)
+              .endpoint("search", 9, random -> search(random, port, candidateIds, interviewerIds, today))
+              .endpoint("info", 1, random -> info(port))
+              .runClosed(warmup, duration);
+
+            LoadGenerator.write(Paths.get("target", "virtual-threads", model), results);
+            return results;
+        }
+    }
+
+    private HttpRequest search(Random random, int port, List<Long> candidateIds, List<Long> interviewerIds, OffsetDateTime today) {
+        OffsetDateTime startingFrom = today.plusDays(random.nextInt(Math.max(1, days - SEARCH_PERIOD_DAYS + 1)));
+        String searched = random.ints(0, interviewerIds.size())
+          .distinct()
+          .limit(Math.min(INTERVIEWERS_PER_SEARCH, interviewerIds.size()))
+          .mapToObj(index -> String.valueOf(interviewerIds.get(index)))
+          .collect(Collectors.joining(","));
+
+        return HttpRequest.newBuilder(URI.create(String.format("http://127.0.0.1:%d/ap1/v1/agendas/search?candidateId=%d&interviewerIds=%s&startingFrom=%s&endingAt=%s",
+            port, candidateIds.get(random.nextInt(candidateIds.size())), searched, startingFrom.toInstant(), startingFrom.plusDays(SEARCH_PERIOD_DAYS).toInstant())))
+          .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+          .GET()
+          .build();
+    }
+
+    private static HttpRequest info(int port) {
+        return HttpRequest.newBuilder(URI.create(String.format("http://127.0.0.1:%d/actuator/info", port)))
+          .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+          .GET()
+          .build();
+    }
+
+    private static List<Long> ids(List<User> users, UserType userType) {
+        return users.stream().filter(user -> user.getUserType() == userType).map(User::getId).collect(Collectors.toList());
+    }
+}
@@ -5,11 +5,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class DateMapperTest {
 
@@ -47,4 +53,62 @@ class DateMapperTest {
         Timestamp timestamp = dateMapper.asTimestamp(OffsetDateTime.now());
         assertThat(timestamp).isNotNull();
     }
-}
\ No newline at end of file
+
+    @DisplayName("Given hour-aligned timestamp when asOffsetDateTime then it should return the same cached OffsetDateTime")
+    @Test
+    void givenHourAlignedTimestampWhenAsOffsetDateTimeThenItShouldReturnTheSameCachedOffsetDateTime() {
+        //hours are only cached when the JVM time zone has a fixed offset
+        assumeTrue(ZoneId.systemDefault().getRules().isFixedOffset());
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 0));
+
+        OffsetDateTime offsetDateTime = dateMapper.asOffsetDateTime(timestamp);
+
+        assertThat(offsetDateTime).isEqualTo(OffsetDateTime.of(2021, 4, 26, 9, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(dateMapper.asOffsetDateTime(Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 0)))).isSameAs(offsetDateTime);
+    }
+
+    @DisplayName("Given hours sharing a cache entry when asOffsetDateTime then it should return each hour")
+    @Test
+    void givenHoursSharingACacheEntryWhenAsOffsetDateTimeThenItShouldReturnEachHour() {
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getMapping().setHourCacheSize(2);
+        dateMapper = new DateMapper(properties);
+        LocalDateTime nine = LocalDateTime.of(2021, 4, 26, 9, 0);
+
+        assertThat(dateMapper.asOffsetDateTime(Timestamp.valueOf(nine)).toLocalDateTime()).isEqualTo(nine);
+        assertThat(dateMapper.asOffsetDateTime(Timestamp.valueOf(nine.plusHours(2))).toLocalDateTime()).isEqualTo(nine.plusHours(2));
+        assertThat(dateMapper.asOffsetDateTime(Timestamp.valueOf(nine)).toLocalDateTime()).isEqualTo(nine);
+    }
+
+    @DisplayName("Given hour cache disabled when asOffsetDateTime then it should return a new OffsetDateTime")
+    @Test
+    void givenHourCacheDisabledWhenAsOffsetDateTimeThenItShouldReturnANewOffsetDateTime() {
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getMapping().setHourCache(false);
+        dateMapper = new DateMapper(properties);
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 0));
+
+        assertThat(dateMapper.asOffsetDateTime(timestamp))
+          .isEqualTo(dateMapper.asOffsetDateTime(timestamp))
+          .isNotSameAs(dateMapper.asOffsetDateTime(timestamp));
+    }
+
+    @DisplayName("Given timestamp with nanos when asOffsetDateTime then it should keep the wall clock time and the nanos")
+    @Test
+    void givenTimestampWithNanosWhenAsOffsetDateTimeThenItShouldKeepTheWallClockTimeAndTheNanos() {
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_789));
+
+        assertThat(dateMapper.asOffsetDateTime(timestamp)).isEqualTo(OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 123_456_789, ZoneOffset.UTC));
+    }
+
+    @DisplayName("Given OffsetDateTime with offset when asTimestamp then it should return the UTC wall clock time")
+    @Test
+    void givenOffsetDateTimeWithOffsetWhenAsTimestampThenItShouldReturnTheUTCWallClockTime() {
+        OffsetDateTime offsetDateTime = OffsetDateTime.of(2021, 4, 26, 11, 30, 15, 500_000_001, ZoneOffset.ofHours(2));
+
+        Timestamp timestamp = dateMapper.asTimestamp(offsetDateTime);
+
+        assertThat(timestamp).isEqualTo(Timestamp.valueOf(LocalDateTime.of(2021, 4, 26, 9, 30, 15, 500_000_001)));
+        assertThat(dateMapper.asOffsetDateTime(timestamp)).isEqualTo(offsetDateTime.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.saleco.interview.calendar.api.metrics;
+
+import com.github.saleco.interview.calendar.api.agenda.dto.SearchInterviewsAvailabilityDto;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
+import com.github.saleco.interview.calendar.api.user.dto.UserDto;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.repository.Repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvocationTimersTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final InvocationTimers invocationTimers = new InvocationTimers(registryProvider(meterRegistry));
+
+    @DisplayName("Given a UserService When a method is called Then should time it by method, outcome and size")
+    @Test
+    void givenUserServiceWhenMethodCalledThenShouldTimeItByMethodOutcomeAndSize() {
+        UserService userService = (UserService) invocationTimers.postProcessAfterInitialization(new StubUserService(), "userService");
+
+        userService.createUsers(Arrays.asList(new CreateUserDto(), new CreateUserDto(), new CreateUserDto()));
+        userService.getUsersByType(0, 20, UserType.INTERVIEWER);
+
+        Timer createUsers = meterRegistry.find(InvocationTimers.SERVICE_METRIC)
+          .tags("service", "UserService", "method", "createUsers", "outcome", InvocationTimer.SUCCESS, "exception", InvocationTimer.NONE, "size", "2-10")
+          .timer();
+        assertThat(createUsers).isNotNull();
+        assertThat(createUsers.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(InvocationTimers.SERVICE_METRIC).tags("method", "getUsersByType", "size", "101-1000").timer()).isNotNull();
+    }
+
+    @DisplayName("Given a UserService method throwing When called Then should rethrow and time it as an error")
+    @Test
+    void givenUserServiceMethodThrowingWhenCalledThenShouldRethrowAndTimeItAsError() {
+        UserService userService = (UserService) invocationTimers.postProcessAfterInitialization(new StubUserService(), "userService");
+
+        assertThatThrownBy(() -> userService.createUser(new CreateUserDto())).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(meterRegistry.find(InvocationTimers.SERVICE_METRIC)
+          .tags("method", "createUser", "outcome", InvocationTimer.ERROR, "exception", "IllegalArgumentException", "size", InvocationTimer.NO_SIZE)
+          .timer()).isNotNull();
+    }
+
+    @DisplayName("Given a proxied repository When post processed Then should add the timer to the proxy and tag the repository interface")
+    @Test
+    void givenProxiedRepositoryWhenPostProcessedThenShouldAddTimerToProxy() {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setInterfaces(NamesRepository.class);
+        proxyFactory.setTarget((NamesRepository) ids -> ids.stream().map(String::valueOf).collect(Collectors.toList()));
+        Object repository = proxyFactory.getProxy();
+
+        Object processed = invocationTimers.postProcessAfterInitialization(repository, "namesRepository");
+        ((NamesRepository) processed).findNames(Collections.singletonList(1L));
+
+        assertThat(processed).isSameAs(repository);
+        assertThat(((Advised) processed).getAdvisors()[0].getAdvice()).isInstanceOf(InvocationTimer.class);
+        assertThat(meterRegistry.find(InvocationTimers.REPOSITORY_METRIC)
+          .tags("repository", "NamesRepository", "method", "findNames", "size", "1")
+          .timer()).isNotNull();
+    }
+
+    @DisplayName("Given other beans When post processed Then should return them unchanged")
+    @Test
+    void givenOtherBeansWhenPostProcessedThenShouldReturnThemUnchanged() {
+        Object bean = new Object();
+
+        assertThat(invocationTimers.postProcessAfterInitialization(bean, "bean")).isSameAs(bean);
+    }
+
+    @DisplayName("Given a search When size Then should bucket the number of interviewers")
+    @Test
+    void givenSearchWhenSizeThenShouldBucketNumberOfInterviewers() {
+        SearchInterviewsAvailabilityDto search = SearchInterviewsAvailabilityDto.builder()
+          .interviewerIds(ids(11))
+          .build();
+
+        assertThat(InvocationTimer.size(new Object[]{search}, null)).isEqualTo("11-100");
+        assertThat(InvocationTimer.size(new Object[]{SearchInterviewsAvailabilityDto.builder().build()}, null)).isEqualTo("0");
+        assertThat(InvocationTimer.size(new Object[]{1L}, ids(1001))).isEqualTo("1001+");
+        assertThat(InvocationTimer.size(new Object[0], new User())).isEqualTo(InvocationTimer.NO_SIZE);
+    }
+
+    private static List<Long> ids(int size) {
+        return IntStream.range(0, size).mapToObj(Long::valueOf).collect(Collectors.toList());
+    }
+
+    private static ObjectProvider<MeterRegistry> registryProvider(MeterRegistry meterRegistry) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+
+    interface NamesRepository extends Repository<User, Long> {
+        List<String> findNames(List<Long> ids);
+    }
+
+    static class StubUserService implements UserService {
+
+        @Override
+        public Page<UserDto> getUsersByType(int page, int size, UserType userType) {
+            return new PageImpl<>(Collections.nCopies(101, new UserDto()));
+        }
+
+        @Override
+        public UserDto createUser(CreateUserDto createUserDto) {
+            throw new IllegalArgumentException("User name is mandatory");
+        }
+
+        @Override
+        public List<UserDto> createUsers(List<CreateUserDto> createUserDtos) {
+            return Collections.nCopies(createUserDtos.size(), new UserDto());
+        }
+
+        @Override
+        public UserDto getUserDtoFromCreateUserDto(CreateUserDto createUserDto) {
+            return new UserDto();
+        }
+    }
+}
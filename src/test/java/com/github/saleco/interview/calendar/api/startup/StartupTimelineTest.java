@@ -0,0 +1,89 @@
+package com.github.saleco.interview.calendar.api.startup;
+
+import com.github.saleco.interview.calendar.api.startup.dto.StartupPhaseDto;
+import com.github.saleco.interview.calendar.api.startup.dto.StartupTimelineDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class StartupTimelineTest {
+
+    private static final String[] ARGS = new String[0];
+
+    @Mock
+    private ConfigurableApplicationContext context;
+
+    @Mock
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private final SpringApplication application = new SpringApplication();
+
+    private final StartupTimeline startupTimeline = new StartupTimeline();
+
+    @DisplayName("Given startup events When getTimeline Then should list each phase once, in order, and register the timeline as a bean once")
+    @Test
+    void givenStartupEventsWhenGetTimelineThenShouldListEachPhaseOnceInOrder() {
+        given(context.getBeanFactory()).willReturn(beanFactory);
+        given(beanFactory.containsSingleton(StartupTimeline.BEAN_NAME)).willReturn(false, true);
+
+        startupTimeline.onApplicationEvent(new ApplicationStartingEvent(application, ARGS));
+        startupTimeline.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(application, ARGS,
+          new MockEnvironment().withProperty("spring.main.lazy-initialization", "true")));
+        startupTimeline.onApplicationEvent(new ApplicationPreparedEvent(application, ARGS, context));
+        startupTimeline.onApplicationEvent(new ApplicationPreparedEvent(application, ARGS, context));
+        startupTimeline.onApplicationEvent(new ApplicationReadyEvent(application, ARGS, context));
+
+        StartupTimelineDto timeline = startupTimeline.getTimeline();
+
+        assertThat(timeline.getPhases().stream().map(StartupPhaseDto::getName).collect(Collectors.toList()))
+          .containsExactly("starting", "environmentPrepared", "contextPrepared", StartupTimeline.APPLICATION_READY);
+        assertThat(timeline.getPhases()).allSatisfy(phase -> assertThat(phase.getDuration()).isNotNegative());
+        assertThat(timeline.isLazyInitialization()).isTrue();
+        assertThat(timeline.getTimeToReady()).isNotNull();
+        assertThat(timeline.getTimeToFirstRequest()).isNull();
+        then(beanFactory).should(times(1)).registerSingleton(StartupTimeline.BEAN_NAME, startupTimeline);
+    }
+
+    @DisplayName("Given requests When firstRequest Then should record only the first one")
+    @Test
+    void givenRequestsWhenFirstRequestThenShouldRecordOnlyTheFirstOne() throws InterruptedException {
+        startupTimeline.firstRequest();
+        Long timeToFirstRequest = startupTimeline.getTimeline().getTimeToFirstRequest();
+
+        Thread.sleep(5);
+        startupTimeline.firstRequest();
+
+        assertThat(timeToFirstRequest).isNotNull();
+        assertThat(startupTimeline.getTimeline().getTimeToFirstRequest()).isEqualTo(timeToFirstRequest);
+        assertThat(startupTimeline.getTimeline().getPhases()).hasSize(1);
+    }
+
+    @DisplayName("Given the Spring Cloud bootstrap environment When startup events Then should record nothing")
+    @Test
+    void givenBootstrapEnvironmentWhenStartupEventsThenShouldRecordNothing() {
+        startupTimeline.onApplicationEvent(new ApplicationEnvironmentPreparedEvent(application, ARGS,
+          new MockEnvironment().withProperty("spring.config.name", "bootstrap")));
+        startupTimeline.onApplicationEvent(new ApplicationReadyEvent(application, ARGS, context));
+
+        assertThat(startupTimeline.getTimeline().getPhases()).isEmpty();
+        then(context).shouldHaveNoInteractions();
+    }
+}
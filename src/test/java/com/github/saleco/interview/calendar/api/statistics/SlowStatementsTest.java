@@ -0,0 +1,77 @@
+package com.github.saleco.interview.calendar.api.statistics;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.statistics.dto.SlowStatementDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class SlowStatementsTest {
+
+    private static final Supplier<List<String>> NO_PARAMETERS = Collections::emptyList;
+
+    @DisplayName("Given statements around the threshold When record Then should keep the slowest ones above it, slowest first")
+    @Test
+    void givenStatementsAroundThresholdWhenRecordThenShouldKeepSlowestAboveIt() {
+        SlowStatements slowStatements = slowStatements(Duration.ofMillis(10), 2);
+
+        slowStatements.record("select 5", NO_PARAMETERS, 0, millis(5));
+        slowStatements.record("select 20", NO_PARAMETERS, 0, millis(20));
+        slowStatements.record("select 30", NO_PARAMETERS, 0, millis(30));
+        slowStatements.record("select 15", NO_PARAMETERS, 0, millis(15));
+        slowStatements.record("select 40", () -> Collections.singletonList("Long"), 50, millis(40));
+
+        List<SlowStatementDto> slowest = slowStatements.getSlowest();
+
+        assertThat(slowest).extracting(SlowStatementDto::getSql).containsExactly("select 40", "select 30");
+        assertThat(slowest.get(0).getDuration()).isEqualTo(40.0);
+        assertThat(slowest.get(0).getParameters()).containsExactly("Long");
+        assertThat(slowest.get(0).getBatchSize()).isEqualTo(50);
+        assertThat(slowest.get(0).getThread()).isEqualTo(Thread.currentThread().getName());
+        assertThat(slowStatements.getCount()).isEqualTo(4);
+    }
+
+    @DisplayName("Given a full capture When a faster statement is recorded Then should not read its parameters")
+    @Test
+    void givenFullCaptureWhenFasterStatementRecordedThenShouldNotReadItsParameters() {
+        SlowStatements slowStatements = slowStatements(Duration.ZERO, 1);
+        slowStatements.record("select 20", NO_PARAMETERS, 0, millis(20));
+
+        slowStatements.record("select 10", () -> fail("parameters read"), 0, millis(10));
+        slowStatements.record("select 1", () -> fail("parameters read"), 0, millis(1));
+
+        assertThat(slowStatements.getSlowest()).extracting(SlowStatementDto::getSql).containsExactly("select 20");
+    }
+
+    @DisplayName("Given statements kept When clear Then should keep new statements again")
+    @Test
+    void givenStatementsKeptWhenClearThenShouldKeepNewStatementsAgain() {
+        SlowStatements slowStatements = slowStatements(Duration.ZERO, 1);
+        slowStatements.record("select 20", NO_PARAMETERS, 0, millis(20));
+
+        slowStatements.clear();
+        slowStatements.record("select 10", NO_PARAMETERS, 0, millis(10));
+
+        assertThat(slowStatements.getSlowest()).extracting(SlowStatementDto::getSql).containsExactly("select 10");
+        assertThat(slowStatements.getCount()).isEqualTo(1);
+    }
+
+    private static SlowStatements slowStatements(Duration threshold, int capacity) {
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getStatistics().getSlowStatements().setThreshold(threshold);
+        properties.getStatistics().getSlowStatements().setCapacity(capacity);
+        return new SlowStatements(properties);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
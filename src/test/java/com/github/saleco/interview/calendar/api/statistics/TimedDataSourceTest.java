@@ -0,0 +1,114 @@
+package com.github.saleco.interview.calendar.api.statistics;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.statistics.dto.SlowStatementDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class TimedDataSourceTest {
+
+    private static final String SQL = "select * from agenda where user_id = ? and start >= ? and end <= ?";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement plainStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SlowStatements slowStatements;
+
+    private DataSource timedDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+        properties.getStatistics().getSlowStatements().setThreshold(Duration.ZERO);
+        slowStatements = new SlowStatements(properties);
+        timedDataSource = TimedDataSource.wrap(dataSource, slowStatements);
+
+        given(dataSource.getConnection()).willReturn(connection);
+    }
+
+    @DisplayName("Given a prepared statement When executeQuery Then should keep its SQL and bind parameter types and delegate every call")
+    @Test
+    void givenPreparedStatementWhenExecuteQueryThenShouldKeepSqlAndParameterTypes() throws SQLException {
+        given(connection.prepareStatement(SQL)).willReturn(preparedStatement);
+        given(preparedStatement.executeQuery()).willReturn(resultSet);
+        Timestamp start = new Timestamp(0);
+
+        PreparedStatement statement = timedDataSource.getConnection().prepareStatement(SQL);
+        statement.setLong(1, 1L);
+        statement.setTimestamp(2, start);
+        statement.setNull(3, Types.TIMESTAMP);
+        statement.setFetchSize(100);
+
+        assertThat(statement.executeQuery()).isSameAs(resultSet);
+
+        then(preparedStatement).should().setLong(1, 1L);
+        then(preparedStatement).should().setTimestamp(2, start);
+        then(preparedStatement).should().setFetchSize(100);
+        assertThat(slowStatements.getSlowest()).hasSize(1);
+        SlowStatementDto slowStatement = slowStatements.getSlowest().get(0);
+        assertThat(slowStatement.getSql()).isEqualTo(SQL);
+        assertThat(slowStatement.getParameters()).containsExactly("Long", "Timestamp", "Null");
+        assertThat(slowStatement.getBatchSize()).isZero();
+    }
+
+    @DisplayName("Given a batch When executeBatch Then should keep its size and the types of the values given to setObject")
+    @Test
+    void givenBatchWhenExecuteBatchThenShouldKeepItsSizeAndObjectTypes() throws SQLException {
+        given(connection.prepareStatement(SQL)).willReturn(preparedStatement);
+
+        PreparedStatement statement = timedDataSource.getConnection().prepareStatement(SQL);
+        for (long userId = 1; userId <= 3; userId++) {
+            statement.setObject(1, userId);
+            statement.addBatch();
+        }
+        statement.executeBatch();
+
+        assertThat(slowStatements.getSlowest()).extracting(SlowStatementDto::getBatchSize).containsExactly(3);
+        assertThat(slowStatements.getSlowest()).extracting(SlowStatementDto::getParameters).containsExactly(Collections.singletonList("Long"));
+    }
+
+    @DisplayName("Given a statement failing When execute Then should rethrow its exception and still keep it")
+    @Test
+    void givenStatementFailingWhenExecuteThenShouldRethrowAndKeepIt() throws SQLException {
+        given(connection.createStatement()).willReturn(plainStatement);
+        given(plainStatement.execute("drop table agenda")).willThrow(new SQLException("Table AGENDA not found"));
+
+        Statement statement = timedDataSource.getConnection().createStatement();
+
+        assertThatThrownBy(() -> statement.execute("drop table agenda")).isInstanceOf(SQLException.class).hasMessage("Table AGENDA not found");
+        assertThat(slowStatements.getSlowest()).extracting(SlowStatementDto::getSql).containsExactly("drop table agenda");
+    }
+}
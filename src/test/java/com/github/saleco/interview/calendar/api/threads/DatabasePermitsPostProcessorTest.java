@@ -0,0 +1,78 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class DatabasePermitsPostProcessorTest {
+
+    private static final String CARRIERS = "jdk.virtualThreadScheduler.parallelism";
+
+    @Mock
+    private ObjectProvider<InterviewCalendarAPIProperties> propertiesProvider;
+
+    @Mock
+    private HikariDataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private final InterviewCalendarAPIProperties properties = new InterviewCalendarAPIProperties();
+
+    private DatabasePermitsPostProcessor databasePermitsPostProcessor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        properties.getThreads().setVirtual(true);
+        properties.getThreads().setDatabasePermitTimeout(Duration.ofMillis(10));
+        given(propertiesProvider.getObject()).willReturn(properties);
+        given(pool.getConnection()).willReturn(connection);
+        databasePermitsPostProcessor = new DatabasePermitsPostProcessor(propertiesProvider);
+        System.setProperty(CARRIERS, "3");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(CARRIERS);
+    }
+
+    @DisplayName("Given a pool larger than the carriers When postProcessAfterInitialization Then should leave a carrier free of database permits")
+    @Test
+    void givenPoolLargerThanCarriersWhenPostProcessThenShouldLeaveACarrierFreeOfDatabasePermits() throws SQLException {
+        given(pool.getMaximumPoolSize()).willReturn(10);
+
+        DataSource dataSource = (DataSource) databasePermitsPostProcessor.postProcessAfterInitialization(pool, "dataSource");
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @DisplayName("Given database permits set When postProcessAfterInitialization Then should keep them beyond the carriers")
+    @Test
+    void givenDatabasePermitsSetWhenPostProcessThenShouldKeepThemBeyondTheCarriers() throws SQLException {
+        properties.getThreads().setDatabasePermits(4);
+
+        DataSource dataSource = (DataSource) databasePermitsPostProcessor.postProcessAfterInitialization(pool, "dataSource");
+
+        for (int i = 0; i < 4; i++) dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class DatabasePermitsTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(10);
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    private DataSource boundedDataSource;
+
+    @BeforeEach
+    void setUp() {
+        boundedDataSource = DatabasePermits.wrap(dataSource, 1, TIMEOUT);
+    }
+
+    @DisplayName("Given a single permit When a second connection is requested before the first is closed Then should time out")
+    @Test
+    void givenSinglePermitWhenSecondConnectionRequestedBeforeCloseThenShouldTimeOut() throws SQLException {
+        given(dataSource.getConnection()).willReturn(connection);
+
+        Connection first = boundedDataSource.getConnection();
+
+        assertThatThrownBy(boundedDataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        Connection second = boundedDataSource.getConnection();
+
+        assertThatThrownBy(boundedDataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+        then(connection).should(times(3)).close();
+    }
+
+    @DisplayName("Given the pool failing When getConnection Then should rethrow and release the permit")
+    @Test
+    void givenPoolFailingWhenGetConnectionThenShouldRethrowAndReleasePermit() throws SQLException {
+        given(dataSource.getConnection()).willThrow(new SQLTransientConnectionException("Connection is not available")).willReturn(connection);
+
+        assertThatThrownBy(boundedDataSource::getConnection).hasMessage("Connection is not available");
+
+        assertThat(boundedDataSource.getConnection()).isNotNull();
+    }
+
+    @DisplayName("Given a pool When wrapped Then should keep its interfaces and unwrap to it")
+    @Test
+    void givenPoolWhenWrappedThenShouldKeepItsInterfacesAndUnwrapToIt() throws SQLException {
+        given(dataSource.unwrap(HikariDataSource.class)).willReturn(dataSource);
+
+        assertThat(boundedDataSource).isInstanceOf(AutoCloseable.class);
+        assertThat(boundedDataSource.unwrap(HikariDataSource.class)).isSameAs(dataSource);
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class MvcAsyncSupportTest {
+
+    @Mock
+    private ObjectProvider<InterviewCalendarAPIProperties> properties;
+
+    private final CountDownLatch clientReads = new CountDownLatch(1);
+
+    private MvcAsyncSupport mvcAsyncSupport;
+
+    @AfterEach
+    void tearDown() {
+        clientReads.countDown();
+        if (mvcAsyncSupport != null) mvcAsyncSupport.shutdown();
+    }
+
+    @DisplayName("Given a writer blocked by a client not reading When another Flux response is written Then should write it on another writer thread")
+    @Test
+    void givenWriterBlockedBySlowClientWhenAnotherResponseIsWrittenThenShouldWriteItOnAnotherWriter() throws Exception {
+        AsyncTaskExecutor writers = writers(2, 1);
+
+        Future<?> slowClient = writers.submit(this::awaitClientReads);
+        Future<String> otherClient = writers.submit(() -> Thread.currentThread().getName());
+
+        assertThat(otherClient.get(5, TimeUnit.SECONDS)).startsWith(MvcAsyncSupport.THREAD_PREFIX);
+        assertThat(slowClient).isNotDone();
+    }
+
+    @DisplayName("Given every writer blocked and the queue full When another Flux response is written Then should reject it")
+    @Test
+    void givenEveryWriterBlockedAndQueueFullWhenAnotherResponseIsWrittenThenShouldRejectIt() {
+        AsyncTaskExecutor writers = writers(1, 1);
+
+        writers.execute(this::awaitClientReads);
+        writers.execute(this::awaitClientReads);
+
+        assertThatThrownBy(() -> writers.execute(this::awaitClientReads)).isInstanceOf(TaskRejectedException.class);
+    }
+
+    @DisplayName("Given no application properties When configureAsyncSupport Then should keep the default executor")
+    @Test
+    void givenNoPropertiesWhenConfigureAsyncSupportThenShouldKeepDefaultExecutor() {
+        mvcAsyncSupport = new MvcAsyncSupport(properties);
+        CapturingConfigurer configurer = new CapturingConfigurer();
+
+        mvcAsyncSupport.configureAsyncSupport(configurer);
+
+        assertThat(configurer.taskExecutor).isNull();
+    }
+
+    private AsyncTaskExecutor writers(int writerThreads, int queuedWrites) {
+        InterviewCalendarAPIProperties interviewCalendarAPIProperties = new InterviewCalendarAPIProperties();
+        interviewCalendarAPIProperties.getSearch().getReactive().setWriterThreads(writerThreads);
+        interviewCalendarAPIProperties.getSearch().getReactive().setQueuedWrites(queuedWrites);
+        given(properties.getIfAvailable()).willReturn(interviewCalendarAPIProperties);
+
+        mvcAsyncSupport = new MvcAsyncSupport(properties);
+        CapturingConfigurer configurer = new CapturingConfigurer();
+        mvcAsyncSupport.configureAsyncSupport(configurer);
+        return configurer.taskExecutor;
+    }
+
+    //a write blocked until the client reads its socket buffer
+    private void awaitClientReads() {
+        try {
+            clientReads.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CapturingConfigurer extends AsyncSupportConfigurer {
+        private AsyncTaskExecutor taskExecutor;
+
+        @Override
+        public AsyncSupportConfigurer setTaskExecutor(AsyncTaskExecutor taskExecutor) {
+            this.taskExecutor = taskExecutor;
+            return super.setTaskExecutor(taskExecutor);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.saleco.interview.calendar.api.threads;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @DisplayName("Given a JVM with virtual threads When newExecutor Then should run each task on a named virtual thread")
+    @Test
+    void givenJvmWithVirtualThreadsWhenNewExecutorThenShouldRunTasksOnNamedVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreads.isSupported());
+
+        ExecutorService executor = VirtualThreads.newExecutor("test-virtual-");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+
+            assertThat(thread.getName()).isEqualTo("test-virtual-0");
+            assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @DisplayName("Given a JVM without virtual threads When newExecutor Then should throw IllegalStateException")
+    @Test
+    void givenJvmWithoutVirtualThreadsWhenNewExecutorThenShouldThrowIllegalStateException() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.newExecutor("test-virtual-"))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("Java 21+");
+    }
+}
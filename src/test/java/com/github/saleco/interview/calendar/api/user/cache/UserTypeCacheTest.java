@@ -0,0 +1,119 @@
+package com.github.saleco.interview.calendar.api.user.cache;
+
+import com.github.saleco.interview.calendar.api.config.InterviewCalendarAPIProperties;
+import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.model.User;
+import com.github.saleco.interview.calendar.api.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class UserTypeCacheTest {
+
+    public static final long CANDIDATE = 1L;
+    public static final long INTERVIEWER = 2L;
+    public static final long OTHER_INTERVIEWER = 3L;
+    public static final long UNKNOWN = 4L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private InterviewCalendarAPIProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserTypeCache userTypeCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterviewCalendarAPIProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        userTypeCache = new UserTypeCache(userRepository, properties, meterRegistry);
+        userTypeCache.start();
+    }
+
+    @DisplayName("Given an User read once When getUserType again then should not query and count the hit")
+    @Test
+    void givenUserReadOnceWhenGetUserTypeThenShouldNotQueryAgain() {
+        given(userRepository.findById(CANDIDATE)).willReturn(Optional.of(user(CANDIDATE, UserType.CANDIDATE)));
+
+        Optional<UserType> first = userTypeCache.getUserType(CANDIDATE);
+        Optional<UserType> second = userTypeCache.getUserType(CANDIDATE);
+
+        Assertions.assertAll(
+          () -> assertThat(first).contains(UserType.CANDIDATE),
+          () -> assertThat(second).contains(UserType.CANDIDATE),
+          () -> assertThat(meterRegistry.get("cache.gets").tag("cache", UserTypeCache.CACHE_NAME).tag("result", "hit").functionCounter().count()).isEqualTo(1),
+          () -> assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", UserTypeCache.CACHE_NAME).gauge().value()).isEqualTo(0.5)
+        );
+        then(userRepository).should(times(1)).findById(CANDIDATE);
+    }
+
+    @DisplayName("Given a created User When getUserType then should not query")
+    @Test
+    void givenCreatedUserWhenGetUserTypeThenShouldNotQuery() {
+        userTypeCache.put(INTERVIEWER, UserType.INTERVIEWER);
+
+        assertThat(userTypeCache.getUserType(INTERVIEWER)).contains(UserType.INTERVIEWER);
+        then(userRepository).shouldHaveNoInteractions();
+    }
+
+    @DisplayName("Given an unknown User When getUserType then should query every time")
+    @Test
+    void givenUnknownUserWhenGetUserTypeThenShouldQueryEveryTime() {
+        given(userRepository.findById(UNKNOWN)).willReturn(Optional.empty());
+
+        assertThat(userTypeCache.getUserType(UNKNOWN)).isEmpty();
+        assertThat(userTypeCache.getUserType(UNKNOWN)).isEmpty();
+        then(userRepository).should(times(2)).findById(UNKNOWN);
+    }
+
+    @DisplayName("Given some cached Users When getUserTypes then should read the missing ones with a single query")
+    @Test
+    void givenSomeCachedUsersWhenGetUserTypesThenShouldReadMissingOnesWithSingleQuery() {
+        userTypeCache.put(INTERVIEWER, UserType.INTERVIEWER);
+        given(userRepository.findAllById(Lists.newArrayList(OTHER_INTERVIEWER, UNKNOWN)))
+          .willReturn(Lists.newArrayList(user(OTHER_INTERVIEWER, UserType.INTERVIEWER)));
+
+        Map<Long, UserType> userTypes = userTypeCache.getUserTypes(Lists.newArrayList(INTERVIEWER, OTHER_INTERVIEWER, UNKNOWN));
+
+        assertThat(userTypes).containsOnly(entry(INTERVIEWER, UserType.INTERVIEWER), entry(OTHER_INTERVIEWER, UserType.INTERVIEWER));
+        assertThat(userTypeCache.getUserType(OTHER_INTERVIEWER)).contains(UserType.INTERVIEWER);
+        then(userRepository).should(times(1)).findAllById(Lists.newArrayList(OTHER_INTERVIEWER, UNKNOWN));
+        then(userRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @DisplayName("Given disabled cache When getUserType then should query every time")
+    @Test
+    void givenDisabledCacheWhenGetUserTypeThenShouldQueryEveryTime() {
+        properties.getUsers().getCache().setEnabled(false);
+        given(userRepository.findById(anyLong())).willReturn(Optional.of(user(CANDIDATE, UserType.CANDIDATE)));
+
+        userTypeCache.put(CANDIDATE, UserType.CANDIDATE);
+        userTypeCache.getUserType(CANDIDATE);
+        userTypeCache.getUserType(CANDIDATE);
+
+        then(userRepository).should(times(2)).findById(CANDIDATE);
+    }
+
+    private static User user(Long id, UserType userType) {
+        return User.builder().id(id).userType(userType).build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.saleco.interview.calendar.api.user.service;
 
 import com.github.saleco.interview.calendar.api.enums.UserType;
+import com.github.saleco.interview.calendar.api.user.cache.UserTypeCache;
 import com.github.saleco.interview.calendar.api.user.dto.CreateUserDto;
 import com.github.saleco.interview.calendar.api.user.dto.UserDto;
 import com.github.saleco.interview.calendar.api.user.mapper.UserMapper;
@@ -18,7 +19,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -37,6 +40,9 @@ class UserServiceImplTest {
     @Mock
     UserMapper userMapper;
 
+    @Mock
+    UserTypeCache userTypeCache;
+
     UserService userServiceSpy;
 
     @BeforeEach
@@ -76,7 +82,7 @@ class UserServiceImplTest {
 
         UserDto userDto = UserDto.builder().build();
 
-        User user = User.builder().build();
+        User user = User.builder().id(1L).userType(UserType.INTERVIEWER).build();
 
         doReturn(userDto).when(userServiceSpy).getUserDtoFromCreateUserDto(createUserDto);
 
@@ -90,12 +96,35 @@ class UserServiceImplTest {
         assertThat(userDtoReturned).isNotNull();
 
         then(userRepository).should(times(1)).save(user);
+        then(userTypeCache).should(times(1)).put(1L, UserType.INTERVIEWER);
         then(userMapper).should(times(1)).modelToDto(user);
         then(userMapper).should(times(1)).dtoToModel(userDto);
         then(userRepository).shouldHaveNoMoreInteractions();
         then(userMapper).shouldHaveNoMoreInteractions();
     }
 
+    @DisplayName("Given Create User Dtos When createUsers then should save them at once and cache their types")
+    @Test
+    void givenCreateUserDtosWhenCreateUsersThenShouldSaveThemAtOnce() {
+        CreateUserDto interviewer = CreateUserDto.builder().name("David").userType(UserType.INTERVIEWER).build();
+        CreateUserDto candidate = CreateUserDto.builder().name("Carl").userType(UserType.CANDIDATE).build();
+        User david = User.builder().id(1L).userType(UserType.INTERVIEWER).build();
+        User carl = User.builder().id(2L).userType(UserType.CANDIDATE).build();
+
+        given(userMapper.dtoToModel(any(UserDto.class))).willReturn(david, carl);
+        given(userRepository.saveAll(Arrays.asList(david, carl))).willReturn(Arrays.asList(david, carl));
+        given(userMapper.modelToDto(any(User.class))).willReturn(UserDto.builder().build());
+
+        List<UserDto> userDtos = userService.createUsers(Arrays.asList(interviewer, candidate));
+
+        assertThat(userDtos).hasSize(2);
+
+        then(userRepository).should(times(1)).saveAll(Arrays.asList(david, carl));
+        then(userTypeCache).should(times(1)).put(1L, UserType.INTERVIEWER);
+        then(userTypeCache).should(times(1)).put(2L, UserType.CANDIDATE);
+        then(userRepository).shouldHaveNoMoreInteractions();
+    }
+
     @DisplayName("Given Create User Dto When GetUserDtoFromCreateUserDto then should return UserDto")
     @Test
     void givenCreateUserDtoWhenGetUserDtoFromCreateUserDtoThenShouldReturnUserDto() {